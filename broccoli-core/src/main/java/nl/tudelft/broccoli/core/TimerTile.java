@@ -2,13 +2,14 @@ package nl.tudelft.broccoli.core;
 
 import nl.tudelft.broccoli.core.config.IntegerProperty;
 import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.GameClock;
 
 /**
  * A tile that shows the remaining time in the level.
  *
  * @author Christian Slothouber (f.c.slothouber@student.tudelft.nl)
  */
-public class TimerTile extends Empty {
+public class TimerTile extends Empty implements GameClock.Task {
     /**
      * The configuration property for the maximum amount of time allowed on the level.
      */
@@ -19,6 +20,21 @@ public class TimerTile extends Empty {
      */
     private int time;
 
+    /**
+     * The clock on which the timer runs, or <code>null</code> if the timer has not been started.
+     */
+    private GameClock clock;
+
+    /**
+     * The time of the clock at which the timer expires.
+     */
+    private double deadline;
+
+    /**
+     * A flag to indicate the timer has expired.
+     */
+    private boolean expired;
+
     /**
      * Construct a {@link TimerTile} instance.
      *
@@ -36,4 +52,64 @@ public class TimerTile extends Empty {
     public int getMaxTime() {
         return time;
     }
+
+    /**
+     * Start this timer on the given {@link GameClock}, which causes the timer to expire after the
+     * maximum amount of time allowed for the level has elapsed on the clock.
+     *
+     * @param clock The clock to run the timer on.
+     */
+    public void start(GameClock clock) {
+        start(clock, time);
+    }
+
+    /**
+     * Start this timer on the given {@link GameClock} with the given amount of time remaining,
+     * which is used to resume a saved game.
+     *
+     * @param clock The clock to run the timer on.
+     * @param remaining The amount of time in seconds after which the timer expires.
+     */
+    public void start(GameClock clock, double remaining) {
+        if (this.clock != null) {
+            this.clock.cancel(this);
+        }
+
+        this.clock = clock;
+        this.deadline = clock.getTime() + remaining;
+        this.expired = false;
+        clock.schedule(this, remaining);
+    }
+
+    /**
+     * Return the remaining amount of time allowed for the level.
+     *
+     * @return The remaining time in seconds.
+     */
+    public double getRemainingTime() {
+        if (clock == null) {
+            return time;
+        }
+        return Math.max(0, deadline - clock.getTime());
+    }
+
+    /**
+     * Determine whether the time allowed for the level has elapsed.
+     *
+     * @return <code>true</code> if the timer has expired, <code>false</code> otherwise.
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+
+    /**
+     * Expire the timer when its deadline has been reached.
+     *
+     * @param clock The clock on which the timer was scheduled.
+     * @param argument The argument of the task, which is unused.
+     */
+    @Override
+    public void run(GameClock clock, int argument) {
+        expired = true;
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.simulation.Controller;
+
+/**
+ * An {@link Agent} which greedily picks the combination of rotating a receptor and releasing one
+ * of its marbles that improves the value of the game the most.
+ *
+ * <p>Each decision the agent performs at most a single action: either the rotation or, if no
+ * rotation is needed, the release of the best combination.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GreedyAgent implements Agent {
+    /**
+     * The model of the current state of the game.
+     */
+    private Model current;
+
+    /**
+     * The model to evaluate the combinations in.
+     */
+    private Model candidate;
+
+    /**
+     * Decide on the next action given an observation of the game and perform it on the given
+     * controller, if any.
+     *
+     * @param observation The up-to-date observation of the game.
+     * @param controller The controller to perform the actions with.
+     */
+    @Override
+    public void act(Observation observation, Controller controller) {
+        if (current == null) {
+            current = new Model(observation);
+            candidate = new Model(observation);
+        }
+
+        current.load();
+        double best = current.evaluate();
+        int bestReceptor = -1;
+        int bestTurns = 0;
+        int bestDirection = -1;
+
+        for (int receptor = 0; receptor < observation.getReceptorCount(); receptor++) {
+            for (int turns = 0; turns < 4; turns++) {
+                for (int direction = -1; direction < 4; direction++) {
+                    double value = evaluate(receptor, turns, direction);
+                    if (value > best) {
+                        best = value;
+                        bestReceptor = receptor;
+                        bestTurns = turns;
+                        bestDirection = direction;
+                    }
+                }
+            }
+        }
+
+        if (bestReceptor < 0) {
+            return;
+        } else if (bestTurns > 0) {
+            controller.rotate(bestReceptor, bestTurns);
+        } else {
+            controller.release(bestReceptor, bestDirection);
+        }
+    }
+
+    /**
+     * Evaluate the value of the game after rotating a receptor and releasing one of its marbles.
+     *
+     * @param receptor The index of the receptor.
+     * @param turns The amount of quarter turns to rotate the receptor with.
+     * @param direction The ordinal of the direction of the slot to release or <code>-1</code> to
+     *                  only rotate the receptor.
+     * @return The value of the game after the actions or negative infinity if the actions are
+     *         not possible.
+     */
+    private double evaluate(int receptor, int turns, int direction) {
+        candidate.copy(current);
+        if (turns > 0 && !candidate.rotate(receptor, turns)
+            || direction >= 0 && !candidate.release(receptor, direction)) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return candidate.evaluate();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.grid.Direction;
+
+/**
+ * A {@link Hint} is a move suggested to the player by a {@link HintEngine}: either rotating a
+ * receptor or releasing the marble in one of its slots.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class Hint {
+    /**
+     * The index of the receptor to act on.
+     */
+    private final int receptor;
+
+    /**
+     * The slot to release or <code>null</code> if the receptor should be rotated.
+     */
+    private final Direction direction;
+
+    /**
+     * The depth of the search that found this hint.
+     */
+    private final int depth;
+
+    /**
+     * Construct a {@link Hint} instance.
+     *
+     * @param action The action of the {@link Model} to suggest.
+     * @param depth The depth of the search that found the action.
+     */
+    Hint(int action, int depth) {
+        int kind = action % Model.ACTIONS;
+        this.receptor = action / Model.ACTIONS;
+        this.direction = kind == Model.ROTATE ? null : Direction.values()[kind];
+        this.depth = depth;
+    }
+
+    /**
+     * Return the index of the receptor to act on.
+     *
+     * @return The index of the receptor in {@link Observation} order.
+     */
+    public int getReceptor() {
+        return receptor;
+    }
+
+    /**
+     * Determine whether this hint suggests to rotate the receptor.
+     *
+     * @return <code>true</code> if the receptor should be rotated, <code>false</code> if a marble
+     *         should be released.
+     */
+    public boolean isRotation() {
+        return direction == null;
+    }
+
+    /**
+     * Return the direction of the slot whose marble should be released.
+     *
+     * @return The direction of the slot or <code>null</code> if the receptor should be rotated.
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Return the amount of moves the search looked ahead to find this hint.
+     *
+     * @return The depth of the search that found this hint.
+     */
+    public int getDepth() {
+        return depth;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.level.GameSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link HintEngine} searches for the best next move of the player in the background, so that
+ * the thread which renders the game does not stall.
+ *
+ * <p>A request takes an {@link Observation} of the session on the calling thread, which is the
+ * only work done on that thread, and hands it to an executor. The search deepens iteratively and
+ * publishes the best move found so far after every completed depth, until it reaches its maximum
+ * depth, runs out of time or is cancelled. Cancelling, for instance because the player acted,
+ * withdraws the published hint immediately and stops the search at its next node.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class HintEngine {
+    /**
+     * The executor shared by the engines that do not provide their own, which runs the searches
+     * on a single daemon thread.
+     */
+    private static final Executor SHARED = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "broccoli-hints");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The factor with which the value of each subsequent move is discounted.
+     */
+    private static final double DISCOUNT = 0.95;
+
+    /**
+     * The session to give hints for.
+     */
+    private final GameSession session;
+
+    /**
+     * The executor to run the searches on.
+     */
+    private final Executor executor;
+
+    /**
+     * The maximum depth of a search.
+     */
+    private final int depth;
+
+    /**
+     * The maximum duration of a search in nanoseconds.
+     */
+    private final long timeout;
+
+    /**
+     * The generation of the current request, which changes whenever a request is made or
+     * cancelled.
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * The best hint of the current request found so far.
+     */
+    private final AtomicReference<Hint> hint = new AtomicReference<>();
+
+    /**
+     * Construct a {@link HintEngine} instance.
+     *
+     * @param session The session to give hints for.
+     * @param executor The executor to run the searches on.
+     * @param depth The maximum depth of a search.
+     * @param timeout The maximum duration of a search in seconds.
+     */
+    public HintEngine(GameSession session, Executor executor, int depth, double timeout) {
+        if (depth < 1 || !(timeout > 0)) {
+            throw new IllegalArgumentException("The depth and timeout must be positive");
+        }
+
+        this.session = session;
+        this.executor = executor;
+        this.depth = depth;
+        this.timeout = (long) (timeout * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Construct a {@link HintEngine} instance that searches up to four moves deep for at most two
+     * seconds on a shared background thread.
+     *
+     * @param session The session to give hints for.
+     */
+    public HintEngine(GameSession session) {
+        this(session, SHARED, 4, 2.0);
+    }
+
+    /**
+     * Request a hint for the current state of the session, which cancels the previous request.
+     * This method must be called on the thread that updates the session.
+     */
+    public void request() {
+        int id = generation.incrementAndGet();
+        hint.set(null);
+
+        Observation snapshot = new Observation(session);
+        snapshot.update();
+        executor.execute(() -> search(snapshot, id));
+    }
+
+    /**
+     * Cancel the current request and withdraw its hint.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+        hint.set(null);
+    }
+
+    /**
+     * Return the best hint found so far for the current request.
+     *
+     * @return The best hint or <code>null</code> if no hint has been found (yet).
+     */
+    public Hint getHint() {
+        return hint.get();
+    }
+
+    /**
+     * Search the given snapshot with increasing depth and publish the best move after every
+     * completed depth.
+     *
+     * @param snapshot The snapshot of the session to search.
+     * @param id The generation of the request.
+     */
+    private void search(Observation snapshot, int id) {
+        long deadline = System.nanoTime() + timeout;
+        BooleanSupplier cancelled = () -> generation.get() != id || System.nanoTime() > deadline;
+        Search search = new Search(snapshot, depth, DISCOUNT);
+
+        for (int limit = 1; limit <= depth; limit++) {
+            int action = search.best(limit, cancelled);
+            if (action == Search.CANCELLED) {
+                return;
+            } else if (action >= 0) {
+                publish(new Hint(action, limit), id);
+            }
+        }
+    }
+
+    /**
+     * Publish the given hint unless its request has been cancelled in the meantime.
+     *
+     * @param found The hint to publish.
+     * @param id The generation of the request of the hint.
+     */
+    private void publish(Hint found, int id) {
+        hint.set(found);
+
+        // A cancellation may have happened right before the hint was set
+        if (generation.get() != id) {
+            hint.compareAndSet(found, null);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.simulation.Controller;
+
+/**
+ * An {@link Agent} which searches the sequences of actions up to a fixed depth for the one that
+ * leads to the most valuable game and performs its first action.
+ *
+ * <p>Values further in the future are discounted, so the agent prefers reaching a state sooner
+ * over reaching it later.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class LookaheadAgent implements Agent {
+    /**
+     * The maximum amount of actions to look ahead.
+     */
+    private final int depth;
+
+    /**
+     * The factor with which the value of each subsequent action is discounted.
+     */
+    private final double discount;
+
+    /**
+     * The search of this agent, which is created on the first observation.
+     */
+    private Search search;
+
+    /**
+     * Construct a {@link LookaheadAgent} instance.
+     *
+     * @param depth The maximum amount of actions to look ahead.
+     * @param discount The factor with which the value of each subsequent action is discounted.
+     * @throws IllegalArgumentException if the depth is not positive or the discount is not in the
+     *                                  range <code>(0, 1]</code>.
+     */
+    public LookaheadAgent(int depth, double discount) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("The depth must be positive");
+        } else if (!(discount > 0 && discount <= 1)) {
+            throw new IllegalArgumentException("The discount must be in the range (0, 1]");
+        }
+
+        this.depth = depth;
+        this.discount = discount;
+    }
+
+    /**
+     * Construct a {@link LookaheadAgent} instance with a discount of <code>0.95</code>.
+     *
+     * @param depth The maximum amount of actions to look ahead.
+     */
+    public LookaheadAgent(int depth) {
+        this(depth, 0.95);
+    }
+
+    /**
+     * Return the maximum amount of actions this agent looks ahead.
+     *
+     * @return The depth of the search.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Decide on the next action given an observation of the game and perform it on the given
+     * controller, if any.
+     *
+     * @param observation The up-to-date observation of the game.
+     * @param controller The controller to perform the actions with.
+     */
+    @Override
+    public void act(Observation observation, Controller controller) {
+        if (search == null) {
+            search = new Search(observation, depth, discount);
+        }
+
+        int action = search.best(depth, () -> false);
+        if (action < 0) {
+            return;
+        } else if (action % Model.ACTIONS == Model.ROTATE) {
+            controller.rotate(action / Model.ACTIONS, 1);
+        } else {
+            controller.release(action / Model.ACTIONS, action % Model.ACTIONS);
+        }
+    }
+}
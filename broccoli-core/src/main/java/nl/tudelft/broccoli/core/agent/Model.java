@@ -0,0 +1,395 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import static nl.tudelft.broccoli.core.agent.Observation.FILTER;
+import static nl.tudelft.broccoli.core.agent.Observation.ONE_WAY;
+import static nl.tudelft.broccoli.core.agent.Observation.RECEPTOR;
+import static nl.tudelft.broccoli.core.agent.Observation.TELEPORTER;
+import static nl.tudelft.broccoli.core.agent.Observation.TRACK;
+
+import nl.tudelft.broccoli.core.MarbleType;
+
+import java.util.Arrays;
+
+/**
+ * A simplified model of the receptors of a game, which agents use to evaluate the outcome of
+ * their actions without touching the game itself.
+ *
+ * <p>The model assumes released marbles arrive instantly at the receptor they travel to and that
+ * rotations complete immediately. Models are mutable and copied into preallocated instances, so
+ * searching does not allocate.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+final class Model {
+    /**
+     * The amount of actions per receptor: a release for each of the four directions and a
+     * quarter turn.
+     */
+    static final int ACTIONS = 5;
+
+    /**
+     * The action of a receptor which rotates it by a quarter turn.
+     */
+    static final int ROTATE = 4;
+
+    /**
+     * The amount of points scored by marking a receptor.
+     */
+    private static final int MARK_SCORE = 100;
+
+    /**
+     * The weight of the potential of the receptors in the value of the model.
+     */
+    private static final double POTENTIAL_WEIGHT = 5.0;
+
+    /**
+     * The ordinal of the joker marble type.
+     */
+    private static final int JOKER = MarbleType.JOKER.ordinal();
+
+    /**
+     * The static layout of the game.
+     */
+    private final Observation observation;
+
+    /**
+     * The marble type in each slot, indexed by <code>receptor * 4 + direction</code>.
+     */
+    private final int[] slots;
+
+    /**
+     * A flag per receptor to indicate it has been marked.
+     */
+    private final boolean[] marked;
+
+    /**
+     * A flag per receptor to indicate it is locked.
+     */
+    private final boolean[] locked;
+
+    /**
+     * The buffer to count the colours of a receptor in.
+     */
+    private final int[] counts = new int[JOKER + 1];
+
+    /**
+     * The score of the player.
+     */
+    private int score;
+
+    /**
+     * Construct a {@link Model} instance.
+     *
+     * @param observation The observation of the game to model.
+     */
+    Model(Observation observation) {
+        this.observation = observation;
+        this.slots = new int[observation.getReceptorCount() * 4];
+        this.marked = new boolean[observation.getReceptorCount()];
+        this.locked = new boolean[observation.getReceptorCount()];
+    }
+
+    /**
+     * Load the state of the observation into this model.
+     */
+    void load() {
+        for (int i = 0; i < marked.length; i++) {
+            marked[i] = observation.isMarked(i);
+            locked[i] = observation.isLocked(i);
+            for (int j = 0; j < 4; j++) {
+                slots[i * 4 + j] = observation.getSlot(i, j);
+            }
+        }
+        score = observation.getScore();
+    }
+
+    /**
+     * Copy the state of the given model into this model.
+     *
+     * @param other The model to copy.
+     */
+    void copy(Model other) {
+        System.arraycopy(other.slots, 0, slots, 0, slots.length);
+        System.arraycopy(other.marked, 0, marked, 0, marked.length);
+        System.arraycopy(other.locked, 0, locked, 0, locked.length);
+        score = other.score;
+    }
+
+    /**
+     * Return the amount of actions in this model.
+     *
+     * @return The amount of actions.
+     */
+    int getActionCount() {
+        return marked.length * ACTIONS;
+    }
+
+    /**
+     * Apply the given action to this model.
+     *
+     * @param action The action to apply, which is <code>receptor * 5 + kind</code>.
+     * @return <code>true</code> if the action could be applied, <code>false</code> otherwise.
+     */
+    boolean apply(int action) {
+        int receptor = action / ACTIONS;
+        int kind = action % ACTIONS;
+        return kind == ROTATE ? rotate(receptor, 1) : release(receptor, kind);
+    }
+
+    /**
+     * Rotate the given receptor clockwise.
+     *
+     * @param receptor The index of the receptor.
+     * @param turns The amount of quarter turns.
+     * @return <code>true</code> if the receptor was rotated, <code>false</code> if it is locked.
+     */
+    boolean rotate(int receptor, int turns) {
+        if (locked[receptor]) {
+            return false;
+        }
+
+        int offset = receptor * 4;
+        for (int i = 0; i < Math.floorMod(turns, 4); i++) {
+            int last = slots[offset + 3];
+            System.arraycopy(slots, offset, slots, offset + 1, 3);
+            slots[offset] = last;
+        }
+        return true;
+    }
+
+    /**
+     * Release the marble in the given slot of a receptor.
+     *
+     * @param receptor The index of the receptor.
+     * @param direction The ordinal of the direction of the slot.
+     * @return <code>true</code> if the marble was released, <code>false</code> otherwise.
+     */
+    boolean release(int receptor, int direction) {
+        int type = slots[receptor * 4 + direction];
+        if (type < 0 || locked[receptor]) {
+            return false;
+        }
+
+        int target = trace(receptor, direction, type);
+        if (target < 0 || slots[target] >= 0 || locked[target / 4]) {
+            return false;
+        }
+
+        slots[receptor * 4 + direction] = -1;
+        slots[target] = type;
+        mark(target / 4);
+        return true;
+    }
+
+    /**
+     * Trace the path of a marble released from the given slot.
+     *
+     * @param receptor The index of the receptor.
+     * @param direction The ordinal of the direction of the slot.
+     * @param type The ordinal of the type of the marble.
+     * @return The slot <code>receptor * 4 + direction</code> the marble arrives in or
+     *         <code>-1</code> if it does not arrive at a receptor.
+     */
+    int trace(int receptor, int direction, int type) {
+        int cell = observation.getCell(receptor);
+        int from = (direction + 2) % 4;
+
+        for (int i = 0; i < slots.length; i++) {
+            cell = neighbour(cell, direction);
+            if (cell < 0 || !observation.allowsConnection(cell, from)) {
+                return -1;
+            }
+
+            int kind = observation.getKind(cell);
+            if (kind == RECEPTOR) {
+                return observation.getReceptorAt(cell) * 4 + from;
+            } else if (kind == TELEPORTER) {
+                cell = observation.getParameter(cell);
+            } else if (!passes(cell, from, type)) {
+                return -1;
+            }
+
+            if (!observation.allowsConnection(cell, direction)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determine whether a marble passes the track on the given cell.
+     *
+     * @param cell The index of the cell.
+     * @param from The ordinal of the direction from which the marble enters.
+     * @param type The ordinal of the type of the marble.
+     * @return <code>true</code> if the marble passes the track, <code>false</code> otherwise.
+     */
+    private boolean passes(int cell, int from, int type) {
+        int parameter = observation.getParameter(cell);
+        switch (observation.getKind(cell)) {
+            case TRACK:
+                return true;
+            case FILTER:
+                return type == parameter || type == JOKER;
+            case ONE_WAY:
+                return from == parameter;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Return the neighbour of a cell in the given direction.
+     *
+     * @param cell The index of the cell.
+     * @param direction The ordinal of the direction.
+     * @return The index of the neighbouring cell or <code>-1</code> if it lies outside the grid.
+     */
+    private int neighbour(int cell, int direction) {
+        int width = observation.getWidth();
+        int x = cell % width + (direction == 1 ? 1 : 0) - (direction == 3 ? 1 : 0);
+        int y = cell / width + (direction == 0 ? 1 : 0) - (direction == 2 ? 1 : 0);
+
+        if (x < 0 || y < 0 || x >= width || y >= observation.getHeight()) {
+            return -1;
+        }
+        return y * width + x;
+    }
+
+    /**
+     * Mark the given receptor if its slots are filled with compatible marbles.
+     *
+     * @param receptor The index of the receptor.
+     */
+    private void mark(int receptor) {
+        int colour = -1;
+        for (int i = receptor * 4; i < receptor * 4 + 4; i++) {
+            if (slots[i] < 0 || slots[i] != JOKER && colour >= 0 && slots[i] != colour) {
+                return;
+            } else if (slots[i] != JOKER) {
+                colour = slots[i];
+            }
+        }
+
+        for (int i = receptor * 4; i < receptor * 4 + 4; i++) {
+            slots[i] = -1;
+        }
+        marked[receptor] = true;
+        score += MARK_SCORE;
+    }
+
+    /**
+     * Return the score in this model.
+     *
+     * @return The score of the player.
+     */
+    int getScore() {
+        return score;
+    }
+
+    /**
+     * Determine whether the given receptor has been marked in this model.
+     *
+     * @param receptor The index of the receptor.
+     * @return <code>true</code> if the receptor has been marked, <code>false</code> otherwise.
+     */
+    boolean isMarked(int receptor) {
+        return marked[receptor];
+    }
+
+    /**
+     * Return the type of the marble in the given slot.
+     *
+     * @param receptor The index of the receptor.
+     * @param direction The ordinal of the direction of the slot.
+     * @return The ordinal of the marble type or <code>-1</code> if the slot is empty.
+     */
+    int getSlot(int receptor, int direction) {
+        return slots[receptor * 4 + direction];
+    }
+
+    /**
+     * Evaluate the value of this model, which is the score plus the potential of the receptors
+     * to be marked.
+     *
+     * @return The value of the model.
+     */
+    double evaluate() {
+        double value = score;
+        for (int i = 0; i < marked.length; i++) {
+            value += POTENTIAL_WEIGHT * potential(i);
+        }
+        return value;
+    }
+
+    /**
+     * Return the colour that occurs most in the counted colours.
+     *
+     * @return The ordinal of the dominant colour.
+     */
+    private int dominant() {
+        int colour = 0;
+        for (int i = 1; i < JOKER; i++) {
+            if (counts[i] > counts[colour]) {
+                colour = i;
+            }
+        }
+        return colour;
+    }
+
+    /**
+     * Determine the potential of a receptor to be marked, which grows quadratically with the
+     * amount of marbles of the same colour and shrinks with the amount of conflicting marbles.
+     *
+     * @param receptor The index of the receptor.
+     * @return The potential of the receptor.
+     */
+    private double potential(int receptor) {
+        Arrays.fill(counts, 0);
+        int occupied = 0;
+        for (int i = receptor * 4; i < receptor * 4 + 4; i++) {
+            if (slots[i] >= 0) {
+                counts[slots[i]]++;
+                occupied++;
+            }
+        }
+
+        int colour = dominant();
+        int best = counts[colour] + counts[JOKER];
+        int conflicts = occupied - best;
+        double potential = best * best - 2 * conflicts * conflicts;
+
+        // Prefer keeping the slot below the nexus free for a marble that fits
+        int next = observation.getUpcomingCount() > 0 ? observation.getUpcoming(0) : -1;
+        if (observation.isFed(receptor) && slots[receptor * 4] < 0
+            && (next == colour || next == JOKER || best == 0)) {
+            potential += 1;
+        }
+        return potential;
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.TimerTile;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.nexus.Nexus;
+import nl.tudelft.broccoli.core.nexus.NexusContext;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import nl.tudelft.broccoli.core.track.FilterTrack;
+import nl.tudelft.broccoli.core.track.OneWayTrack;
+import nl.tudelft.broccoli.core.track.Track;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An observation of the state of a {@link GameSession} as seen by an {@link Agent}.
+ *
+ * <p>The static layout of the grid is captured once when the observation is constructed, while
+ * the dynamic state of the receptors, the upcoming marbles, the remaining time and the score are
+ * refreshed in place by {@link #update()}, so observing a game does not allocate.</p>
+ *
+ * <p>Cells are indexed by <code>y * width + x</code>, receptors by their index in
+ * {@link Simulation#receptors(Grid)} and directions and marble types by their ordinal. An absent
+ * value is represented by <code>-1</code>.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class Observation {
+    /**
+     * The kind of a cell without a tileable that can transport marbles.
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * The kind of a cell with a regular track.
+     */
+    public static final int TRACK = 1;
+
+    /**
+     * The kind of a cell with a filter track, whose parameter is the marble type it lets pass.
+     */
+    public static final int FILTER = 2;
+
+    /**
+     * The kind of a cell with a one-way track, whose parameter is the direction from which
+     * marbles pass.
+     */
+    public static final int ONE_WAY = 3;
+
+    /**
+     * The kind of a cell with a teleporter, whose parameter is the cell of its destination.
+     */
+    public static final int TELEPORTER = 4;
+
+    /**
+     * The kind of a cell with a receptor.
+     */
+    public static final int RECEPTOR = 5;
+
+    /**
+     * The kind of a cell with a nexus.
+     */
+    public static final int NEXUS = 6;
+
+    /**
+     * The amount of directions.
+     */
+    private static final int DIRECTIONS = 4;
+
+    /**
+     * The game session that is observed.
+     */
+    private final GameSession session;
+
+    /**
+     * The receptors of the game.
+     */
+    private final Receptor[] receptors;
+
+    /**
+     * The timers of the game.
+     */
+    private final TimerTile[] timers;
+
+    /**
+     * The width of the grid.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid.
+     */
+    private final int height;
+
+    /**
+     * The kind of each cell.
+     */
+    private final int[] kinds;
+
+    /**
+     * The bit mask of directions that allow a connection for each cell.
+     */
+    private final int[] connections;
+
+    /**
+     * The parameter of each cell.
+     */
+    private final int[] parameters;
+
+    /**
+     * The index of the receptor of each cell.
+     */
+    private final int[] cellReceptors;
+
+    /**
+     * The cell of each receptor.
+     */
+    private final int[] receptorCells;
+
+    /**
+     * A flag per receptor to indicate it is fed directly by a nexus.
+     */
+    private final boolean[] fed;
+
+    /**
+     * The rotation of each receptor.
+     */
+    private final int[] rotations;
+
+    /**
+     * The marble type in each slot, indexed by <code>receptor * 4 + direction</code>.
+     */
+    private final int[] slots;
+
+    /**
+     * A flag per receptor to indicate it has been marked.
+     */
+    private final boolean[] marked;
+
+    /**
+     * A flag per receptor to indicate it is locked.
+     */
+    private final boolean[] locked;
+
+    /**
+     * The types of the upcoming marbles.
+     */
+    private final int[] upcoming;
+
+    /**
+     * The remaining time of the game in seconds.
+     */
+    private double remainingTime;
+
+    /**
+     * The score of the player.
+     */
+    private int score;
+
+    /**
+     * Construct a {@link Observation} instance.
+     *
+     * @param session The game session to observe.
+     */
+    public Observation(GameSession session) {
+        this(session, session.getNexusContext().getLookahead());
+    }
+
+    /**
+     * Construct a {@link Observation} instance.
+     *
+     * @param session The game session to observe.
+     * @param lookahead The amount of upcoming marbles to observe.
+     */
+    public Observation(GameSession session, int lookahead) {
+        Grid grid = session.getGrid();
+        this.session = session;
+        this.receptors = Simulation.receptors(grid);
+        this.width = grid.getWidth();
+        this.height = grid.getHeight();
+
+        int cells = width * height;
+        this.kinds = new int[cells];
+        this.connections = new int[cells];
+        this.parameters = new int[cells];
+        this.cellReceptors = new int[cells];
+        Arrays.fill(parameters, -1);
+        Arrays.fill(cellReceptors, -1);
+
+        List<TimerTile> timing = new ArrayList<>();
+        for (int cell = 0; cell < cells; cell++) {
+            Tileable tileable = grid.get(cell % width, cell / width).getTileable();
+            if (tileable instanceof TimerTile) {
+                timing.add((TimerTile) tileable);
+            }
+            describe(cell, tileable);
+        }
+        this.timers = timing.toArray(new TimerTile[0]);
+
+        this.receptorCells = new int[receptors.length];
+        this.fed = new boolean[receptors.length];
+        for (int i = 0; i < receptors.length; i++) {
+            Tileable tileable = receptors[i];
+            int cell = tileable.getTile().getY() * width + tileable.getTile().getX();
+            int above = cell + width;
+            receptorCells[i] = cell;
+            cellReceptors[cell] = i;
+            fed[i] = above < cells && kinds[above] == NEXUS;
+        }
+
+        this.rotations = new int[receptors.length];
+        this.slots = new int[receptors.length * DIRECTIONS];
+        this.marked = new boolean[receptors.length];
+        this.locked = new boolean[receptors.length];
+        this.upcoming = new int[lookahead];
+        update();
+    }
+
+    /**
+     * Describe the static properties of the given cell.
+     *
+     * @param cell The index of the cell.
+     * @param tileable The tileable on the cell.
+     */
+    private void describe(int cell, Tileable tileable) {
+        for (Direction direction : Direction.values()) {
+            if (tileable.allowsConnection(direction)) {
+                connections[cell] |= 1 << direction.ordinal();
+            }
+        }
+
+        if (tileable instanceof Receptor) {
+            kinds[cell] = RECEPTOR;
+        } else if (tileable instanceof Nexus) {
+            kinds[cell] = NEXUS;
+        } else if (tileable instanceof FilterTrack) {
+            kinds[cell] = FILTER;
+            parameters[cell] = ((FilterTrack) tileable).getMarbleType().ordinal();
+        } else if (tileable instanceof OneWayTrack) {
+            kinds[cell] = ONE_WAY;
+            parameters[cell] = ((OneWayTrack) tileable).getDirection().ordinal();
+        } else if (tileable instanceof Teleporter) {
+            Tileable destination = ((Teleporter) tileable).getDestination();
+            kinds[cell] = TELEPORTER;
+            parameters[cell] = destination.getTile().getY() * width + destination.getTile().getX();
+        } else if (tileable instanceof Track) {
+            kinds[cell] = TRACK;
+        } else {
+            kinds[cell] = EMPTY;
+            connections[cell] = 0;
+        }
+    }
+
+    /**
+     * Refresh the dynamic state of this observation from the game session.
+     */
+    public void update() {
+        for (int i = 0; i < receptors.length; i++) {
+            Receptor receptor = receptors[i];
+            rotations[i] = receptor.getRotation();
+            marked[i] = receptor.isMarked();
+            locked[i] = receptor.isLocked();
+
+            for (int j = 0; j < DIRECTIONS; j++) {
+                Marble marble = receptor.getSlot(Direction.from(j)).getMarble();
+                slots[i * DIRECTIONS + j] = marble == null ? -1 : marble.getType().ordinal();
+            }
+        }
+
+        NexusContext context = session.getNexusContext();
+        for (int i = 0; i < upcoming.length; i++) {
+            upcoming[i] = context.peek(i).ordinal();
+        }
+
+        remainingTime = Double.POSITIVE_INFINITY;
+        for (TimerTile timer : timers) {
+            remainingTime = Math.min(remainingTime, timer.getRemainingTime());
+        }
+        score = session.getProgress().getScore();
+    }
+
+    /**
+     * Return the width of the grid.
+     *
+     * @return The width of the grid.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Return the height of the grid.
+     *
+     * @return The height of the grid.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Return the kind of the given cell.
+     *
+     * @param cell The index of the cell.
+     * @return The kind of the cell.
+     */
+    public int getKind(int cell) {
+        return kinds[cell];
+    }
+
+    /**
+     * Determine whether the tileable on the given cell allows a connection in the given direction.
+     *
+     * @param cell The index of the cell.
+     * @param direction The ordinal of the direction.
+     * @return <code>true</code> if the cell allows a connection in the direction,
+     *         <code>false</code> otherwise.
+     */
+    public boolean allowsConnection(int cell, int direction) {
+        return (connections[cell] & (1 << direction)) != 0;
+    }
+
+    /**
+     * Return the parameter of the given cell, which is the marble type of a filter track, the
+     * direction of a one-way track or the destination cell of a teleporter.
+     *
+     * @param cell The index of the cell.
+     * @return The parameter of the cell or <code>-1</code> if it has none.
+     */
+    public int getParameter(int cell) {
+        return parameters[cell];
+    }
+
+    /**
+     * Return the index of the receptor on the given cell.
+     *
+     * @param cell The index of the cell.
+     * @return The index of the receptor or <code>-1</code> if the cell has no receptor.
+     */
+    public int getReceptorAt(int cell) {
+        return cellReceptors[cell];
+    }
+
+    /**
+     * Return the amount of receptors in the game.
+     *
+     * @return The amount of receptors.
+     */
+    public int getReceptorCount() {
+        return receptors.length;
+    }
+
+    /**
+     * Return the cell of the given receptor.
+     *
+     * @param receptor The index of the receptor.
+     * @return The index of the cell of the receptor.
+     */
+    public int getCell(int receptor) {
+        return receptorCells[receptor];
+    }
+
+    /**
+     * Determine whether the given receptor is fed directly by a nexus above it.
+     *
+     * @param receptor The index of the receptor.
+     * @return <code>true</code> if the receptor is fed by a nexus, <code>false</code> otherwise.
+     */
+    public boolean isFed(int receptor) {
+        return fed[receptor];
+    }
+
+    /**
+     * Return the rotation of the given receptor.
+     *
+     * @param receptor The index of the receptor.
+     * @return The amount of clockwise quarter turns of the receptor.
+     */
+    public int getRotation(int receptor) {
+        return rotations[receptor];
+    }
+
+    /**
+     * Return the type of the marble in the slot of the given receptor that points in the given
+     * direction.
+     *
+     * @param receptor The index of the receptor.
+     * @param direction The ordinal of the direction of the slot.
+     * @return The ordinal of the {@link MarbleType} in the slot or <code>-1</code> if the slot is
+     *         empty.
+     */
+    public int getSlot(int receptor, int direction) {
+        return slots[receptor * DIRECTIONS + direction];
+    }
+
+    /**
+     * Determine whether the given receptor has been marked.
+     *
+     * @param receptor The index of the receptor.
+     * @return <code>true</code> if the receptor has been marked, <code>false</code> otherwise.
+     */
+    public boolean isMarked(int receptor) {
+        return marked[receptor];
+    }
+
+    /**
+     * Determine whether the given receptor is locked.
+     *
+     * @param receptor The index of the receptor.
+     * @return <code>true</code> if the receptor is locked, <code>false</code> otherwise.
+     */
+    public boolean isLocked(int receptor) {
+        return locked[receptor];
+    }
+
+    /**
+     * Return the amount of upcoming marbles that is observed.
+     *
+     * @return The amount of observed upcoming marbles.
+     */
+    public int getUpcomingCount() {
+        return upcoming.length;
+    }
+
+    /**
+     * Return the type of an upcoming marble.
+     *
+     * @param n The position of the marble in the queue, where zero is the marble to spawn next.
+     * @return The ordinal of the {@link MarbleType} of the marble.
+     */
+    public int getUpcoming(int n) {
+        return upcoming[n];
+    }
+
+    /**
+     * Return the remaining time of the game.
+     *
+     * @return The remaining time in seconds or {@link Double#POSITIVE_INFINITY} if the game is
+     *         not timed.
+     */
+    public double getRemainingTime() {
+        return remainingTime;
+    }
+
+    /**
+     * Return the score of the player.
+     *
+     * @return The score of the player.
+     */
+    public int getScore() {
+        return score;
+    }
+}
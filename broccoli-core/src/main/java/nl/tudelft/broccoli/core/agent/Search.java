@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A depth-limited search over the actions of a {@link Model} for the action that leads to the
+ * most valuable game, where values further in the future are discounted.
+ *
+ * <p>The models of the search are allocated once per depth. A search can be cancelled between
+ * any two explored nodes, which allows it to run in the background.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+final class Search {
+    /**
+     * The result of a search that has been cancelled.
+     */
+    static final int CANCELLED = -2;
+
+    /**
+     * The models of the search, indexed by depth.
+     */
+    private final Model[] models;
+
+    /**
+     * The factor with which the value of each subsequent action is discounted.
+     */
+    private final double discount;
+
+    /**
+     * The condition under which the current search is cancelled.
+     */
+    private BooleanSupplier cancelled;
+
+    /**
+     * The value of the action found by the last search.
+     */
+    private double value;
+
+    /**
+     * Construct a {@link Search} instance.
+     *
+     * @param observation The observation to load the root of the search from.
+     * @param depth The maximum depth of the search.
+     * @param discount The factor with which the value of each subsequent action is discounted.
+     */
+    Search(Observation observation, int depth, double discount) {
+        this.models = new Model[depth + 1];
+        this.discount = discount;
+        for (int i = 0; i < models.length; i++) {
+            models[i] = new Model(observation);
+        }
+    }
+
+    /**
+     * Search the sequences of actions up to the given depth from the current state of the
+     * observation.
+     *
+     * @param depth The depth of the search, which may not exceed the maximum depth.
+     * @param cancelled The condition under which the search is cancelled.
+     * @return The first action of the most valuable sequence, <code>-1</code> if no action is
+     *         better than doing nothing or {@link #CANCELLED} if the search has been cancelled.
+     */
+    int best(int depth, BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        Model root = models[0];
+        root.load();
+
+        // Doing nothing is discounted like the actions, so all values are on the same scale
+        double best = discount * root.evaluate();
+        int action = -1;
+        for (int i = 0; i < root.getActionCount(); i++) {
+            double value = explore(0, i, depth);
+            if (cancelled.getAsBoolean()) {
+                return CANCELLED;
+            } else if (value > best) {
+                best = value;
+                action = i;
+            }
+        }
+
+        this.value = best;
+        return action;
+    }
+
+    /**
+     * Return the value of the action found by the last search.
+     *
+     * @return The discounted value of the most valuable sequence.
+     */
+    double getValue() {
+        return value;
+    }
+
+    /**
+     * Explore the given action of the model at the given level.
+     *
+     * @param level The level of the model to apply the action to.
+     * @param action The action to explore.
+     * @param depth The depth of the search.
+     * @return The discounted value of the best sequence starting with the action or negative
+     *         infinity if the action is not possible or the search has been cancelled.
+     */
+    private double explore(int level, int action, int depth) {
+        Model parent = models[level];
+        Model child = models[level + 1];
+
+        if (isIdle(parent, action) || cancelled.getAsBoolean()) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        child.copy(parent);
+        if (!child.apply(action)) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        double best = child.evaluate();
+        if (level + 1 < depth) {
+            for (int i = 0; i < child.getActionCount(); i++) {
+                best = Math.max(best, explore(level + 1, i, depth));
+            }
+        }
+        return discount * best;
+    }
+
+    /**
+     * Determine whether the given action has no effect, which is the case for releasing an empty
+     * slot and rotating an empty receptor.
+     *
+     * @param model The model to apply the action to.
+     * @param action The action to check.
+     * @return <code>true</code> if the action has no effect, <code>false</code> otherwise.
+     */
+    private static boolean isIdle(Model model, int action) {
+        int receptor = action / Model.ACTIONS;
+        int kind = action % Model.ACTIONS;
+
+        if (kind != Model.ROTATE) {
+            return model.getSlot(receptor, kind) < 0;
+        }
+
+        for (int i = 0; i < 4; i++) {
+            if (model.getSlot(receptor, i) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
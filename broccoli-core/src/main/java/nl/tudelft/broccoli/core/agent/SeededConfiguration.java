@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.AbstractGameSession;
+
+/**
+ * A {@link Configuration} which overrides the seed of the game session.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+final class SeededConfiguration implements Configuration {
+    /**
+     * The configuration to delegate to.
+     */
+    private final Configuration delegate;
+
+    /**
+     * The seed of the game session.
+     */
+    private final int seed;
+
+    /**
+     * Construct a {@link SeededConfiguration} instance.
+     *
+     * @param delegate The configuration to delegate to.
+     * @param seed The seed of the game session.
+     */
+    SeededConfiguration(Configuration delegate, int seed) {
+        this.delegate = delegate;
+        this.seed = seed;
+    }
+
+    /**
+     * Return the value of the given property.
+     *
+     * @param property The property to get the value of.
+     * @param defaultValue The value of the property in case it does not exist.
+     * @param <T> The shape of the value of the property.
+     * @return The value of the property.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Property<T> property, T defaultValue) {
+        if (property == AbstractGameSession.SEED) {
+            return (T) Integer.valueOf(seed);
+        }
+        return delegate.get(property, defaultValue);
+    }
+
+    /**
+     * Determine whether the given property exists in this configuration.
+     *
+     * @param property The property to check.
+     * @return <code>true</code> if the property exists, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean exists(Property<?> property) {
+        return property == AbstractGameSession.SEED || delegate.exists(property);
+    }
+}
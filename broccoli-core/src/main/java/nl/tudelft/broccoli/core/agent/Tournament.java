@@ -0,0 +1,383 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.level.LevelFactory;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelFactory;
+import nl.tudelft.broccoli.core.level.hard.HardLevelFactory;
+import nl.tudelft.broccoli.core.level.medium.MediumLevelFactory;
+import nl.tudelft.broccoli.core.metrics.GameMetrics;
+import nl.tudelft.broccoli.core.metrics.TrafficAtlas;
+import nl.tudelft.broccoli.core.metrics.TrafficHeatmap;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link Tournament} lets agents play the levels of the game in headless simulations, running
+ * the games in parallel, and collects the outcomes of the games.
+ *
+ * <p>Each game is played by a fresh agent in its own {@link Simulation} with a seed derived from
+ * the seed of the tournament, so a tournament is reproducible.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class Tournament {
+    /**
+     * The maximum amount of levels a level factory is asked for.
+     */
+    private static final int MAX_LEVELS = 100;
+
+    /**
+     * The game configuration to use.
+     */
+    private final Configuration config;
+
+    /**
+     * The supplier of the agents that play the games.
+     */
+    private final Supplier<? extends Agent> agents;
+
+    /**
+     * The time in seconds between two decisions of an agent.
+     */
+    private final double interval;
+
+    /**
+     * The time in seconds the simulation is advanced with each step.
+     */
+    private final double step;
+
+    /**
+     * The maximum amount of simulated time in seconds per game.
+     */
+    private final double limit;
+
+    /**
+     * The metrics to record the games in or <code>null</code> to not record any metrics.
+     */
+    private final GameMetrics metrics;
+
+    /**
+     * The atlas to aggregate the traffic of the games in or <code>null</code> to not record the
+     * traffic.
+     */
+    private final TrafficAtlas traffic;
+
+    /**
+     * Construct a {@link Tournament} instance.
+     *
+     * @param config The game configuration to use.
+     * @param agents The supplier of the agents that play the games.
+     * @param interval The time in seconds between two decisions of an agent.
+     * @param step The time in seconds the simulation is advanced with each step.
+     * @param limit The maximum amount of simulated time in seconds per game.
+     * @param metrics The metrics to record the games in or <code>null</code> to not record any
+     *                metrics.
+     * @param traffic The atlas to aggregate the traffic of the games in or <code>null</code> to
+     *                not record the traffic.
+     * @throws IllegalArgumentException if any of the times is not positive.
+     */
+    public Tournament(Configuration config, Supplier<? extends Agent> agents, double interval,
+                      double step, double limit, GameMetrics metrics, TrafficAtlas traffic) {
+        if (!(interval > 0 && step > 0 && limit > 0)) {
+            throw new IllegalArgumentException("The times must be positive");
+        }
+
+        this.config = config;
+        this.agents = agents;
+        this.interval = interval;
+        this.step = step;
+        this.limit = limit;
+        this.metrics = metrics;
+        this.traffic = traffic;
+    }
+
+    /**
+     * Construct a {@link Tournament} instance which does not record the traffic of the games.
+     *
+     * @param config The game configuration to use.
+     * @param agents The supplier of the agents that play the games.
+     * @param interval The time in seconds between two decisions of an agent.
+     * @param step The time in seconds the simulation is advanced with each step.
+     * @param limit The maximum amount of simulated time in seconds per game.
+     * @param metrics The metrics to record the games in or <code>null</code> to not record any
+     *                metrics.
+     * @throws IllegalArgumentException if any of the times is not positive.
+     */
+    public Tournament(Configuration config, Supplier<? extends Agent> agents, double interval,
+                      double step, double limit, GameMetrics metrics) {
+        this(config, agents, interval, step, limit, metrics, null);
+    }
+
+    /**
+     * Construct a {@link Tournament} instance which does not record metrics.
+     *
+     * @param config The game configuration to use.
+     * @param agents The supplier of the agents that play the games.
+     * @param interval The time in seconds between two decisions of an agent.
+     * @param step The time in seconds the simulation is advanced with each step.
+     * @param limit The maximum amount of simulated time in seconds per game.
+     * @throws IllegalArgumentException if any of the times is not positive.
+     */
+    public Tournament(Configuration config, Supplier<? extends Agent> agents, double interval,
+                      double step, double limit) {
+        this(config, agents, interval, step, limit, null);
+    }
+
+    /**
+     * Construct a {@link Tournament} instance where agents decide every 0.25 seconds, the
+     * simulation is stepped at 60 steps per second and games last at most ten minutes.
+     *
+     * @param config The game configuration to use.
+     * @param agents The supplier of the agents that play the games.
+     */
+    public Tournament(Configuration config, Supplier<? extends Agent> agents) {
+        this(config, agents, 0.25, 1.0 / 60, 600);
+    }
+
+    /**
+     * Return every {@link Level} that the level factories of the game provide.
+     *
+     * @return The list of all levels, ordered by difficulty and index.
+     */
+    public static List<Level> levels() {
+        LevelFactory[] factories = {
+            new EasyLevelFactory(), new MediumLevelFactory(), new HardLevelFactory()
+        };
+        List<Level> levels = new ArrayList<>();
+
+        for (LevelFactory factory : factories) {
+            for (int i = 1; i <= MAX_LEVELS; i++) {
+                Level level = factory.create(i);
+                if (level == null) {
+                    break;
+                }
+                levels.add(level);
+            }
+        }
+
+        return levels;
+    }
+
+    /**
+     * Play every given level the given amount of times in parallel.
+     *
+     * @param levels The levels to play.
+     * @param rounds The amount of games to play per level.
+     * @param seed The seed of the tournament.
+     * @return The result of the tournament.
+     */
+    public Result run(List<Level> levels, int rounds, int seed) {
+        List<Outcome> outcomes = IntStream.range(0, levels.size() * rounds)
+            .parallel()
+            .mapToObj(i -> play(levels.get(i / rounds), seed * 31 + i))
+            .collect(Collectors.toList());
+        return new Result(outcomes);
+    }
+
+    /**
+     * Play a single game of the given level.
+     *
+     * @param level The level to play.
+     * @param seed The seed of the game.
+     * @return The outcome of the game.
+     */
+    public Outcome play(Level level, int seed) {
+        GameSession session = level.create(new SeededConfiguration(config, seed));
+        TrafficHeatmap heatmap = null;
+        if (traffic != null) {
+            heatmap = new TrafficHeatmap(session.getGrid().getWidth(),
+                session.getGrid().getHeight());
+            heatmap.track(session.getGrid());
+        }
+
+        Simulation simulation = new Simulation(session, metrics);
+        Observation observation = new Observation(session);
+        Agent agent = agents.get();
+
+        double decision = 0;
+        while (!simulation.isFinished() && simulation.getTime() < limit) {
+            if (simulation.getTime() >= decision) {
+                observation.update();
+                agent.act(observation, simulation);
+                decision += interval;
+            }
+            simulation.step(step);
+        }
+
+        if (heatmap != null) {
+            traffic.merge(level, heatmap);
+        }
+
+        return new Outcome(level, session.getProgress().isWon(),
+            session.getProgress().getScore(), simulation.getTime());
+    }
+
+    /**
+     * The outcome of a single game in a tournament.
+     */
+    public static final class Outcome {
+        /**
+         * The level that has been played.
+         */
+        private final Level level;
+
+        /**
+         * A flag to indicate the game has been won.
+         */
+        private final boolean won;
+
+        /**
+         * The final score of the game.
+         */
+        private final int score;
+
+        /**
+         * The simulated duration of the game in seconds.
+         */
+        private final double time;
+
+        /**
+         * Construct a {@link Outcome} instance.
+         *
+         * @param level The level that has been played.
+         * @param won A flag to indicate the game has been won.
+         * @param score The final score of the game.
+         * @param time The simulated duration of the game in seconds.
+         */
+        public Outcome(Level level, boolean won, int score, double time) {
+            this.level = level;
+            this.won = won;
+            this.score = score;
+            this.time = time;
+        }
+
+        /**
+         * Return the level that has been played.
+         *
+         * @return The level of the game.
+         */
+        public Level getLevel() {
+            return level;
+        }
+
+        /**
+         * Determine whether the game has been won.
+         *
+         * @return <code>true</code> if the game has been won, <code>false</code> otherwise.
+         */
+        public boolean isWon() {
+            return won;
+        }
+
+        /**
+         * Return the final score of the game.
+         *
+         * @return The score of the game.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Return the simulated duration of the game.
+         *
+         * @return The duration of the game in seconds.
+         */
+        public double getTime() {
+            return time;
+        }
+    }
+
+    /**
+     * The result of a tournament, which aggregates the outcomes of its games per level.
+     */
+    public static final class Result {
+        /**
+         * The outcomes of the games.
+         */
+        private final List<Outcome> outcomes;
+
+        /**
+         * Construct a {@link Result} instance.
+         *
+         * @param outcomes The outcomes of the games.
+         */
+        public Result(List<Outcome> outcomes) {
+            this.outcomes = Collections.unmodifiableList(outcomes);
+        }
+
+        /**
+         * Return the outcomes of the games of the tournament.
+         *
+         * @return The unmodifiable list of outcomes.
+         */
+        public List<Outcome> getOutcomes() {
+            return outcomes;
+        }
+
+        /**
+         * Return the amount of games of the given level that have been won.
+         *
+         * @param level The level to get the wins of.
+         * @return The amount of won games.
+         */
+        public long getWins(Level level) {
+            return outcomes.stream().filter(o -> o.getLevel() == level && o.isWon()).count();
+        }
+
+        /**
+         * Return the mean score of the games of the given level.
+         *
+         * @param level The level to get the mean score of.
+         * @return The mean score or zero if the level has not been played.
+         */
+        public double getMeanScore(Level level) {
+            return outcomes.stream().filter(o -> o.getLevel() == level)
+                .mapToInt(Outcome::getScore).average().orElse(0);
+        }
+
+        /**
+         * Return the mean simulated duration of the games of the given level.
+         *
+         * @param level The level to get the mean duration of.
+         * @return The mean duration in seconds or zero if the level has not been played.
+         */
+        public double getMeanTime(Level level) {
+            return outcomes.stream().filter(o -> o.getLevel() == level)
+                .mapToDouble(Outcome::getTime).average().orElse(0);
+        }
+    }
+}
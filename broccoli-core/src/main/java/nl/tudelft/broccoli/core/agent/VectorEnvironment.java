@@ -0,0 +1,479 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.agent;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.receptor.ReceptorListener;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A vectorized reinforcement learning environment, which drives many headless game sessions in
+ * lockstep through a <code>reset</code>/<code>step</code> interface.
+ *
+ * <p>The observations of the environments are written into a flat caller-supplied
+ * <code>int[]</code> or {@link ByteBuffer} with {@link #getObservationSize()} values per
+ * environment, laid out as follows:</p>
+ * <ol>
+ *     <li>the kind of each cell of the grid, as defined by {@link Observation}, in row-major
+ *     order starting at the bottom-left cell, where cell <code>(x, y)</code> is at index
+ *     <code>y * w + x</code> for the width <code>w</code> of the widest grid;</li>
+ *     <li>the rotation of each receptor;</li>
+ *     <li>the marble type in each slot of the receptors, indexed by
+ *     <code>receptor * 4 + direction</code>, or <code>-1</code> if the slot is empty;</li>
+ *     <li>whether each receptor has been marked, as <code>0</code> or <code>1</code>;</li>
+ *     <li>the types of the upcoming marbles of the nexus.</li>
+ * </ol>
+ * <p>Levels with smaller grids or fewer receptors are padded with empty cells, so every
+ * environment has the same layout. Actions are integers, where <code>0</code> does nothing and
+ * <code>1 + receptor * 5 + kind</code> releases the slot in direction <code>kind</code> or
+ * rotates the receptor if <code>kind</code> is four. Invalid actions do nothing.</p>
+ *
+ * <p>The reward of a step is the increase in score plus a fixed reward per receptor that has
+ * been marked during the step. An environment whose game has finished is reset automatically
+ * with the next seed and reports it is done in that step.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class VectorEnvironment {
+    /**
+     * The minimum amount of environments for which the environments are stepped in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    /**
+     * The game configuration to use.
+     */
+    private final Configuration config;
+
+    /**
+     * The levels the environments play.
+     */
+    private final List<Level> levels;
+
+    /**
+     * The environments.
+     */
+    private final Environment[] environments;
+
+    /**
+     * The simulated time in seconds of a single environment step.
+     */
+    private final double interval;
+
+    /**
+     * The time in seconds the simulations are advanced with each simulation step.
+     */
+    private final double step;
+
+    /**
+     * The reward for marking a receptor, which is given in addition to the increase in score.
+     */
+    private final double markReward;
+
+    /**
+     * The width of the grid in the observation.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid in the observation.
+     */
+    private final int height;
+
+    /**
+     * The maximum amount of receptors in the observation.
+     */
+    private final int receptors;
+
+    /**
+     * The amount of upcoming marbles in the observation.
+     */
+    private final int lookahead;
+
+    /**
+     * Construct a {@link VectorEnvironment} instance.
+     *
+     * @param config The game configuration to use.
+     * @param levels The levels to play, where environment <code>i</code> plays level
+     *               <code>i % levels.size()</code>.
+     * @param count The amount of environments.
+     * @param interval The simulated time in seconds of a single environment step.
+     * @param step The time in seconds the simulations are advanced with each simulation step.
+     * @param markReward The reward for marking a receptor in addition to the increase in score.
+     * @throws IllegalArgumentException if there are no levels or environments or if any of the
+     *                                  times is not positive.
+     */
+    public VectorEnvironment(Configuration config, List<Level> levels, int count, double interval,
+                             double step, double markReward) {
+        if (levels.isEmpty() || count < 1) {
+            throw new IllegalArgumentException("There must be at least one level and environment");
+        } else if (!(interval > 0 && step > 0)) {
+            throw new IllegalArgumentException("The times must be positive");
+        }
+
+        this.config = config;
+        this.levels = levels;
+        this.environments = new Environment[count];
+        this.interval = interval;
+        this.step = step;
+        this.markReward = markReward;
+
+        int maxWidth = 0;
+        int maxHeight = 0;
+        int maxReceptors = 0;
+        int minLookahead = Integer.MAX_VALUE;
+        for (Level level : levels) {
+            GameSession session = level.create(new SeededConfiguration(config, 0));
+            maxWidth = Math.max(maxWidth, session.getGrid().getWidth());
+            maxHeight = Math.max(maxHeight, session.getGrid().getHeight());
+            maxReceptors = Math.max(maxReceptors,
+                Simulation.receptors(session.getGrid()).length);
+            minLookahead = Math.min(minLookahead, session.getNexusContext().getLookahead());
+        }
+
+        this.width = maxWidth;
+        this.height = maxHeight;
+        this.receptors = maxReceptors;
+        this.lookahead = minLookahead;
+    }
+
+    /**
+     * Construct a {@link VectorEnvironment} instance which steps a quarter of a second at a time
+     * at 60 simulation steps per second, without an additional reward for marking a receptor.
+     *
+     * @param config The game configuration to use.
+     * @param levels The levels to play.
+     * @param count The amount of environments.
+     */
+    public VectorEnvironment(Configuration config, List<Level> levels, int count) {
+        this(config, levels, count, 0.25, 1.0 / 60, 0);
+    }
+
+    /**
+     * Return the amount of environments.
+     *
+     * @return The amount of environments.
+     */
+    public int getCount() {
+        return environments.length;
+    }
+
+    /**
+     * Return the amount of values in the observation of a single environment.
+     *
+     * @return The size of a single observation.
+     */
+    public int getObservationSize() {
+        return width * height + receptors * 6 + lookahead;
+    }
+
+    /**
+     * Return the amount of actions of a single environment, including the action that does
+     * nothing.
+     *
+     * @return The amount of actions.
+     */
+    public int getActionCount() {
+        return 1 + receptors * Model.ACTIONS;
+    }
+
+    /**
+     * Reset every environment and write the initial observations.
+     *
+     * @param seed The seed of the environments, where environment <code>i</code> is seeded with
+     *             <code>seed + i</code>.
+     * @param observations The array to write the observations into, which must have room for
+     *                     {@link #getObservationSize()} values per environment.
+     */
+    public void reset(int seed, int[] observations) {
+        for (int i = 0; i < environments.length; i++) {
+            environments[i] = new Environment(i, seed + i);
+            environments[i].write(observations, i * getObservationSize());
+        }
+    }
+
+    /**
+     * Reset every environment and write the initial observations, one byte per value.
+     *
+     * @param seed The seed of the environments, where environment <code>i</code> is seeded with
+     *             <code>seed + i</code>.
+     * @param observations The buffer to write the observations into at its current position,
+     *                     which must have room for {@link #getObservationSize()} bytes per
+     *                     environment. The position of the buffer is not changed.
+     */
+    public void reset(int seed, ByteBuffer observations) {
+        int base = observations.position();
+        for (int i = 0; i < environments.length; i++) {
+            environments[i] = new Environment(i, seed + i);
+            environments[i].write(observations, base + i * getObservationSize());
+        }
+    }
+
+    /**
+     * Perform an action in every environment, advance the games and write the resulting
+     * observations.
+     *
+     * @param actions The action to perform per environment.
+     * @param observations The array to write the observations into.
+     * @param rewards The array to write the reward per environment into.
+     * @param done The array to write per environment whether its game finished into.
+     * @throws IllegalStateException if the environments have not been reset.
+     */
+    public void step(int[] actions, int[] observations, double[] rewards, boolean[] done) {
+        forEach(i -> {
+            Environment environment = advance(i, actions[i], rewards, done);
+            environment.write(observations, i * getObservationSize());
+        });
+    }
+
+    /**
+     * Perform an action in every environment, advance the games and write the resulting
+     * observations, one byte per value.
+     *
+     * @param actions The action to perform per environment.
+     * @param observations The buffer to write the observations into at its current position.
+     *                     The position of the buffer is not changed.
+     * @param rewards The array to write the reward per environment into.
+     * @param done The array to write per environment whether its game finished into.
+     * @throws IllegalStateException if the environments have not been reset.
+     */
+    public void step(int[] actions, ByteBuffer observations, double[] rewards, boolean[] done) {
+        int base = observations.position();
+        forEach(i -> {
+            Environment environment = advance(i, actions[i], rewards, done);
+            environment.write(observations, base + i * getObservationSize());
+        });
+    }
+
+    /**
+     * Run the given consumer for every environment, in parallel if there are many environments.
+     *
+     * @param consumer The consumer to run.
+     */
+    private void forEach(IntConsumer consumer) {
+        if (environments[0] == null) {
+            throw new IllegalStateException("The environments have not been reset");
+        }
+
+        IntStream range = IntStream.range(0, environments.length);
+        if (environments.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(consumer);
+    }
+
+    /**
+     * Perform an action in an environment and advance its game, resetting it when the game has
+     * finished.
+     *
+     * @param index The index of the environment.
+     * @param action The action to perform.
+     * @param rewards The array to write the reward into.
+     * @param done The array to write whether the game finished into.
+     * @return The environment to observe.
+     */
+    private Environment advance(int index, int action, double[] rewards, boolean[] done) {
+        Environment environment = environments[index];
+        environment.perform(action);
+
+        int score = environment.score();
+        int marks = environment.marks;
+        for (double time = 0; time < interval && !environment.simulation.isFinished();
+             time += step) {
+            environment.simulation.step(step);
+        }
+
+        rewards[index] = environment.score() - score + markReward * (environment.marks - marks);
+        done[index] = environment.simulation.isFinished();
+
+        if (done[index]) {
+            environment = new Environment(index, environment.seed + environments.length);
+            environments[index] = environment;
+        }
+        return environment;
+    }
+
+    /**
+     * A single environment of the vectorized environment.
+     */
+    private final class Environment implements ReceptorListener {
+        /**
+         * The seed of the game.
+         */
+        private final int seed;
+
+        /**
+         * The simulation of the game.
+         */
+        private final Simulation simulation;
+
+        /**
+         * The observation of the game.
+         */
+        private final Observation observation;
+
+        /**
+         * The buffer the observation is encoded into.
+         */
+        private final int[] buffer = new int[getObservationSize()];
+
+        /**
+         * The amount of receptors that have been marked.
+         */
+        private int marks;
+
+        /**
+         * Construct a {@link Environment} instance.
+         *
+         * @param index The index of the environment.
+         * @param seed The seed of the game.
+         */
+        Environment(int index, int seed) {
+            Level level = levels.get(index % levels.size());
+            GameSession session = level.create(new SeededConfiguration(config, seed));
+
+            this.seed = seed;
+            this.simulation = new Simulation(session);
+            this.observation = new Observation(session, lookahead);
+
+            for (int i = 0; i < simulation.getReceptorCount(); i++) {
+                simulation.getReceptor(i).addListener(this);
+            }
+        }
+
+        /**
+         * Return the current score of the game.
+         *
+         * @return The score of the game.
+         */
+        int score() {
+            return simulation.getSession().getProgress().getScore();
+        }
+
+        /**
+         * Perform the given action.
+         *
+         * @param action The action to perform.
+         */
+        void perform(int action) {
+            int receptor = (action - 1) / Model.ACTIONS;
+            int kind = (action - 1) % Model.ACTIONS;
+
+            if (action < 1 || receptor >= simulation.getReceptorCount()) {
+                return;
+            } else if (kind == Model.ROTATE) {
+                simulation.rotate(receptor, 1);
+            } else {
+                simulation.release(receptor, kind);
+            }
+        }
+
+        /**
+         * Encode the current observation of the game into the buffer.
+         */
+        private void encode() {
+            observation.update();
+
+            int offset = 0;
+            int columns = observation.getWidth();
+            int rows = observation.getHeight();
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    buffer[offset++] = x < columns && y < rows
+                        ? observation.getKind(y * columns + x) : Observation.EMPTY;
+                }
+            }
+
+            offset = encodeReceptors(offset);
+            for (int i = 0; i < lookahead; i++) {
+                buffer[offset++] = observation.getUpcoming(i);
+            }
+        }
+
+        /**
+         * Encode the state of the receptors into the buffer.
+         *
+         * @param start The offset in the buffer to start at.
+         * @return The offset in the buffer after the receptors.
+         */
+        private int encodeReceptors(int start) {
+            int offset = start;
+            int count = observation.getReceptorCount();
+            for (int i = 0; i < receptors; i++) {
+                buffer[offset++] = i < count ? Math.floorMod(observation.getRotation(i), 4) : 0;
+            }
+            for (int i = 0; i < receptors * 4; i++) {
+                buffer[offset++] = i < count * 4 ? observation.getSlot(i / 4, i % 4) : -1;
+            }
+            for (int i = 0; i < receptors; i++) {
+                buffer[offset++] = i < count && observation.isMarked(i) ? 1 : 0;
+            }
+            return offset;
+        }
+
+        /**
+         * Write the current observation of the game into the given array.
+         *
+         * @param observations The array to write the observation into.
+         * @param offset The offset in the array to write the observation at.
+         */
+        void write(int[] observations, int offset) {
+            encode();
+            System.arraycopy(buffer, 0, observations, offset, buffer.length);
+        }
+
+        /**
+         * Write the current observation of the game into the given buffer, one byte per value.
+         *
+         * @param observations The buffer to write the observation into.
+         * @param offset The absolute index in the buffer to write the observation at.
+         */
+        void write(ByteBuffer observations, int offset) {
+            encode();
+            for (int i = 0; i < buffer.length; i++) {
+                observations.put(offset + i, (byte) buffer[i]);
+            }
+        }
+
+        /**
+         * Count the receptors that are marked.
+         *
+         * @param receptor The receptor that has been marked.
+         */
+        @Override
+        public void receptorMarked(Receptor receptor) {
+            marks++;
+        }
+    }
+}
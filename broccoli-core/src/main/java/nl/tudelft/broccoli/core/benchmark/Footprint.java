@@ -0,0 +1,157 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.benchmark;
+
+import nl.tudelft.broccoli.core.level.Level;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A {@link Footprint} describes the memory cost of a single game session of a level: the heap
+ * retained by its parts and the amount of memory it allocates while it is being played.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class Footprint {
+    /**
+     * The component for the grid and its tiles.
+     */
+    public static final String GRID = "grid";
+
+    /**
+     * The component for the tileables on the grid, except the empty ones.
+     */
+    public static final String TILEABLES = "tileables";
+
+    /**
+     * The component for the empty tileables.
+     */
+    public static final String EMPTY = "empty";
+
+    /**
+     * The component for the listener sets of the tileables.
+     */
+    public static final String LISTENERS = "listeners";
+
+    /**
+     * The component for the progress of the session.
+     */
+    public static final String PROGRESS = "progress";
+
+    /**
+     * The component for the nexus context of the session.
+     */
+    public static final String NEXUS = "nexus";
+
+    /**
+     * The component for the remaining parts of the session, such as the clock and power-ups.
+     */
+    public static final String OTHER = "other";
+
+    /**
+     * The level that has been measured.
+     */
+    private final Level level;
+
+    /**
+     * The retained size in bytes per component.
+     */
+    private final Map<String, Long> components;
+
+    /**
+     * The amount of bytes allocated to create the session.
+     */
+    private final long allocated;
+
+    /**
+     * The amount of bytes allocated per simulated second.
+     */
+    private final double allocationRate;
+
+    /**
+     * Construct a {@link Footprint} instance.
+     *
+     * @param level The level that has been measured.
+     * @param components The retained size in bytes per component.
+     * @param allocated The amount of bytes allocated to create the session or <code>-1</code>
+     *                  if allocations cannot be measured.
+     * @param allocationRate The amount of bytes allocated per simulated second or
+     *                       <code>-1</code> if allocations cannot be measured.
+     */
+    public Footprint(Level level, Map<String, Long> components, long allocated,
+                     double allocationRate) {
+        this.level = level;
+        this.components = Collections.unmodifiableMap(components);
+        this.allocated = allocated;
+        this.allocationRate = allocationRate;
+    }
+
+    /**
+     * Return the level that has been measured.
+     *
+     * @return The level of the session.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Return the retained size per component, in the order in which they have been measured.
+     *
+     * @return A map of the component names to their retained size in bytes.
+     */
+    public Map<String, Long> getComponents() {
+        return components;
+    }
+
+    /**
+     * Return the estimated amount of heap retained by the session.
+     *
+     * @return The retained size in bytes.
+     */
+    public long getRetained() {
+        return components.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Return the amount of bytes that has been allocated to create the session.
+     *
+     * @return The allocated bytes or <code>-1</code> if allocations cannot be measured.
+     */
+    public long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * Return the amount of bytes the session allocates per simulated second.
+     *
+     * @return The allocation rate or <code>-1</code> if allocations cannot be measured.
+     */
+    public double getAllocationRate() {
+        return allocationRate;
+    }
+}
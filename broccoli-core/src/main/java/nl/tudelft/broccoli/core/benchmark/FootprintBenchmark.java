@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.benchmark;
+
+import nl.tudelft.broccoli.core.Empty;
+import nl.tudelft.broccoli.core.agent.GreedyAgent;
+import nl.tudelft.broccoli.core.agent.Observation;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.IntegerProperty;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link FootprintBenchmark} measures the {@link Footprint} of the game sessions of levels and
+ * checks them against the configured memory budgets, which determine how many sessions fit on a
+ * single host.
+ *
+ * <p>The retained heap is estimated with a {@link HeapEstimator} per part of the session. The
+ * allocations are read from the allocated-bytes counter of the current thread, which is provided
+ * by the {@link ThreadMXBean} of HotSpot-based virtual machines. On other virtual machines the
+ * allocations are reported as unavailable and their budget is not enforced.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class FootprintBenchmark {
+    /**
+     * The maximum amount of bytes a session may retain, where zero disables the budget.
+     */
+    public static final Property<Integer> HEAP_BUDGET =
+        new IntegerProperty("benchmark.heap", 16384);
+
+    /**
+     * The maximum amount of bytes a session may allocate per simulated second, where zero
+     * disables the budget.
+     */
+    public static final Property<Integer> ALLOCATION_BUDGET =
+        new IntegerProperty("benchmark.allocation", 16384);
+
+    /**
+     * The configuration to create the sessions with.
+     */
+    private final Configuration config;
+
+    /**
+     * The amount of seconds to simulate per session.
+     */
+    private final double duration;
+
+    /**
+     * The length of a simulation step in seconds.
+     */
+    private final double step;
+
+    /**
+     * A flag to indicate the simulation code has been warmed up.
+     */
+    private boolean warm;
+
+    /**
+     * Construct a {@link FootprintBenchmark} instance.
+     *
+     * @param config The configuration to create the sessions with and to read the budgets from.
+     * @param duration The amount of seconds to simulate per session.
+     * @param step The length of a simulation step in seconds.
+     */
+    public FootprintBenchmark(Configuration config, double duration, double step) {
+        if (!(duration > 0 && step > 0)) {
+            throw new IllegalArgumentException("The times must be positive");
+        }
+
+        this.config = config;
+        this.duration = duration;
+        this.step = step;
+    }
+
+    /**
+     * Construct a {@link FootprintBenchmark} instance that simulates a minute per session.
+     *
+     * @param config The configuration to create the sessions with and to read the budgets from.
+     */
+    public FootprintBenchmark(Configuration config) {
+        this(config, 60, 1.0 / 60);
+    }
+
+    /**
+     * Measure the footprint of a session of the given level.
+     *
+     * @param level The level to measure.
+     * @return The footprint of the session.
+     */
+    public Footprint measure(Level level) {
+        if (!warm) {
+            play(level.create(config));
+            warm = true;
+        }
+
+        long before = allocated();
+        GameSession session = level.create(config);
+        final long allocated = allocated() - before;
+        final Map<String, Long> components = retained(session);
+
+        double rate = play(session);
+        return new Footprint(level, components, before < 0 ? -1 : allocated, rate);
+    }
+
+    /**
+     * Measure the footprints of sessions of the given levels.
+     *
+     * @param levels The levels to measure.
+     * @return The footprints in order of the levels.
+     */
+    public List<Footprint> measure(List<Level> levels) {
+        List<Footprint> footprints = new ArrayList<>(levels.size());
+        for (Level level : levels) {
+            footprints.add(measure(level));
+        }
+        return footprints;
+    }
+
+    /**
+     * Estimate the heap retained by the parts of the given session.
+     *
+     * @param session The session to measure.
+     * @return The retained size in bytes per component.
+     */
+    private Map<String, Long> retained(GameSession session) {
+        HeapEstimator estimator = new HeapEstimator();
+        estimator.exclude(config);
+        estimator.exclude(session.getLevel());
+        estimator.exclude(session.getLevel().getFactory());
+
+        final Grid grid = session.getGrid();
+        List<Tileable> tileables = new ArrayList<>();
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                Tileable tileable = grid.get(x, y).getTileable();
+                tileables.add(tileable);
+                estimator.boundary(tileable);
+                estimator.boundary(tileable.getListeners());
+            }
+        }
+
+        estimator.boundary(session);
+        estimator.boundary(grid);
+        estimator.boundary(session.getProgress());
+        estimator.boundary(session.getNexusContext());
+
+        long listeners = 0;
+        long empty = 0;
+        long others = 0;
+        for (Tileable tileable : tileables) {
+            listeners += estimator.measure(tileable.getListeners());
+        }
+        for (Tileable tileable : tileables) {
+            if (tileable instanceof Empty) {
+                empty += estimator.measure(tileable);
+            } else {
+                others += estimator.measure(tileable);
+            }
+        }
+
+        Map<String, Long> components = new LinkedHashMap<>();
+        components.put(Footprint.GRID, estimator.measure(grid));
+        components.put(Footprint.TILEABLES, others);
+        components.put(Footprint.EMPTY, empty);
+        components.put(Footprint.LISTENERS, listeners);
+        components.put(Footprint.PROGRESS, estimator.measure(session.getProgress()));
+        components.put(Footprint.NEXUS, estimator.measure(session.getNexusContext()));
+        components.put(Footprint.OTHER, estimator.measure(session));
+        return components;
+    }
+
+    /**
+     * Play the given session with a greedy agent for the configured duration.
+     *
+     * @param session The session to play.
+     * @return The amount of bytes allocated per simulated second or <code>-1</code> if the
+     *         allocations cannot be measured.
+     */
+    private double play(GameSession session) {
+        Simulation simulation = new Simulation(session);
+        Observation observation = new Observation(session);
+        GreedyAgent agent = new GreedyAgent();
+
+        final long before = allocated();
+        double decision = 0;
+        while (!simulation.isFinished() && simulation.getTime() < duration) {
+            if (simulation.getTime() >= decision) {
+                observation.update();
+                agent.act(observation, simulation);
+                decision += 0.25;
+            }
+            simulation.step(step);
+        }
+
+        long after = allocated();
+        return before < 0 ? -1 : (after - before) / simulation.getTime();
+    }
+
+    /**
+     * Return the violations of the configured budgets by the given footprint.
+     *
+     * @param footprint The footprint to check.
+     * @return A list of human-readable violations, which is empty if the budgets are met.
+     */
+    public List<String> violations(Footprint footprint) {
+        List<String> violations = new ArrayList<>();
+        String name = footprint.getLevel().getFactory().getClass().getSimpleName() + " level "
+            + footprint.getLevel().getIndex();
+
+        int heap = config.get(HEAP_BUDGET);
+        if (heap > 0 && footprint.getRetained() > heap) {
+            violations.add(String.format(Locale.ROOT, "%s retains %d bytes (budget %d)",
+                name, footprint.getRetained(), heap));
+        }
+
+        int allocation = config.get(ALLOCATION_BUDGET);
+        if (allocation > 0 && footprint.getAllocationRate() > allocation) {
+            violations.add(String.format(Locale.ROOT,
+                "%s allocates %.0f bytes per second (budget %d)", name,
+                footprint.getAllocationRate(), allocation));
+        }
+        return violations;
+    }
+
+    /**
+     * Measure the given levels and verify their footprints meet the configured budgets.
+     *
+     * @param levels The levels to measure.
+     * @return The footprints in order of the levels.
+     * @throws IllegalStateException if a footprint exceeds a budget.
+     */
+    public List<Footprint> enforce(List<Level> levels) {
+        List<Footprint> footprints = measure(levels);
+        List<String> violations = new ArrayList<>();
+        for (Footprint footprint : footprints) {
+            violations.addAll(violations(footprint));
+        }
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Memory budget exceeded: "
+                + String.join("; ", violations));
+        }
+        return footprints;
+    }
+
+    /**
+     * Return the amount of bytes allocated by the current thread.
+     *
+     * @return The allocated bytes or <code>-1</code> if allocations cannot be measured.
+     */
+    private static long allocated() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported()
+            || !hotspot.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.benchmark;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link HeapEstimator} estimates the amount of heap retained by object graphs by walking their
+ * fields reflectively.
+ *
+ * <p>Sizes follow the layout of a 64-bit HotSpot virtual machine with compressed references: a
+ * 12 byte object header, a 16 byte array header, 4 byte references and 8 byte alignment. Field
+ * packing is not modelled, so the estimate may be off by a few bytes per object.</p>
+ *
+ * <p>The fields of JDK-internal classes cannot be read on Java 9 and later. Collections and maps
+ * of such classes are therefore estimated from their public size instead: their elements are
+ * measured as usual and their backing tables, arrays and nodes are modelled after the
+ * implementations of the JDK.</p>
+ *
+ * <p>An estimator remembers the objects it has measured, so measuring several roots in turn
+ * attributes shared objects to the first root that reaches them. Objects can be marked as
+ * boundaries, which are only measured as roots of their own, and excluded, which are never
+ * measured at all. Classes and enum constants are always excluded.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class HeapEstimator {
+    /**
+     * The size of an object header.
+     */
+    private static final int OBJECT_HEADER = 12;
+
+    /**
+     * The size of an array header.
+     */
+    private static final int ARRAY_HEADER = 16;
+
+    /**
+     * The size of a reference.
+     */
+    private static final int REFERENCE = 4;
+
+    /**
+     * The alignment of objects.
+     */
+    private static final int ALIGNMENT = 8;
+
+    /**
+     * The size of a node of a hash table.
+     */
+    private static final int HASH_NODE = 32;
+
+    /**
+     * The size of a node of a linked hash table or a tree.
+     */
+    private static final int LINKED_NODE = 40;
+
+    /**
+     * The size of a node of a linked list.
+     */
+    private static final int LIST_NODE = 24;
+
+    /**
+     * The minimum capacity of a hash table.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * The classes of which some reference fields cannot be read.
+     */
+    private final Set<Class<?>> opaque = new HashSet<>();
+
+    /**
+     * The instance fields per class that hold references.
+     */
+    private final Map<Class<?>, List<Field>> references = new HashMap<>();
+
+    /**
+     * The shallow size of the instances per class.
+     */
+    private final Map<Class<?>, Long> sizes = new HashMap<>();
+
+    /**
+     * The objects that have been measured or excluded.
+     */
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The objects that are only measured as roots.
+     */
+    private final Set<Object> boundaries = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Exclude the given object and everything only it reaches from the measurements.
+     *
+     * @param object The object to exclude.
+     */
+    public void exclude(Object object) {
+        if (object != null) {
+            visited.add(object);
+        }
+    }
+
+    /**
+     * Mark the given object as boundary, such that walks from other roots stop at it.
+     *
+     * @param object The object to mark as boundary.
+     */
+    public void boundary(Object object) {
+        if (object != null) {
+            boundaries.add(object);
+        }
+    }
+
+    /**
+     * Estimate the size of the objects reachable from the given root that have not been
+     * measured before, without crossing boundaries.
+     *
+     * @param root The root to measure.
+     * @return The estimated size in bytes.
+     */
+    public long measure(Object root) {
+        if (root == null || !visited.add(root)) {
+            return 0;
+        }
+
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(root);
+        long total = 0;
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            total += shallow(object);
+
+            if (object.getClass().isArray()) {
+                if (!object.getClass().getComponentType().isPrimitive()) {
+                    for (int i = 0; i < Array.getLength(object); i++) {
+                        visit(Array.get(object, i), pending);
+                    }
+                }
+            } else {
+                total += fields(object, pending);
+            }
+        }
+
+        return total;
+    }
+
+    /**
+     * Queue the objects referred to by the fields of the given object, or by the contents of a
+     * collection or map whose fields cannot be read.
+     *
+     * @param object The object to queue the references of.
+     * @param pending The objects that remain to be measured.
+     * @return The estimated size of the internal structure of an unreadable collection or map in
+     *         bytes, which is zero for other objects.
+     */
+    private long fields(Object object, Deque<Object> pending) {
+        List<Field> fields = references(object.getClass());
+        long size = 0;
+        if (opaque.contains(object.getClass())
+            && (object instanceof Collection || object instanceof Map)) {
+            size = contents(object, pending);
+        }
+
+        for (Field field : fields) {
+            visit(read(field, object), pending);
+        }
+        return size;
+    }
+
+    /**
+     * Queue the given object if it should be measured as part of the current walk.
+     *
+     * @param object The object that has been reached.
+     * @param pending The objects that remain to be measured.
+     */
+    private void visit(Object object, Deque<Object> pending) {
+        if (object == null || object instanceof Class || object instanceof Enum
+            || boundaries.contains(object)) {
+            return;
+        }
+
+        if (visited.add(object)) {
+            pending.push(object);
+        }
+    }
+
+    /**
+     * Read the value of the given field, which is <code>null</code> if the field is not
+     * accessible.
+     *
+     * @param field The field to read.
+     * @param object The object to read the field of.
+     * @return The value of the field.
+     */
+    private static Object read(Field field, Object object) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Estimate the shallow size of the given object.
+     *
+     * @param object The object to estimate the size of.
+     * @return The estimated size in bytes.
+     */
+    public long shallow(Object object) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            long length = Array.getLength(object);
+            return align(ARRAY_HEADER + length * size(type.getComponentType()));
+        }
+        return sizes.computeIfAbsent(type, this::instance);
+    }
+
+    /**
+     * Compute the shallow size of the instances of the given class.
+     *
+     * @param type The class to compute the instance size of.
+     * @return The instance size in bytes.
+     */
+    private long instance(Class<?> type) {
+        long size = OBJECT_HEADER;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    size += size(field.getType());
+                }
+            }
+        }
+        return align(size);
+    }
+
+    /**
+     * Return the fields of the instances of the given class that hold references.
+     *
+     * @param type The class to get the fields of.
+     * @return The accessible reference fields.
+     */
+    private List<Field> references(Class<?> type) {
+        return references.computeIfAbsent(type, key -> {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = key; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                        continue;
+                    }
+
+                    if (accessible(field)) {
+                        fields.add(field);
+                    } else {
+                        opaque.add(key);
+                    }
+                }
+            }
+            return fields;
+        });
+    }
+
+    /**
+     * Make the given field accessible in order to follow its reference.
+     *
+     * <p>A security manager may deny access to the field and the module system of Java 9 and
+     * later denies access to the fields of JDK-internal classes with an
+     * <code>InaccessibleObjectException</code>, which does not exist on Java 8. The objects of
+     * such fields are not followed, but collections and maps are estimated from their
+     * contents.</p>
+     *
+     * @param field The field to make accessible.
+     * @return <code>true</code> if the field is accessible, <code>false</code> otherwise.
+     */
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private static boolean accessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Queue the elements of a collection or the entries of a map whose fields cannot be read and
+     * estimate the size of its internal structure.
+     *
+     * @param object The collection or map to estimate.
+     * @param pending The objects that remain to be measured.
+     * @return The estimated size of the internal structure in bytes.
+     */
+    private long contents(Object object, Deque<Object> pending) {
+        final int count;
+        if (object instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) object;
+            count = map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                visit(entry.getKey(), pending);
+                visit(entry.getValue(), pending);
+            }
+        } else {
+            Collection<?> collection = (Collection<?>) object;
+            count = collection.size();
+            for (Object element : collection) {
+                visit(element, pending);
+            }
+        }
+
+        if (object instanceof HashSet) {
+            Class<?> map = object instanceof LinkedHashSet ? LinkedHashMap.class : HashMap.class;
+            return sizes.computeIfAbsent(map, this::instance)
+                + hashed(count, object instanceof LinkedHashSet);
+        } else if (object instanceof TreeSet) {
+            return sizes.computeIfAbsent(TreeMap.class, this::instance)
+                + (long) count * LINKED_NODE;
+        }
+        return internals(object, count);
+    }
+
+    /**
+     * Estimate the size of the internal structure of a collection or map that is not a set
+     * backed by a map.
+     *
+     * @param object The collection or map to estimate.
+     * @param count The amount of elements or entries.
+     * @return The estimated size of the internal structure in bytes.
+     */
+    private static long internals(Object object, int count) {
+        if (object instanceof HashMap || object instanceof Hashtable
+            || object instanceof ConcurrentHashMap) {
+            return hashed(count, object instanceof LinkedHashMap);
+        } else if (object instanceof TreeMap) {
+            return (long) count * LINKED_NODE;
+        } else if (object instanceof LinkedList) {
+            return (long) count * LIST_NODE;
+        } else if ((object instanceof RandomAccess || object instanceof Queue) && count > 0) {
+            return align(ARRAY_HEADER + (long) count * REFERENCE);
+        }
+
+        // Views and wrappers share the structure of the collection they wrap
+        return 0;
+    }
+
+    /**
+     * Estimate the size of the table and nodes of a hash table with the given amount of entries,
+     * where the table of an empty hash table is assumed not to be allocated yet.
+     *
+     * @param count The amount of entries.
+     * @param linked A flag to indicate the entries are linked in insertion order.
+     * @return The estimated size of the table and its nodes in bytes.
+     */
+    private static long hashed(int count, boolean linked) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < count) {
+            capacity *= 2;
+        }
+        return align(ARRAY_HEADER + capacity * REFERENCE)
+            + (long) count * (linked ? LINKED_NODE : HASH_NODE);
+    }
+
+    /**
+     * Return the size of a field or array element of the given type.
+     *
+     * @param type The type of the field or element.
+     * @return The size in bytes.
+     */
+    private static int size(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    /**
+     * Align the given size to the object alignment.
+     *
+     * @param size The size to align.
+     * @return The aligned size.
+     */
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
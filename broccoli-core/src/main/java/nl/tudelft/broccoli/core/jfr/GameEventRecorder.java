@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.jfr;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.TimerTile;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tile;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.nexus.SpawningNexus;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.receptor.ReceptorListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link GameEventRecorder} emits Java Flight Recorder events for the state transitions of a
+ * game session, by listening to the tiles of its grid.
+ *
+ * <p>A recorder is only attached to a session if a flight recording with a game event enabled is
+ * running when the session is attached, so sessions that are not recorded pay nothing. Sessions
+ * are not attached automatically: the game attaches its sessions when they start and harnesses
+ * such as the simulation opt in by attaching their sessions themselves. Within an attached
+ * session, an event is only constructed and committed when its event type is enabled.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class GameEventRecorder implements ReceptorListener, GameClock.Task {
+    /**
+     * A flag to indicate the flight recorder is available on this runtime.
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    /**
+     * The event types of the game.
+     */
+    private static final List<Class<? extends GameEvent>> TYPES = Arrays.asList(
+        LevelStartEvent.class, LevelFinishEvent.class, SpawnEvent.class, TeleportEvent.class,
+        ReceptorMarkEvent.class, SlotAcceptEvent.class, SlotReleaseEvent.class,
+        SlotDisposeEvent.class);
+
+    /**
+     * The generator of the session identifiers.
+     */
+    private static final AtomicLong SESSIONS = new AtomicLong();
+
+    /**
+     * The game session that is recorded.
+     */
+    private final GameSession session;
+
+    /**
+     * The identifier of the session.
+     */
+    private final long id;
+
+    /**
+     * The receptors that have been marked.
+     */
+    private final Set<Receptor> marked = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * The amount of receptors on the grid.
+     */
+    private int receptors;
+
+    /**
+     * A flag to indicate the finish of the session has been recorded.
+     */
+    private boolean finished;
+
+    /**
+     * Construct a {@link GameEventRecorder} instance.
+     *
+     * @param session The game session to record.
+     */
+    private GameEventRecorder(GameSession session) {
+        this.session = session;
+        this.id = SESSIONS.incrementAndGet();
+    }
+
+    /**
+     * Determine whether the flight recorder is available on this runtime.
+     *
+     * @return <code>true</code> if the flight recorder is available, <code>false</code>
+     *         otherwise.
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Determine whether a flight recording is running in which at least one of the event types
+     * of the game is enabled.
+     *
+     * @return <code>true</code> if game events are being recorded, <code>false</code> otherwise.
+     */
+    public static boolean isRecording() {
+        if (!AVAILABLE || !FlightRecorder.isInitialized()) {
+            return false;
+        }
+
+        for (Class<? extends GameEvent> type : TYPES) {
+            if (EventType.getEventType(type).isEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Attach a recorder to the given game session, which should just have been started, and
+     * record the start of the level, if game events are being recorded.
+     *
+     * @param session The game session to record.
+     * @return The recorder that has been attached or <code>null</code> if no game events are
+     *         being recorded or the flight recorder is not available on this runtime.
+     */
+    public static GameEventRecorder attach(GameSession session) {
+        if (!isRecording()) {
+            return null;
+        }
+
+        GameEventRecorder recorder = new GameEventRecorder(session);
+        recorder.track(session.getGrid());
+        return recorder;
+    }
+
+    /**
+     * Listen to the tiles of the given grid, schedule the finish of the level when its timers
+     * expire and record the start of the level.
+     *
+     * @param grid The grid to track.
+     */
+    private void track(Grid grid) {
+        for (int i = 0; i < grid.getWidth(); i++) {
+            for (int j = 0; j < grid.getHeight(); j++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                tileable.addListener(this);
+
+                if (tileable instanceof Receptor) {
+                    receptors++;
+                } else if (tileable instanceof TimerTile) {
+                    session.getClock().schedule(this,
+                        ((TimerTile) tileable).getRemainingTime());
+                }
+            }
+        }
+
+        LevelStartEvent event = new LevelStartEvent();
+        if (event.isEnabled()) {
+            event.session = id;
+            event.difficulty = session.getLevel().getFactory().getClass().getSimpleName();
+            event.level = session.getLevel().getIndex();
+            event.commit();
+        }
+    }
+
+    /**
+     * Return the identifier of the recorded session, which is unique within this process.
+     *
+     * @return The identifier of the session.
+     */
+    public long getSessionId() {
+        return id;
+    }
+
+    /**
+     * Record the finish of the level, if it has not been recorded yet.
+     *
+     * @param won A flag to indicate the level has been won.
+     */
+    public void finish(boolean won) {
+        if (finished) {
+            return;
+        }
+
+        finished = true;
+        LevelFinishEvent event = new LevelFinishEvent();
+        if (event.isEnabled()) {
+            event.session = id;
+            event.difficulty = session.getLevel().getFactory().getClass().getSimpleName();
+            event.level = session.getLevel().getIndex();
+            event.won = won;
+            event.score = session.getProgress().getScore();
+            event.commit();
+        }
+    }
+
+    /**
+     * Record the finish of the level when its timer expires.
+     *
+     * @param clock The clock of the session.
+     * @param argument The argument of the task, which is unused.
+     */
+    @Override
+    public void run(GameClock clock, int argument) {
+        finish(false);
+    }
+
+    /**
+     * Record slots accepting marbles, teleports and spawns.
+     *
+     * @param tileable The tileable that has accepted the marble.
+     * @param direction The direction from which the marble was accepted.
+     * @param marble The marble that has been accepted.
+     */
+    @Override
+    public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
+        if (tileable instanceof Receptor) {
+            SlotAcceptEvent event = new SlotAcceptEvent();
+            if (event.isEnabled()) {
+                locate(event, tileable);
+                event.direction = direction.name();
+                event.marble = name(marble);
+                event.commit();
+            }
+        } else if (tileable instanceof Teleporter) {
+            TeleportEvent event = new TeleportEvent();
+            if (event.isEnabled()) {
+                locate(event, tileable);
+                event.direction = direction.name();
+                event.marble = name(marble);
+                event.commit();
+            }
+        } else if (tileable instanceof SpawningNexus
+            && direction == ((SpawningNexus) tileable).getDirection()) {
+            SpawnEvent event = new SpawnEvent();
+            if (event.isEnabled()) {
+                locate(event, tileable);
+                event.marble = name(marble);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Record slots releasing marbles.
+     *
+     * @param tileable The tileable that has released the marble.
+     * @param direction The direction in which the marble was released.
+     * @param marble The marble that has been released.
+     */
+    @Override
+    public void ballReleased(Tileable tileable, Direction direction, Marble marble) {
+        if (tileable instanceof Receptor) {
+            SlotReleaseEvent event = new SlotReleaseEvent();
+            if (event.isEnabled()) {
+                locate(event, tileable);
+                event.direction = direction.name();
+                event.marble = name(marble);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Record slots disposing marbles.
+     *
+     * @param tileable The tileable that has disposed the marble.
+     * @param direction The direction of the slot that disposed the marble.
+     * @param marble The marble that has been disposed.
+     */
+    @Override
+    public void ballDisposed(Tileable tileable, Direction direction, Marble marble) {
+        if (tileable instanceof Receptor) {
+            SlotDisposeEvent event = new SlotDisposeEvent();
+            if (event.isEnabled()) {
+                locate(event, tileable);
+                event.direction = direction.name();
+                event.marble = name(marble);
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Record marked receptors and the finish of the level once every receptor has been marked.
+     *
+     * @param receptor The receptor that has been marked.
+     */
+    @Override
+    public void receptorMarked(Receptor receptor) {
+        ReceptorMarkEvent event = new ReceptorMarkEvent();
+        if (event.isEnabled()) {
+            locate(event, receptor);
+            event.powerUp = receptor.getPowerUp() != null;
+            event.commit();
+        }
+
+        if (marked.add(receptor) && marked.size() == receptors) {
+            finish(true);
+        }
+    }
+
+    /**
+     * Return the name of the type of the given marble.
+     *
+     * @param marble The marble to get the name of the type of.
+     * @return The name of the type of the marble or <code>null</code> if there is no marble.
+     */
+    private static String name(Marble marble) {
+        return marble == null ? null : marble.getType().name();
+    }
+
+    /**
+     * Fill in the session and the location of an event.
+     *
+     * @param event The event to fill in.
+     * @param tileable The tileable at which the event occurred.
+     */
+    private void locate(GameEvent event, Tileable tileable) {
+        Tile tile = tileable.getTile();
+        event.session = id;
+        event.x = tile.getX();
+        event.y = tile.getY();
+    }
+}
@@ -4,16 +4,21 @@ import nl.tudelft.broccoli.core.Announcer;
 import nl.tudelft.broccoli.core.MarbleType;
 import nl.tudelft.broccoli.core.TimerTile;
 import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.IntegerProperty;
+import nl.tudelft.broccoli.core.config.Property;
 import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
 import nl.tudelft.broccoli.core.nexus.Nexus;
 import nl.tudelft.broccoli.core.nexus.NexusContext;
 import nl.tudelft.broccoli.core.nexus.SpawningNexus;
 import nl.tudelft.broccoli.core.powerup.PowerUp;
+import nl.tudelft.broccoli.core.powerup.PowerUpDispatcher;
 import nl.tudelft.broccoli.core.powerup.PowerUpFactory;
 import nl.tudelft.broccoli.core.powerup.RandomPowerUpFactory;
 import nl.tudelft.broccoli.core.powerup.bonus.BonusPowerUpFactory;
 import nl.tudelft.broccoli.core.powerup.joker.JokerPowerUpFactory;
+import nl.tudelft.broccoli.core.random.AliasSampler;
 import nl.tudelft.broccoli.core.receptor.Receptor;
 
 import java.util.*;
@@ -25,6 +30,12 @@ import java.util.stream.Collectors;
  * @author Earth Grob (w.lauwapong@student.tudelft.nl)
  */
 public abstract class AbstractGameSession implements GameSession {
+    /**
+     * The seed of the random number generators of the session. The generators are seeded
+     * randomly if this property does not exist in the configuration.
+     */
+    public static final Property<Integer> SEED = new IntegerProperty("session.seed", 0);
+
     /**
      * The game configuration.
      */
@@ -50,6 +61,21 @@ public abstract class AbstractGameSession implements GameSession {
      */
     private final PowerUpFactory powerUpFactory;
 
+    /**
+     * The {@link GameClock} of this game session.
+     */
+    private final GameClock clock;
+
+    /**
+     * The {@link PowerUpDispatcher} which assigns power-ups to the receptors.
+     */
+    private final PowerUpDispatcher powerUpDispatcher;
+
+    /**
+     * A flag to indicate the session has been started.
+     */
+    private boolean started;
+
     /**
      * Construct a {@link AbstractGameSession} instance.
      *
@@ -62,6 +88,8 @@ public abstract class AbstractGameSession implements GameSession {
         this.grid = new Grid(this, width, height);
         this.progress = new Progress();
 
+        final Random seeds = config.exists(SEED) ? new Random(config.get(SEED)) : new Random();
+
         // Read the initial sequence of balls from the configuration
         List<String> initial = config.get(SpawningNexus.INITIAL_SEQUENCE);
         Queue<MarbleType> queue = new ArrayDeque<>(initial.stream()
@@ -74,33 +102,69 @@ public abstract class AbstractGameSession implements GameSession {
             }).collect(Collectors.toList())
         );
 
-        this.nexusContext = new NexusContext(queue, new Random(),
-            config.get(SpawningNexus.JOKER_PROBABILITY));
+        AliasSampler colors = sampler(config.get(SpawningNexus.COLOR_WEIGHTS),
+            MarbleType.values().length - 1);
+        this.nexusContext = new NexusContext(queue, new Random(seeds.nextLong()),
+            config.get(SpawningNexus.JOKER_PROBABILITY), colors,
+            config.get(SpawningNexus.LOOKAHEAD));
+
+        PowerUpFactory[] factories = {new BonusPowerUpFactory(), new JokerPowerUpFactory()};
+        this.powerUpFactory = new RandomPowerUpFactory(new Random(seeds.nextLong()), factories,
+            sampler(config.get(RandomPowerUpFactory.WEIGHTS), factories.length));
 
-        NavigableMap<Double, PowerUpFactory> cdf = new TreeMap<>();
-        cdf.put(0.0, new BonusPowerUpFactory());
-        cdf.put(0.8, new JokerPowerUpFactory());
-        this.powerUpFactory = new RandomPowerUpFactory(new Random(), cdf);
+        this.clock = new GameClock();
+        this.powerUpDispatcher = new PowerUpDispatcher(new Random(seeds.nextLong()),
+            powerUpFactory,
+            config.get(PowerUpDispatcher.INTERVAL),
+            config.get(PowerUpDispatcher.DEVIATION),
+            config.get(PowerUpDispatcher.DURATION)
+        );
     }
 
     /**
-     * Create the default nexus setup.
+     * Create an {@link AliasSampler} over the given amount of outcomes from the configured weights.
+     *
+     * <p>Missing weights are treated as zero and superfluous weights are ignored. In case the
+     * configured weights do not form a valid distribution, each outcome is equally likely.</p>
+     *
+     * @param configured The configured weights of the outcomes.
+     * @param outcomes The amount of outcomes of the sampler.
+     * @return The sampler for the outcomes.
+     */
+    private static AliasSampler sampler(List<Double> configured, int outcomes) {
+        double[] weights = new double[outcomes];
+        for (int i = 0; i < Math.min(outcomes, configured.size()); i++) {
+            weights[i] = configured.get(i);
+        }
+
+        try {
+            return new AliasSampler(weights);
+        } catch (IllegalArgumentException e) {
+            Arrays.fill(weights, 1.0);
+            return new AliasSampler(weights);
+        }
+    }
+
+    /**
+     * Create the default nexus setup, which spans the top row of the grid and spawns from its
+     * rightmost tile.
      */
     protected void initNexus() {
-        grid.place(0, 5, new Nexus(getNexusContext()));
-        grid.place(1, 5, new Nexus(getNexusContext()));
-        grid.place(2, 5, new Nexus(getNexusContext()));
-        grid.place(3, 5, new Nexus(getNexusContext()));
-        grid.place(4, 5, new Nexus(getNexusContext()));
-        grid.place(5, 5, new SpawningNexus(getNexusContext(), Direction.RIGHT));
+        int top = grid.getHeight() - 1;
+        int right = grid.getWidth() - 1;
+        for (int x = 0; x < right; x++) {
+            grid.place(x, top, new Nexus(getNexusContext()));
+        }
+        grid.place(right, top, new SpawningNexus(getNexusContext(), Direction.RIGHT));
     }
 
     /**
-     * Create default information setup.
+     * Create default information setup in the rightmost column, below the nexus.
      */
     protected void initInfo() {
-        grid.place(5, 4, new Announcer());
-        grid.place(5, 3, new TimerTile(config.get(TimerTile.MAX_TIME)));
+        int right = grid.getWidth() - 1;
+        grid.place(right, grid.getHeight() - 2, new Announcer());
+        grid.place(right, grid.getHeight() - 3, new TimerTile(config.get(TimerTile.MAX_TIME)));
     }
 
     /**
@@ -152,5 +216,52 @@ public abstract class AbstractGameSession implements GameSession {
     public PowerUpFactory getPowerUpFactory() {
         return powerUpFactory;
     }
-}
 
+    /**
+     * Return the {@link GameClock} which drives the time-dependent rules of this game session.
+     *
+     * @return The clock of the game session.
+     */
+    @Override
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Return the {@link PowerUpDispatcher} which assigns power-ups to the receptors of this game
+     * session.
+     *
+     * @return The power-up dispatcher of the game session.
+     */
+    @Override
+    public PowerUpDispatcher getPowerUpDispatcher() {
+        return powerUpDispatcher;
+    }
+
+    /**
+     * Start this game session, which starts tracking the progress of the player and schedules the
+     * time-dependent rules of the game on the {@link GameClock} of the session.
+     *
+     * <p>Starting a session that has already been started has no effect.</p>
+     */
+    @Override
+    public void start() {
+        if (started) {
+            return;
+        }
+
+        started = true;
+        progress.track(grid);
+
+        for (int i = 0; i < grid.getWidth(); i++) {
+            for (int j = 0; j < grid.getHeight(); j++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                if (tileable instanceof TimerTile) {
+                    ((TimerTile) tileable).start(clock);
+                }
+            }
+        }
+
+        powerUpDispatcher.start(clock, grid);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.level;
+
+import java.util.Arrays;
+
+/**
+ * A scheduler which drives the time-dependent rules of a {@link GameSession}, such as the level
+ * timeout and the assignment of power-ups.
+ *
+ * <p>The clock does not advance by itself, but is advanced by the owner of the session via
+ * {@link #tick(double)}, which allows the user interface and headless simulations to share
+ * exactly the same timing semantics. Scheduled tasks are stored in a binary heap over parallel
+ * primitive arrays, so scheduling a task does not allocate an entry object and tasks can be
+ * stateless singletons that receive an integer argument instead of a capturing lambda.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GameClock {
+    /**
+     * The initial capacity of the task queue.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The current time of the clock in seconds.
+     */
+    private double time;
+
+    /**
+     * The amount of tasks that are scheduled.
+     */
+    private int size;
+
+    /**
+     * The sequence number of the next scheduled task, which is used to run tasks with the same
+     * deadline in the order they were scheduled.
+     */
+    private long sequence;
+
+    /**
+     * The deadlines of the scheduled tasks.
+     */
+    private double[] deadlines = new double[INITIAL_CAPACITY];
+
+    /**
+     * The sequence numbers of the scheduled tasks.
+     */
+    private long[] sequences = new long[INITIAL_CAPACITY];
+
+    /**
+     * The scheduled tasks.
+     */
+    private Task[] tasks = new Task[INITIAL_CAPACITY];
+
+    /**
+     * The arguments of the scheduled tasks.
+     */
+    private int[] arguments = new int[INITIAL_CAPACITY];
+
+    /**
+     * Return the current time of the clock.
+     *
+     * @return The time that has been elapsed on this clock in seconds.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Return the amount of tasks that are currently scheduled.
+     *
+     * @return The amount of pending tasks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedule the given {@link Task} to run after the given delay.
+     *
+     * @param task The task to run.
+     * @param delay The delay in seconds after which the task should run.
+     */
+    public void schedule(Task task, double delay) {
+        schedule(task, delay, 0);
+    }
+
+    /**
+     * Schedule the given {@link Task} to run with the given argument after the given delay.
+     *
+     * @param task The task to run.
+     * @param delay The delay in seconds after which the task should run.
+     * @param argument The argument to pass to the task.
+     */
+    public void schedule(Task task, double delay, int argument) {
+        if (task == null) {
+            throw new IllegalArgumentException("The task must not be null");
+        }
+
+        if (size == tasks.length) {
+            int capacity = size * 2;
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            tasks = Arrays.copyOf(tasks, capacity);
+            arguments = Arrays.copyOf(arguments, capacity);
+        }
+
+        int index = size++;
+        deadlines[index] = time + Math.max(0, delay);
+        sequences[index] = sequence++;
+        tasks[index] = task;
+        arguments[index] = argument;
+        siftUp(index);
+    }
+
+    /**
+     * Cancel all scheduled runs of the given {@link Task}.
+     *
+     * @param task The task to cancel.
+     * @return The amount of runs that have been cancelled.
+     */
+    public int cancel(Task task) {
+        int remaining = 0;
+        for (int i = 0; i < size; i++) {
+            if (tasks[i] != task) {
+                move(i, remaining++);
+            }
+        }
+
+        final int cancelled = size - remaining;
+        Arrays.fill(tasks, remaining, size, null);
+        size = remaining;
+
+        // Restore the heap property after compacting the queue
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        return cancelled;
+    }
+
+    /**
+     * Cancel all scheduled tasks.
+     */
+    public void clear() {
+        Arrays.fill(tasks, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Advance the clock by the given amount of time and run the tasks of which the deadline has
+     * passed, in order of their deadline.
+     *
+     * <p>While a task runs, the time of the clock equals the deadline of the task, such that tasks
+     * that reschedule themselves do not drift because of the granularity of the ticks.</p>
+     *
+     * @param delta The amount of time in seconds to advance the clock with.
+     */
+    public void tick(double delta) {
+        double target = time + delta;
+
+        while (size > 0 && deadlines[0] <= target) {
+            Task task = tasks[0];
+            int argument = arguments[0];
+            time = deadlines[0];
+            removeAt(0);
+            task.run(this, argument);
+        }
+
+        time = target;
+    }
+
+    /**
+     * Remove the task at the given index from the heap.
+     *
+     * @param index The index of the task to remove.
+     */
+    private void removeAt(int index) {
+        int last = --size;
+        if (index != last) {
+            move(last, index);
+            siftDown(index);
+            siftUp(index);
+        }
+        tasks[last] = null;
+    }
+
+    /**
+     * Move the task at the given index up the heap until the heap property holds.
+     *
+     * @param index The index of the task to move.
+     */
+    private void siftUp(int index) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) >>> 1;
+            if (!before(child, parent)) {
+                break;
+            }
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    /**
+     * Move the task at the given index down the heap until the heap property holds.
+     *
+     * @param index The index of the task to move.
+     */
+    private void siftDown(int index) {
+        int parent = index;
+        while (true) {
+            int left = 2 * parent + 1;
+            if (left >= size) {
+                break;
+            }
+            int right = left + 1;
+            int child = right < size && before(right, left) ? right : left;
+            if (!before(child, parent)) {
+                break;
+            }
+            swap(child, parent);
+            parent = child;
+        }
+    }
+
+    /**
+     * Determine whether the task at index <code>i</code> should run before the task at index
+     * <code>j</code>.
+     *
+     * @param i The index of the first task.
+     * @param j The index of the second task.
+     * @return <code>true</code> if the first task should run first, <code>false</code> otherwise.
+     */
+    private boolean before(int i, int j) {
+        return deadlines[i] < deadlines[j]
+            || deadlines[i] == deadlines[j] && sequences[i] < sequences[j];
+    }
+
+    /**
+     * Swap the tasks at the given indices.
+     *
+     * @param i The index of the first task.
+     * @param j The index of the second task.
+     */
+    private void swap(int i, int j) {
+        final double deadline = deadlines[i];
+        final long seq = sequences[i];
+        final Task task = tasks[i];
+        final int argument = arguments[i];
+        move(j, i);
+        deadlines[j] = deadline;
+        sequences[j] = seq;
+        tasks[j] = task;
+        arguments[j] = argument;
+    }
+
+    /**
+     * Move the task at the source index to the target index.
+     *
+     * @param source The index of the task to move.
+     * @param target The index to move the task to.
+     */
+    private void move(int source, int target) {
+        deadlines[target] = deadlines[source];
+        sequences[target] = sequences[source];
+        tasks[target] = tasks[source];
+        arguments[target] = arguments[source];
+    }
+
+    /**
+     * A task that can be scheduled on a {@link GameClock}.
+     */
+    @FunctionalInterface
+    public interface Task {
+        /**
+         * Run this task.
+         *
+         * @param clock The clock on which the task was scheduled.
+         * @param argument The argument with which the task was scheduled.
+         */
+        void run(GameClock clock, int argument);
+    }
+}
@@ -28,6 +28,7 @@ package nl.tudelft.broccoli.core.level;
 import nl.tudelft.broccoli.core.grid.Grid;
 import nl.tudelft.broccoli.core.nexus.NexusContext;
 import nl.tudelft.broccoli.core.powerup.PowerUp;
+import nl.tudelft.broccoli.core.powerup.PowerUpDispatcher;
 import nl.tudelft.broccoli.core.powerup.PowerUpFactory;
 import nl.tudelft.broccoli.core.receptor.Receptor;
 
@@ -73,4 +74,25 @@ public interface GameSession {
      * @return The power-up factory of the game session.
      */
     PowerUpFactory getPowerUpFactory();
+
+    /**
+     * Return the {@link GameClock} which drives the time-dependent rules of this game session.
+     *
+     * @return The clock of the game session.
+     */
+    GameClock getClock();
+
+    /**
+     * Return the {@link PowerUpDispatcher} which assigns power-ups to the receptors of this game
+     * session.
+     *
+     * @return The power-up dispatcher of the game session.
+     */
+    PowerUpDispatcher getPowerUpDispatcher();
+
+    /**
+     * Start this game session, which starts tracking the progress of the player and schedules the
+     * time-dependent rules of the game on the {@link GameClock} of the session.
+     */
+    void start();
 }
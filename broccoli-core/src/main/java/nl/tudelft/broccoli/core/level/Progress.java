@@ -63,7 +63,8 @@ public class Progress implements ReceptorListener {
     }
 
     /**
-     * Track the given {@link Grid} for progress.
+     * Track the given {@link Grid} for progress. Receptors that have already been marked do not
+     * count towards the receptors that remain to be marked.
      *
      * @param grid The grid to track.
      */
@@ -74,7 +75,9 @@ public class Progress implements ReceptorListener {
             for (int j = 0; j < grid.getHeight(); j++) {
                 Tileable t = grid.get(i, j).getTileable();
                 if (t instanceof Receptor) {
-                    unmarked.add((Receptor) t);
+                    if (!((Receptor) t).isMarked()) {
+                        unmarked.add((Receptor) t);
+                    }
                     t.addListener(this);
                 }
             }
@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.level.generated;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.level.AbstractGameSession;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+
+/**
+ * A {@link Level} whose playing field has been generated by a {@link GeneratedLevelFactory}.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GeneratedLevel implements Level {
+    /**
+     * The factory that generated this level.
+     */
+    private final GeneratedLevelFactory factory;
+
+    /**
+     * The index of this level.
+     */
+    private final int index;
+
+    /**
+     * The layout of the playing field.
+     */
+    private final Layout layout;
+
+    /**
+     * The estimated difficulty of this level.
+     */
+    private final double difficulty;
+
+    /**
+     * Construct a {@link GeneratedLevel} instance.
+     *
+     * @param factory The factory that generated the level.
+     * @param index The index of the level.
+     * @param layout The layout of the playing field.
+     * @param difficulty The estimated difficulty of the level.
+     */
+    GeneratedLevel(GeneratedLevelFactory factory, int index, Layout layout, double difficulty) {
+        this.factory = factory;
+        this.index = index;
+        this.layout = layout;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Create a new {@link GameSession} with this {@link Level}'s configuration.
+     *
+     * @param config The game configuration to use.
+     * @return A {@link GameSession} for this {@link Level}.
+     */
+    @Override
+    public GameSession create(Configuration config) {
+        return new GeneratedGame(config);
+    }
+
+    /**
+     * Return the {@link GeneratedLevelFactory} of this level.
+     *
+     * @return The factory that generated this level.
+     */
+    @Override
+    public GeneratedLevelFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Return the index of this level.
+     *
+     * @return The index of this level.
+     */
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Return the layout of the playing field of this level.
+     *
+     * @return The layout of this level.
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Return the estimated difficulty of this level.
+     *
+     * @return The difficulty between zero (trivial) and one (hardest).
+     */
+    public double getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * A {@link GameSession} created by {@link GeneratedLevel} instances.
+     */
+    private class GeneratedGame extends AbstractGameSession {
+        /**
+         * Construct a {@link GeneratedGame} instance.
+         *
+         * @param config The game configuration to use.
+         */
+        GeneratedGame(Configuration config) {
+            super(config, layout.getWidth(), layout.getHeight());
+
+            initNexus();
+            initInfo();
+            layout.place(getGrid());
+        }
+
+        /**
+         * Return the {@link Level} this game represents.
+         *
+         * @return The level of this game.
+         */
+        @Override
+        public Level getLevel() {
+            return GeneratedLevel.this;
+        }
+    }
+}
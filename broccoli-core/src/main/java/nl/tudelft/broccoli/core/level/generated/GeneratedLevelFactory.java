@@ -0,0 +1,437 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.level.generated;
+
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.LevelFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link LevelFactory} that procedurally generates an endless sequence of levels for a grid
+ * size and a difficulty target.
+ *
+ * <p>Receptors are placed on a lattice of every other cell below the nexus row and are connected
+ * to their neighbours by straight tracks, of which harder levels have fewer and decorate more
+ * with filters, one-way tracks and teleporter pairs. Each candidate is validated by searching
+ * the paths of the marbles from the nexus for solvability, after which its difficulty is
+ * estimated from the same search. Candidates are drawn until one lies within the tolerance of
+ * the target, which takes microseconds per candidate.</p>
+ *
+ * <p>Levels are a pure function of the seed of the factory and their index, so they can be
+ * generated concurrently and regenerated on demand.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GeneratedLevelFactory extends LevelFactory {
+    /**
+     * The maximum amount of candidates that is drawn for a single level.
+     */
+    private static final int ATTEMPTS = 32;
+
+    /**
+     * The width of the grids.
+     */
+    private final int width;
+
+    /**
+     * The height of the grids.
+     */
+    private final int height;
+
+    /**
+     * The difficulty target between zero and one.
+     */
+    private final double difficulty;
+
+    /**
+     * The maximum distance between the estimated difficulty and the target.
+     */
+    private final double tolerance;
+
+    /**
+     * The seed of the generated levels.
+     */
+    private final long seed;
+
+    /**
+     * Construct a {@link GeneratedLevelFactory} instance.
+     *
+     * @param width The width of the grids, which must be at least three.
+     * @param height The height of the grids, which must be at least four.
+     * @param difficulty The difficulty target between zero and one.
+     * @param tolerance The maximum distance between the estimated difficulty and the target.
+     * @param seed The seed of the generated levels.
+     */
+    public GeneratedLevelFactory(int width, int height, double difficulty, double tolerance,
+                                 long seed) {
+        if (width < 3 || height < 4) {
+            throw new IllegalArgumentException("The grid must be at least three by four tiles");
+        } else if (!(difficulty >= 0 && difficulty <= 1 && tolerance >= 0)) {
+            throw new IllegalArgumentException("The difficulty must be between zero and one");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.difficulty = difficulty;
+        this.tolerance = tolerance;
+        this.seed = seed;
+    }
+
+    /**
+     * Construct a {@link GeneratedLevelFactory} instance for the default six by six grid.
+     *
+     * @param difficulty The difficulty target between zero and one.
+     * @param seed The seed of the generated levels.
+     */
+    public GeneratedLevelFactory(double difficulty, long seed) {
+        this(6, 6, difficulty, 0.1, seed);
+    }
+
+    /**
+     * Generate the level with the given index. If no candidate lies within the tolerance of the
+     * target, which happens for targets the grid is too small to express, the closest candidate
+     * is returned.
+     *
+     * @param level The index of the level, starting at one.
+     * @return The generated level or <code>null</code> if the index is not positive.
+     */
+    @Override
+    public GeneratedLevel create(int level) {
+        if (level < 1) {
+            return null;
+        }
+
+        GeneratedLevel best = null;
+        for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+            Random random = new Random(seed * 1_000_003L + level * 131L + attempt);
+            Layout layout = candidate(random);
+            if (!layout.isSolvable()) {
+                continue;
+            }
+
+            double estimate = estimate(layout);
+            if (best == null || Math.abs(estimate - difficulty)
+                < Math.abs(best.getDifficulty() - difficulty)) {
+                best = new GeneratedLevel(this, level, layout, estimate);
+            }
+            if (Math.abs(estimate - difficulty) <= tolerance) {
+                break;
+            }
+        }
+
+        if (best == null) {
+            throw new IllegalStateException("No solvable layout found for level " + level);
+        }
+        return best;
+    }
+
+    /**
+     * Generate the given amount of levels with unique layouts in parallel, starting at the given
+     * index. Indices whose layout duplicates an earlier level are skipped.
+     *
+     * @param first The index of the first level to generate.
+     * @param count The amount of levels to generate.
+     * @return The unique levels in order of their index, which may be fewer than requested if
+     *         the grid does not allow enough unique layouts.
+     */
+    public List<GeneratedLevel> generate(int first, int count) {
+        List<GeneratedLevel> levels = new ArrayList<>(count);
+        Set<Layout> layouts = new HashSet<>();
+        int next = Math.max(1, first);
+        int limit = next + count * 16;
+
+        while (levels.size() < count && next < limit) {
+            int batch = Math.min(count - levels.size(), limit - next);
+            List<GeneratedLevel> generated = IntStream.range(next, next + batch)
+                .parallel()
+                .mapToObj(this::create)
+                .collect(Collectors.toList());
+            next += batch;
+
+            for (GeneratedLevel level : generated) {
+                if (layouts.add(level.getLayout())) {
+                    levels.add(level);
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Draw a random candidate layout for the difficulty target.
+     *
+     * @param random The random number generator to draw with.
+     * @return The candidate layout.
+     */
+    Layout candidate(Random random) {
+        Layout layout = new Layout(width, height);
+        List<Integer> nodes = lattice();
+        int count = (int) Math.round(3 + difficulty * (nodes.size() - 3)) + random.nextInt(3) - 1;
+        count = Math.max(2, Math.min(nodes.size(), count));
+
+        List<Integer> receptors = new ArrayList<>();
+        List<Integer> edges = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        grow(nodes.get(random.nextInt(width / 2)), count, receptors, edges, parents, random);
+        connect(receptors, edges, parents, random);
+
+        for (int receptor : receptors) {
+            layout.setKind(receptor, Layout.RECEPTOR);
+        }
+        for (int edge : edges) {
+            layout.setKind(edge, (edge / width) % 2 == (height - 2) % 2
+                ? Layout.HORIZONTAL : Layout.VERTICAL);
+        }
+        for (int i = 0; i < edges.size(); i++) {
+            decorate(layout, edges.get(i), parents.get(i), random);
+        }
+        teleport(layout, edges, random);
+        return layout;
+    }
+
+    /**
+     * Grow a connected set of receptors from the given receptor, which lies below the nexus.
+     *
+     * @param root The cell of the first receptor.
+     * @param count The amount of receptors to grow.
+     * @param receptors The list to add the cells of the receptors to.
+     * @param edges The list to add the cells of the tracks of the spanning tree to.
+     * @param parents The list to add the cell of the receptor closest to the root to, for each
+     *                track.
+     * @param random The random number generator to draw with.
+     */
+    private void grow(int root, int count, List<Integer> receptors, List<Integer> edges,
+                      List<Integer> parents, Random random) {
+        receptors.add(root);
+        while (receptors.size() < count) {
+            int from = receptors.get(random.nextInt(receptors.size()));
+            int to = neighbour(from, random.nextInt(4));
+            if (to >= 0 && !receptors.contains(to)) {
+                receptors.add(to);
+                edges.add((from + to) / 2);
+                parents.add(from);
+            }
+        }
+    }
+
+    /**
+     * Connect neighbouring receptors outside the spanning tree, less so for harder targets.
+     *
+     * @param receptors The cells of the receptors.
+     * @param edges The list to add the cells of the tracks to.
+     * @param parents The list to add <code>-1</code> to for each track, since the tracks are not
+     *                part of the spanning tree.
+     * @param random The random number generator to draw with.
+     */
+    private void connect(List<Integer> receptors, List<Integer> edges, List<Integer> parents,
+                         Random random) {
+        for (int from : receptors) {
+            for (int direction = 0; direction < 2; direction++) {
+                int to = neighbour(from, direction);
+                if (receptors.contains(to) && !edges.contains((from + to) / 2)
+                    && random.nextDouble() < 0.7 * (1 - difficulty)) {
+                    edges.add((from + to) / 2);
+                    parents.add(-1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the cells of the lattice on which receptors may be placed, starting with the row
+     * below the nexus.
+     *
+     * @return The cells of the lattice.
+     */
+    private List<Integer> lattice() {
+        List<Integer> nodes = new ArrayList<>();
+        for (int y = height - 2; y >= 0; y -= 2) {
+            for (int x = 0; x <= width - 2; x += 2) {
+                nodes.add(y * width + x);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * Return the neighbour of the given lattice cell in the given direction.
+     *
+     * @param cell The lattice cell.
+     * @param direction The ordinal of the direction.
+     * @return The neighbouring lattice cell or <code>-1</code> if it lies outside the lattice.
+     */
+    private int neighbour(int cell, int direction) {
+        int x = cell % width + (direction == 1 ? 2 : 0) - (direction == 3 ? 2 : 0);
+        int y = cell / width + (direction == 0 ? 2 : 0) - (direction == 2 ? 2 : 0);
+        if (x < 0 || y < 0 || x > width - 2 || y > height - 2) {
+            return -1;
+        }
+        return y * width + x;
+    }
+
+    /**
+     * Decorate the track on the given cell with a filter or a one-way restriction, with a
+     * probability that grows with the difficulty target.
+     *
+     * <p>One-way tracks of the spanning tree only pass marbles away from the nexus and are not
+     * placed in front of a receptor that has no other track, so that the layout remains
+     * solvable.</p>
+     *
+     * @param layout The layout to decorate.
+     * @param cell The cell of the track.
+     * @param parent The cell of the receptor closest to the root if the track is part of the
+     *               spanning tree or <code>-1</code> otherwise.
+     * @param random The random number generator to draw with.
+     */
+    private void decorate(Layout layout, int cell, int parent, Random random) {
+        double draw = random.nextDouble();
+        if (draw < 0.3 * difficulty) {
+            layout.setFilter(cell, MarbleType.values()[random.nextInt(4)]);
+        } else if (draw >= 0.55 * difficulty) {
+            return;
+        } else if (parent < 0) {
+            int axis = layout.getKind(cell) == Layout.HORIZONTAL ? 1 : 0;
+            layout.setOneWay(cell, Direction.values()[axis + 2 * random.nextInt(2)]);
+        } else if (degree(layout, 2 * cell - parent) > 1) {
+            layout.setOneWay(cell, side(cell, parent));
+        }
+    }
+
+    /**
+     * Return the amount of tracks that are connected to the given receptor.
+     *
+     * @param layout The layout of the receptor.
+     * @param receptor The cell of the receptor.
+     * @return The amount of tracks next to the receptor.
+     */
+    private int degree(Layout layout, int receptor) {
+        int degree = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            int to = neighbour(receptor, direction);
+            degree += to >= 0 && layout.getKind((receptor + to) / 2) != Layout.EMPTY ? 1 : 0;
+        }
+        return degree;
+    }
+
+    /**
+     * Return the side of a track that faces the given neighbouring receptor.
+     *
+     * @param cell The cell of the track.
+     * @param receptor The cell of the receptor next to the track.
+     * @return The side of the track facing the receptor.
+     */
+    private Direction side(int cell, int receptor) {
+        if (receptor == cell + 1) {
+            return Direction.RIGHT;
+        } else if (receptor == cell - 1) {
+            return Direction.LEFT;
+        }
+        return receptor > cell ? Direction.TOP : Direction.BOTTOM;
+    }
+
+    /**
+     * Replace a pair of plain tracks of the same orientation by teleporters, with a probability
+     * equal to the difficulty target.
+     *
+     * @param layout The layout to modify.
+     * @param edges The cells of the tracks.
+     * @param random The random number generator to draw with.
+     */
+    private void teleport(Layout layout, List<Integer> edges, Random random) {
+        if (edges.size() < 2 || random.nextDouble() >= difficulty) {
+            return;
+        }
+
+        int first = edges.get(random.nextInt(edges.size()));
+        int second = edges.get(random.nextInt(edges.size()));
+        if (first != second && layout.isPlain(first) && layout.isPlain(second)
+            && layout.getKind(first) == layout.getKind(second)) {
+            layout.setTeleporters(first, second);
+        }
+    }
+
+    /**
+     * Estimate the difficulty of the given solvable layout as the mean of four measures between
+     * zero and one: the density of the receptors on the lattice, the fraction of decorated
+     * tracks, the fraction of neighbouring receptors that are not connected beyond a spanning
+     * tree and the mean amount of
+     * receptors a marble needs to pass to reach a receptor from the nexus.
+     *
+     * @param layout The layout to estimate.
+     * @return The estimated difficulty between zero and one.
+     */
+    double estimate(Layout layout) {
+        final int[] depths = layout.search();
+        int pairs = 0;
+        int receptors = 0;
+        int depth = 0;
+        int tracks = 0;
+        int decorated = 0;
+        for (int cell = 0; cell < depths.length; cell++) {
+            byte kind = layout.getKind(cell);
+            if (kind == Layout.RECEPTOR) {
+                receptors++;
+                depth += depths[cell];
+                pairs += pairs(layout, cell);
+            } else if (kind != Layout.EMPTY) {
+                tracks++;
+                decorated += layout.isPlain(cell) ? 0 : 1;
+            }
+        }
+
+        int lattice = (width / 2) * (height / 2);
+        double density = (receptors - 2.0) / Math.max(1, lattice - 2);
+        double decoration = Math.min(1, decorated / (0.55 * Math.max(1, tracks)));
+        int optional = pairs - receptors + 1;
+        double sparsity = optional == 0 ? 0 : 1 - (tracks - receptors + 1.0) / optional;
+        double distance = Math.min(1, (double) depth / receptors / Math.max(1, lattice / 2));
+        return (density + decoration + sparsity + distance) / 4;
+    }
+
+    /**
+     * Return the amount of receptors above and to the right of the given receptor on the lattice.
+     *
+     * @param layout The layout of the receptor.
+     * @param receptor The cell of the receptor.
+     * @return The amount of neighbouring receptors in those directions.
+     */
+    private int pairs(Layout layout, int receptor) {
+        int pairs = 0;
+        for (int direction = 0; direction < 2; direction++) {
+            int to = neighbour(receptor, direction);
+            pairs += to >= 0 && layout.getKind(to) == Layout.RECEPTOR ? 1 : 0;
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.level.generated;
+
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.track.FilterTrack;
+import nl.tudelft.broccoli.core.track.HorizontalTrack;
+import nl.tudelft.broccoli.core.track.OneWayTrack;
+import nl.tudelft.broccoli.core.track.Track;
+import nl.tudelft.broccoli.core.track.VerticalTrack;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A {@link Layout} describes the playing field of a generated level: the receptors and the
+ * (filtering, one-way or teleporting) tracks below the nexus row of a grid.
+ *
+ * <p>A layout is built cell by cell by the {@link GeneratedLevelFactory} and is not modified
+ * after it has been validated, after which it can be placed onto the grids of any amount of
+ * sessions.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class Layout {
+    /**
+     * The kind of an empty cell.
+     */
+    static final byte EMPTY = 0;
+
+    /**
+     * The kind of a cell with a horizontal track.
+     */
+    static final byte HORIZONTAL = 1;
+
+    /**
+     * The kind of a cell with a vertical track.
+     */
+    static final byte VERTICAL = 2;
+
+    /**
+     * The kind of a cell with a receptor.
+     */
+    static final byte RECEPTOR = 3;
+
+    /**
+     * The horizontal offset of a neighbour per direction ordinal.
+     */
+    private static final int[] DX = {0, 1, 0, -1};
+
+    /**
+     * The vertical offset of a neighbour per direction ordinal.
+     */
+    private static final int[] DY = {1, 0, -1, 0};
+
+    /**
+     * The width of the grid.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid.
+     */
+    private final int height;
+
+    /**
+     * The kind of each cell.
+     */
+    private final byte[] kinds;
+
+    /**
+     * The marble type ordinal that each cell filters or <code>-1</code>.
+     */
+    private final byte[] filters;
+
+    /**
+     * The direction ordinal from which marbles may pass each cell or <code>-1</code>.
+     */
+    private final byte[] ways;
+
+    /**
+     * The cell each teleporter teleports to or <code>-1</code>.
+     */
+    private final int[] destinations;
+
+    /**
+     * Construct an empty {@link Layout} instance.
+     *
+     * @param width The width of the grid.
+     * @param height The height of the grid.
+     */
+    Layout(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.kinds = new byte[width * height];
+        this.filters = new byte[width * height];
+        this.ways = new byte[width * height];
+        this.destinations = new int[width * height];
+        Arrays.fill(filters, (byte) -1);
+        Arrays.fill(ways, (byte) -1);
+        Arrays.fill(destinations, -1);
+    }
+
+    /**
+     * Set the kind of the given cell.
+     *
+     * @param cell The index of the cell.
+     * @param kind The kind of the cell.
+     */
+    void setKind(int cell, byte kind) {
+        kinds[cell] = kind;
+    }
+
+    /**
+     * Let the track on the given cell only pass marbles of the given type.
+     *
+     * @param cell The index of the cell.
+     * @param type The type of marbles to pass.
+     */
+    void setFilter(int cell, MarbleType type) {
+        filters[cell] = (byte) type.ordinal();
+    }
+
+    /**
+     * Let the track on the given cell only pass marbles that enter from the given direction.
+     *
+     * @param cell The index of the cell.
+     * @param direction The direction from which marbles may pass.
+     */
+    void setOneWay(int cell, Direction direction) {
+        ways[cell] = (byte) direction.ordinal();
+    }
+
+    /**
+     * Connect the tracks on the given cells with a pair of teleporters.
+     *
+     * @param first The index of the first cell.
+     * @param second The index of the second cell.
+     */
+    void setTeleporters(int first, int second) {
+        destinations[first] = second;
+        destinations[second] = first;
+    }
+
+    /**
+     * Return the kind of the given cell.
+     *
+     * @param cell The index of the cell.
+     * @return The kind of the cell.
+     */
+    byte getKind(int cell) {
+        return kinds[cell];
+    }
+
+    /**
+     * Determine whether the given cell has a plain track.
+     *
+     * @param cell The index of the cell.
+     * @return <code>true</code> if the cell holds an undecorated track, <code>false</code>
+     *         otherwise.
+     */
+    boolean isPlain(int cell) {
+        return (kinds[cell] == HORIZONTAL || kinds[cell] == VERTICAL) && filters[cell] < 0
+            && ways[cell] < 0 && destinations[cell] < 0;
+    }
+
+    /**
+     * Return the width of the grid of this layout.
+     *
+     * @return The width of the grid.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Return the height of the grid of this layout.
+     *
+     * @return The height of the grid.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Return the amount of receptors in this layout.
+     *
+     * @return The amount of receptors.
+     */
+    public int getReceptorCount() {
+        int count = 0;
+        for (byte kind : kinds) {
+            count += kind == RECEPTOR ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Place the entities of this layout onto the given grid.
+     *
+     * @param grid The grid to place the entities on.
+     */
+    public void place(Grid grid) {
+        Tileable[] tileables = new Tileable[kinds.length];
+        for (int cell = 0; cell < kinds.length; cell++) {
+            tileables[cell] = create(cell);
+        }
+
+        for (int cell = 0; cell < kinds.length; cell++) {
+            if (destinations[cell] >= 0) {
+                ((Teleporter) tileables[cell])
+                    .setDestination((Teleporter) tileables[destinations[cell]]);
+            }
+            if (tileables[cell] != null) {
+                grid.place(cell % width, cell / width, tileables[cell]);
+            }
+        }
+    }
+
+    /**
+     * Create the entity for the given cell.
+     *
+     * @param cell The index of the cell.
+     * @return The entity of the cell or <code>null</code> if the cell is empty.
+     */
+    private Tileable create(int cell) {
+        if (kinds[cell] == RECEPTOR) {
+            return new Receptor();
+        } else if (kinds[cell] == EMPTY) {
+            return null;
+        }
+
+        Track track = kinds[cell] == HORIZONTAL ? new HorizontalTrack() : new VerticalTrack();
+        if (filters[cell] >= 0) {
+            return new FilterTrack(track, MarbleType.values()[filters[cell]]);
+        } else if (ways[cell] >= 0) {
+            return new OneWayTrack(track, Direction.values()[ways[cell]]);
+        } else if (destinations[cell] >= 0) {
+            return new Teleporter(track);
+        }
+        return track;
+    }
+
+    /**
+     * Determine whether this layout is solvable: marbles from the nexus must be able to reach
+     * every receptor and every receptor must be able to release marbles to another receptor, so
+     * that any mix of marbles can be sorted.
+     *
+     * @return <code>true</code> if the layout is solvable, <code>false</code> otherwise.
+     */
+    public boolean isSolvable() {
+        int[] depths = search();
+        for (int cell = 0; cell < kinds.length; cell++) {
+            if (kinds[cell] == RECEPTOR && (depths[cell] < 0 || getExits(cell) == 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Search the paths of the marbles breadth-first, starting at the nexus.
+     *
+     * @return The amount of receptors a marble passes from the nexus to each receptor cell,
+     *         which is <code>-1</code> for cells that marbles cannot reach.
+     */
+    int[] search() {
+        int[] depths = new int[kinds.length];
+        Arrays.fill(depths, -1);
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int x = 0; x < width; x++) {
+            reach(trace(x, height - 1, Direction.BOTTOM.ordinal()), 0, depths, pending);
+        }
+
+        while (!pending.isEmpty()) {
+            int receptor = pending.poll();
+            for (int direction = 0; direction < 4; direction++) {
+                reach(trace(receptor % width, receptor / width, direction),
+                    depths[receptor] + 1, depths, pending);
+            }
+        }
+        return depths;
+    }
+
+    /**
+     * Record the depth of the given receptor and queue it if it had not been reached before.
+     *
+     * @param cell The cell of the receptor or <code>-1</code> if no receptor was reached.
+     * @param depth The depth at which the receptor has been reached.
+     * @param depths The depths of the receptors that have been reached.
+     * @param pending The receptors of which the exits remain to be traced.
+     */
+    private static void reach(int cell, int depth, int[] depths, Deque<Integer> pending) {
+        if (cell >= 0 && depths[cell] < 0) {
+            depths[cell] = depth;
+            pending.add(cell);
+        }
+    }
+
+    /**
+     * Return the amount of slots of the given receptor from which a marble can reach another
+     * receptor.
+     *
+     * @param receptor The cell of the receptor.
+     * @return The amount of slots that lead to another receptor.
+     */
+    int getExits(int receptor) {
+        int exits = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            int cell = trace(receptor % width, receptor / width, direction);
+            exits += cell >= 0 && cell != receptor ? 1 : 0;
+        }
+        return exits;
+    }
+
+    /**
+     * Trace the path of a marble that leaves the given position in the given direction, ignoring
+     * the types of filters.
+     *
+     * @param x The horizontal position the marble leaves.
+     * @param y The vertical position the marble leaves.
+     * @param direction The ordinal of the direction in which the marble travels.
+     * @return The cell of the receptor the marble arrives at or <code>-1</code> if it does not
+     *         arrive at a receptor.
+     */
+    int trace(int x, int y, int direction) {
+        int from = (direction + 2) % 4;
+        int cx = x;
+        int cy = y;
+
+        for (int i = 0; i < kinds.length; i++) {
+            cx += DX[direction];
+            cy += DY[direction];
+            if (cx < 0 || cy < 0 || cx >= width || cy >= height - 1) {
+                return -1;
+            }
+
+            int cell = cy * width + cx;
+            if (kinds[cell] == RECEPTOR) {
+                return cell;
+            } else if (!enters(cell, from)) {
+                return -1;
+            } else if (destinations[cell] >= 0) {
+                cell = destinations[cell];
+                cx = cell % width;
+                cy = cell / width;
+            }
+
+            if (!connects(cell, direction)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Determine whether a marble may enter the track on the given cell from the given side.
+     *
+     * @param cell The index of the cell.
+     * @param from The ordinal of the side from which the marble enters.
+     * @return <code>true</code> if the marble may enter, <code>false</code> otherwise.
+     */
+    private boolean enters(int cell, int from) {
+        return connects(cell, from) && (ways[cell] < 0 || ways[cell] == from);
+    }
+
+    /**
+     * Determine whether the entity on the given cell connects at the given side.
+     *
+     * @param cell The index of the cell.
+     * @param direction The ordinal of the side.
+     * @return <code>true</code> if the entity connects, <code>false</code> otherwise.
+     */
+    private boolean connects(int cell, int direction) {
+        switch (kinds[cell]) {
+            case HORIZONTAL:
+                return direction % 2 == 1;
+            case VERTICAL:
+                return direction % 2 == 0;
+            case RECEPTOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Determine whether this layout equals the given object.
+     *
+     * @param other The object to compare with.
+     * @return <code>true</code> if the object is a layout with the same cells,
+     *         <code>false</code> otherwise.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Layout)) {
+            return false;
+        }
+
+        Layout layout = (Layout) other;
+        return width == layout.width && Arrays.equals(kinds, layout.kinds)
+            && Arrays.equals(filters, layout.filters) && Arrays.equals(ways, layout.ways)
+            && Arrays.equals(destinations, layout.destinations);
+    }
+
+    /**
+     * Return the hash code of this layout.
+     *
+     * @return The hash code of the cells of this layout.
+     */
+    @Override
+    public int hashCode() {
+        int hash = width;
+        hash = 31 * hash + Arrays.hashCode(kinds);
+        hash = 31 * hash + Arrays.hashCode(filters);
+        hash = 31 * hash + Arrays.hashCode(ways);
+        return 31 * hash + Arrays.hashCode(destinations);
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.nexus.SpawningNexus;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.receptor.ReceptorListener;
+
+/**
+ * The metrics of the gameplay, which are recorded by listening to the tiles of the grids it
+ * tracks.
+ *
+ * <p>The instruments are obtained from a {@link MetricRegistry} by name, so all instances that use
+ * the same registry aggregate into the same metrics.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GameMetrics implements ReceptorListener {
+    /**
+     * The name of the counter of spawned marbles.
+     */
+    public static final String SPAWNS = "marbles.spawned";
+
+    /**
+     * The name of the counter of marbles that moved to a neighbouring tile.
+     */
+    public static final String HOPS = "marbles.hops";
+
+    /**
+     * The name of the counter of marbles that bounced back.
+     */
+    public static final String BOUNCES = "marbles.bounces";
+
+    /**
+     * The name of the counter of teleported marbles.
+     */
+    public static final String TELEPORTS = "marbles.teleports";
+
+    /**
+     * The name of the counter of marked receptors.
+     */
+    public static final String MARKS = "receptors.marked";
+
+    /**
+     * The name of the counter of activated power-ups.
+     */
+    public static final String POWER_UPS = "powerups.activated";
+
+    /**
+     * The name of the histogram of the time in nanoseconds a simulation tick takes.
+     */
+    public static final String TICK_TIME = "simulation.tick.nanos";
+
+    /**
+     * The counter of spawned marbles.
+     */
+    private final Counter spawns;
+
+    /**
+     * The counter of marbles that moved to a neighbouring tile.
+     */
+    private final Counter hops;
+
+    /**
+     * The counter of marbles that bounced back.
+     */
+    private final Counter bounces;
+
+    /**
+     * The counter of teleported marbles.
+     */
+    private final Counter teleports;
+
+    /**
+     * The counter of marked receptors.
+     */
+    private final Counter marks;
+
+    /**
+     * The counter of activated power-ups.
+     */
+    private final Counter powerUps;
+
+    /**
+     * The histogram of the time a simulation tick takes.
+     */
+    private final Histogram ticks;
+
+    /**
+     * Construct a {@link GameMetrics} instance.
+     *
+     * @param registry The registry to obtain the instruments from.
+     */
+    public GameMetrics(MetricRegistry registry) {
+        this.spawns = registry.counter(SPAWNS);
+        this.hops = registry.counter(HOPS);
+        this.bounces = registry.counter(BOUNCES);
+        this.teleports = registry.counter(TELEPORTS);
+        this.marks = registry.counter(MARKS);
+        this.powerUps = registry.counter(POWER_UPS);
+        this.ticks = registry.histogram(TICK_TIME);
+    }
+
+    /**
+     * Construct a {@link GameMetrics} instance using the default registry.
+     */
+    public GameMetrics() {
+        this(MetricRegistry.getDefault());
+    }
+
+    /**
+     * Start recording the gameplay on the given grid.
+     *
+     * @param grid The grid to track.
+     */
+    public void track(Grid grid) {
+        for (int i = 0; i < grid.getWidth(); i++) {
+            for (int j = 0; j < grid.getHeight(); j++) {
+                grid.get(i, j).getTileable().addListener(this);
+            }
+        }
+    }
+
+    /**
+     * Record that a marble bounced back.
+     */
+    public void recordBounce() {
+        bounces.increment();
+    }
+
+    /**
+     * Record the duration of a simulation tick.
+     *
+     * @param nanos The duration of the tick in nanoseconds.
+     */
+    public void recordTick(long nanos) {
+        ticks.record(nanos);
+    }
+
+    /**
+     * Count spawned and teleported marbles.
+     *
+     * @param tileable The tileable that has accepted the marble.
+     * @param direction The direction from which the marble was accepted.
+     * @param marble The marble that has been accepted.
+     */
+    @Override
+    public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
+        if (tileable instanceof SpawningNexus
+            && direction == ((SpawningNexus) tileable).getDirection()) {
+            spawns.increment();
+        } else if (tileable instanceof Teleporter) {
+            teleports.increment();
+        }
+    }
+
+    /**
+     * Count marbles that move to a neighbouring tile.
+     *
+     * @param tileable The tileable that has released the marble.
+     * @param direction The direction in which the marble was released.
+     * @param marble The marble that has been released.
+     */
+    @Override
+    public void ballReleased(Tileable tileable, Direction direction, Marble marble) {
+        hops.increment();
+    }
+
+    /**
+     * Count marked receptors and the power-ups they activate.
+     *
+     * @param receptor The receptor that has been marked.
+     */
+    @Override
+    public void receptorMarked(Receptor receptor) {
+        marks.increment();
+        if (receptor.getPowerUp() != null) {
+            powerUps.increment();
+        }
+    }
+
+    /**
+     * Return the counter of spawned marbles.
+     *
+     * @return The counter of spawned marbles.
+     */
+    public Counter getSpawns() {
+        return spawns;
+    }
+
+    /**
+     * Return the counter of marbles that moved to a neighbouring tile.
+     *
+     * @return The counter of hops.
+     */
+    public Counter getHops() {
+        return hops;
+    }
+
+    /**
+     * Return the counter of marbles that bounced back.
+     *
+     * @return The counter of bounces.
+     */
+    public Counter getBounces() {
+        return bounces;
+    }
+
+    /**
+     * Return the counter of teleported marbles.
+     *
+     * @return The counter of teleports.
+     */
+    public Counter getTeleports() {
+        return teleports;
+    }
+
+    /**
+     * Return the counter of marked receptors.
+     *
+     * @return The counter of marks.
+     */
+    public Counter getMarks() {
+        return marks;
+    }
+
+    /**
+     * Return the counter of activated power-ups.
+     *
+     * @return The counter of activated power-ups.
+     */
+    public Counter getPowerUps() {
+        return powerUps;
+    }
+
+    /**
+     * Return the histogram of the duration of simulation ticks in nanoseconds.
+     *
+     * @return The histogram of tick durations.
+     */
+    public Histogram getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Histogram} records the distribution of non-negative values, such as durations in
+ * nanoseconds, in log-linear buckets.
+ *
+ * <p>Like an HDR histogram, every power of two is divided into {@link #SUB_BUCKETS} linear
+ * buckets, so the values reported for percentiles are within about three percent of the recorded
+ * values, while recording remains a constant-time increment of a striped adder.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class Histogram {
+    /**
+     * The amount of bits of precision within a power of two.
+     */
+    private static final int PRECISION = 5;
+
+    /**
+     * The amount of linear buckets per power of two.
+     */
+    public static final int SUB_BUCKETS = 1 << PRECISION;
+
+    /**
+     * The amount of buckets needed to cover every non-negative long value.
+     */
+    private static final int BUCKETS = (Long.SIZE - PRECISION) * SUB_BUCKETS;
+
+    /**
+     * The count of recorded values per bucket.
+     */
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    /**
+     * The amount of recorded values.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * The sum of the recorded values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * The maximum recorded value.
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Construct a {@link Histogram} instance.
+     */
+    public Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Return the index of the bucket of the given value.
+     *
+     * @param value The non-negative value.
+     * @return The index of the bucket of the value.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - PRECISION;
+        int sub = (int) (value >>> magnitude) & (SUB_BUCKETS - 1);
+        return (magnitude + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Return the highest value that falls into the given bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The highest value of the bucket.
+     */
+    static long highest(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int magnitude = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << magnitude;
+        return lowest + (1L << magnitude) - 1;
+    }
+
+    /**
+     * Record a value in this histogram. Negative values are recorded as zero.
+     *
+     * @param value The value to record.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        buckets[index(clamped)].increment();
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    /**
+     * Return the amount of recorded values.
+     *
+     * @return The amount of values in this histogram.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Return the mean of the recorded values.
+     *
+     * @return The mean value or zero if no values have been recorded.
+     */
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    /**
+     * Return the maximum recorded value.
+     *
+     * @return The maximum value or zero if no values have been recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Return the value below which the given percentage of the recorded values falls.
+     *
+     * @param percentile The percentile in the range <code>[0, 100]</code>.
+     * @return The highest value of the bucket containing the percentile, bounded by the maximum
+     *         recorded value, or zero if no values have been recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = count.sum();
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+
+        for (int i = 0; i < buckets.length && total > 0; i++) {
+            seen += buckets[i].sum();
+            if (seen >= rank) {
+                return Math.min(highest(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A {@link MetricExporter} which writes the metrics as a single JSON object, for example:
+ * <pre>
+ * {"counters":{"marbles.spawned":12},
+ *  "gauges":{"sessions.active":4.0},
+ *  "histograms":{"tick.time":{"count":600,"mean":1520.3,"max":9215,
+ *                             "percentiles":{"50":1375,"90":2047,"99":6143,"99.9":9215}}}}
+ * </pre>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class JsonMetricExporter implements MetricExporter {
+    /**
+     * Export the metrics of the given registry.
+     *
+     * @param registry The registry to export.
+     * @param out The output to write the metrics to.
+     * @throws IOException if the metrics could not be written.
+     */
+    @Override
+    public void export(MetricRegistry registry, Appendable out) throws IOException {
+        out.append("{\"counters\":{");
+        Iterator<Map.Entry<String, Counter>> counters =
+            registry.getCounters().entrySet().iterator();
+        while (counters.hasNext()) {
+            Map.Entry<String, Counter> entry = counters.next();
+            key(out, entry.getKey()).append(Long.toString(entry.getValue().getCount()));
+            separate(out, counters);
+        }
+
+        out.append("},\"gauges\":{");
+        Iterator<Map.Entry<String, Gauge>> gauges = registry.getGauges().entrySet().iterator();
+        while (gauges.hasNext()) {
+            Map.Entry<String, Gauge> entry = gauges.next();
+            key(out, entry.getKey()).append(number(entry.getValue().getValue()));
+            separate(out, gauges);
+        }
+
+        out.append("},\"histograms\":{");
+        Iterator<Map.Entry<String, Histogram>> histograms =
+            registry.getHistograms().entrySet().iterator();
+        while (histograms.hasNext()) {
+            Map.Entry<String, Histogram> entry = histograms.next();
+            key(out, entry.getKey());
+            histogram(out, entry.getValue());
+            separate(out, histograms);
+        }
+        out.append("}}");
+    }
+
+    /**
+     * Write a histogram as JSON object.
+     *
+     * @param out The output to write to.
+     * @param histogram The histogram to write.
+     * @throws IOException if the histogram could not be written.
+     */
+    private static void histogram(Appendable out, Histogram histogram) throws IOException {
+        out.append("{\"count\":").append(Long.toString(histogram.getCount()))
+            .append(",\"mean\":").append(number(histogram.getMean()))
+            .append(",\"max\":").append(Long.toString(histogram.getMax()))
+            .append(",\"percentiles\":{");
+
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            key(out, format(PERCENTILES[i]))
+                .append(Long.toString(histogram.getValueAtPercentile(PERCENTILES[i])));
+        }
+        out.append("}}");
+    }
+
+    /**
+     * Write a quoted key followed by a colon.
+     *
+     * @param out The output to write to.
+     * @param key The key to write.
+     * @return The output.
+     * @throws IOException if the key could not be written.
+     */
+    private static Appendable key(Appendable out, String key) throws IOException {
+        out.append('"');
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < ' ') {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append("\":");
+    }
+
+    /**
+     * Write a comma if the iterator has more elements.
+     *
+     * @param out The output to write to.
+     * @param iterator The iterator to check.
+     * @throws IOException if the comma could not be written.
+     */
+    private static void separate(Appendable out, Iterator<?> iterator) throws IOException {
+        if (iterator.hasNext()) {
+            out.append(',');
+        }
+    }
+
+    /**
+     * Format a number as JSON, which does not support infinite values or NaN.
+     *
+     * @param value The value to format.
+     * @return The formatted value.
+     */
+    private static String number(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "null" : Double.toString(value);
+    }
+
+    /**
+     * Format a percentile without a trailing fraction if it is a whole number.
+     *
+     * @param percentile The percentile to format.
+     * @return The formatted percentile.
+     */
+    static String format(double percentile) {
+        return percentile == Math.rint(percentile)
+            ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import java.io.IOException;
+
+/**
+ * A {@link MetricExporter} writes the metrics of a {@link MetricRegistry} in some format.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+@FunctionalInterface
+public interface MetricExporter {
+    /**
+     * The percentiles of the histograms that are exported.
+     */
+    double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Export the metrics of the given registry.
+     *
+     * @param registry The registry to export.
+     * @param out The output to write the metrics to.
+     * @throws IOException if the metrics could not be written.
+     */
+    void export(MetricRegistry registry, Appendable out) throws IOException;
+
+    /**
+     * Export the metrics of the given registry into a string.
+     *
+     * @param registry The registry to export.
+     * @return The exported metrics.
+     */
+    default String export(MetricRegistry registry) {
+        StringBuilder builder = new StringBuilder();
+        try {
+            export(registry, builder);
+        } catch (IOException e) {
+            throw new IllegalStateException("A string builder does not throw", e);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * A {@link MetricRegistry} holds named counters, gauges and histograms, which may be shared by
+ * many game sessions and threads.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class MetricRegistry {
+    /**
+     * The registry that is shared by default.
+     */
+    private static final MetricRegistry DEFAULT = new MetricRegistry();
+
+    /**
+     * The metrics in this registry by name.
+     */
+    private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Return the registry that is shared by default.
+     *
+     * @return The default registry.
+     */
+    public static MetricRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Return the {@link Counter} with the given name, creating it if it does not exist.
+     *
+     * @param name The name of the counter.
+     * @return The counter with the given name.
+     * @throws IllegalArgumentException if a metric of another type has the given name.
+     */
+    public Counter counter(String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Return the {@link Histogram} with the given name, creating it if it does not exist.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram with the given name.
+     * @throws IllegalArgumentException if a metric of another type has the given name.
+     */
+    public Histogram histogram(String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * Register a {@link Gauge} under the given name, replacing the gauge that was registered
+     * under that name before.
+     *
+     * @param name The name of the gauge.
+     * @param gauge The gauge to register.
+     * @return The registered gauge.
+     * @throws IllegalArgumentException if a metric of another type has the given name.
+     */
+    public Gauge gauge(String name, Gauge gauge) {
+        // The check and the replacement happen atomically, so a conflict never displaces a metric
+        metrics.compute(name, (key, previous) -> {
+            if (previous != null && !(previous instanceof Gauge)) {
+                throw new IllegalArgumentException("The metric " + name + " is not a gauge");
+            }
+            return gauge;
+        });
+        return gauge;
+    }
+
+    /**
+     * Remove the metric with the given name from this registry.
+     *
+     * @param name The name of the metric to remove.
+     * @return <code>true</code> if a metric was removed, <code>false</code> otherwise.
+     */
+    public boolean remove(String name) {
+        return metrics.remove(name) != null;
+    }
+
+    /**
+     * Return the counters in this registry ordered by name.
+     *
+     * @return A snapshot of the counters by name.
+     */
+    public SortedMap<String, Counter> getCounters() {
+        return filter(Counter.class);
+    }
+
+    /**
+     * Return the gauges in this registry ordered by name.
+     *
+     * @return A snapshot of the gauges by name.
+     */
+    public SortedMap<String, Gauge> getGauges() {
+        return filter(Gauge.class);
+    }
+
+    /**
+     * Return the histograms in this registry ordered by name.
+     *
+     * @return A snapshot of the histograms by name.
+     */
+    public SortedMap<String, Histogram> getHistograms() {
+        return filter(Histogram.class);
+    }
+
+    /**
+     * Return the metric of the given type with the given name, creating it if it does not exist.
+     *
+     * @param name The name of the metric.
+     * @param type The type of the metric.
+     * @param factory The factory to create the metric with.
+     * @param <T> The type of the metric.
+     * @return The metric with the given name.
+     */
+    private <T> T get(String name, Class<T> type, Supplier<T> factory) {
+        Object metric = metrics.computeIfAbsent(name, key -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("The metric " + name + " is not a "
+                + type.getSimpleName().toLowerCase());
+        }
+        return type.cast(metric);
+    }
+
+    /**
+     * Return the metrics of the given type ordered by name.
+     *
+     * @param type The type of the metrics.
+     * @param <T> The type of the metrics.
+     * @return A snapshot of the metrics of the given type.
+     */
+    private <T> SortedMap<String, T> filter(Class<T> type) {
+        SortedMap<String, T> result = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            if (type.isInstance(entry.getValue())) {
+                result.put(entry.getKey(), type.cast(entry.getValue()));
+            }
+        }
+        return result;
+    }
+}
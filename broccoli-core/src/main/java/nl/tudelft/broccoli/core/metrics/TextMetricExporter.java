@@ -0,0 +1,76 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link MetricExporter} which writes one human readable line per metric, for example:
+ * <pre>
+ * counter marbles.spawned 12
+ * gauge sessions.active 4.0
+ * histogram tick.time count=600 mean=1520.3 max=9215 p50=1375 p90=2047 p99=6143 p99.9=9215
+ * </pre>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TextMetricExporter implements MetricExporter {
+    /**
+     * Export the metrics of the given registry.
+     *
+     * @param registry The registry to export.
+     * @param out The output to write the metrics to.
+     * @throws IOException if the metrics could not be written.
+     */
+    @Override
+    public void export(MetricRegistry registry, Appendable out) throws IOException {
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            out.append("counter ").append(entry.getKey()).append(' ')
+                .append(Long.toString(entry.getValue().getCount())).append('\n');
+        }
+
+        for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet()) {
+            out.append("gauge ").append(entry.getKey()).append(' ')
+                .append(Double.toString(entry.getValue().getValue())).append('\n');
+        }
+
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            out.append("histogram ").append(entry.getKey())
+                .append(" count=").append(Long.toString(histogram.getCount()))
+                .append(" mean=").append(String.format(Locale.ROOT, "%.1f", histogram.getMean()))
+                .append(" max=").append(Long.toString(histogram.getMax()));
+
+            for (double percentile : PERCENTILES) {
+                out.append(" p").append(JsonMetricExporter.format(percentile)).append('=')
+                    .append(Long.toString(histogram.getValueAtPercentile(percentile)));
+            }
+            out.append('\n');
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import nl.tudelft.broccoli.core.level.Level;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link TrafficAtlas} aggregates the {@link TrafficHeatmap}s of many game sessions per
+ * {@link Level}.
+ *
+ * <p>Levels are identified by the name of their factory and their index, so sessions of
+ * different instances of the same level are aggregated together.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TrafficAtlas {
+    /**
+     * The header of the exported values.
+     */
+    public static final String HEADER =
+        "level,x,y,direction,accepted,bounced,filtered,teleported\n";
+
+    /**
+     * The aggregated heatmaps by level.
+     */
+    private final ConcurrentMap<String, TrafficHeatmap> heatmaps = new ConcurrentHashMap<>();
+
+    /**
+     * Return the key of the given level.
+     *
+     * @param level The level to get the key of.
+     * @return The key of the level.
+     */
+    public static String key(Level level) {
+        return level.getFactory().getClass().getSimpleName() + "/" + level.getIndex();
+    }
+
+    /**
+     * Merge the heatmap of a session of the given level into the aggregate of the level.
+     *
+     * @param level The level of the session.
+     * @param session The heatmap of the session.
+     */
+    public void merge(Level level, TrafficHeatmap session) {
+        heatmaps.computeIfAbsent(key(level),
+            k -> new TrafficHeatmap(session.getWidth(), session.getHeight())).merge(session);
+    }
+
+    /**
+     * Return the aggregated heatmap of the given level.
+     *
+     * @param level The level to get the heatmap of.
+     * @return The heatmap of the level or <code>null</code> if no session of the level has been
+     *         merged.
+     */
+    public TrafficHeatmap get(Level level) {
+        return heatmaps.get(key(level));
+    }
+
+    /**
+     * Export the aggregated heatmaps of all levels as comma-separated values with a header,
+     * ordered by level.
+     *
+     * @param out The output to write to.
+     * @throws IOException if the heatmaps could not be written.
+     */
+    public void export(Appendable out) throws IOException {
+        SortedMap<String, TrafficHeatmap> sorted = new TreeMap<>(heatmaps);
+        out.append(HEADER);
+        for (Map.Entry<String, TrafficHeatmap> entry : sorted.entrySet()) {
+            entry.getValue().export(entry.getKey(), out);
+        }
+    }
+}
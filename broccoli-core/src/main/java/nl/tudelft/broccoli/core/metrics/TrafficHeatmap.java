@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.metrics;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tile;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.grid.TileableListener;
+import nl.tudelft.broccoli.core.track.FilterTrack;
+import nl.tudelft.broccoli.core.track.Track;
+
+import java.io.IOException;
+
+/**
+ * A {@link TrafficHeatmap} counts per tile and per direction how many marbles were accepted,
+ * bounced, filtered or teleported.
+ *
+ * <p>The counts are stored in flat arrays indexed by <code>(y * width + x) * 4 +
+ * direction</code>. A heatmap records the traffic of the grids it tracks without
+ * synchronization, so a single heatmap should be used per game session and merged into a shared
+ * heatmap of the level when the session is over. Merging is thread-safe.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TrafficHeatmap implements TileableListener {
+    /**
+     * The amount of directions.
+     */
+    private static final int DIRECTIONS = 4;
+
+    /**
+     * The width of the grid.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid.
+     */
+    private final int height;
+
+    /**
+     * The amount of accepted marbles per tile and direction.
+     */
+    private final long[] accepted;
+
+    /**
+     * The amount of marbles per tile and direction that bounced at the midpoint of a track.
+     */
+    private final long[] bounced;
+
+    /**
+     * The amount of marbles per tile and direction that were stopped by a filter.
+     */
+    private final long[] filtered;
+
+    /**
+     * The amount of marbles per tile and direction that entered a teleporter.
+     */
+    private final long[] teleported;
+
+    /**
+     * The amount of sessions merged into this heatmap.
+     */
+    private long sessions;
+
+    /**
+     * Construct a {@link TrafficHeatmap} instance.
+     *
+     * @param width The width of the grid.
+     * @param height The height of the grid.
+     */
+    public TrafficHeatmap(int width, int height) {
+        this.width = width;
+        this.height = height;
+
+        int size = width * height * DIRECTIONS;
+        this.accepted = new long[size];
+        this.bounced = new long[size];
+        this.filtered = new long[size];
+        this.teleported = new long[size];
+    }
+
+    /**
+     * Return the index of the counts of the given tile and direction.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @param direction The direction from which the marbles entered.
+     * @return The index into the count arrays.
+     */
+    public int index(int x, int y, Direction direction) {
+        return (y * width + x) * DIRECTIONS + direction.ordinal();
+    }
+
+    /**
+     * Start recording the traffic on the given grid.
+     *
+     * @param grid The grid to track, which must have the dimensions of this heatmap.
+     * @throws IllegalArgumentException if the dimensions of the grid do not match.
+     */
+    public void track(Grid grid) {
+        if (grid.getWidth() != width || grid.getHeight() != height) {
+            throw new IllegalArgumentException("The dimensions of the grid do not match");
+        }
+
+        for (int i = 0; i < width; i++) {
+            for (int j = 0; j < height; j++) {
+                grid.get(i, j).getTileable().addListener(this);
+            }
+        }
+    }
+
+    /**
+     * Count a marble that has been accepted by a track or teleporter.
+     *
+     * @param tileable The tileable that has accepted the marble.
+     * @param direction The direction from which the marble was accepted.
+     * @param marble The marble that has been accepted.
+     */
+    @Override
+    public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
+        Tile tile = tileable.getTile();
+        int index = index(tile.getX(), tile.getY(), direction);
+        accepted[index]++;
+
+        if (tileable instanceof Teleporter) {
+            teleported[index]++;
+        } else if (tileable instanceof Track
+            && !((Track) tileable).passesMidpoint(direction, marble)) {
+            if (tileable instanceof FilterTrack) {
+                filtered[index]++;
+            } else {
+                bounced[index]++;
+            }
+        }
+    }
+
+    /**
+     * Merge the counts of the given heatmap into this heatmap and count it as a session.
+     *
+     * @param other The heatmap to merge.
+     * @throws IllegalArgumentException if the dimensions of the heatmaps do not match.
+     */
+    public synchronized void merge(TrafficHeatmap other) {
+        if (other.width != width || other.height != height) {
+            throw new IllegalArgumentException("The dimensions of the heatmaps do not match");
+        }
+
+        for (int i = 0; i < accepted.length; i++) {
+            accepted[i] += other.accepted[i];
+            bounced[i] += other.bounced[i];
+            filtered[i] += other.filtered[i];
+            teleported[i] += other.teleported[i];
+        }
+        sessions += Math.max(1, other.sessions);
+    }
+
+    /**
+     * Return the width of the grid of this heatmap.
+     *
+     * @return The width of the grid.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Return the height of the grid of this heatmap.
+     *
+     * @return The height of the grid.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Return the amount of sessions merged into this heatmap.
+     *
+     * @return The amount of sessions.
+     */
+    public synchronized long getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Return the amount of marbles accepted at the given tile from the given direction.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @param direction The direction from which the marbles entered.
+     * @return The amount of accepted marbles.
+     */
+    public synchronized long getAccepted(int x, int y, Direction direction) {
+        return accepted[index(x, y, direction)];
+    }
+
+    /**
+     * Return the amount of marbles that bounced at the given tile after entering from the given
+     * direction.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @param direction The direction from which the marbles entered.
+     * @return The amount of bounced marbles.
+     */
+    public synchronized long getBounced(int x, int y, Direction direction) {
+        return bounced[index(x, y, direction)];
+    }
+
+    /**
+     * Return the amount of marbles that were stopped by the filter at the given tile after
+     * entering from the given direction.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @param direction The direction from which the marbles entered.
+     * @return The amount of filtered marbles.
+     */
+    public synchronized long getFiltered(int x, int y, Direction direction) {
+        return filtered[index(x, y, direction)];
+    }
+
+    /**
+     * Return the amount of marbles that entered the teleporter at the given tile from the given
+     * direction.
+     *
+     * @param x The x-coordinate of the tile.
+     * @param y The y-coordinate of the tile.
+     * @param direction The direction from which the marbles entered.
+     * @return The amount of teleported marbles.
+     */
+    public synchronized long getTeleported(int x, int y, Direction direction) {
+        return teleported[index(x, y, direction)];
+    }
+
+    /**
+     * Export the non-zero counts of this heatmap as comma-separated values, one line per tile and
+     * direction in the form <code>prefix,x,y,direction,accepted,bounced,filtered,teleported</code>.
+     *
+     * @param prefix The value of the first column.
+     * @param out The output to write to.
+     * @throws IOException if the counts could not be written.
+     */
+    public synchronized void export(String prefix, Appendable out) throws IOException {
+        for (int i = 0; i < accepted.length; i++) {
+            if (accepted[i] == 0) {
+                continue;
+            }
+
+            int cell = i / DIRECTIONS;
+            out.append(prefix)
+                .append(',').append(Integer.toString(cell % width))
+                .append(',').append(Integer.toString(cell / width))
+                .append(',').append(Direction.from(i % DIRECTIONS).name())
+                .append(',').append(Long.toString(accepted[i]))
+                .append(',').append(Long.toString(bounced[i]))
+                .append(',').append(Long.toString(filtered[i]))
+                .append(',').append(Long.toString(teleported[i]))
+                .append('\n');
+        }
+    }
+}
@@ -27,6 +27,7 @@ package nl.tudelft.broccoli.core.nexus;
 
 import nl.tudelft.broccoli.core.Marble;
 import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.random.AliasSampler;
 
 import java.util.Arrays;
 import java.util.Queue;
@@ -35,24 +36,35 @@ import java.util.Random;
 /**
  * A context for {@link Nexus} instances to check the state of other parts.
  *
+ * <p>The context keeps the upcoming marbles in a ring buffer of {@link MarbleType} ordinals. The
+ * front of the buffer holds the marbles that have been queued explicitly, for instance by the
+ * initial sequence of a level or by a power-up, after which the randomly generated marbles
+ * follow. Random marbles are generated lazily in batches of the lookahead size, so the upcoming
+ * marbles can be previewed with {@link #peek(int)} without allocating.</p>
+ *
  * @author Earth Grob (w.lauwapong@student.tudelft.nl)
  * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
  */
 public class NexusContext {
     /**
-     * The possible type of marbles.
+     * The types of marbles indexed by their ordinal.
      */
     private static final MarbleType[] MARBLES = MarbleType.values();
 
     /**
-     * A flag to indicate the nexus is currently occupied by a ball.
+     * The colors of marbles that can be generated, which are all marble types except the joker.
      */
-    private boolean occupied;
+    private static final MarbleType[] COLORS = Arrays.copyOf(MARBLES, MARBLES.length - 1);
 
     /**
-     * The remaining sequence of balls to spawn.
+     * The default amount of marbles that is generated in a single batch.
      */
-    private final Queue<MarbleType> queue;
+    private static final int DEFAULT_LOOKAHEAD = 8;
+
+    /**
+     * A flag to indicate the nexus is currently occupied by a ball.
+     */
+    private boolean occupied;
 
     /**
      * The {@link Random} instance used for determining the color of the spawned ball.
@@ -65,20 +77,96 @@ public class NexusContext {
     private final double joker;
 
     /**
-     * Construct a {@link NexusContext} instance.
+     * The sampler for the color of the generated balls, indexed by the ordinal of the colors.
+     */
+    private final AliasSampler colors;
+
+    /**
+     * The amount of marbles that is generated in a single batch.
+     */
+    private final int lookahead;
+
+    /**
+     * The ring buffer of ordinals of the upcoming marbles.
+     */
+    private int[] buffer;
+
+    /**
+     * The index of the next marble in the ring buffer.
+     */
+    private int head;
+
+    /**
+     * The amount of upcoming marbles in the ring buffer.
+     */
+    private int size;
+
+    /**
+     * The amount of upcoming marbles at the front of the buffer that have been queued explicitly.
+     */
+    private int queued;
+
+    /**
+     * Construct a {@link NexusContext} instance that generates each color with equal probability.
      *
      * @param queue The queue of balls to spawn.
      * @param random The random number generator to use for selecting the colors.
      * @param joker The probability that a joker is generated.
      */
     public NexusContext(Queue<MarbleType> queue, Random random, double joker) {
-        this.queue = queue;
+        this(queue, random, joker, uniform());
+    }
+
+    /**
+     * Construct a {@link NexusContext} instance with the default lookahead.
+     *
+     * @param queue The queue of balls to spawn.
+     * @param random The random number generator to use for selecting the colors.
+     * @param joker The probability that a joker is generated.
+     * @param colors The sampler for the colors of the balls, of which the outcomes are the
+     *               ordinals of the non-joker {@link MarbleType}s.
+     * @throws IllegalArgumentException if the amount of outcomes of the sampler does not match
+     *                                  the amount of colors.
+     */
+    public NexusContext(Queue<MarbleType> queue, Random random, double joker,
+                        AliasSampler colors) {
+        this(queue, random, joker, colors, DEFAULT_LOOKAHEAD);
+    }
+
+    /**
+     * Construct a {@link NexusContext} instance.
+     *
+     * @param queue The queue of balls to spawn.
+     * @param random The random number generator to use for selecting the colors.
+     * @param joker The probability that a joker is generated.
+     * @param colors The sampler for the colors of the balls, of which the outcomes are the
+     *               ordinals of the non-joker {@link MarbleType}s.
+     * @param lookahead The amount of marbles to generate in a single batch.
+     * @throws IllegalArgumentException if the amount of outcomes of the sampler does not match
+     *                                  the amount of colors or the lookahead is not positive.
+     */
+    public NexusContext(Queue<MarbleType> queue, Random random, double joker,
+                        AliasSampler colors, int lookahead) {
+        if (colors.size() != COLORS.length) {
+            throw new IllegalArgumentException("The sampler must have an outcome for each color");
+        } else if (lookahead <= 0) {
+            throw new IllegalArgumentException("The lookahead must be positive");
+        }
+
         this.random = random;
         this.joker = joker;
+        this.colors = colors;
+        this.lookahead = lookahead;
+        this.buffer = new int[Math.max(Integer.highestOneBit(queue.size() + lookahead) * 2, 16)];
+
+        for (MarbleType type : queue) {
+            buffer[size++] = type.ordinal();
+        }
+        queued = size;
 
-        // Generate the first ball to be spawned if the queue is empty initially.
-        if (queue.isEmpty()) {
-            queue.add(generate());
+        // Generate the first balls to be spawned if the queue is empty initially.
+        if (size == 0) {
+            generate();
         }
     }
 
@@ -88,7 +176,28 @@ public class NexusContext {
      * @return The type of the marble to spawn next.
      */
     public MarbleType peek() {
-        return queue.peek();
+        return peek(0);
+    }
+
+    /**
+     * Peek into the queue of marbles to be spawned at the given position, without removing any
+     * element from the queue. Marbles that have not been generated yet are generated on demand.
+     *
+     * @param n The position in the queue to peek at, where zero is the marble to spawn next.
+     * @return The type of the marble that will be spawned after <code>n</code> other marbles,
+     *         assuming no marbles are added in the meantime.
+     * @throws IndexOutOfBoundsException if the position is negative.
+     */
+    public MarbleType peek(int n) {
+        if (n < 0) {
+            throw new IndexOutOfBoundsException("The position must not be negative");
+        }
+
+        while (size <= n) {
+            generate();
+        }
+
+        return MARBLES[buffer[(head + n) & (buffer.length - 1)]];
     }
 
     /**
@@ -97,10 +206,13 @@ public class NexusContext {
      * @return The type of the marble to spawn next.
      */
     public MarbleType poll() {
-        MarbleType type = queue.poll();
+        final MarbleType type = MARBLES[buffer[head]];
+        head = (head + 1) & (buffer.length - 1);
+        size--;
+        queued = Math.max(0, queued - 1);
 
-        if (queue.isEmpty()) {
-            queue.add(generate());
+        if (size == 0) {
+            generate();
         }
 
         return type;
@@ -109,23 +221,125 @@ public class NexusContext {
     /**
      * Add the given {@link MarbleType}s to the queue of marbles to be spawned.
      *
+     * <p>The marbles are spawned after the other explicitly added marbles and after the marble
+     * that is spawned next, but before the remaining randomly generated marbles.</p>
+     *
      * @param types The marble types to add.
      */
     public void add(MarbleType ...types) {
-        queue.addAll(Arrays.asList(types));
+        ensureCapacity(size + types.length);
+
+        // Move the generated marbles behind the insertion point to make room for the new ones
+        int position = Math.min(Math.max(queued, 1), size);
+        int mask = buffer.length - 1;
+        for (int i = size - 1; i >= position; i--) {
+            buffer[(head + i + types.length) & mask] = buffer[(head + i) & mask];
+        }
+
+        for (int i = 0; i < types.length; i++) {
+            buffer[(head + position + i) & mask] = types[i].ordinal();
+        }
+
+        size += types.length;
+        queued = position + types.length;
+    }
+
+    /**
+     * Return the amount of upcoming marbles that has been determined already, which can be
+     * peeked at without generating new marbles.
+     *
+     * @return The amount of upcoming marbles in the buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the amount of upcoming marbles that was queued explicitly rather than generated,
+     * which come first in the buffer.
+     *
+     * @return The amount of queued marbles.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Replace the upcoming marbles with the given marbles, which is used to restore a saved game.
+     *
+     * @param types The upcoming marbles in the order in which they are spawned.
+     * @param queued The amount of marbles at the front that was queued explicitly.
+     */
+    public void restore(MarbleType[] types, int queued) {
+        head = 0;
+        size = 0;
+        ensureCapacity(types.length + lookahead);
+        for (MarbleType type : types) {
+            buffer[size++] = type.ordinal();
+        }
+        this.queued = Math.min(queued, size);
+
+        if (size == 0) {
+            generate();
+        }
     }
 
     /**
-     * Generate a random {@link Marble} to be spawned by this {@link SpawningNexus}.
+     * Return the amount of marbles that is generated in a single batch.
      *
-     * @return The marble to be spawned.
+     * @return The lookahead of this context.
      */
-    private MarbleType generate() {
-        if (random.nextDouble() < joker) {
-            return MarbleType.JOKER;
+    public int getLookahead() {
+        return lookahead;
+    }
+
+    /**
+     * Generate a batch of random {@link Marble}s to be spawned by the {@link SpawningNexus}.
+     */
+    private void generate() {
+        ensureCapacity(size + lookahead);
+
+        int mask = buffer.length - 1;
+        for (int i = 0; i < lookahead; i++) {
+            int type = random.nextDouble() < joker
+                ? MarbleType.JOKER.ordinal()
+                : COLORS[colors.sample(random)].ordinal();
+            buffer[(head + size++) & mask] = type;
         }
+    }
 
-        return MARBLES[random.nextInt(MARBLES.length - 1)];
+    /**
+     * Ensure the ring buffer can hold the given amount of marbles.
+     *
+     * @param capacity The amount of marbles the buffer should be able to hold.
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity <= buffer.length) {
+            return;
+        }
+
+        int length = buffer.length;
+        while (length < capacity) {
+            length *= 2;
+        }
+
+        int[] grown = new int[length];
+        for (int i = 0; i < size; i++) {
+            grown[i] = buffer[(head + i) & (buffer.length - 1)];
+        }
+        buffer = grown;
+        head = 0;
+    }
+
+    /**
+     * Create a sampler that chooses each color with equal probability.
+     *
+     * @return The uniform color sampler.
+     */
+    private static AliasSampler uniform() {
+        double[] weights = new double[COLORS.length];
+        Arrays.fill(weights, 1.0);
+        return new AliasSampler(weights);
     }
 
     /**
@@ -26,11 +26,14 @@
 package nl.tudelft.broccoli.core.nexus;
 
 import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.config.BoundedProperty;
 import nl.tudelft.broccoli.core.config.DoubleProperty;
+import nl.tudelft.broccoli.core.config.IntegerProperty;
 import nl.tudelft.broccoli.core.config.ListProperty;
 import nl.tudelft.broccoli.core.config.Property;
 import nl.tudelft.broccoli.core.grid.Direction;
 
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -52,6 +55,19 @@ public class SpawningNexus extends Nexus {
     public static final Property<List<String>> INITIAL_SEQUENCE =
         new ListProperty<>(String.class,"nexus.initial");
 
+    /**
+     * A configuration property to configure the relative weights of the colors of the spawned
+     * balls, in the order pink, green, blue and yellow.
+     */
+    public static final Property<List<Double>> COLOR_WEIGHTS =
+        new ListProperty<>(Double.class, "nexus.weights", Arrays.asList(1.0, 1.0, 1.0, 1.0));
+
+    /**
+     * A configuration property to configure the amount of balls that is generated ahead of time.
+     */
+    public static final Property<Integer> LOOKAHEAD =
+        new BoundedProperty<>(new IntegerProperty("nexus.lookahead", 8), 1, 1024);
+
     /**
      * The direction from which new balls will be spawned.
      */
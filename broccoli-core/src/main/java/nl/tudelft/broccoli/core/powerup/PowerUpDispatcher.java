@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.powerup;
+
+import nl.tudelft.broccoli.core.config.BoundedProperty;
+import nl.tudelft.broccoli.core.config.DoubleProperty;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A {@link GameClock.Task} that periodically assigns {@link PowerUp}s to random {@link Receptor}s
+ * on a {@link Grid} and takes them away again after a while.
+ *
+ * <p>The dispatcher schedules itself on the clock with the index of a receptor as argument to
+ * expire the power-up of that receptor, or with {@link #ASSIGN} as argument to assign the next
+ * power-up, so no task objects are created while the game is running.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class PowerUpDispatcher implements GameClock.Task {
+    /**
+     * The configuration property for the mean time in seconds between two power-up assignments.
+     */
+    public static final Property<Double> INTERVAL = new BoundedProperty<>(
+        new DoubleProperty("powerup.interval", 30.0), 0.0, Double.MAX_VALUE);
+
+    /**
+     * The configuration property for the standard deviation in seconds of the time between two
+     * power-up assignments.
+     */
+    public static final Property<Double> DEVIATION = new BoundedProperty<>(
+        new DoubleProperty("powerup.deviation", 10.0), 0.0, Double.MAX_VALUE);
+
+    /**
+     * The configuration property for the time in seconds a power-up stays assigned to a receptor.
+     */
+    public static final Property<Double> DURATION = new BoundedProperty<>(
+        new DoubleProperty("powerup.duration", 20.0), 0.0, Double.MAX_VALUE);
+
+    /**
+     * The task argument that indicates a new power-up should be assigned.
+     */
+    private static final int ASSIGN = -1;
+
+    /**
+     * The minimum time in seconds between two assignments, which prevents the dispatcher from
+     * starving the clock when the distribution yields non-positive times.
+     */
+    private static final double MIN_INTERVAL = 1.0;
+
+    /**
+     * The {@link Random} instance to use.
+     */
+    private final Random random;
+
+    /**
+     * The factory to create the power-ups with.
+     */
+    private final PowerUpFactory factory;
+
+    /**
+     * The mean time between two assignments.
+     */
+    private final double interval;
+
+    /**
+     * The standard deviation of the time between two assignments.
+     */
+    private final double deviation;
+
+    /**
+     * The time a power-up stays assigned.
+     */
+    private final double duration;
+
+    /**
+     * The receptors to assign power-ups to.
+     */
+    private Receptor[] receptors = new Receptor[0];
+
+    /**
+     * The power-ups that have been assigned by this dispatcher, indexed by receptor.
+     */
+    private PowerUp[] assigned = new PowerUp[0];
+
+    /**
+     * The time at which the power-ups expire, indexed by receptor.
+     */
+    private double[] expiry = new double[0];
+
+    /**
+     * Construct a {@link PowerUpDispatcher} instance.
+     *
+     * @param random The random instance to use.
+     * @param factory The factory to create the power-ups with.
+     * @param interval The mean time in seconds between two assignments.
+     * @param deviation The standard deviation in seconds of the time between two assignments.
+     * @param duration The time in seconds a power-up stays assigned.
+     */
+    public PowerUpDispatcher(Random random, PowerUpFactory factory, double interval,
+                             double deviation, double duration) {
+        this.random = random;
+        this.factory = factory;
+        this.interval = interval;
+        this.deviation = deviation;
+        this.duration = duration;
+    }
+
+    /**
+     * Start dispatching power-ups to the receptors on the given {@link Grid}.
+     *
+     * @param clock The clock to schedule the assignments on.
+     * @param grid The grid to find the receptors in.
+     */
+    public void start(GameClock clock, Grid grid) {
+        int count = 0;
+        Receptor[] found = new Receptor[grid.getWidth() * grid.getHeight()];
+        for (int i = 0; i < grid.getWidth(); i++) {
+            for (int j = 0; j < grid.getHeight(); j++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                if (tileable instanceof Receptor) {
+                    found[count++] = (Receptor) tileable;
+                }
+            }
+        }
+
+        clock.cancel(this);
+        receptors = Arrays.copyOf(found, count);
+        assigned = new PowerUp[count];
+        expiry = new double[count];
+
+        if (count > 0) {
+            clock.schedule(this, next(), ASSIGN);
+        }
+    }
+
+    /**
+     * Assign a new power-up or expire an assigned power-up.
+     *
+     * @param clock The clock on which the task was scheduled.
+     * @param argument The index of the receptor of which the power-up expires, or
+     *                 {@link #ASSIGN} to assign a new power-up.
+     */
+    @Override
+    public void run(GameClock clock, int argument) {
+        if (argument == ASSIGN) {
+            assign(clock);
+        } else {
+            expire(clock, argument);
+        }
+    }
+
+    /**
+     * Assign a new power-up to a random receptor and schedule its expiry and the next assignment.
+     *
+     * @param clock The clock on which the task was scheduled.
+     */
+    private void assign(GameClock clock) {
+        assign(clock, random.nextInt(receptors.length), factory.create(), duration);
+        clock.schedule(this, next(), ASSIGN);
+    }
+
+    /**
+     * Assign the given power-up to the given receptor for the given amount of time, which is used
+     * to restore a saved game. The dispatcher must have been started on the grid of the receptor.
+     *
+     * @param clock The clock on which the dispatcher has been started.
+     * @param receptor The receptor to assign the power-up to.
+     * @param powerUp The power-up to assign.
+     * @param remaining The amount of time in seconds the power-up stays assigned.
+     */
+    public void assign(GameClock clock, Receptor receptor, PowerUp powerUp, double remaining) {
+        int index = indexOf(receptor);
+        if (index < 0) {
+            throw new IllegalArgumentException("The receptor is not managed by this dispatcher");
+        }
+
+        assign(clock, index, powerUp, remaining);
+    }
+
+    /**
+     * Assign the power-up to the receptor with the given index and schedule its expiry.
+     *
+     * @param clock The clock on which the dispatcher has been started.
+     * @param index The index of the receptor.
+     * @param powerUp The power-up to assign.
+     * @param remaining The amount of time in seconds the power-up stays assigned.
+     */
+    private void assign(GameClock clock, int index, PowerUp powerUp, double remaining) {
+        receptors[index].setPowerUp(powerUp);
+        assigned[index] = powerUp;
+        expiry[index] = clock.getTime() + remaining;
+        clock.schedule(this, remaining, index);
+    }
+
+    /**
+     * Return the amount of time the power-up of the given receptor stays assigned.
+     *
+     * @param clock The clock on which the dispatcher has been started.
+     * @param receptor The receptor to get the remaining time of the power-up of.
+     * @return The remaining time in seconds or zero if the receptor has no power-up assigned by
+     *         this dispatcher.
+     */
+    public double getRemaining(GameClock clock, Receptor receptor) {
+        int index = indexOf(receptor);
+        if (index < 0 || receptor.getPowerUp() == null
+            || receptor.getPowerUp() != assigned[index]) {
+            return 0;
+        }
+
+        return Math.max(0, expiry[index] - clock.getTime());
+    }
+
+    /**
+     * Return the index of the given receptor in the receptors managed by this dispatcher.
+     *
+     * @param receptor The receptor to find.
+     * @return The index of the receptor or <code>-1</code> if it is not managed.
+     */
+    private int indexOf(Receptor receptor) {
+        for (int i = 0; i < receptors.length; i++) {
+            if (receptors[i] == receptor) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Take away the power-up of the receptor with the given index, unless it has been replaced or
+     * reassigned in the meantime.
+     *
+     * @param clock The clock on which the task was scheduled.
+     * @param index The index of the receptor.
+     */
+    private void expire(GameClock clock, int index) {
+        Receptor receptor = receptors[index];
+        if (clock.getTime() >= expiry[index] && receptor.getPowerUp() != null
+            && receptor.getPowerUp() == assigned[index]) {
+            receptor.setPowerUp(null);
+        }
+    }
+
+    /**
+     * Draw the time until the next assignment from a normal distribution, bounded from below by
+     * {@link #MIN_INTERVAL}.
+     *
+     * @return The time in seconds until the next assignment.
+     */
+    private double next() {
+        return Math.max(MIN_INTERVAL, random.nextGaussian() * deviation + interval);
+    }
+}
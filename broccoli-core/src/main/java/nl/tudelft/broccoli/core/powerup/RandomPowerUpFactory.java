@@ -1,5 +1,12 @@
 package nl.tudelft.broccoli.core.powerup;
 
+import nl.tudelft.broccoli.core.config.ListProperty;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.random.AliasSampler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Random;
 
@@ -11,16 +18,46 @@ import java.util.Random;
  * @author Matthijs Rijm (m.rijm@student.tudelft.nl)
  */
 public class RandomPowerUpFactory extends PowerUpFactory {
+    /**
+     * A configuration property to configure the relative weights of the power-ups, in the order
+     * bonus and joker.
+     */
+    public static final Property<List<Double>> WEIGHTS =
+        new ListProperty<>(Double.class, "powerup.weights", Arrays.asList(0.8, 0.2));
+
     /**
      * The {@link Random} instance to use.
      */
     private final Random random;
 
     /**
-     * The cumulative probability density function of the {@link PowerUp} implementations
-     * represented as {@link NavigableMap}.
+     * The factories of the {@link PowerUp} implementations, indexed by outcome of the sampler.
+     */
+    private final PowerUpFactory[] factories;
+
+    /**
+     * The sampler which selects the factory to use.
      */
-    private final NavigableMap<Double, PowerUpFactory> cdf;
+    private final AliasSampler sampler;
+
+    /**
+     * Construct a {@link RandomPowerUpFactory} instance.
+     *
+     * @param random The random instance to use.
+     * @param factories The factories of the {@link PowerUp} implementations to choose from.
+     * @param sampler The sampler which selects the index of the factory to use.
+     * @throws IllegalArgumentException if the amount of outcomes of the sampler does not match
+     *                                  the amount of factories.
+     */
+    public RandomPowerUpFactory(Random random, PowerUpFactory[] factories, AliasSampler sampler) {
+        if (factories.length != sampler.size()) {
+            throw new IllegalArgumentException("The sampler must have an outcome per factory");
+        }
+
+        this.random = random;
+        this.factories = factories.clone();
+        this.sampler = sampler;
+    }
 
     /**
      * Construct a {@link RandomPowerUpFactory} instance.
@@ -30,8 +67,7 @@ public class RandomPowerUpFactory extends PowerUpFactory {
      *            represented as {@link NavigableMap}.
      */
     public RandomPowerUpFactory(Random random, NavigableMap<Double, PowerUpFactory> cdf) {
-        this.random = random;
-        this.cdf = cdf;
+        this(random, cdf.values().toArray(new PowerUpFactory[0]), new AliasSampler(weights(cdf)));
     }
 
     /**
@@ -41,6 +77,31 @@ public class RandomPowerUpFactory extends PowerUpFactory {
      */
     @Override
     public PowerUp create() {
-        return cdf.floorEntry(random.nextDouble()).getValue().create();
+        return factories[sampler.sample(random.nextDouble())].create();
+    }
+
+    /**
+     * Convert the given cumulative probability density function into the weights of its entries,
+     * which are the distances between the successive keys.
+     *
+     * @param cdf The cumulative probability density function to convert.
+     * @return The weights of the entries of the function in ascending order of their keys.
+     */
+    private static double[] weights(NavigableMap<Double, PowerUpFactory> cdf) {
+        double[] weights = new double[cdf.size()];
+        double previous = 0;
+        int index = -1;
+        for (Map.Entry<Double, PowerUpFactory> entry : cdf.entrySet()) {
+            if (index >= 0) {
+                weights[index] = entry.getKey() - previous;
+            }
+            previous = entry.getKey();
+            index++;
+        }
+
+        if (index >= 0) {
+            weights[index] = 1 - previous;
+        }
+        return weights;
     }
 }
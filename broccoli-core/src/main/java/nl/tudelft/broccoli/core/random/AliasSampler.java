@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.random;
+
+import java.util.Random;
+
+/**
+ * A sampler for discrete probability distributions based on Vose's alias method.
+ *
+ * <p>After a linear-time setup, each sample costs a single uniform draw (plus a biased coin flip
+ * for columns that share their probability mass with an alias), independent of the amount of
+ * outcomes. The distribution is stored in primitive arrays, so sampling neither allocates nor
+ * boxes. Outcomes are represented by their index in the weight array given at construction.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class AliasSampler {
+    /**
+     * The probability of choosing the column itself instead of its alias, per column.
+     */
+    private final double[] probability;
+
+    /**
+     * The alias of each column.
+     */
+    private final int[] alias;
+
+    /**
+     * Construct a {@link AliasSampler} instance.
+     *
+     * @param weights The non-negative weights of the outcomes, which do not need to be normalized.
+     * @throws IllegalArgumentException if no weights are given, a weight is negative or not finite,
+     *                                  or the weights sum up to zero.
+     */
+    public AliasSampler(double... weights) {
+        int n = weights.length;
+        double sum = sum(weights);
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // Partition the scaled probabilities into the columns that are under-full and the columns
+        // that are over-full, using the two ends of a single work array as stacks.
+        int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        for (int i = 0; i < n; i++) {
+            probability[i] = weights[i] * n / sum;
+            if (probability[i] < 1) {
+                work[small++] = i;
+            } else {
+                work[--large] = i;
+            }
+        }
+
+        // Fill each under-full column with mass from an over-full column
+        while (small > 0 && large < n) {
+            int less = work[--small];
+            int more = work[large++];
+
+            alias[less] = more;
+            probability[more] = probability[more] + probability[less] - 1;
+
+            if (probability[more] < 1) {
+                work[small++] = more;
+            } else {
+                work[--large] = more;
+            }
+        }
+
+        // The remaining columns are full up to rounding errors
+        while (small > 0) {
+            probability[work[--small]] = 1;
+        }
+        while (large < n) {
+            probability[work[large++]] = 1;
+        }
+    }
+
+    /**
+     * Validate the given weights and compute their sum.
+     *
+     * @param weights The weights to validate.
+     * @return The sum of the weights.
+     * @throws IllegalArgumentException if the weights are not valid.
+     */
+    private static double sum(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one weight is required");
+        }
+
+        double sum = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("The weights must be non-negative and finite");
+            }
+            sum += weight;
+        }
+
+        if (sum <= 0) {
+            throw new IllegalArgumentException("The weights must not sum up to zero");
+        }
+        return sum;
+    }
+
+    /**
+     * Return the amount of outcomes of this sampler.
+     *
+     * @return The amount of outcomes.
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Sample an outcome using the given {@link Random} instance.
+     *
+     * <p>The column is chosen with {@link Random#nextInt(int)}, after which a coin is flipped with
+     * {@link Random#nextDouble()} only if the column shares its mass with an alias.</p>
+     *
+     * @param random The random number generator to use.
+     * @return The index of the sampled outcome.
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+
+        if (probability[column] >= 1) {
+            return column;
+        }
+
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * Sample an outcome using a single uniformly distributed number, of which the integer part
+     * after scaling selects the column and the fractional part serves as biased coin.
+     *
+     * @param uniform A uniformly distributed number in <code>[0, 1)</code>.
+     * @return The index of the sampled outcome.
+     */
+    public int sample(double uniform) {
+        double scaled = uniform * probability.length;
+        int column = Math.min((int) scaled, probability.length - 1);
+        double coin = scaled - column;
+
+        return coin < probability[column] ? column : alias[column];
+    }
+}
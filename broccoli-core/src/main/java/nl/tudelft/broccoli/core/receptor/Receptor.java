@@ -122,6 +122,16 @@ public class Receptor extends Tileable {
         return marked;
     }
 
+    /**
+     * Set the marked state of this receptor without scoring or informing the listeners, which is
+     * used to restore a saved game.
+     *
+     * @param marked The marked state of the receptor.
+     */
+    public void setMarked(boolean marked) {
+        this.marked = marked;
+    }
+
     /**
      * Determine whether the receptor should be marked. This means the receptor has been completely
      * filled with balls of the same colour at least once. (R1.2e)
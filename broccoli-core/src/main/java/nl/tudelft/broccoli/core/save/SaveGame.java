@@ -0,0 +1,529 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.save;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.TimerTile;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.level.LevelFactory;
+import nl.tudelft.broccoli.core.nexus.NexusContext;
+import nl.tudelft.broccoli.core.powerup.PowerUp;
+import nl.tudelft.broccoli.core.powerup.PowerUpDispatcher;
+import nl.tudelft.broccoli.core.powerup.bonus.BonusPowerUp;
+import nl.tudelft.broccoli.core.powerup.joker.JokerPowerUp;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link SaveGame} is a snapshot of the state of an in-progress {@link GameSession}, from which
+ * the session can be resumed later.
+ *
+ * <p>The layout of a level is not part of a save game, since it follows from the level itself.
+ * Instead, a save game captures the state that changes while playing: the rotation, slots,
+ * marking and power-up of each receptor, the score, the upcoming marbles of the nexus and the
+ * remaining time of each timer. Marbles that travel over the tracks at the moment of saving are
+ * not captured, as their motion is owned by the presentation of the game; the nexus simply
+ * spawns a new marble when the game is resumed.</p>
+ *
+ * <p>Save games are encoded in a compact versioned binary format, in which each receptor takes
+ * four bytes plus four for an active power-up and each upcoming marble takes a single byte.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class SaveGame {
+    /**
+     * The magic number at the start of a save game.
+     */
+    public static final int MAGIC = 0x42525356;
+
+    /**
+     * The version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The directions of the slots of a receptor.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The types of marbles.
+     */
+    private static final MarbleType[] MARBLES = MarbleType.values();
+
+    /**
+     * The amount of bits used to encode the contents of a single slot.
+     */
+    private static final int SLOT_BITS = 3;
+
+    /**
+     * The code of a receptor without a power-up.
+     */
+    private static final int NONE = 0;
+
+    /**
+     * The code of a receptor with a bonus power-up.
+     */
+    private static final int BONUS = 1;
+
+    /**
+     * The code of a receptor with a joker power-up.
+     */
+    private static final int JOKER = 2;
+
+    /**
+     * The fully qualified name of the {@link LevelFactory} of the level.
+     */
+    private final String factory;
+
+    /**
+     * The index of the level.
+     */
+    private final int level;
+
+    /**
+     * The width of the grid of the level.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid of the level.
+     */
+    private final int height;
+
+    /**
+     * The score of the player.
+     */
+    private final int score;
+
+    /**
+     * The rotation of each receptor, with the sign bit set if the receptor has been marked.
+     */
+    private final byte[] receptors;
+
+    /**
+     * The contents of the slots of each receptor, where the contents of each slot are encoded as
+     * zero if empty or one more than the ordinal of its marble otherwise.
+     */
+    private final short[] slots;
+
+    /**
+     * The power-up code of each receptor.
+     */
+    private final byte[] powerUps;
+
+    /**
+     * The time in seconds the power-up of each receptor stays assigned.
+     */
+    private final float[] durations;
+
+    /**
+     * The remaining time in seconds of each timer.
+     */
+    private final float[] timers;
+
+    /**
+     * The upcoming marbles of the nexus.
+     */
+    private MarbleType[] upcoming;
+
+    /**
+     * The amount of upcoming marbles that was queued explicitly.
+     */
+    private int queued;
+
+    /**
+     * Construct a {@link SaveGame} instance.
+     *
+     * @param factory The name of the level factory of the level.
+     * @param level The index of the level.
+     * @param width The width of the grid.
+     * @param height The height of the grid.
+     * @param score The score of the player.
+     * @param receptors The amount of receptors.
+     * @param timers The amount of timers.
+     */
+    private SaveGame(String factory, int level, int width, int height, int score,
+                     int receptors, int timers) {
+        this.factory = factory;
+        this.level = level;
+        this.width = width;
+        this.height = height;
+        this.score = score;
+        this.receptors = new byte[receptors];
+        this.slots = new short[receptors];
+        this.powerUps = new byte[receptors];
+        this.durations = new float[receptors];
+        this.timers = new float[timers];
+    }
+
+    /**
+     * Capture the state of the given game session. This method must be called on the thread that
+     * updates the session, but it is cheap enough to be called within a single frame.
+     *
+     * @param session The game session to capture.
+     * @return The save game of the session.
+     */
+    public static SaveGame capture(GameSession session) {
+        Grid grid = session.getGrid();
+        Receptor[] found = Simulation.receptors(grid);
+        List<TimerTile> timing = timers(grid);
+        Level level = session.getLevel();
+
+        SaveGame game = new SaveGame(level.getFactory().getClass().getName(), level.getIndex(),
+            grid.getWidth(), grid.getHeight(), session.getProgress().getScore(), found.length,
+            timing.size());
+
+        PowerUpDispatcher dispatcher = session.getPowerUpDispatcher();
+        GameClock clock = session.getClock();
+        for (int i = 0; i < found.length; i++) {
+            Receptor receptor = found[i];
+            game.receptors[i] = (byte) (receptor.getRotation() | (receptor.isMarked() ? 0x80 : 0));
+            game.slots[i] = encode(receptor);
+            game.powerUps[i] = (byte) code(receptor.getPowerUp());
+            game.durations[i] = (float) dispatcher.getRemaining(clock, receptor);
+        }
+
+        for (int i = 0; i < game.timers.length; i++) {
+            game.timers[i] = (float) timing.get(i).getRemainingTime();
+        }
+
+        NexusContext context = session.getNexusContext();
+        game.upcoming = new MarbleType[context.size()];
+        for (int i = 0; i < game.upcoming.length; i++) {
+            game.upcoming[i] = context.peek(i);
+        }
+        game.queued = context.getQueued();
+        return game;
+    }
+
+    /**
+     * Read a save game from the given input.
+     *
+     * @param in The input to read the save game from.
+     * @return The save game that has been read.
+     * @throws IOException if the input is not a save game of a supported version or if an I/O
+     *     error occurs.
+     */
+    public static SaveGame read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("The input is not a save game");
+        }
+
+        int version = in.readUnsignedShort();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save game version " + version);
+        }
+
+        SaveGame game = new SaveGame(in.readUTF(), in.readInt(), in.readUnsignedShort(),
+            in.readUnsignedShort(), in.readInt(), in.readUnsignedShort(), in.readUnsignedShort());
+
+        for (int i = 0; i < game.receptors.length; i++) {
+            game.receptors[i] = in.readByte();
+            game.slots[i] = validate(in.readShort());
+            game.powerUps[i] = in.readByte();
+            if (game.powerUps[i] != NONE) {
+                game.durations[i] = in.readFloat();
+            }
+        }
+
+        for (int i = 0; i < game.timers.length; i++) {
+            game.timers[i] = in.readFloat();
+        }
+
+        game.queued = in.readUnsignedShort();
+        game.upcoming = new MarbleType[in.readUnsignedShort()];
+        for (int i = 0; i < game.upcoming.length; i++) {
+            game.upcoming[i] = type(in.readUnsignedByte());
+        }
+        return game;
+    }
+
+    /**
+     * Write this save game to the given output.
+     *
+     * @param out The output to write the save game to.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeUTF(factory);
+        out.writeInt(level);
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeInt(score);
+        out.writeShort(receptors.length);
+        out.writeShort(timers.length);
+
+        for (int i = 0; i < receptors.length; i++) {
+            out.writeByte(receptors[i]);
+            out.writeShort(slots[i]);
+            out.writeByte(powerUps[i]);
+            if (powerUps[i] != NONE) {
+                out.writeFloat(durations[i]);
+            }
+        }
+
+        for (float timer : timers) {
+            out.writeFloat(timer);
+        }
+
+        out.writeShort(queued);
+        out.writeShort(upcoming.length);
+        for (MarbleType type : upcoming) {
+            out.writeByte(type.ordinal());
+        }
+    }
+
+    /**
+     * Resume the saved game by creating its level with the {@link LevelFactory} that created the
+     * level originally. This requires the factory to have a public constructor without
+     * arguments.
+     *
+     * @param config The configuration to create the level with.
+     * @return The resumed game session, which has been started.
+     * @throws IOException if the level factory of the saved game cannot be instantiated.
+     */
+    public GameSession restore(Configuration config) throws IOException {
+        try {
+            // The class is not initialized until it is known to be a level factory
+            Class<?> type = Class.forName(factory, false, SaveGame.class.getClassLoader());
+            if (!LevelFactory.class.isAssignableFrom(type)) {
+                throw new IOException("The class " + factory + " is not a level factory");
+            }
+            return restore(((LevelFactory) type.newInstance()).create(level), config);
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("The level factory " + factory + " cannot be instantiated", e);
+        }
+    }
+
+    /**
+     * Resume the saved game on the given level, which must be the level the game was saved on.
+     *
+     * <p>The session is rebuilt by creating the level once and patching its state in a single
+     * pass over the receptors, rather than by replaying the game.</p>
+     *
+     * @param level The level to resume the game on.
+     * @param config The configuration to create the level with.
+     * @return The resumed game session, which has been started.
+     * @throws IllegalArgumentException if the saved game does not belong to the given level.
+     */
+    public GameSession restore(Level level, Configuration config) {
+        GameSession session = level.create(config);
+        Grid grid = session.getGrid();
+        Receptor[] found = Simulation.receptors(grid);
+        List<TimerTile> timing = timers(grid);
+
+        if (level.getIndex() != this.level || grid.getWidth() != width
+            || grid.getHeight() != height || found.length != receptors.length
+            || timing.size() != timers.length) {
+            throw new IllegalArgumentException("The save game does not belong to the level");
+        }
+
+        for (int i = 0; i < found.length; i++) {
+            found[i].rotate(receptors[i] & 0x3);
+            found[i].setMarked(receptors[i] < 0);
+            decode(found[i], slots[i]);
+        }
+
+        session.getProgress().setScore(score);
+        session.getNexusContext().restore(upcoming, queued);
+        session.start();
+
+        GameClock clock = session.getClock();
+        for (int i = 0; i < timers.length; i++) {
+            timing.get(i).start(clock, timers[i]);
+        }
+
+        PowerUpDispatcher dispatcher = session.getPowerUpDispatcher();
+        for (int i = 0; i < found.length; i++) {
+            if (powerUps[i] != NONE) {
+                dispatcher.assign(clock, found[i], create(powerUps[i]), durations[i]);
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Return the fully qualified name of the {@link LevelFactory} of the saved level.
+     *
+     * @return The name of the level factory.
+     */
+    public String getFactory() {
+        return factory;
+    }
+
+    /**
+     * Return the index of the saved level.
+     *
+     * @return The index of the level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Return the saved score of the player.
+     *
+     * @return The score of the player.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Return the timers on the given grid in row-major order.
+     *
+     * @param grid The grid to find the timers on.
+     * @return The timers on the grid.
+     */
+    private static List<TimerTile> timers(Grid grid) {
+        List<TimerTile> timing = new ArrayList<>();
+        for (int j = 0; j < grid.getHeight(); j++) {
+            for (int i = 0; i < grid.getWidth(); i++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                if (tileable instanceof TimerTile) {
+                    timing.add((TimerTile) tileable);
+                }
+            }
+        }
+        return timing;
+    }
+
+    /**
+     * Encode the contents of the slots of the given receptor, indexed by the direction the slots
+     * face on the grid.
+     *
+     * @param receptor The receptor to encode the slots of.
+     * @return The encoded contents of the slots.
+     */
+    private static short encode(Receptor receptor) {
+        int encoded = 0;
+        for (Direction direction : DIRECTIONS) {
+            Receptor.Slot slot = receptor.getSlot(direction);
+            int content = slot.isOccupied() ? slot.getMarble().getType().ordinal() + 1 : 0;
+            encoded |= content << (direction.ordinal() * SLOT_BITS);
+        }
+        return (short) encoded;
+    }
+
+    /**
+     * Fill the slots of the given receptor with the encoded contents.
+     *
+     * @param receptor The receptor to fill, which must have been rotated already.
+     * @param encoded The encoded contents of the slots.
+     */
+    private static void decode(Receptor receptor, short encoded) {
+        for (Direction direction : DIRECTIONS) {
+            int content = content(encoded, direction);
+            if (content != 0) {
+                receptor.accept(direction, new Marble(MARBLES[content - 1]));
+            }
+        }
+    }
+
+    /**
+     * Return the encoded contents of the slot facing the given direction.
+     *
+     * @param encoded The encoded contents of the slots of a receptor.
+     * @param direction The direction of the slot.
+     * @return Zero if the slot is empty or one more than the ordinal of its marble otherwise.
+     */
+    private static int content(short encoded, Direction direction) {
+        return (encoded >> (direction.ordinal() * SLOT_BITS)) & ((1 << SLOT_BITS) - 1);
+    }
+
+    /**
+     * Validate that the given encoded contents of the slots of a receptor only refer to existing
+     * marble types.
+     *
+     * @param encoded The encoded contents of the slots.
+     * @return The encoded contents of the slots.
+     * @throws IOException if the contents refer to a marble type that does not exist.
+     */
+    private static short validate(short encoded) throws IOException {
+        for (Direction direction : DIRECTIONS) {
+            int content = content(encoded, direction);
+            if (content != 0) {
+                type(content - 1);
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * Return the marble type with the given ordinal.
+     *
+     * @param ordinal The ordinal of the marble type.
+     * @return The marble type.
+     * @throws IOException if the ordinal does not belong to a marble type.
+     */
+    private static MarbleType type(int ordinal) throws IOException {
+        if (ordinal >= MARBLES.length) {
+            throw new IOException("Invalid marble type " + ordinal);
+        }
+        return MARBLES[ordinal];
+    }
+
+    /**
+     * Return the code of the given power-up.
+     *
+     * @param powerUp The power-up to encode.
+     * @return The code of the power-up.
+     */
+    private static int code(PowerUp powerUp) {
+        if (powerUp instanceof BonusPowerUp) {
+            return BONUS;
+        } else if (powerUp instanceof JokerPowerUp) {
+            return JOKER;
+        }
+        return NONE;
+    }
+
+    /**
+     * Create the power-up with the given code.
+     *
+     * @param code The code of the power-up.
+     * @return The power-up.
+     */
+    private static PowerUp create(int code) {
+        return code == JOKER ? new JokerPowerUp() : new BonusPowerUp();
+    }
+}
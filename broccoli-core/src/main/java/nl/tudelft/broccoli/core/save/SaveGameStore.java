@@ -0,0 +1,220 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.save;
+
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.config.StringProperty;
+import nl.tudelft.broccoli.core.level.GameSession;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link SaveGameStore} keeps a single {@link SaveGame} in a file.
+ *
+ * <p>Saving captures the state of the session on the calling thread and writes it on a
+ * background thread, so the game does not stall on the file system. The save game is written
+ * to a temporary file next to the target, flushed to disk and then atomically renamed over the
+ * target, which means a crash while saving leaves either the previous or the new save game
+ * behind, but never a partial one.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class SaveGameStore {
+    /**
+     * The path of the file in which the game is saved. Games are not saved if the path is empty.
+     */
+    public static final Property<String> PATH = new StringProperty("save.path", "");
+
+    /**
+     * The executor shared by the stores that do not provide their own, which writes the save
+     * games in order on a single daemon thread.
+     */
+    private static final Executor SHARED = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "broccoli-saves");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The file in which the game is saved.
+     */
+    private final Path path;
+
+    /**
+     * The executor to write the save games on.
+     */
+    private final Executor executor;
+
+    /**
+     * Construct a {@link SaveGameStore} instance.
+     *
+     * @param path The file in which the game is saved.
+     * @param executor The executor to write the save games on, which must run the writes in the
+     *                 order in which they were submitted.
+     */
+    public SaveGameStore(Path path, Executor executor) {
+        this.path = path.toAbsolutePath();
+        this.executor = executor;
+    }
+
+    /**
+     * Construct a {@link SaveGameStore} instance that writes on a shared background thread.
+     *
+     * @param path The file in which the game is saved.
+     */
+    public SaveGameStore(Path path) {
+        this(path, SHARED);
+    }
+
+    /**
+     * Save the given game session. This method must be called on the thread that updates the
+     * session.
+     *
+     * @param session The game session to save.
+     * @return A future that completes when the save game has been written.
+     */
+    public CompletableFuture<Void> save(GameSession session) {
+        return save(SaveGame.capture(session));
+    }
+
+    /**
+     * Save the given save game.
+     *
+     * @param game The save game to write.
+     * @return A future that completes when the save game has been written.
+     */
+    public CompletableFuture<Void> save(SaveGame game) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                write(game);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Load the save game from the file.
+     *
+     * @return The save game in the file.
+     * @throws IOException if the file does not contain a valid save game or if an I/O error
+     *     occurs.
+     */
+    public SaveGame load() throws IOException {
+        try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(path)))) {
+            return SaveGame.read(in);
+        }
+    }
+
+    /**
+     * Determine whether a game has been saved.
+     *
+     * @return <code>true</code> if the file exists, <code>false</code> otherwise.
+     */
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Delete the save game. The deletion happens in order with the pending saves.
+     *
+     * @return A future that completes when the save game has been deleted.
+     */
+    public CompletableFuture<Void> delete() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Return the file in which the game is saved.
+     *
+     * @return The path of the file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Write the given save game to a temporary file and move it over the file of this store.
+     *
+     * @param game The save game to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void write(SaveGame game) throws IOException {
+        Path directory = path.getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel)));
+                game.write(out);
+                out.flush();
+                channel.force(true);
+            }
+            move(temporary);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Move the given file over the file of this store, atomically if the file system supports it.
+     *
+     * @param source The file to move.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void move(Path source) throws IOException {
+        try {
+            Files.move(source, path, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.simulation;
+
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+
+/**
+ * The actions a player can perform on a running game session. Receptors are identified by their
+ * index in row-major order of the grid, starting at the bottom-left tile, and directions by the
+ * ordinal of their {@link Direction}, so issuing an action does not allocate.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public interface Controller {
+    /**
+     * Rotate the given {@link Receptor} clockwise by the given amount of turns.
+     *
+     * @param receptor The index of the receptor to rotate.
+     * @param turns The amount of quarter turns to rotate the receptor with.
+     * @return <code>true</code> if the receptor has been rotated, <code>false</code> if the
+     *         receptor is locked.
+     */
+    boolean rotate(int receptor, int turns);
+
+    /**
+     * Release the marble in the slot of the given {@link Receptor} that points in the given
+     * direction.
+     *
+     * @param receptor The index of the receptor to release the marble from.
+     * @param direction The ordinal of the {@link Direction} of the slot to release.
+     * @return <code>true</code> if the marble has been released, <code>false</code> if the slot
+     *         is empty or the marble cannot be released.
+     */
+    boolean release(int receptor, int direction);
+}
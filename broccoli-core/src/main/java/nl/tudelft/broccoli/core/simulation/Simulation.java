@@ -0,0 +1,526 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.simulation;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.TimerTile;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.grid.TileableListener;
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.metrics.GameMetrics;
+import nl.tudelft.broccoli.core.nexus.Nexus;
+import nl.tudelft.broccoli.core.nexus.SpawningNexus;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.track.Track;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A headless simulation of a {@link GameSession}, which moves the marbles over the grid without
+ * the user interface.
+ *
+ * <p>The simulation reproduces the movement rules and the timing of the actors of the user
+ * interface: a marble crosses a tile in {@link #CROSSING_TIME} seconds, bounces back when it
+ * cannot be released and is teleported or dropped halfway a teleporter or nexus. Marbles in
+ * motion are stored in pooled parallel arrays and their arrival is scheduled on the
+ * {@link GameClock} of the session with the index of the motion as argument, so moving a marble
+ * does not allocate.</p>
+ *
+ * <p>The simulation should be the only driver of the session, since it starts the session and
+ * listens to the tiles on the grid.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class Simulation implements Controller, TileableListener, GameClock.Task {
+    /**
+     * The time in seconds it takes a marble to cross a tile, which matches the tile size and the
+     * travel speed of the user interface.
+     */
+    public static final double CROSSING_TIME = 137 * 0.008;
+
+    /**
+     * The time in seconds a receptor is locked while it rotates a quarter turn.
+     */
+    public static final double ROTATION_TIME = 0.2;
+
+    /**
+     * The phase of a marble that travels to the edge opposite of where it entered.
+     */
+    private static final byte EDGE = 0;
+
+    /**
+     * The phase of a marble that bounced at the midpoint and travels back to where it entered.
+     */
+    private static final byte RETURN = 1;
+
+    /**
+     * The phase of a marble that travels to the center of a teleporter.
+     */
+    private static final byte TELEPORT = 2;
+
+    /**
+     * The phase of a marble that travels to the center of a nexus.
+     */
+    private static final byte DROP = 3;
+
+    /**
+     * The initial capacity of the motion pool.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The game session that is simulated.
+     */
+    private final GameSession session;
+
+    /**
+     * The receptors on the grid in row-major order.
+     */
+    private final Receptor[] receptors;
+
+    /**
+     * The spawning nexuses on the grid.
+     */
+    private final SpawningNexus[] spawners;
+
+    /**
+     * The timers on the grid.
+     */
+    private final TimerTile[] timers;
+
+    /**
+     * The metrics to record the gameplay in or <code>null</code> to not record any metrics.
+     */
+    private final GameMetrics metrics;
+
+    /**
+     * The task which unlocks the receptor with the index given as argument.
+     */
+    private final GameClock.Task unlock = (clock, receptor) -> getReceptor(receptor).unlock();
+
+    /**
+     * The tileables on which the marbles in motion travel.
+     */
+    private Tileable[] tileables = new Tileable[INITIAL_CAPACITY];
+
+    /**
+     * The marbles in motion.
+     */
+    private Marble[] marbles = new Marble[INITIAL_CAPACITY];
+
+    /**
+     * The directions from which the marbles in motion entered their tileable.
+     */
+    private Direction[] entries = new Direction[INITIAL_CAPACITY];
+
+    /**
+     * The phases of the marbles in motion.
+     */
+    private byte[] phases = new byte[INITIAL_CAPACITY];
+
+    /**
+     * The stack of unused motion indices.
+     */
+    private int[] free = new int[INITIAL_CAPACITY];
+
+    /**
+     * The amount of unused motion indices on the stack.
+     */
+    private int available;
+
+    /**
+     * The amount of motion indices that have been handed out at least once.
+     */
+    private int allocated;
+
+    /**
+     * Construct a {@link Simulation} instance and start the given session.
+     *
+     * @param session The game session to simulate.
+     * @param metrics The metrics to record the gameplay in or <code>null</code> to not record
+     *                any metrics.
+     */
+    public Simulation(GameSession session, GameMetrics metrics) {
+        this.session = session;
+        this.metrics = metrics;
+        this.receptors = receptors(session.getGrid());
+
+        Grid grid = session.getGrid();
+        List<SpawningNexus> spawning = new ArrayList<>();
+        List<TimerTile> timing = new ArrayList<>();
+        for (int j = 0; j < grid.getHeight(); j++) {
+            for (int i = 0; i < grid.getWidth(); i++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                if (tileable instanceof Track || tileable instanceof Teleporter) {
+                    tileable.addListener(this);
+                }
+
+                if (tileable instanceof SpawningNexus) {
+                    spawning.add((SpawningNexus) tileable);
+                } else if (tileable instanceof TimerTile) {
+                    timing.add((TimerTile) tileable);
+                }
+            }
+        }
+
+        this.spawners = spawning.toArray(new SpawningNexus[0]);
+        this.timers = timing.toArray(new TimerTile[0]);
+
+        if (metrics != null) {
+            metrics.track(grid);
+        }
+
+        session.start();
+        spawn();
+    }
+
+    /**
+     * Construct a {@link Simulation} instance which does not record metrics and start the given
+     * session.
+     *
+     * @param session The game session to simulate.
+     */
+    public Simulation(GameSession session) {
+        this(session, null);
+    }
+
+    /**
+     * Return the receptors on the given {@link Grid} in row-major order, starting at the
+     * bottom-left tile, which defines the indices of the receptors for a {@link Controller}.
+     *
+     * @param grid The grid to find the receptors in.
+     * @return The receptors on the grid.
+     */
+    public static Receptor[] receptors(Grid grid) {
+        List<Receptor> result = new ArrayList<>();
+        for (int j = 0; j < grid.getHeight(); j++) {
+            for (int i = 0; i < grid.getWidth(); i++) {
+                Tileable tileable = grid.get(i, j).getTileable();
+                if (tileable instanceof Receptor) {
+                    result.add((Receptor) tileable);
+                }
+            }
+        }
+        return result.toArray(new Receptor[0]);
+    }
+
+    /**
+     * Advance the simulation by the given amount of time.
+     *
+     * @param delta The time in seconds to advance the simulation with.
+     */
+    public void step(double delta) {
+        if (isFinished()) {
+            return;
+        }
+
+        if (metrics == null) {
+            session.getClock().tick(delta);
+            spawn();
+            return;
+        }
+
+        long start = System.nanoTime();
+        session.getClock().tick(delta);
+        spawn();
+        metrics.recordTick(System.nanoTime() - start);
+    }
+
+    /**
+     * Determine whether the game has finished, either because the player has won or because the
+     * time has run out.
+     *
+     * @return <code>true</code> if the game has finished, <code>false</code> otherwise.
+     */
+    public boolean isFinished() {
+        if (session.getProgress().isWon()) {
+            return true;
+        }
+
+        for (TimerTile timer : timers) {
+            if (timer.isExpired()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the game session that is simulated.
+     *
+     * @return The simulated game session.
+     */
+    public GameSession getSession() {
+        return session;
+    }
+
+    /**
+     * Return the time that has been simulated.
+     *
+     * @return The simulated time in seconds.
+     */
+    public double getTime() {
+        return session.getClock().getTime();
+    }
+
+    /**
+     * Return the amount of receptors on the grid.
+     *
+     * @return The amount of receptors.
+     */
+    public int getReceptorCount() {
+        return receptors.length;
+    }
+
+    /**
+     * Return the {@link Receptor} with the given index.
+     *
+     * @param index The index of the receptor in row-major order.
+     * @return The receptor with the given index.
+     */
+    public Receptor getReceptor(int index) {
+        return receptors[index];
+    }
+
+    /**
+     * Return the amount of marbles that are currently traveling over the grid.
+     *
+     * @return The amount of marbles in motion.
+     */
+    public int getMovingCount() {
+        return allocated - available;
+    }
+
+    /**
+     * Rotate the given {@link Receptor} clockwise by the given amount of turns. The receptor is
+     * locked while it rotates, like it is in the user interface.
+     *
+     * @param receptor The index of the receptor to rotate.
+     * @param turns The amount of quarter turns to rotate the receptor with.
+     * @return <code>true</code> if the receptor has been rotated, <code>false</code> if the
+     *         receptor is locked.
+     */
+    @Override
+    public boolean rotate(int receptor, int turns) {
+        Receptor target = receptors[receptor];
+        if (target.isLocked()) {
+            return false;
+        }
+
+        target.lock();
+        target.rotate(turns);
+        session.getClock().schedule(unlock, ROTATION_TIME * Math.max(1, Math.abs(turns)),
+            receptor);
+        return true;
+    }
+
+    /**
+     * Release the marble in the slot of the given {@link Receptor} that points in the given
+     * direction.
+     *
+     * @param receptor The index of the receptor to release the marble from.
+     * @param direction The ordinal of the {@link Direction} of the slot to release.
+     * @return <code>true</code> if the marble has been released, <code>false</code> if the slot
+     *         is empty or the marble cannot be released.
+     */
+    @Override
+    public boolean release(int receptor, int direction) {
+        Receptor target = receptors[receptor];
+        Direction out = Direction.from(direction);
+        Receptor.Slot slot = target.getSlot(out);
+
+        if (!slot.isOccupied() || !target.isConnected(out)
+            || !target.isReleasable(out, slot.getMarble())) {
+            return false;
+        }
+
+        slot.release();
+        return true;
+    }
+
+    /**
+     * Start moving a marble that has been accepted by a track, teleporter or nexus.
+     *
+     * @param tileable The tileable that accepted the marble.
+     * @param direction The direction from which the marble entered.
+     * @param marble The marble that has been accepted.
+     */
+    @Override
+    public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
+        enter(allocate(), tileable, direction, marble);
+    }
+
+    /**
+     * Handle the arrival of a marble in motion at the end of its current phase.
+     *
+     * @param clock The clock on which the arrival was scheduled.
+     * @param motion The index of the motion that has arrived.
+     */
+    @Override
+    public void run(GameClock clock, int motion) {
+        Tileable tileable = tileables[motion];
+        Marble marble = marbles[motion];
+        Direction entry = entries[motion];
+
+        switch (phases[motion]) {
+            case TELEPORT:
+                // Continue from the center of the destination to its opposite edge
+                tileables[motion] = ((Teleporter) tileable).getDestination();
+                schedule(motion, EDGE, CROSSING_TIME / 2);
+                return;
+            case DROP:
+                if (tileable.isReleasable(Direction.BOTTOM, marble)) {
+                    recycle(motion);
+                    tileable.release(Direction.BOTTOM, marble);
+                    ((Nexus) tileable).getContext().setOccupied(false);
+                } else {
+                    schedule(motion, EDGE, CROSSING_TIME / 2);
+                }
+                return;
+            case RETURN:
+                leave(motion, tileable, entry, marble);
+                return;
+            default:
+                leave(motion, tileable, entry.inverse(), marble);
+        }
+    }
+
+    /**
+     * Let a marble leave its tileable in the given direction or bounce back if the neighbour
+     * does not accept it.
+     *
+     * @param motion The index of the motion of the marble.
+     * @param tileable The tileable the marble travels on.
+     * @param out The direction in which the marble leaves.
+     * @param marble The marble that leaves.
+     */
+    private void leave(int motion, Tileable tileable, Direction out, Marble marble) {
+        if (tileable.isReleasable(out, marble)) {
+            recycle(motion);
+            tileable.release(out, marble);
+        } else {
+            bounce();
+            enter(motion, tileable, out, marble);
+        }
+    }
+
+    /**
+     * Start a new phase of motion for a marble that entered a tileable.
+     *
+     * @param motion The index of the motion of the marble.
+     * @param tileable The tileable the marble entered.
+     * @param direction The direction from which the marble entered.
+     * @param marble The marble that entered.
+     */
+    private void enter(int motion, Tileable tileable, Direction direction, Marble marble) {
+        tileables[motion] = tileable;
+        marbles[motion] = marble;
+        entries[motion] = direction;
+
+        if (tileable instanceof Teleporter) {
+            schedule(motion, TELEPORT, CROSSING_TIME / 2);
+        } else if (tileable instanceof Nexus) {
+            schedule(motion, DROP, CROSSING_TIME / 2);
+        } else if (((Track) tileable).passesMidpoint(direction, marble)) {
+            schedule(motion, EDGE, CROSSING_TIME);
+        } else {
+            bounce();
+            schedule(motion, RETURN, CROSSING_TIME);
+        }
+    }
+
+    /**
+     * Record that a marble bounced back.
+     */
+    private void bounce() {
+        if (metrics != null) {
+            metrics.recordBounce();
+        }
+    }
+
+    /**
+     * Schedule the end of the given phase of a motion.
+     *
+     * @param motion The index of the motion.
+     * @param phase The phase the motion is in.
+     * @param duration The duration of the phase in seconds.
+     */
+    private void schedule(int motion, byte phase, double duration) {
+        phases[motion] = phase;
+        session.getClock().schedule(this, duration, motion);
+    }
+
+    /**
+     * Allocate an index for a new motion from the pool.
+     *
+     * @return The index of the motion.
+     */
+    private int allocate() {
+        if (available > 0) {
+            return free[--available];
+        }
+
+        if (allocated == tileables.length) {
+            int capacity = allocated * 2;
+            tileables = Arrays.copyOf(tileables, capacity);
+            marbles = Arrays.copyOf(marbles, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+            phases = Arrays.copyOf(phases, capacity);
+            free = Arrays.copyOf(free, capacity);
+        }
+
+        return allocated++;
+    }
+
+    /**
+     * Return the index of a motion that has finished to the pool.
+     *
+     * @param motion The index of the motion.
+     */
+    private void recycle(int motion) {
+        tileables[motion] = null;
+        marbles[motion] = null;
+        entries[motion] = null;
+        free[available++] = motion;
+    }
+
+    /**
+     * Spawn new marbles at the spawning nexuses that are not occupied.
+     */
+    private void spawn() {
+        for (SpawningNexus spawner : spawners) {
+            if (!spawner.getContext().isOccupied()) {
+                spawner.spawn();
+            }
+        }
+    }
+}
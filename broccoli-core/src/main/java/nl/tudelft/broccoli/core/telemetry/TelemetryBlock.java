@@ -0,0 +1,530 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.telemetry;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link TelemetryBlock} holds the records of a batch of sessions in columns: one primitive
+ * array per field for the sessions and one per field for their events, which are stored
+ * consecutively per session.
+ *
+ * <p>Columns are serialized one after another using variable-length integers, where times are
+ * delta-encoded per session, such that similar values end up next to each other and the block
+ * compresses well.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TelemetryBlock {
+    /**
+     * The names of the level factories in this block, in order of their code.
+     */
+    private final List<String> factories = new ArrayList<>();
+
+    /**
+     * The factory codes of the sessions.
+     */
+    private int[] factory;
+
+    /**
+     * The level indices of the sessions.
+     */
+    private int[] level;
+
+    /**
+     * The seeds of the sessions.
+     */
+    private int[] seed;
+
+    /**
+     * The durations of the sessions in milliseconds.
+     */
+    private int[] duration;
+
+    /**
+     * The final scores of the sessions.
+     */
+    private int[] score;
+
+    /**
+     * The outcomes of the sessions.
+     */
+    private boolean[] won;
+
+    /**
+     * The offsets of the first event of each session, which has one more entry than sessions.
+     */
+    private int[] offset;
+
+    /**
+     * The types of the events.
+     */
+    private byte[] type;
+
+    /**
+     * The times of the events in milliseconds since the start of their session.
+     */
+    private int[] time;
+
+    /**
+     * The receptors of the events.
+     */
+    private int[] receptor;
+
+    /**
+     * The values of the events.
+     */
+    private int[] value;
+
+    /**
+     * The amount of sessions in this block.
+     */
+    private int sessions;
+
+    /**
+     * Construct an empty {@link TelemetryBlock} instance.
+     *
+     * @param sessions The initial session capacity of the block.
+     * @param events The initial event capacity of the block.
+     */
+    public TelemetryBlock(int sessions, int events) {
+        int capacity = Math.max(1, sessions);
+        factory = new int[capacity];
+        level = new int[capacity];
+        seed = new int[capacity];
+        duration = new int[capacity];
+        score = new int[capacity];
+        won = new boolean[capacity];
+        offset = new int[capacity + 1];
+        allocate(Math.max(1, events));
+    }
+
+    /**
+     * Allocate the event columns with the given capacity.
+     *
+     * @param capacity The capacity of the event columns.
+     */
+    private void allocate(int capacity) {
+        type = new byte[capacity];
+        time = new int[capacity];
+        receptor = new int[capacity];
+        value = new int[capacity];
+    }
+
+    /**
+     * Append the given finished recording to this block.
+     *
+     * @param recorder The recording to append.
+     * @throws IllegalArgumentException if the recording has not finished.
+     */
+    public void add(TelemetryRecorder recorder) {
+        if (!recorder.isFinished()) {
+            throw new IllegalArgumentException("The recording has not finished");
+        }
+
+        reserve(recorder.getEventCount());
+
+        String name = recorder.getLevel().getFactory().getClass().getSimpleName();
+        int code = factories.indexOf(name);
+        if (code < 0) {
+            code = factories.size();
+            factories.add(name);
+        }
+
+        int session = sessions++;
+        factory[session] = code;
+        level[session] = recorder.getLevel().getIndex();
+        seed[session] = recorder.getSeed();
+        duration[session] = recorder.getDuration();
+        score[session] = recorder.getScore();
+        won[session] = recorder.isWon();
+
+        int events = offset[session];
+        for (int i = 0; i < recorder.getEventCount(); i++, events++) {
+            type[events] = recorder.getEventType(i);
+            time[events] = recorder.getEventTime(i);
+            receptor[events] = recorder.getEventReceptor(i);
+            value[events] = recorder.getEventValue(i);
+        }
+        offset[session + 1] = events;
+    }
+
+    /**
+     * Make room for one more session with the given amount of events.
+     *
+     * @param events The amount of events of the session.
+     */
+    private void reserve(int events) {
+        if (sessions + 1 == offset.length) {
+            int capacity = sessions * 2;
+            factory = Arrays.copyOf(factory, capacity);
+            level = Arrays.copyOf(level, capacity);
+            seed = Arrays.copyOf(seed, capacity);
+            duration = Arrays.copyOf(duration, capacity);
+            score = Arrays.copyOf(score, capacity);
+            won = Arrays.copyOf(won, capacity);
+            offset = Arrays.copyOf(offset, capacity + 1);
+        }
+
+        int required = offset[sessions] + events;
+        if (required > type.length) {
+            int capacity = Math.max(required, type.length * 2);
+            type = Arrays.copyOf(type, capacity);
+            time = Arrays.copyOf(time, capacity);
+            receptor = Arrays.copyOf(receptor, capacity);
+            value = Arrays.copyOf(value, capacity);
+        }
+    }
+
+    /**
+     * Remove all sessions from this block, retaining its capacity.
+     */
+    public void clear() {
+        factories.clear();
+        sessions = 0;
+    }
+
+    /**
+     * Serialize the columns of this block to the given output.
+     *
+     * @param out The output to write the block to.
+     * @throws IOException if the output fails.
+     */
+    public void write(DataOutput out) throws IOException {
+        writeVarInt(out, sessions);
+        writeVarInt(out, factories.size());
+        for (String name : factories) {
+            out.writeUTF(name);
+        }
+
+        writeColumn(out, factory, false);
+        writeColumn(out, level, false);
+        writeColumn(out, seed, true);
+        writeColumn(out, duration, false);
+        writeColumn(out, score, true);
+        for (int i = 0; i < sessions; i += 8) {
+            int bits = 0;
+            for (int j = i; j < Math.min(i + 8, sessions); j++) {
+                bits |= won[j] ? 1 << (j - i) : 0;
+            }
+            out.writeByte(bits);
+        }
+
+        for (int i = 0; i < sessions; i++) {
+            writeVarInt(out, offset[i + 1] - offset[i]);
+        }
+
+        int events = offset[sessions];
+        out.write(type, 0, events);
+        for (int i = 0; i < sessions; i++) {
+            int previous = 0;
+            for (int j = offset[i]; j < offset[i + 1]; j++) {
+                writeVarInt(out, time[j] - previous);
+                previous = time[j];
+            }
+        }
+        for (int i = 0; i < events; i++) {
+            writeVarInt(out, receptor[i] + 1);
+        }
+        writeColumn(out, value, events, true);
+    }
+
+    /**
+     * Deserialize a block from the given input.
+     *
+     * @param in The input to read the block from.
+     * @return The block that has been read.
+     * @throws IOException if the input fails.
+     */
+    public static TelemetryBlock read(DataInput in) throws IOException {
+        int sessions = readVarInt(in);
+        int names = readVarInt(in);
+        List<String> factories = new ArrayList<>(names);
+        for (int i = 0; i < names; i++) {
+            factories.add(in.readUTF());
+        }
+
+        TelemetryBlock block = new TelemetryBlock(sessions, 0);
+        block.sessions = sessions;
+        block.factories.addAll(factories);
+        readColumn(in, block.factory, sessions, false);
+        readColumn(in, block.level, sessions, false);
+        readColumn(in, block.seed, sessions, true);
+        readColumn(in, block.duration, sessions, false);
+        readColumn(in, block.score, sessions, true);
+        for (int i = 0; i < sessions; i += 8) {
+            int bits = in.readUnsignedByte();
+            for (int j = i; j < Math.min(i + 8, sessions); j++) {
+                block.won[j] = (bits & 1 << (j - i)) != 0;
+            }
+        }
+
+        for (int i = 0; i < sessions; i++) {
+            block.offset[i + 1] = block.offset[i] + readVarInt(in);
+        }
+
+        int events = block.offset[sessions];
+        block.allocate(Math.max(1, events));
+        in.readFully(block.type, 0, events);
+        for (int i = 0; i < sessions; i++) {
+            int previous = 0;
+            for (int j = block.offset[i]; j < block.offset[i + 1]; j++) {
+                previous += readVarInt(in);
+                block.time[j] = previous;
+            }
+        }
+        for (int i = 0; i < events; i++) {
+            block.receptor[i] = readVarInt(in) - 1;
+        }
+        readColumn(in, block.value, events, true);
+        return block;
+    }
+
+    /**
+     * Write a column of session values to the given output.
+     *
+     * @param out The output to write to.
+     * @param column The column to write.
+     * @param signed A flag to indicate the values may be negative.
+     * @throws IOException if the output fails.
+     */
+    private void writeColumn(DataOutput out, int[] column, boolean signed) throws IOException {
+        writeColumn(out, column, sessions, signed);
+    }
+
+    /**
+     * Write the first values of a column to the given output.
+     *
+     * @param out The output to write to.
+     * @param column The column to write.
+     * @param length The amount of values to write.
+     * @param signed A flag to indicate the values may be negative.
+     * @throws IOException if the output fails.
+     */
+    private static void writeColumn(DataOutput out, int[] column, int length, boolean signed)
+        throws IOException {
+        for (int i = 0; i < length; i++) {
+            int element = column[i];
+            writeVarInt(out, signed ? (element << 1) ^ (element >> 31) : element);
+        }
+    }
+
+    /**
+     * Read the first values of a column from the given input.
+     *
+     * @param in The input to read from.
+     * @param column The column to read into.
+     * @param length The amount of values to read.
+     * @param signed A flag to indicate the values may be negative.
+     * @throws IOException if the input fails.
+     */
+    private static void readColumn(DataInput in, int[] column, int length, boolean signed)
+        throws IOException {
+        for (int i = 0; i < length; i++) {
+            int element = readVarInt(in);
+            column[i] = signed ? (element >>> 1) ^ -(element & 1) : element;
+        }
+    }
+
+    /**
+     * Write an integer using seven bits per byte, where the highest bit indicates another byte
+     * follows.
+     *
+     * @param out The output to write to.
+     * @param element The integer to write, which is treated as unsigned.
+     * @throws IOException if the output fails.
+     */
+    private static void writeVarInt(DataOutput out, int element) throws IOException {
+        int remaining = element;
+        while ((remaining & ~0x7F) != 0) {
+            out.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.writeByte(remaining);
+    }
+
+    /**
+     * Read an integer that was written by {@link #writeVarInt(DataOutput, int)}.
+     *
+     * @param in The input to read from.
+     * @return The integer that has been read.
+     * @throws IOException if the input fails.
+     */
+    private static int readVarInt(DataInput in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int part = in.readUnsignedByte();
+            result |= (part & 0x7F) << shift;
+            if ((part & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Return the amount of sessions in this block.
+     *
+     * @return The amount of sessions.
+     */
+    public int getSessionCount() {
+        return sessions;
+    }
+
+    /**
+     * Return the name of the level factory of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The simple class name of the factory of the level.
+     */
+    public String getFactory(int session) {
+        return factories.get(factory[session]);
+    }
+
+    /**
+     * Return the level index of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The index of the level.
+     */
+    public int getLevel(int session) {
+        return level[session];
+    }
+
+    /**
+     * Return the seed of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The seed of the session.
+     */
+    public int getSeed(int session) {
+        return seed[session];
+    }
+
+    /**
+     * Return the duration of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The duration of the session in milliseconds.
+     */
+    public int getDuration(int session) {
+        return duration[session];
+    }
+
+    /**
+     * Return the final score of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The final score of the session.
+     */
+    public int getScore(int session) {
+        return score[session];
+    }
+
+    /**
+     * Determine whether the given session has been won.
+     *
+     * @param session The index of the session in this block.
+     * @return <code>true</code> if the session has been won, <code>false</code> otherwise.
+     */
+    public boolean isWon(int session) {
+        return won[session];
+    }
+
+    /**
+     * Return the index of the first event of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The index of the first event of the session.
+     */
+    public int getFirstEvent(int session) {
+        return offset[session];
+    }
+
+    /**
+     * Return the amount of events of the given session.
+     *
+     * @param session The index of the session in this block.
+     * @return The amount of events of the session.
+     */
+    public int getEventCount(int session) {
+        return offset[session + 1] - offset[session];
+    }
+
+    /**
+     * Return the total amount of events in this block.
+     *
+     * @return The amount of events.
+     */
+    public int getEventCount() {
+        return offset[sessions];
+    }
+
+    /**
+     * Return the type of the given event.
+     *
+     * @param event The index of the event in this block.
+     * @return The type of the event as defined by {@link TelemetryRecorder}.
+     */
+    public byte getEventType(int event) {
+        return type[event];
+    }
+
+    /**
+     * Return the time of the given event.
+     *
+     * @param event The index of the event in this block.
+     * @return The time of the event in milliseconds since the start of its session.
+     */
+    public int getEventTime(int event) {
+        return time[event];
+    }
+
+    /**
+     * Return the receptor of the given event.
+     *
+     * @param event The index of the event in this block.
+     * @return The index of the receptor or <code>-1</code> if the event has no receptor.
+     */
+    public int getEventReceptor(int event) {
+        return receptor[event];
+    }
+
+    /**
+     * Return the value of the given event.
+     *
+     * @param event The index of the event in this block.
+     * @return The value of the event.
+     */
+    public int getEventValue(int event) {
+        return value[event];
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.telemetry;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * A {@link TelemetryReader} reads the {@link TelemetryBlock}s of a telemetry file that has been
+ * written by a {@link TelemetryWriter}, one block at a time.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TelemetryReader implements Closeable {
+    /**
+     * The stream to read the file from.
+     */
+    private final DataInputStream in;
+
+    /**
+     * The inflater to decompress the blocks with.
+     */
+    private final Inflater inflater = new Inflater();
+
+    /**
+     * Construct a {@link TelemetryReader} instance and verify the header of the given file.
+     *
+     * @param path The path of the file to read.
+     * @throws IOException if the file cannot be read or is not a telemetry file.
+     */
+    public TelemetryReader(Path path) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 65536));
+
+        try {
+            if (in.readInt() != TelemetryWriter.MAGIC) {
+                throw new IOException("The file is not a telemetry file");
+            }
+
+            int version = in.readInt();
+            if (version != TelemetryWriter.VERSION) {
+                throw new IOException("Unsupported telemetry version " + version);
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read the next block of the file.
+     *
+     * @return The next block or <code>null</code> if the end of the file has been reached.
+     * @throws IOException if the block cannot be read or is corrupt.
+     */
+    public TelemetryBlock next() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+
+        final int size = (first << 24) | (in.readUnsignedByte() << 16) | in.readUnsignedShort();
+        final int length = in.readInt();
+        final int checksum = in.readInt();
+        byte[] compressed = new byte[length];
+        in.readFully(compressed);
+
+        byte[] raw = new byte[size];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            if (inflater.inflate(raw) != size || !inflater.finished()) {
+                throw new IOException("The block has an invalid size");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("The block is corrupt", e);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("The block has an invalid checksum");
+        }
+        return TelemetryBlock.read(new DataInputStream(new ByteArrayInputStream(raw)));
+    }
+
+    /**
+     * Close the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+}
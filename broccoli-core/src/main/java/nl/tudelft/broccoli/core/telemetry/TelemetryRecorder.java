@@ -0,0 +1,355 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.telemetry;
+
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.receptor.ReceptorListener;
+import nl.tudelft.broccoli.core.simulation.Controller;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A {@link TelemetryRecorder} records the timeline of a single game session: the marks, the
+ * score and the inputs of the player, which are performed through this recorder.
+ *
+ * <p>The events are stored in growable primitive arrays. A recorder is not thread-safe and
+ * should be used by the thread that drives its session.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TelemetryRecorder implements Controller, ReceptorListener, GameClock.Task {
+    /**
+     * The type of an event that marks a receptor, whose value is unused.
+     */
+    public static final byte MARK = 0;
+
+    /**
+     * The type of an event that changes the score, whose value is the new score.
+     */
+    public static final byte SCORE = 1;
+
+    /**
+     * The type of an input that rotates a receptor, whose value is the amount of turns.
+     */
+    public static final byte ROTATE = 2;
+
+    /**
+     * The type of an input that releases a marble, whose value is the ordinal of the direction.
+     */
+    public static final byte RELEASE = 3;
+
+    /**
+     * The session that is recorded.
+     */
+    private final GameSession session;
+
+    /**
+     * The controller to perform the inputs with.
+     */
+    private final Controller controller;
+
+    /**
+     * The indices of the receptors of the session in the order of the controller.
+     */
+    private final Map<Receptor, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * The seed of the session.
+     */
+    private final int seed;
+
+    /**
+     * The types of the events.
+     */
+    private byte[] types = new byte[16];
+
+    /**
+     * The times of the events in milliseconds.
+     */
+    private int[] times = new int[16];
+
+    /**
+     * The receptors of the events or <code>-1</code>.
+     */
+    private int[] subjects = new int[16];
+
+    /**
+     * The values of the events.
+     */
+    private int[] values = new int[16];
+
+    /**
+     * The amount of events.
+     */
+    private int count;
+
+    /**
+     * The last recorded score.
+     */
+    private int score;
+
+    /**
+     * The duration of the session in milliseconds or <code>-1</code> if it has not finished.
+     */
+    private int duration = -1;
+
+    /**
+     * Construct a {@link TelemetryRecorder} instance and start listening to the receptors of the
+     * session.
+     *
+     * @param session The session to record.
+     * @param controller The controller to perform the inputs with.
+     * @param seed The seed of the session.
+     */
+    public TelemetryRecorder(GameSession session, Controller controller, int seed) {
+        this.session = session;
+        this.controller = controller;
+        this.seed = seed;
+        this.score = session.getProgress().getScore();
+
+        Receptor[] receptors = Simulation.receptors(session.getGrid());
+        for (int i = 0; i < receptors.length; i++) {
+            indices.put(receptors[i], i);
+            receptors[i].addListener(this);
+        }
+    }
+
+    /**
+     * Construct a {@link TelemetryRecorder} instance for the given simulation.
+     *
+     * @param simulation The simulation of the session to record.
+     * @param seed The seed of the session.
+     */
+    public TelemetryRecorder(Simulation simulation, int seed) {
+        this(simulation.getSession(), simulation, seed);
+    }
+
+    /**
+     * Rotate a receptor and record the input if it succeeded.
+     *
+     * @param receptor The index of the receptor to rotate.
+     * @param turns The amount of quarter turns to rotate the receptor with.
+     * @return <code>true</code> if the receptor has been rotated, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean rotate(int receptor, int turns) {
+        boolean rotated = controller.rotate(receptor, turns);
+        if (rotated) {
+            record(ROTATE, receptor, turns);
+        }
+        return rotated;
+    }
+
+    /**
+     * Release a marble and record the input if it succeeded.
+     *
+     * @param receptor The index of the receptor to release the marble from.
+     * @param direction The ordinal of the direction of the slot to release.
+     * @return <code>true</code> if the marble has been released, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean release(int receptor, int direction) {
+        boolean released = controller.release(receptor, direction);
+        if (released) {
+            record(RELEASE, receptor, direction);
+        }
+        return released;
+    }
+
+    /**
+     * Record the marking of a receptor and sample the score once the marking has completed.
+     *
+     * @param receptor The receptor that has been marked.
+     */
+    @Override
+    public void receptorMarked(Receptor receptor) {
+        Integer index = indices.get(receptor);
+        record(MARK, index != null ? index : -1, 0);
+        session.getClock().schedule(this, 0);
+    }
+
+    /**
+     * Sample the score after a receptor has been marked and its power-up has been activated.
+     *
+     * @param clock The clock of the session.
+     * @param argument The argument of the task, which is unused.
+     */
+    @Override
+    public void run(GameClock clock, int argument) {
+        sample();
+    }
+
+    /**
+     * Record the score if it has changed since it was last recorded.
+     */
+    private void sample() {
+        int current = session.getProgress().getScore();
+        if (current != score) {
+            score = current;
+            record(SCORE, -1, current);
+        }
+    }
+
+    /**
+     * Record an event at the current time of the session.
+     *
+     * @param type The type of the event.
+     * @param receptor The receptor of the event or <code>-1</code>.
+     * @param value The value of the event.
+     */
+    private void record(byte type, int receptor, int value) {
+        if (count == types.length) {
+            int capacity = count * 2;
+            types = Arrays.copyOf(types, capacity);
+            times = Arrays.copyOf(times, capacity);
+            subjects = Arrays.copyOf(subjects, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        types[count] = type;
+        times[count] = (int) Math.round(session.getClock().getTime() * 1000);
+        subjects[count] = receptor;
+        values[count] = value;
+        count++;
+    }
+
+    /**
+     * Finish the recording, which samples the final score and fixes the duration.
+     */
+    public void finish() {
+        sample();
+        duration = (int) Math.round(session.getClock().getTime() * 1000);
+    }
+
+    /**
+     * Determine whether the recording has finished.
+     *
+     * @return <code>true</code> if the recording has finished, <code>false</code> otherwise.
+     */
+    public boolean isFinished() {
+        return duration >= 0;
+    }
+
+    /**
+     * Return the level of the recorded session.
+     *
+     * @return The level of the session.
+     */
+    public Level getLevel() {
+        return session.getLevel();
+    }
+
+    /**
+     * Return the seed of the recorded session.
+     *
+     * @return The seed of the session.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Return the duration of the recorded session.
+     *
+     * @return The duration in milliseconds or <code>-1</code> if the recording has not finished.
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    /**
+     * Return the final score of the recorded session.
+     *
+     * @return The last recorded score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Determine whether the recorded session has been won.
+     *
+     * @return <code>true</code> if the session has been won, <code>false</code> otherwise.
+     */
+    public boolean isWon() {
+        return session.getProgress().isWon();
+    }
+
+    /**
+     * Return the amount of recorded events.
+     *
+     * @return The amount of events.
+     */
+    public int getEventCount() {
+        return count;
+    }
+
+    /**
+     * Return the type of the given event.
+     *
+     * @param event The index of the event.
+     * @return The type of the event.
+     */
+    public byte getEventType(int event) {
+        return types[event];
+    }
+
+    /**
+     * Return the time of the given event.
+     *
+     * @param event The index of the event.
+     * @return The time of the event in milliseconds since the start of the session.
+     */
+    public int getEventTime(int event) {
+        return times[event];
+    }
+
+    /**
+     * Return the receptor of the given event.
+     *
+     * @param event The index of the event.
+     * @return The index of the receptor or <code>-1</code> if the event has no receptor.
+     */
+    public int getEventReceptor(int event) {
+        return subjects[event];
+    }
+
+    /**
+     * Return the value of the given event.
+     *
+     * @param event The index of the event.
+     * @return The value of the event.
+     */
+    public int getEventValue(int event) {
+        return values[event];
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.core.telemetry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A {@link TelemetryWriter} streams finished {@link TelemetryRecorder}s into a telemetry file,
+ * which consists of a small header followed by deflated {@link TelemetryBlock}s.
+ *
+ * <p>Many simulation threads may append concurrently without blocking each other: an append
+ * takes a block from a lock-free pool, fills it and returns it. A full block is compressed by
+ * the thread that filled it, after which only the write of the compressed block to the end of
+ * the file is serialized.</p>
+ *
+ * <p>A block is only cleared once it has been written. If a write fails, the file is truncated
+ * to the last complete block and the writer refuses any further writes, so the file never
+ * contains a gap that would hide the blocks after it.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TelemetryWriter implements Closeable {
+    /**
+     * The magic number at the start of a telemetry file.
+     */
+    public static final int MAGIC = 0x42524f54;
+
+    /**
+     * The version of the file format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The default amount of sessions in a block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /**
+     * The size of the header in front of each block: the raw size, the compressed size and the
+     * checksum of the raw block.
+     */
+    static final int BLOCK_HEADER = 12;
+
+    /**
+     * The channel to write the file with.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The lock that serializes the writes of blocks to the file.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * The position in the file at which the next block is written, which is guarded by the lock.
+     */
+    private long position;
+
+    /**
+     * The failure that broke this writer or <code>null</code> if every write has succeeded,
+     * which is guarded by the lock.
+     */
+    private IOException failure;
+
+    /**
+     * The blocks that are not in use by an appending thread.
+     */
+    private final ConcurrentLinkedQueue<TelemetryBlock> pool = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The amount of sessions after which a block is written.
+     */
+    private final int blockSize;
+
+    /**
+     * The amount of sessions that have been appended.
+     */
+    private final LongAdder sessions = new LongAdder();
+
+    /**
+     * Construct a {@link TelemetryWriter} instance that creates or truncates the given file.
+     *
+     * @param path The path of the file to write to.
+     * @param blockSize The amount of sessions in a block.
+     * @throws IOException if the file cannot be opened.
+     */
+    public TelemetryWriter(Path path, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive");
+        }
+
+        this.blockSize = blockSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        write(header, 0);
+        this.position = header.capacity();
+    }
+
+    /**
+     * Construct a {@link TelemetryWriter} instance with the default block size.
+     *
+     * @param path The path of the file to write to.
+     * @throws IOException if the file cannot be opened.
+     */
+    public TelemetryWriter(Path path) throws IOException {
+        this(path, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Append the given finished recording to the file. This method may be called concurrently.
+     *
+     * @param recorder The recording to append.
+     * @throws IllegalArgumentException if the recording has not finished.
+     * @throws UncheckedIOException if a full block could not be written.
+     */
+    public void append(TelemetryRecorder recorder) {
+        TelemetryBlock block = pool.poll();
+        if (block == null) {
+            block = new TelemetryBlock(blockSize, blockSize * 64);
+        }
+
+        try {
+            block.add(recorder);
+            sessions.increment();
+
+            if (block.getSessionCount() >= blockSize) {
+                flush(block);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pool.offer(block);
+        }
+    }
+
+    /**
+     * Compress the given block, write it to the end of the file and clear it once it has been
+     * written.
+     *
+     * @param block The block to write.
+     * @throws IOException if the block could not be written.
+     */
+    private void flush(TelemetryBlock block) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(blockSize * 64);
+        block.write(new DataOutputStream(raw));
+
+        final byte[] bytes = raw.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        Deflater deflater = new Deflater();
+        byte[] compressed = new byte[bytes.length + 64];
+        int length;
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            length = deflater.deflate(compressed);
+            while (!deflater.finished()) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BLOCK_HEADER + length);
+        buffer.putInt(bytes.length).putInt(length).putInt((int) crc.getValue());
+        buffer.put(compressed, 0, length).flip();
+        commit(buffer);
+        block.clear();
+    }
+
+    /**
+     * Write the given buffer at the end of the file. If the write fails, the partially written
+     * buffer is truncated from the file and this writer is marked as broken.
+     *
+     * @param buffer The buffer to write.
+     * @throws IOException if the buffer could not be written or a previous write has failed.
+     */
+    private void commit(ByteBuffer buffer) throws IOException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IOException("A previous block could not be written", failure);
+            }
+
+            try {
+                write(buffer, position);
+                position += buffer.capacity();
+            } catch (IOException e) {
+                failure = e;
+                truncate();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Truncate the file to the last completely written block after a failed write.
+     */
+    private void truncate() {
+        try {
+            channel.truncate(position);
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Write the given buffer completely at the given position of the file.
+     *
+     * @param buffer The buffer to write.
+     * @param at The position in the file to write at.
+     * @throws IOException if the buffer could not be written.
+     */
+    private void write(ByteBuffer buffer, long at) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, at + buffer.position());
+        }
+    }
+
+    /**
+     * Return the amount of sessions that have been appended.
+     *
+     * @return The amount of appended sessions.
+     */
+    public long getSessionCount() {
+        return sessions.sum();
+    }
+
+    /**
+     * Write the remaining partially filled blocks and close the file. All appends must have
+     * completed before the writer is closed.
+     *
+     * @throws IOException if the blocks could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            TelemetryBlock block;
+            while ((block = pool.poll()) != null) {
+                if (block.getSessionCount() > 0) {
+                    flush(block);
+                }
+            }
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package nl.tudelft.broccoli.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import nl.tudelft.broccoli.core.level.GameClock;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link TimerTile} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TimerTileTest {
+    /**
+     * The timer under test.
+     */
+    private TimerTile timer;
+
+    /**
+     * The clock to run the timer on.
+     */
+    private GameClock clock;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        timer = new TimerTile(100);
+        clock = new GameClock();
+    }
+
+    @Test
+    public void notStarted() {
+        clock.tick(200);
+        assertThat(timer.isExpired()).isFalse();
+        assertThat(timer.getRemainingTime()).isEqualTo(100);
+    }
+
+    @Test
+    public void remainingTime() {
+        timer.start(clock);
+        clock.tick(40);
+        assertThat(timer.isExpired()).isFalse();
+        assertThat(timer.getRemainingTime()).isEqualTo(60);
+    }
+
+    @Test
+    public void expires() {
+        timer.start(clock);
+        clock.tick(100);
+        assertThat(timer.isExpired()).isTrue();
+        assertThat(timer.getRemainingTime()).isZero();
+    }
+
+    @Test
+    public void restart() {
+        timer.start(clock);
+        clock.tick(50);
+        timer.start(clock);
+        clock.tick(60);
+        assertThat(timer.isExpired()).isFalse();
+        assertThat(clock.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void startWithRemainingTime() {
+        timer.start(clock, 30);
+        clock.tick(20);
+        assertThat(timer.getRemainingTime()).isEqualTo(10);
+        clock.tick(10);
+        assertThat(timer.isExpired()).isTrue();
+    }
+}
@@ -0,0 +1,195 @@
+package nl.tudelft.broccoli.core.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Controller;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link Observation}, {@link Model} and the {@link Agent}
+ * implementations.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class AgentTest {
+    /**
+     * The game session to observe.
+     */
+    private GameSession session;
+
+    /**
+     * The receptors of the session.
+     */
+    private Receptor[] receptors;
+
+    /**
+     * The controller to verify the actions with.
+     */
+    private Controller controller;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        session = new EasyLevelOne().create(config);
+        receptors = Simulation.receptors(session.getGrid());
+        controller = mock(Controller.class);
+    }
+
+    /**
+     * Fill the receptor at the bottom-left with three blue marbles and put a blue marble in the
+     * bottom slot of the receptor above it.
+     */
+    private void almostMarked() {
+        receptors[0].accept(Direction.RIGHT, new Marble(MarbleType.BLUE));
+        receptors[0].accept(Direction.BOTTOM, new Marble(MarbleType.BLUE));
+        receptors[0].accept(Direction.LEFT, new Marble(MarbleType.JOKER));
+        receptors[2].accept(Direction.BOTTOM, new Marble(MarbleType.BLUE));
+    }
+
+    @Test
+    public void observationLayout() {
+        Observation observation = new Observation(session);
+        assertThat(observation.getReceptorCount()).isEqualTo(4);
+        assertThat(observation.getKind(0)).isEqualTo(Observation.RECEPTOR);
+        assertThat(observation.getKind(1)).isEqualTo(Observation.TRACK);
+        assertThat(observation.getKind(5 * 6)).isEqualTo(Observation.NEXUS);
+        assertThat(observation.allowsConnection(1, Direction.LEFT.ordinal())).isTrue();
+        assertThat(observation.allowsConnection(1, Direction.TOP.ordinal())).isFalse();
+        assertThat(observation.getReceptorAt(4)).isEqualTo(1);
+        assertThat(observation.isFed(3)).isTrue();
+        assertThat(observation.isFed(0)).isFalse();
+    }
+
+    @Test
+    public void observationUpdate() {
+        Observation observation = new Observation(session);
+        assertThat(observation.getSlot(0, Direction.RIGHT.ordinal())).isEqualTo(-1);
+
+        receptors[0].accept(Direction.RIGHT, new Marble(MarbleType.GREEN));
+        receptors[0].rotate(1);
+        observation.update();
+
+        assertThat(observation.getSlot(0, Direction.BOTTOM.ordinal()))
+            .isEqualTo(MarbleType.GREEN.ordinal());
+        assertThat(observation.getRotation(0)).isEqualTo(1);
+        assertThat(observation.getUpcoming(0))
+            .isEqualTo(session.getNexusContext().peek().ordinal());
+    }
+
+    @Test
+    public void modelTrace() {
+        Model model = new Model(new Observation(session));
+        int blue = MarbleType.BLUE.ordinal();
+
+        assertThat(model.trace(0, Direction.RIGHT.ordinal(), blue))
+            .isEqualTo(4 + Direction.LEFT.ordinal());
+        assertThat(model.trace(0, Direction.TOP.ordinal(), blue))
+            .isEqualTo(2 * 4 + Direction.BOTTOM.ordinal());
+        assertThat(model.trace(0, Direction.LEFT.ordinal(), blue)).isEqualTo(-1);
+    }
+
+    @Test
+    public void modelRotate() {
+        receptors[0].accept(Direction.TOP, new Marble(MarbleType.PINK));
+        Model model = new Model(new Observation(session));
+        model.load();
+
+        assertThat(model.rotate(0, 1)).isTrue();
+        assertThat(model.getSlot(0, Direction.RIGHT.ordinal()))
+            .isEqualTo(MarbleType.PINK.ordinal());
+        assertThat(model.getSlot(0, Direction.TOP.ordinal())).isEqualTo(-1);
+    }
+
+    @Test
+    public void modelReleaseMarks() {
+        almostMarked();
+        Model model = new Model(new Observation(session));
+        model.load();
+
+        assertThat(model.release(2, Direction.BOTTOM.ordinal())).isTrue();
+        assertThat(model.isMarked(0)).isTrue();
+        assertThat(model.getScore()).isEqualTo(100);
+        assertThat(model.getSlot(0, Direction.TOP.ordinal())).isEqualTo(-1);
+    }
+
+    @Test
+    public void modelReleaseEmpty() {
+        Model model = new Model(new Observation(session));
+        model.load();
+        assertThat(model.release(0, Direction.RIGHT.ordinal())).isFalse();
+    }
+
+    @Test
+    public void greedyMarks() {
+        almostMarked();
+        new GreedyAgent().act(new Observation(session), controller);
+        verify(controller).release(2, Direction.BOTTOM.ordinal());
+    }
+
+    @Test
+    public void greedyIdle() {
+        new GreedyAgent().act(new Observation(session), controller);
+        verify(controller, never()).release(anyInt(), anyInt());
+        verify(controller, never()).rotate(anyInt(), anyInt());
+    }
+
+    @Test
+    public void lookaheadMarks() {
+        almostMarked();
+        new LookaheadAgent(2).act(new Observation(session), controller);
+        verify(controller).release(2, Direction.BOTTOM.ordinal());
+    }
+
+    @Test
+    public void lookaheadIdleOnNegativeValue() {
+        // Three conflicting marbles give the board a negative value that no action improves
+        receptors[0].accept(Direction.TOP, new Marble(MarbleType.GREEN));
+        receptors[0].accept(Direction.BOTTOM, new Marble(MarbleType.PINK));
+        receptors[0].accept(Direction.LEFT, new Marble(MarbleType.BLUE));
+        receptors[2].accept(Direction.BOTTOM, new Marble(MarbleType.GREEN));
+
+        Observation observation = new Observation(session);
+        Model model = new Model(observation);
+        model.load();
+        assertThat(model.evaluate()).isNegative();
+
+        new LookaheadAgent(1).act(observation, controller);
+        verify(controller, never()).release(anyInt(), anyInt());
+        verify(controller, never()).rotate(anyInt(), anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lookaheadInvalidDepth() {
+        new LookaheadAgent(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lookaheadInvalidDiscount() {
+        new LookaheadAgent(1, 0);
+    }
+}
@@ -0,0 +1,124 @@
+package nl.tudelft.broccoli.core.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test suite for the {@link HintEngine} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class HintEngineTest {
+    /**
+     * The game session to give hints for.
+     */
+    private GameSession session;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        session = new EasyLevelOne().create(config);
+
+        // Make the bottom-left receptor one marble away from being marked
+        Receptor[] receptors = Simulation.receptors(session.getGrid());
+        receptors[0].accept(Direction.RIGHT, new Marble(MarbleType.BLUE));
+        receptors[0].accept(Direction.BOTTOM, new Marble(MarbleType.BLUE));
+        receptors[0].accept(Direction.LEFT, new Marble(MarbleType.JOKER));
+        receptors[2].accept(Direction.BOTTOM, new Marble(MarbleType.BLUE));
+    }
+
+    @Test
+    public void requestFindsMarkingMove() {
+        HintEngine engine = new HintEngine(session, Runnable::run, 2, 10);
+        engine.request();
+
+        Hint hint = engine.getHint();
+        assertThat(hint).isNotNull();
+        assertThat(hint.getReceptor()).isEqualTo(2);
+        assertThat(hint.isRotation()).isFalse();
+        assertThat(hint.getDirection()).isEqualTo(Direction.BOTTOM);
+        assertThat(hint.getDepth()).isEqualTo(2);
+    }
+
+    @Test
+    public void noHintBeforeRequest() {
+        HintEngine engine = new HintEngine(session);
+        assertThat(engine.getHint()).isNull();
+    }
+
+    @Test
+    public void cancelWithdrawsHint() {
+        HintEngine engine = new HintEngine(session, Runnable::run, 2, 10);
+        engine.request();
+        engine.cancel();
+        assertThat(engine.getHint()).isNull();
+    }
+
+    @Test
+    public void cancelBeforeSearch() {
+        List<Runnable> pending = new ArrayList<>();
+        HintEngine engine = new HintEngine(session, pending::add, 2, 10);
+        engine.request();
+        engine.cancel();
+
+        pending.forEach(Runnable::run);
+        assertThat(engine.getHint()).isNull();
+    }
+
+    @Test
+    public void requestSupersedesPrevious() {
+        List<Runnable> pending = new ArrayList<>();
+        HintEngine engine = new HintEngine(session, pending::add, 2, 10);
+        engine.request();
+        engine.request();
+
+        pending.get(0).run();
+        assertThat(engine.getHint()).isNull();
+        pending.get(1).run();
+        assertThat(engine.getHint()).isNotNull();
+    }
+
+    @Test
+    public void hintRotation() {
+        Hint hint = new Hint(3 * Model.ACTIONS + Model.ROTATE, 1);
+        assertThat(hint.getReceptor()).isEqualTo(3);
+        assertThat(hint.isRotation()).isTrue();
+        assertThat(hint.getDirection()).isNull();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDepth() {
+        new HintEngine(session, Runnable::run, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTimeout() {
+        new HintEngine(session, Runnable::run, 1, 0);
+    }
+}
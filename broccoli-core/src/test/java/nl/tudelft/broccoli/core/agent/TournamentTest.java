@@ -0,0 +1,89 @@
+package nl.tudelft.broccoli.core.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.metrics.TrafficAtlas;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for testing the {@link Tournament} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TournamentTest {
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+    }
+
+    @Test
+    public void levelsOfAllFactories() {
+        List<Level> levels = Tournament.levels();
+        assertThat(levels).hasSize(9);
+        assertThat(levels.get(0).getIndex()).isEqualTo(1);
+    }
+
+    @Test
+    public void runPlaysEveryRound() {
+        Level level = Tournament.levels().get(0);
+        Tournament tournament = new Tournament(config, GreedyAgent::new, 0.25, 1.0 / 30, 20);
+        Tournament.Result result = tournament.run(Collections.singletonList(level), 2, 42);
+
+        assertThat(result.getOutcomes()).hasSize(2);
+        assertThat(result.getMeanTime(level)).isGreaterThan(0).isLessThanOrEqualTo(20.1);
+        assertThat(result.getWins(level)).isBetween(0L, 2L);
+    }
+
+    @Test
+    public void playIsReproducible() {
+        Level level = Tournament.levels().get(0);
+        Tournament tournament = new Tournament(config, () -> new LookaheadAgent(2), 0.25,
+            1.0 / 30, 30);
+
+        Tournament.Outcome first = tournament.play(level, 7);
+        Tournament.Outcome second = tournament.play(level, 7);
+        assertThat(first.getScore()).isEqualTo(second.getScore());
+        assertThat(first.getTime()).isEqualTo(second.getTime());
+    }
+
+    @Test
+    public void runRecordsTraffic() {
+        Level level = Tournament.levels().get(0);
+        TrafficAtlas traffic = new TrafficAtlas();
+        Tournament tournament = new Tournament(config, GreedyAgent::new, 0.25, 1.0 / 30, 10,
+            null, traffic);
+        tournament.run(Collections.singletonList(level), 3, 1);
+
+        assertThat(traffic.get(level).getSessions()).isEqualTo(3);
+        assertThat(traffic.get(level).getAccepted(5, 5, Direction.RIGHT)).isGreaterThan(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidInterval() {
+        new Tournament(config, GreedyAgent::new, 0, 1, 1);
+    }
+}
@@ -0,0 +1,154 @@
+package nl.tudelft.broccoli.core.agent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.level.generated.GeneratedLevelFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for testing the {@link VectorEnvironment} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class VectorEnvironmentTest {
+    /**
+     * The environment under test.
+     */
+    private VectorEnvironment environment;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        List<Level> levels = Tournament.levels().subList(0, 2);
+        environment = new VectorEnvironment(config, levels, 4, 1.0, 1.0 / 30, 10);
+    }
+
+    @Test
+    public void layout() {
+        // 36 cells, at most 6 receptors with rotation, slots and mark and 8 upcoming marbles
+        assertThat(environment.getObservationSize()).isEqualTo(36 + 6 * 6 + 8);
+        assertThat(environment.getActionCount()).isEqualTo(1 + 6 * 5);
+    }
+
+    @Test
+    public void gridsOfDifferentWidthsShareStride() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        Level wide = new GeneratedLevelFactory(9, 4, 0.5, 0.5, 1).create(1);
+        Level square = Tournament.levels().get(0);
+        VectorEnvironment mixed = new VectorEnvironment(config, Arrays.asList(wide, square), 2);
+        int size = mixed.getObservationSize();
+        int[] observations = new int[2 * size];
+        mixed.reset(1, observations);
+
+        // The grids are padded to 9 by 6 cells, where the top row of the 6 by 6 grid holds the
+        // nexus in its first six columns
+        for (int x = 0; x < 9; x++) {
+            assertThat(observations[size + 5 * 9 + x])
+                .isEqualTo(x < 6 ? Observation.NEXUS : Observation.EMPTY);
+        }
+        for (int x = 0; x < 9; x++) {
+            assertThat(observations[3 * 9 + x]).isEqualTo(Observation.NEXUS);
+            assertThat(observations[5 * 9 + x]).isEqualTo(Observation.EMPTY);
+        }
+    }
+
+    @Test
+    public void resetIsReproducible() {
+        int[] first = new int[environment.getCount() * environment.getObservationSize()];
+        int[] second = new int[first.length];
+
+        environment.reset(3, first);
+        environment.reset(3, second);
+        assertThat(first).isEqualTo(second);
+        assertThat(first[0]).isEqualTo(Observation.RECEPTOR);
+    }
+
+    @Test
+    public void resetByteBuffer() {
+        int[] expected = new int[environment.getCount() * environment.getObservationSize()];
+        ByteBuffer buffer = ByteBuffer.allocate(expected.length + 1);
+        buffer.position(1);
+
+        environment.reset(5, expected);
+        environment.reset(5, buffer);
+        assertThat(buffer.position()).isEqualTo(1);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(buffer.get(i + 1)).isEqualTo((byte) expected[i]);
+        }
+    }
+
+    @Test
+    public void stepAdvancesEnvironments() {
+        int count = environment.getCount();
+        int[] observations = new int[count * environment.getObservationSize()];
+        double[] rewards = new double[count];
+        boolean[] done = new boolean[count];
+
+        environment.reset(1, observations);
+        int[] actions = new int[count];
+        Arrays.fill(actions, 1 + Model.ROTATE);
+        environment.step(actions, observations, rewards, done);
+
+        // The first receptor has been rotated a quarter turn
+        assertThat(observations[36]).isEqualTo(1);
+        assertThat(rewards).containsOnly(0.0);
+        assertThat(done).containsOnly(false);
+    }
+
+    @Test
+    public void stepUntilDone() {
+        int count = environment.getCount();
+        int[] observations = new int[count * environment.getObservationSize()];
+        double[] rewards = new double[count];
+        boolean[] done = new boolean[count];
+        int[] actions = new int[count];
+
+        environment.reset(1, observations);
+        boolean finished = false;
+        for (int i = 0; i < 500 && !finished; i++) {
+            environment.step(actions, observations, rewards, done);
+            finished = done[0];
+        }
+
+        assertThat(finished).isTrue();
+        assertThat(observations[36]).isZero();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stepBeforeReset() {
+        int count = environment.getCount();
+        environment.step(new int[count], new int[count * environment.getObservationSize()],
+            new double[count], new boolean[count]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noEnvironments() {
+        new VectorEnvironment(mock(Configuration.class), Tournament.levels(), 0);
+    }
+}
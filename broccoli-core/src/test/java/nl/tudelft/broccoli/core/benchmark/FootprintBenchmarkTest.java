@@ -0,0 +1,80 @@
+package nl.tudelft.broccoli.core.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.agent.Tournament;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.Level;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test class for testing the {@link FootprintBenchmark} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class FootprintBenchmarkTest {
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+    }
+
+    @Test
+    public void measuresAllComponents() {
+        Level level = Tournament.levels().get(0);
+        Footprint footprint = new FootprintBenchmark(config, 5, 1.0 / 60).measure(level);
+
+        assertThat(footprint.getLevel()).isSameAs(level);
+        assertThat(footprint.getComponents()).containsOnlyKeys(Footprint.GRID,
+            Footprint.TILEABLES, Footprint.EMPTY, Footprint.LISTENERS, Footprint.PROGRESS,
+            Footprint.NEXUS, Footprint.OTHER);
+        assertThat(footprint.getComponents().values()).allMatch(size -> size > 0);
+        assertThat(footprint.getRetained()).isGreaterThan(footprint.getComponents()
+            .get(Footprint.GRID));
+    }
+
+    @Test
+    public void levelsMeetBudgets() {
+        List<Footprint> footprints = new FootprintBenchmark(config, 30, 1.0 / 60)
+            .enforce(Tournament.levels());
+        assertThat(footprints).hasSize(9);
+    }
+
+    @Test
+    public void enforceFailsOverBudget() {
+        doReturn(1).when(config).get(FootprintBenchmark.HEAP_BUDGET);
+
+        FootprintBenchmark benchmark = new FootprintBenchmark(config, 1, 1.0 / 60);
+        assertThatThrownBy(() -> benchmark.enforce(Collections.singletonList(
+            Tournament.levels().get(0)))).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("EasyLevelFactory level 1");
+    }
+
+    @Test
+    public void rejectsInvalidTimes() {
+        assertThatThrownBy(() -> new FootprintBenchmark(config, 0, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
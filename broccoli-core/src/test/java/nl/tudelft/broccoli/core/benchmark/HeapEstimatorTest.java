@@ -0,0 +1,93 @@
+package nl.tudelft.broccoli.core.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test class for testing the {@link HeapEstimator} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class HeapEstimatorTest {
+    /**
+     * The estimator to test.
+     */
+    private HeapEstimator estimator;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        estimator = new HeapEstimator();
+    }
+
+    @Test
+    public void measuresReferences() {
+        Holder holder = new Holder();
+        holder.next = new Holder();
+        assertThat(estimator.measure(holder)).isEqualTo(2 * estimator.shallow(holder));
+    }
+
+    @Test
+    public void measuresHashSet() {
+        Holder holder = new Holder();
+        Set<Holder> set = new HashSet<>(Arrays.asList(holder, new Holder()));
+
+        // The shell, both elements, the table of 16 buckets and the two nodes of the set
+        assertThat(estimator.measure(set)).isGreaterThanOrEqualTo(estimator.shallow(set)
+            + 2 * estimator.shallow(holder) + 80 + 2 * 32);
+    }
+
+    @Test
+    public void measuresArrayListElements() {
+        Holder holder = new Holder();
+        List<Holder> list = new ArrayList<>(Arrays.asList(holder, new Holder()));
+        assertThat(estimator.measure(list)).isGreaterThanOrEqualTo(estimator.shallow(list)
+            + 2 * estimator.shallow(holder) + 24);
+    }
+
+    @Test
+    public void measuresHashMapField() {
+        Holder holder = new Holder();
+        Map<String, Holder> map = new HashMap<>();
+        map.put("key", new Holder());
+        holder.map = map;
+
+        assertThat(estimator.measure(holder))
+            .isGreaterThanOrEqualTo(estimator.shallow(holder) + estimator.shallow(map));
+    }
+
+    @Test
+    public void excludedObjectsAreSkipped() {
+        Holder holder = new Holder();
+        holder.next = new Holder();
+        estimator.exclude(holder.next);
+        assertThat(estimator.measure(holder)).isEqualTo(estimator.shallow(holder));
+    }
+
+    /**
+     * An object that refers to other objects.
+     */
+    private static final class Holder {
+        /**
+         * The next holder.
+         */
+        private Holder next;
+
+        /**
+         * A map of holders.
+         */
+        private Map<String, Holder> map;
+    }
+}
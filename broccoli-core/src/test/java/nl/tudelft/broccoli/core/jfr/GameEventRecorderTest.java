@@ -0,0 +1,189 @@
+package nl.tudelft.broccoli.core.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test class for testing the {@link GameEventRecorder} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GameEventRecorderTest {
+    /**
+     * The event types of the game.
+     */
+    private static final List<Class<? extends GameEvent>> EVENTS = Arrays.asList(
+        LevelStartEvent.class, LevelFinishEvent.class, SpawnEvent.class, TeleportEvent.class,
+        ReceptorMarkEvent.class, SlotAcceptEvent.class, SlotReleaseEvent.class,
+        SlotDisposeEvent.class);
+
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * The recording to capture the events in.
+     */
+    private Recording recording;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        recording = new Recording();
+    }
+
+    /**
+     * Tear down the test suite.
+     */
+    @After
+    public void tearDown() {
+        recording.close();
+    }
+
+    /**
+     * Enable only the given event types in the recording and start it.
+     *
+     * @param types The event types to enable.
+     */
+    @SafeVarargs
+    private final void record(Class<? extends GameEvent>... types) {
+        for (Class<? extends GameEvent> type : EVENTS) {
+            recording.disable(type);
+        }
+        for (Class<? extends GameEvent> type : types) {
+            recording.enable(type);
+        }
+        recording.start();
+    }
+
+    /**
+     * Stop the recording and return the recorded events of the game.
+     *
+     * @return The recorded events.
+     * @throws IOException if the recording could not be read.
+     */
+    private List<RecordedEvent> events() throws IOException {
+        recording.stop();
+        Path file = Files.createTempFile("broccoli", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("broccoli."))
+                .collect(Collectors.toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Create a session of the first easy level and attach a recorder to it.
+     *
+     * @return The session that is recorded.
+     */
+    private GameSession recorded() {
+        GameSession session = new EasyLevelOne().create(config);
+        assertThat(GameEventRecorder.attach(session)).isNotNull();
+        return session;
+    }
+
+    @Test
+    public void recordsLevelAndSpawn() throws IOException {
+        record(LevelStartEvent.class, SpawnEvent.class);
+
+        new Simulation(recorded());
+
+        List<String> names = events().stream()
+            .map(e -> e.getEventType().getName())
+            .collect(Collectors.toList());
+        assertThat(names).containsExactlyInAnyOrder("broccoli.LevelStart", "broccoli.Spawn");
+    }
+
+    @Test
+    public void disabledEventsNotRecorded() throws IOException {
+        record(ReceptorMarkEvent.class);
+
+        Simulation simulation = new Simulation(recorded());
+        Receptor receptor = simulation.getReceptor(0);
+        for (Direction direction : Direction.values()) {
+            receptor.accept(direction, new Marble(MarbleType.PINK));
+        }
+
+        List<RecordedEvent> events = events();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEventType().getName()).isEqualTo("broccoli.ReceptorMark");
+        assertThat(events.get(0).getInt("x")).isZero();
+        assertThat(events.get(0).getBoolean("powerUp")).isFalse();
+    }
+
+    @Test
+    public void recordsFinishWhenTimerExpires() throws IOException {
+        record(LevelFinishEvent.class);
+
+        Simulation simulation = new Simulation(recorded());
+        simulation.step(1000);
+
+        List<RecordedEvent> events = events();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getBoolean("won")).isFalse();
+        assertThat(events.get(0).getInt("level")).isEqualTo(1);
+    }
+
+    @Test
+    public void simulationNotRecordedByDefault() throws IOException {
+        record(LevelStartEvent.class);
+
+        new Simulation(new EasyLevelOne().create(config));
+
+        assertThat(events()).isEmpty();
+    }
+
+    @Test
+    public void notAttachedWithoutRecording() {
+        assertThat(GameEventRecorder.isRecording()).isFalse();
+        assertThat(GameEventRecorder.attach(new EasyLevelOne().create(config))).isNull();
+    }
+
+    @Test
+    public void uniqueSessionIds() {
+        record(LevelStartEvent.class);
+        GameSession session = new EasyLevelOne().create(config);
+        GameEventRecorder first = GameEventRecorder.attach(session);
+        GameEventRecorder second = GameEventRecorder.attach(session);
+        assertThat(first.getSessionId()).isNotEqualTo(second.getSessionId());
+    }
+}
@@ -0,0 +1,129 @@
+package nl.tudelft.broccoli.core.level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test class for testing the {@link GameClock} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GameClockTest {
+    /**
+     * The clock under test.
+     */
+    private GameClock clock;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        clock = new GameClock();
+    }
+
+    @Test
+    public void tickAdvancesTime() {
+        clock.tick(1.5);
+        clock.tick(0.5);
+        assertThat(clock.getTime()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void taskNotRunBeforeDeadline() {
+        GameClock.Task task = mock(GameClock.Task.class);
+        clock.schedule(task, 2.0, 7);
+        clock.tick(1.0);
+        verify(task, never()).run(clock, 7);
+        assertThat(clock.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void taskRunAtDeadline() {
+        GameClock.Task task = mock(GameClock.Task.class);
+        clock.schedule(task, 2.0, 7);
+        clock.tick(2.0);
+        verify(task).run(clock, 7);
+        assertThat(clock.size()).isZero();
+    }
+
+    @Test
+    public void tasksRunInOrder() {
+        List<Integer> order = new ArrayList<>();
+        GameClock.Task task = (c, argument) -> order.add(argument);
+        clock.schedule(task, 3.0, 3);
+        clock.schedule(task, 1.0, 1);
+        clock.schedule(task, 2.0, 2);
+        clock.schedule(task, 1.0, 4);
+        clock.tick(5.0);
+        assertThat(order).containsExactly(1, 4, 2, 3);
+    }
+
+    @Test
+    public void taskSeesDeadlineAsTime() {
+        List<Double> times = new ArrayList<>();
+        clock.schedule((c, argument) -> times.add(c.getTime()), 1.0);
+        clock.tick(5.0);
+        assertThat(times).containsExactly(1.0);
+        assertThat(clock.getTime()).isEqualTo(5.0);
+    }
+
+    @Test
+    public void rescheduleWithinTick() {
+        List<Double> times = new ArrayList<>();
+        GameClock.Task task = new GameClock.Task() {
+            @Override
+            public void run(GameClock clock, int argument) {
+                times.add(clock.getTime());
+                clock.schedule(this, 1.0);
+            }
+        };
+        clock.schedule(task, 1.0);
+        clock.tick(3.5);
+        assertThat(times).containsExactly(1.0, 2.0, 3.0);
+        assertThat(clock.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void cancel() {
+        GameClock.Task task = mock(GameClock.Task.class);
+        GameClock.Task other = mock(GameClock.Task.class);
+        for (int i = 0; i < 40; i++) {
+            clock.schedule(i % 2 == 0 ? task : other, i, i);
+        }
+
+        assertThat(clock.cancel(task)).isEqualTo(20);
+        clock.tick(40.0);
+
+        verify(task, never()).run(clock, 0);
+        InOrder order = inOrder(other);
+        for (int i = 1; i < 40; i += 2) {
+            order.verify(other).run(clock, i);
+        }
+    }
+
+    @Test
+    public void clear() {
+        GameClock.Task task = mock(GameClock.Task.class);
+        clock.schedule(task, 1.0);
+        clock.clear();
+        clock.tick(2.0);
+        verify(task, never()).run(clock, 0);
+        assertThat(clock.size()).isZero();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scheduleNull() {
+        clock.schedule(null, 1.0);
+    }
+}
@@ -66,4 +66,11 @@ public class ProgressTest {
         progress.setScore(1000);
         assertThat(progress.getScore()).isEqualTo(1000);
     }
+
+    @Test
+    public void trackSkipsMarkedReceptors() {
+        receptor.setMarked(true);
+        progress.track(receptor.getTile().getGrid());
+        assertThat(progress.isWon()).isTrue();
+    }
 }
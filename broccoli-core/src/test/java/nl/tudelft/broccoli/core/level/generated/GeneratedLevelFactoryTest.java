@@ -0,0 +1,142 @@
+package nl.tudelft.broccoli.core.level.generated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.nexus.SpawningNexus;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Testing class that tests the {@link GeneratedLevelFactory} and {@link Layout} classes.
+ */
+public class GeneratedLevelFactoryTest {
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+    }
+
+    @Test
+    public void createIsDeterministic() {
+        GeneratedLevel first = new GeneratedLevelFactory(0.5, 7).create(4);
+        GeneratedLevel second = new GeneratedLevelFactory(0.5, 7).create(4);
+
+        assertThat(first.getLayout()).isEqualTo(second.getLayout());
+        assertThat(first.getDifficulty()).isEqualTo(second.getDifficulty());
+    }
+
+    @Test
+    public void createRejectsInvalidIndex() {
+        assertThat(new GeneratedLevelFactory(0.5, 7).create(0)).isNull();
+    }
+
+    @Test
+    public void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> new GeneratedLevelFactory(2, 6, 0.5, 0.1, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneratedLevelFactory(1.5, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void generateReturnsUniqueSolvableLevels() {
+        List<GeneratedLevel> levels = new GeneratedLevelFactory(0.5, 1).generate(1, 16);
+
+        assertThat(levels).hasSize(16);
+        assertThat(levels.stream().map(GeneratedLevel::getLayout).distinct()
+            .collect(Collectors.toList())).hasSize(16);
+        assertThat(levels).allMatch(level -> level.getLayout().isSolvable());
+        assertThat(levels).allMatch(level -> level.getDifficulty() >= 0
+            && level.getDifficulty() <= 1);
+    }
+
+    @Test
+    public void harderTargetsEstimateHarder() {
+        double easy = new GeneratedLevelFactory(0.1, 3).generate(1, 8).stream()
+            .mapToDouble(GeneratedLevel::getDifficulty).average().orElse(0);
+        double hard = new GeneratedLevelFactory(0.9, 3).generate(1, 8).stream()
+            .mapToDouble(GeneratedLevel::getDifficulty).average().orElse(0);
+
+        assertThat(hard).isGreaterThan(easy);
+    }
+
+    @Test
+    public void sessionsOfArbitrarySize() {
+        GeneratedLevel level = new GeneratedLevelFactory(9, 8, 0.5, 0.1, 5).create(1);
+        GameSession session = level.create(config);
+        Grid grid = session.getGrid();
+
+        assertThat(grid.getWidth()).isEqualTo(9);
+        assertThat(grid.getHeight()).isEqualTo(8);
+        assertThat(grid.get(8, 7).getTileable()).isInstanceOf(SpawningNexus.class);
+        assertThat(Simulation.receptors(grid)).hasSize(level.getLayout().getReceptorCount());
+
+        Simulation simulation = new Simulation(session);
+        simulation.step(5);
+        assertThat(simulation.getTime()).isEqualTo(5);
+    }
+
+    @Test
+    public void unreachableReceptorIsUnsolvable() {
+        Layout layout = new Layout(6, 6);
+        layout.setKind(0, Layout.RECEPTOR);
+        layout.setKind(24, Layout.RECEPTOR);
+        assertThat(layout.isSolvable()).isFalse();
+
+        layout.setKind(6, Layout.VERTICAL);
+        layout.setKind(12, Layout.RECEPTOR);
+        layout.setKind(18, Layout.VERTICAL);
+        assertThat(layout.isSolvable()).isTrue();
+
+        layout.setOneWay(18, Direction.BOTTOM);
+        assertThat(layout.isSolvable()).isFalse();
+    }
+
+    @Test
+    public void layoutPlacesTeleporters() {
+        Layout layout = new Layout(6, 6);
+        layout.setKind(24, Layout.RECEPTOR);
+        layout.setKind(18, Layout.VERTICAL);
+        layout.setKind(12, Layout.RECEPTOR);
+        layout.setKind(26, Layout.RECEPTOR);
+        layout.setKind(20, Layout.VERTICAL);
+        layout.setKind(14, Layout.RECEPTOR);
+        layout.setTeleporters(18, 20);
+
+        assertThat(layout.trace(0, 4, Direction.BOTTOM.ordinal())).isEqualTo(14);
+        assertThat(layout.trace(2, 2, Direction.TOP.ordinal())).isEqualTo(24);
+        assertThat(layout.isSolvable()).isTrue();
+
+        GeneratedLevel level = new GeneratedLevel(null, 1, layout, 0);
+        Grid grid = level.create(config).getGrid();
+        assertThat(grid.get(0, 4).getTileable()).isInstanceOf(Receptor.class);
+        assertThat(grid.get(0, 3).getTileable()).isInstanceOf(Teleporter.class);
+    }
+}
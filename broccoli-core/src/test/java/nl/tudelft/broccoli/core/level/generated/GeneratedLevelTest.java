@@ -0,0 +1,38 @@
+package nl.tudelft.broccoli.core.level.generated;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.level.LevelTest;
+import org.junit.Test;
+
+/**
+ * Testing class that tests the {@link GeneratedLevel} class.
+ */
+public class GeneratedLevelTest extends LevelTest {
+    /**
+     * Return the {@link Level} instance to test.
+     *
+     * @return The level to test.
+     */
+    @Override
+    public Level createLevel() {
+        return new GeneratedLevelFactory(0.5, 42).create(3);
+    }
+
+    /**
+     * Test the index of the level.
+     */
+    @Test
+    public void getIndex() {
+        assertThat(level.getIndex()).isEqualTo(3);
+    }
+
+    /**
+     * Test the factory of the level.
+     */
+    @Test
+    public void getFactory() {
+        assertThat(level.getFactory()).isInstanceOf(GeneratedLevelFactory.class);
+    }
+}
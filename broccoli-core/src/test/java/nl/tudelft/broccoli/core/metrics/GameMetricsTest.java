@@ -0,0 +1,103 @@
+package nl.tudelft.broccoli.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.powerup.PowerUp;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link GameMetrics} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class GameMetricsTest {
+    /**
+     * The registry of the metrics.
+     */
+    private MetricRegistry registry;
+
+    /**
+     * The metrics under test.
+     */
+    private GameMetrics metrics;
+
+    /**
+     * The simulation that records the metrics.
+     */
+    private Simulation simulation;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        GameSession session = new EasyLevelOne().create(config);
+        registry = new MetricRegistry();
+        metrics = new GameMetrics(registry);
+        simulation = new Simulation(session, metrics);
+    }
+
+    @Test
+    public void sharedInstruments() {
+        assertThat(new GameMetrics(registry).getSpawns()).isSameAs(metrics.getSpawns());
+    }
+
+    @Test
+    public void spawnsRecorded() {
+        assertThat(metrics.getSpawns().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void hopsAndTicksRecorded() {
+        for (int i = 0; i < 300; i++) {
+            simulation.step(1.0 / 60);
+        }
+
+        assertThat(metrics.getHops().getCount()).isPositive();
+        assertThat(metrics.getSpawns().getCount()).isGreaterThan(1);
+        assertThat(metrics.getTicks().getCount()).isEqualTo(300);
+    }
+
+    @Test
+    public void bounceRecorded() {
+        Receptor source = simulation.getReceptor(0);
+        source.accept(Direction.TOP, new Marble(MarbleType.BLUE));
+        simulation.getReceptor(2).accept(Direction.BOTTOM, new Marble(MarbleType.BLUE));
+        simulation.release(0, Direction.TOP.ordinal());
+
+        simulation.step(Simulation.CROSSING_TIME * 3 + 0.01);
+        assertThat(metrics.getBounces().getCount()).isPositive();
+    }
+
+    @Test
+    public void marksAndPowerUpsRecorded() {
+        Receptor receptor = simulation.getReceptor(0);
+        receptor.setPowerUp(mock(PowerUp.class));
+        for (Direction direction : Direction.values()) {
+            receptor.accept(direction, new Marble(MarbleType.GREEN));
+        }
+
+        assertThat(metrics.getMarks().getCount()).isEqualTo(1);
+        assertThat(metrics.getPowerUps().getCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,77 @@
+package nl.tudelft.broccoli.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link Histogram} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class HistogramTest {
+    /**
+     * The histogram under test.
+     */
+    private Histogram histogram;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    public void empty() {
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMean()).isZero();
+        assertThat(histogram.getValueAtPercentile(50)).isZero();
+    }
+
+    @Test
+    public void smallValuesExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(10);
+        assertThat(histogram.getMean()).isEqualTo(5.5);
+        assertThat(histogram.getMax()).isEqualTo(10);
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(5);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(10);
+    }
+
+    @Test
+    public void largeValuesWithinPrecision() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertThat((double) histogram.getValueAtPercentile(50))
+            .isCloseTo(500_000, within(16_000.0));
+        assertThat((double) histogram.getValueAtPercentile(99))
+            .isCloseTo(990_000, within(32_000.0));
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    public void negativeRecordedAsZero() {
+        histogram.record(-5);
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void bucketsCoverValues() {
+        long[] values = {0, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.index(value);
+            assertThat(Histogram.highest(index)).isGreaterThanOrEqualTo(value);
+            assertThat(index == 0 || Histogram.highest(index - 1) < value).isTrue();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package nl.tudelft.broccoli.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link MetricRegistry} class and its exporters.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class MetricRegistryTest {
+    /**
+     * The registry under test.
+     */
+    private MetricRegistry registry;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        registry = new MetricRegistry();
+    }
+
+    @Test
+    public void counterShared() {
+        registry.counter("a").increment();
+        registry.counter("a").add(2);
+        assertThat(registry.counter("a").getCount()).isEqualTo(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void typeConflict() {
+        registry.counter("a");
+        registry.histogram("a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void gaugeTypeConflict() {
+        registry.counter("a");
+        registry.gauge("a", () -> 1);
+    }
+
+    @Test
+    public void gaugeConflictKeepsMetric() {
+        Counter counter = registry.counter("a");
+        try {
+            registry.gauge("a", () -> 1);
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        assertThat(registry.counter("a")).isSameAs(counter);
+    }
+
+    @Test
+    public void gaugeReplacesGauge() {
+        registry.gauge("g", () -> 1);
+        Gauge gauge = registry.gauge("g", () -> 2);
+        assertThat(registry.getGauges()).containsOnlyKeys("g");
+        assertThat(registry.getGauges().get("g")).isSameAs(gauge);
+    }
+
+    @Test
+    public void remove() {
+        registry.counter("a");
+        assertThat(registry.remove("a")).isTrue();
+        assertThat(registry.remove("a")).isFalse();
+        assertThat(registry.getCounters()).isEmpty();
+    }
+
+    @Test
+    public void textExport() {
+        registry.counter("b").increment();
+        registry.counter("a").add(3);
+        registry.gauge("g", () -> 1.5);
+        registry.histogram("h").record(7);
+
+        assertThat(new TextMetricExporter().export(registry)).isEqualTo(
+            "counter a 3\n"
+            + "counter b 1\n"
+            + "gauge g 1.5\n"
+            + "histogram h count=1 mean=7.0 max=7 p50=7 p90=7 p99=7 p99.9=7\n");
+    }
+
+    @Test
+    public void jsonExport() {
+        registry.counter("a").add(3);
+        registry.gauge("g", () -> Double.NaN);
+        registry.histogram("h\"").record(7);
+
+        assertThat(new JsonMetricExporter().export(registry)).isEqualTo(
+            "{\"counters\":{\"a\":3},\"gauges\":{\"g\":null},\"histograms\":{\"h\\\"\":"
+            + "{\"count\":1,\"mean\":7.0,\"max\":7,"
+            + "\"percentiles\":{\"50\":7,\"90\":7,\"99\":7,\"99.9\":7}}}}");
+    }
+
+    @Test
+    public void jsonExportEmpty() {
+        assertThat(new JsonMetricExporter().export(registry))
+            .isEqualTo("{\"counters\":{},\"gauges\":{},\"histograms\":{}}");
+    }
+}
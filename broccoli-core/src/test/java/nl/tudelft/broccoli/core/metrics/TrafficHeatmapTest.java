@@ -0,0 +1,119 @@
+package nl.tudelft.broccoli.core.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.Teleporter;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.track.FilterTrack;
+import nl.tudelft.broccoli.core.track.HorizontalTrack;
+import nl.tudelft.broccoli.core.track.OneWayTrack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+/**
+ * Test class for testing the {@link TrafficHeatmap} and {@link TrafficAtlas} classes.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TrafficHeatmapTest {
+    /**
+     * The grid to record the traffic of.
+     */
+    private Grid grid;
+
+    /**
+     * The heatmap under test.
+     */
+    private TrafficHeatmap heatmap;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        grid = new Grid(mock(GameSession.class), 4, 1);
+        Teleporter first = new Teleporter(new HorizontalTrack());
+        Teleporter second = new Teleporter(new HorizontalTrack());
+        first.setDestination(second);
+        second.setDestination(first);
+
+        grid.place(0, 0, new FilterTrack(new HorizontalTrack(), MarbleType.BLUE));
+        grid.place(1, 0, new OneWayTrack(new HorizontalTrack(), Direction.LEFT));
+        grid.place(2, 0, first);
+        grid.place(3, 0, second);
+
+        heatmap = new TrafficHeatmap(4, 1);
+        heatmap.track(grid);
+    }
+
+    @Test
+    public void acceptedAndFiltered() {
+        grid.get(0, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.BLUE));
+        grid.get(0, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.PINK));
+
+        assertThat(heatmap.getAccepted(0, 0, Direction.LEFT)).isEqualTo(2);
+        assertThat(heatmap.getFiltered(0, 0, Direction.LEFT)).isEqualTo(1);
+        assertThat(heatmap.getBounced(0, 0, Direction.LEFT)).isZero();
+    }
+
+    @Test
+    public void bounced() {
+        grid.get(1, 0).getTileable().accept(Direction.RIGHT, new Marble(MarbleType.BLUE));
+        grid.get(1, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.BLUE));
+
+        assertThat(heatmap.getBounced(1, 0, Direction.RIGHT)).isEqualTo(1);
+        assertThat(heatmap.getBounced(1, 0, Direction.LEFT)).isZero();
+    }
+
+    @Test
+    public void teleported() {
+        grid.get(2, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.GREEN));
+        assertThat(heatmap.getTeleported(2, 0, Direction.LEFT)).isEqualTo(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void trackMismatchedGrid() {
+        new TrafficHeatmap(3, 3).track(grid);
+    }
+
+    @Test
+    public void mergeCountsSessions() {
+        grid.get(2, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.GREEN));
+        TrafficHeatmap total = new TrafficHeatmap(4, 1);
+        total.merge(heatmap);
+        total.merge(heatmap);
+
+        assertThat(total.getSessions()).isEqualTo(2);
+        assertThat(total.getTeleported(2, 0, Direction.LEFT)).isEqualTo(2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mergeMismatched() {
+        new TrafficHeatmap(3, 3).merge(heatmap);
+    }
+
+    @Test
+    public void atlasAggregatesPerLevel() throws IOException {
+        grid.get(0, 0).getTileable().accept(Direction.LEFT, new Marble(MarbleType.PINK));
+        Level level = new EasyLevelOne();
+        TrafficAtlas atlas = new TrafficAtlas();
+        atlas.merge(level, heatmap);
+        atlas.merge(new EasyLevelOne(), heatmap);
+
+        assertThat(atlas.get(level).getSessions()).isEqualTo(2);
+
+        StringBuilder out = new StringBuilder();
+        atlas.export(out);
+        assertThat(out.toString()).isEqualTo(TrafficAtlas.HEADER
+            + "EasyLevelFactory/1,0,0,LEFT,2,0,2,0\n");
+    }
+}
@@ -0,0 +1,146 @@
+package nl.tudelft.broccoli.core.nexus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.random.AliasSampler;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Test class for testing the {@link NexusContext} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class NexusContextTest {
+    /**
+     * Create a context with the given initial sequence and a deterministic random generator.
+     *
+     * @param lookahead The lookahead of the context.
+     * @param initial The initial sequence of marbles.
+     * @return The created context.
+     */
+    private static NexusContext create(int lookahead, MarbleType... initial) {
+        return new NexusContext(new ArrayDeque<>(Arrays.asList(initial)), new Random(1), 0.1,
+            new AliasSampler(1, 1, 1, 1), lookahead);
+    }
+
+    @Test
+    public void generatesWhenEmpty() {
+        NexusContext context = create(4);
+        assertThat(context.peek()).isNotNull();
+        assertThat(context.peek(3)).isNotNull();
+    }
+
+    @Test
+    public void peekInitialSequence() {
+        NexusContext context = create(4, MarbleType.GREEN, MarbleType.PINK);
+        assertThat(context.peek(0)).isEqualTo(MarbleType.GREEN);
+        assertThat(context.peek(1)).isEqualTo(MarbleType.PINK);
+    }
+
+    @Test
+    public void peekMatchesPoll() {
+        NexusContext context = create(3, MarbleType.GREEN);
+        MarbleType[] upcoming = new MarbleType[20];
+        for (int i = 0; i < upcoming.length; i++) {
+            upcoming[i] = context.peek(i);
+        }
+
+        for (MarbleType type : upcoming) {
+            assertThat(context.poll()).isEqualTo(type);
+        }
+    }
+
+    @Test
+    public void generatesLazily() {
+        Random random = mock(Random.class);
+        NexusContext context = new NexusContext(new ArrayDeque<>(Arrays.asList(MarbleType.BLUE)),
+            random, 0.5, new AliasSampler(1, 1, 1, 1), 4);
+        when(random.nextDouble()).thenReturn(0.9);
+        when(random.nextInt(anyInt())).thenReturn(3);
+        assertThat(context.poll()).isEqualTo(MarbleType.BLUE);
+        for (int i = 0; i < 4; i++) {
+            assertThat(context.peek(i)).isEqualTo(MarbleType.YELLOW);
+        }
+    }
+
+    @Test
+    public void addAfterNext() {
+        NexusContext context = create(4);
+        MarbleType next = context.peek();
+        final MarbleType after = context.peek(1);
+        context.add(MarbleType.JOKER, MarbleType.JOKER);
+        assertThat(context.poll()).isEqualTo(next);
+        assertThat(context.poll()).isEqualTo(MarbleType.JOKER);
+        assertThat(context.poll()).isEqualTo(MarbleType.JOKER);
+        assertThat(context.poll()).isEqualTo(after);
+    }
+
+    @Test
+    public void addAfterQueued() {
+        NexusContext context = create(2, MarbleType.GREEN, MarbleType.PINK);
+        context.add(MarbleType.JOKER);
+        context.add(MarbleType.YELLOW);
+        assertThat(context.poll()).isEqualTo(MarbleType.GREEN);
+        assertThat(context.poll()).isEqualTo(MarbleType.PINK);
+        assertThat(context.poll()).isEqualTo(MarbleType.JOKER);
+        assertThat(context.poll()).isEqualTo(MarbleType.YELLOW);
+    }
+
+    @Test
+    public void addGrowsBuffer() {
+        NexusContext context = create(2, MarbleType.GREEN);
+        MarbleType[] types = new MarbleType[100];
+        Arrays.fill(types, MarbleType.BLUE);
+        context.add(types);
+        assertThat(context.poll()).isEqualTo(MarbleType.GREEN);
+        for (int i = 0; i < types.length; i++) {
+            assertThat(context.poll()).isEqualTo(MarbleType.BLUE);
+        }
+    }
+
+    @Test
+    public void negativePeek() {
+        assertThatThrownBy(() -> create(2).peek(-1))
+            .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void invalidLookahead() {
+        assertThatThrownBy(() -> create(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void getLookahead() {
+        assertThat(create(5).getLookahead()).isEqualTo(5);
+    }
+
+    @Test
+    public void restore() {
+        NexusContext context = create(2, MarbleType.GREEN);
+        context.restore(new MarbleType[] {MarbleType.PINK, MarbleType.JOKER, MarbleType.BLUE}, 1);
+        assertThat(context.size()).isEqualTo(3);
+        assertThat(context.getQueued()).isEqualTo(1);
+
+        context.add(MarbleType.YELLOW);
+        assertThat(context.poll()).isEqualTo(MarbleType.PINK);
+        assertThat(context.poll()).isEqualTo(MarbleType.YELLOW);
+        assertThat(context.poll()).isEqualTo(MarbleType.JOKER);
+    }
+
+    @Test
+    public void restoreEmpty() {
+        NexusContext context = create(2, MarbleType.GREEN);
+        context.restore(new MarbleType[0], 0);
+        assertThat(context.size()).isEqualTo(2);
+        assertThat(context.getQueued()).isZero();
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 
 import nl.tudelft.broccoli.core.MarbleType;
 import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.random.AliasSampler;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -153,6 +154,24 @@ public class SpawningNexusTest {
     /**
      * Test if the class correctly returns the direction at which the balls are spawned.
      */
+    @Test
+    public void spawnWeighted() {
+        initial.add(MarbleType.BLUE);
+        context = new NexusContext(initial, random, 0.0, new AliasSampler(0, 0, 0, 1));
+        nexus = new SpawningNexus(context, direction);
+        when(random.nextInt(anyInt())).thenReturn(1);
+        when(random.nextDouble()).thenReturn(0.5);
+        context.poll();
+        context.poll();
+        assertThat(nexus.spawn().getType()).isEqualTo(MarbleType.YELLOW);
+    }
+
+    @Test
+    public void samplerMismatch() {
+        assertThatThrownBy(() -> new NexusContext(initial, random, 0.0, new AliasSampler(1, 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void getDirection() {
         assertThat(nexus.getDirection()).isEqualTo(direction);
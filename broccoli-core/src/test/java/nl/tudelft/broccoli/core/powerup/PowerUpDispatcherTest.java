@@ -0,0 +1,144 @@
+package nl.tudelft.broccoli.core.powerup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.level.GameClock;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.track.HorizontalTrack;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Test class for testing the {@link PowerUpDispatcher} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class PowerUpDispatcherTest {
+    /**
+     * The clock to schedule on.
+     */
+    private GameClock clock;
+
+    /**
+     * The receptor on the grid.
+     */
+    private Receptor receptor;
+
+    /**
+     * The grid to dispatch on.
+     */
+    private Grid grid;
+
+    /**
+     * The random instance to use.
+     */
+    private Random random;
+
+    /**
+     * The power-up factory to use.
+     */
+    private PowerUpFactory factory;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        clock = new GameClock();
+        grid = new Grid(mock(GameSession.class), 2, 1);
+        receptor = new Receptor();
+        grid.place(0, 0, new HorizontalTrack());
+        grid.place(1, 0, receptor);
+
+        random = mock(Random.class);
+        when(random.nextGaussian()).thenReturn(0.0);
+        factory = mock(PowerUpFactory.class);
+        when(factory.create()).thenAnswer(invocation -> mock(PowerUp.class));
+    }
+
+    @Test
+    public void assignsAfterInterval() {
+        new PowerUpDispatcher(random, factory, 30, 10, 20).start(clock, grid);
+        clock.tick(29);
+        assertThat(receptor.getPowerUp()).isNull();
+        clock.tick(1);
+        assertThat(receptor.getPowerUp()).isNotNull();
+    }
+
+    @Test
+    public void expiresAfterDuration() {
+        new PowerUpDispatcher(random, factory, 30, 10, 20).start(clock, grid);
+        clock.tick(30);
+        clock.tick(19);
+        assertThat(receptor.getPowerUp()).isNotNull();
+        clock.tick(1);
+        assertThat(receptor.getPowerUp()).isNull();
+    }
+
+    @Test
+    public void replacedPowerUpNotExpired() {
+        new PowerUpDispatcher(random, factory, 30, 10, 20).start(clock, grid);
+        clock.tick(30);
+        PowerUp other = mock(PowerUp.class);
+        receptor.setPowerUp(other);
+        clock.tick(20);
+        assertThat(receptor.getPowerUp()).isEqualTo(other);
+    }
+
+    @Test
+    public void reassignedPowerUpNotExpiredEarly() {
+        new PowerUpDispatcher(random, factory, 10, 0, 15).start(clock, grid);
+        clock.tick(20);
+        PowerUp second = receptor.getPowerUp();
+        clock.tick(5);
+        assertThat(receptor.getPowerUp()).isEqualTo(second);
+    }
+
+    @Test
+    public void negativeIntervalClamped() {
+        when(random.nextGaussian()).thenReturn(-10.0);
+        new PowerUpDispatcher(random, factory, 30, 10, 20).start(clock, grid);
+        clock.tick(0.5);
+        assertThat(receptor.getPowerUp()).isNull();
+        clock.tick(0.5);
+        assertThat(receptor.getPowerUp()).isNotNull();
+    }
+
+    @Test
+    public void noReceptors() {
+        Grid empty = new Grid(mock(GameSession.class), 1, 1);
+        empty.place(0, 0, new HorizontalTrack());
+        new PowerUpDispatcher(random, factory, 30, 10, 20).start(clock, empty);
+        assertThat(clock.size()).isZero();
+    }
+
+    @Test
+    public void assignForRemainingTime() {
+        PowerUpDispatcher dispatcher = new PowerUpDispatcher(random, factory, 30, 10, 20);
+        dispatcher.start(clock, grid);
+        PowerUp powerUp = mock(PowerUp.class);
+        dispatcher.assign(clock, receptor, powerUp, 5);
+
+        clock.tick(2);
+        assertThat(receptor.getPowerUp()).isSameAs(powerUp);
+        assertThat(dispatcher.getRemaining(clock, receptor)).isEqualTo(3);
+        clock.tick(3);
+        assertThat(receptor.getPowerUp()).isNull();
+        assertThat(dispatcher.getRemaining(clock, receptor)).isZero();
+    }
+
+    @Test
+    public void assignUnmanagedReceptor() {
+        PowerUpDispatcher dispatcher = new PowerUpDispatcher(random, factory, 30, 10, 20);
+        dispatcher.start(clock, grid);
+        assertThatThrownBy(() -> dispatcher.assign(clock, new Receptor(), mock(PowerUp.class), 5))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
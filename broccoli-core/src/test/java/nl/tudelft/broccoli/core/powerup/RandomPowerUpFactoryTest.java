@@ -1,6 +1,7 @@
 package nl.tudelft.broccoli.core.powerup;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -8,6 +9,7 @@ import nl.tudelft.broccoli.core.powerup.bonus.BonusPowerUp;
 import nl.tudelft.broccoli.core.powerup.bonus.BonusPowerUpFactory;
 import nl.tudelft.broccoli.core.powerup.joker.JokerPowerUp;
 import nl.tudelft.broccoli.core.powerup.joker.JokerPowerUpFactory;
+import nl.tudelft.broccoli.core.random.AliasSampler;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -60,4 +62,19 @@ public class RandomPowerUpFactoryTest {
         assertThat(factory.create()).isInstanceOf(JokerPowerUp.class);
     }
 
+    @Test
+    public void createWeighted() {
+        PowerUpFactory[] factories = {new BonusPowerUpFactory(), new JokerPowerUpFactory()};
+        PowerUpFactory factory = new RandomPowerUpFactory(random, factories,
+            new AliasSampler(0, 1));
+        when(random.nextDouble()).thenReturn(0.1);
+        assertThat(factory.create()).isInstanceOf(JokerPowerUp.class);
+    }
+
+    @Test
+    public void samplerMismatch() {
+        PowerUpFactory[] factories = {new BonusPowerUpFactory()};
+        assertThatThrownBy(() -> new RandomPowerUpFactory(random, factories,
+            new AliasSampler(1, 1))).isInstanceOf(IllegalArgumentException.class);
+    }
 }
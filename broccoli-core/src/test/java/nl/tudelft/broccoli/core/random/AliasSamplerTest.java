@@ -0,0 +1,98 @@
+package nl.tudelft.broccoli.core.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Test class for testing the {@link AliasSampler} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class AliasSamplerTest {
+    @Test
+    public void size() {
+        assertThat(new AliasSampler(1, 2, 3).size()).isEqualTo(3);
+    }
+
+    @Test
+    public void singleOutcome() {
+        AliasSampler sampler = new AliasSampler(5);
+        assertThat(sampler.sample(new Random())).isZero();
+        assertThat(sampler.sample(0.99)).isZero();
+    }
+
+    @Test
+    public void zeroWeightNeverSampled() {
+        AliasSampler sampler = new AliasSampler(1, 0, 1);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(sampler.sample(i / 1000.0)).isNotEqualTo(1);
+        }
+    }
+
+    @Test
+    public void uniformSingleDraw() {
+        AliasSampler sampler = new AliasSampler(0.6, 0.4);
+        assertThat(sampler.sample(0.4)).isEqualTo(0);
+        assertThat(sampler.sample(0.7)).isEqualTo(1);
+        assertThat(sampler.sample(0.95)).isEqualTo(0);
+    }
+
+    @Test
+    public void distribution() {
+        double[] weights = {1, 2, 3, 4};
+        AliasSampler sampler = new AliasSampler(weights);
+        Random random = new Random(42);
+        int[] counts = new int[weights.length];
+        int samples = 200000;
+        for (int i = 0; i < samples; i++) {
+            counts[sampler.sample(random)]++;
+        }
+
+        for (int i = 0; i < weights.length; i++) {
+            assertThat((double) counts[i] / samples).isCloseTo(weights[i] / 10, within(0.01));
+        }
+    }
+
+    @Test
+    public void distributionSingleDraw() {
+        double[] weights = {3, 1};
+        AliasSampler sampler = new AliasSampler(weights);
+        int samples = 100000;
+        int first = 0;
+        for (int i = 0; i < samples; i++) {
+            if (sampler.sample((double) i / samples) == 0) {
+                first++;
+            }
+        }
+
+        assertThat((double) first / samples).isCloseTo(0.75, within(0.001));
+    }
+
+    @Test
+    public void noWeights() {
+        assertThatThrownBy(AliasSampler::new).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void negativeWeight() {
+        assertThatThrownBy(() -> new AliasSampler(1, -1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void infiniteWeight() {
+        assertThatThrownBy(() -> new AliasSampler(1, Double.POSITIVE_INFINITY))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void zeroSum() {
+        assertThatThrownBy(() -> new AliasSampler(0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,284 @@
+package nl.tudelft.broccoli.core.save;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.TimerTile;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelTwo;
+import nl.tudelft.broccoli.core.powerup.joker.JokerPowerUp;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Test suite for the {@link SaveGame} and {@link SaveGameStore} classes.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class SaveGameTest {
+    /**
+     * A flag to indicate the {@link Initialized} class has been initialized.
+     */
+    private static boolean initialized;
+
+    /**
+     * The configuration to create the levels with.
+     */
+    private Configuration config;
+
+    /**
+     * The game session to save.
+     */
+    private GameSession session;
+
+    /**
+     * The receptors of the session.
+     */
+    private Receptor[] receptors;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        session = new EasyLevelOne().create(config);
+        session.start();
+        receptors = Simulation.receptors(session.getGrid());
+
+        // Mark the first receptor and leave marbles behind in the others
+        for (Direction direction : Direction.values()) {
+            receptors[0].accept(direction, new Marble(MarbleType.BLUE));
+        }
+        receptors[0].accept(Direction.TOP, new Marble(MarbleType.PINK));
+        receptors[1].rotate(3);
+        receptors[1].accept(Direction.LEFT, new Marble(MarbleType.JOKER));
+        receptors[2].accept(Direction.BOTTOM, new Marble(MarbleType.GREEN));
+        session.getPowerUpDispatcher().assign(session.getClock(), receptors[3],
+            new JokerPowerUp(), 7);
+        session.getNexusContext().add(MarbleType.YELLOW);
+        session.getClock().tick(5);
+    }
+
+    /**
+     * Write the given save game and read it back.
+     *
+     * @param game The save game to write.
+     * @return The save game that has been read.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static SaveGame roundTrip(SaveGame game) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        game.write(new DataOutputStream(bytes));
+        return SaveGame.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    /**
+     * Return the remaining time of the timer of the given session.
+     *
+     * @param session The session to get the timer of.
+     * @return The remaining time of the timer.
+     */
+    private static double remaining(GameSession session) {
+        return ((TimerTile) session.getGrid().get(5, 3).getTileable()).getRemainingTime();
+    }
+
+    @Test
+    public void restoresState() throws IOException {
+        SaveGame game = roundTrip(SaveGame.capture(session));
+        GameSession restored = game.restore(new EasyLevelOne(), config);
+        Receptor[] found = Simulation.receptors(restored.getGrid());
+
+        assertThat(restored.getProgress().getScore()).isEqualTo(100);
+        assertThat(found[0].isMarked()).isTrue();
+        assertThat(found[0].getSlot(Direction.TOP).getMarble().getType())
+            .isEqualTo(MarbleType.PINK);
+        assertThat(found[1].getRotation()).isEqualTo(3);
+        assertThat(found[1].getSlot(Direction.LEFT).getMarble().getType())
+            .isEqualTo(MarbleType.JOKER);
+        assertThat(found[1].getSlot(Direction.TOP).isOccupied()).isFalse();
+        assertThat(found[2].getSlot(Direction.BOTTOM).getMarble().getType())
+            .isEqualTo(MarbleType.GREEN);
+        assertThat(found[2].isMarked()).isFalse();
+    }
+
+    @Test
+    public void restoresProgress() throws IOException {
+        GameSession restored = roundTrip(SaveGame.capture(session))
+            .restore(new EasyLevelOne(), config);
+        Receptor[] found = Simulation.receptors(restored.getGrid());
+
+        for (int i = 1; i < found.length; i++) {
+            for (Direction direction : Direction.values()) {
+                if (!found[i].getSlot(direction).isOccupied()) {
+                    found[i].accept(direction, new Marble(MarbleType.JOKER));
+                }
+            }
+        }
+        assertThat(restored.getProgress().isWon()).isTrue();
+    }
+
+    @Test
+    public void restoresNexus() throws IOException {
+        int upcoming = session.getNexusContext().size();
+        GameSession restored = roundTrip(SaveGame.capture(session))
+            .restore(new EasyLevelOne(), config);
+
+        assertThat(restored.getNexusContext().getQueued())
+            .isEqualTo(session.getNexusContext().getQueued());
+        for (int i = 0; i < upcoming; i++) {
+            assertThat(restored.getNexusContext().poll())
+                .isEqualTo(session.getNexusContext().poll());
+        }
+    }
+
+    @Test
+    public void restoresTime() throws IOException {
+        GameSession restored = roundTrip(SaveGame.capture(session))
+            .restore(new EasyLevelOne(), config);
+        Receptor[] found = Simulation.receptors(restored.getGrid());
+
+        assertThat(remaining(restored)).isCloseTo(remaining(session), within(1e-3));
+        assertThat(found[3].getPowerUp()).isInstanceOf(JokerPowerUp.class);
+        assertThat(restored.getPowerUpDispatcher().getRemaining(restored.getClock(), found[3]))
+            .isCloseTo(2, within(1e-3));
+
+        restored.getClock().tick(2);
+        assertThat(found[3].getPowerUp()).isNull();
+    }
+
+    @Test
+    public void restoresWithFactory() throws IOException {
+        SaveGame game = roundTrip(SaveGame.capture(session));
+        assertThat(game.getLevel()).isEqualTo(1);
+        assertThat(game.getScore()).isEqualTo(100);
+
+        GameSession restored = game.restore(config);
+        assertThat(restored.getLevel().getIndex()).isEqualTo(1);
+        assertThat(restored.getProgress().getScore()).isEqualTo(100);
+    }
+
+    @Test
+    public void restoreOtherLevel() throws IOException {
+        SaveGame game = roundTrip(SaveGame.capture(session));
+        assertThatThrownBy(() -> game.restore(new EasyLevelTwo(), config))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void readInvalidMagic() {
+        byte[] bytes = {0, 0, 0, 0, 0, 1};
+        assertThatThrownBy(() -> SaveGame.read(
+            new DataInputStream(new ByteArrayInputStream(bytes))))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void readUnsupportedVersion() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SaveGame.MAGIC);
+        out.writeShort(SaveGame.VERSION + 1);
+
+        assertThatThrownBy(() -> SaveGame.read(
+            new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+            .isInstanceOf(IOException.class)
+            .hasMessageContaining("version");
+    }
+
+    /**
+     * Read a saved game that names the given class as its level factory.
+     *
+     * @param factory The name of the class.
+     * @return The saved game that has been read.
+     */
+    private static SaveGame forge(String factory) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SaveGame.MAGIC);
+        out.writeShort(SaveGame.VERSION);
+        out.writeUTF(factory);
+        out.write(new byte[20]);
+
+        return SaveGame.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    @Test
+    public void restoreUnknownFactory() throws IOException {
+        SaveGame game = forge("java.lang.String");
+        assertThatThrownBy(() -> game.restore(config)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void restoreDoesNotInitializeOtherClasses() throws IOException {
+        SaveGame game = forge(Initialized.class.getName());
+        assertThatThrownBy(() -> game.restore(config)).isInstanceOf(IOException.class);
+        assertThat(initialized).isFalse();
+    }
+
+    @Test
+    public void storeSavesAtomically() throws IOException {
+        Path directory = Files.createTempDirectory("broccoli");
+        SaveGameStore store = new SaveGameStore(directory.resolve("game.sav"), Runnable::run);
+        assertThat(store.exists()).isFalse();
+
+        store.save(session).join();
+        session.getProgress().score(100);
+        store.save(session).join();
+
+        assertThat(store.exists()).isTrue();
+        assertThat(store.load().getScore()).isEqualTo(200);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(1);
+        }
+
+        store.delete().join();
+        assertThat(store.exists()).isFalse();
+        Files.delete(directory);
+    }
+
+    @Test
+    public void storeLoadMissing() throws IOException {
+        Path directory = Files.createTempDirectory("broccoli");
+        SaveGameStore store = new SaveGameStore(directory.resolve("game.sav"));
+        assertThat(store.getPath().getFileName().toString()).isEqualTo("game.sav");
+        assertThatThrownBy(store::load).isInstanceOf(IOException.class);
+        Files.delete(directory);
+    }
+
+    /**
+     * A class that is not a level factory, which records whether it has been initialized.
+     */
+    private static final class Initialized {
+        static {
+            initialized = true;
+        }
+    }
+}
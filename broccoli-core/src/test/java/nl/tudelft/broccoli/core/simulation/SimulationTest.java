@@ -0,0 +1,122 @@
+package nl.tudelft.broccoli.core.simulation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.easy.EasyLevelOne;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Test class for testing the {@link Simulation} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class SimulationTest {
+    /**
+     * The session that is simulated.
+     */
+    private GameSession session;
+
+    /**
+     * The simulation under test.
+     */
+    private Simulation simulation;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+
+        session = new EasyLevelOne().create(config);
+        simulation = new Simulation(session);
+    }
+
+    @Test
+    public void receptorsInRowMajorOrder() {
+        assertThat(simulation.getReceptorCount()).isEqualTo(4);
+        assertThat(simulation.getReceptor(0)).isSameAs(session.getGrid().get(0, 0).getTileable());
+        assertThat(simulation.getReceptor(1)).isSameAs(session.getGrid().get(4, 0).getTileable());
+        assertThat(simulation.getReceptor(2)).isSameAs(session.getGrid().get(0, 4).getTileable());
+        assertThat(simulation.getReceptor(3)).isSameAs(session.getGrid().get(4, 4).getTileable());
+    }
+
+    @Test
+    public void spawnsOnStart() {
+        assertThat(session.getNexusContext().isOccupied()).isTrue();
+        assertThat(simulation.getMovingCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void marblesReachReceptors() {
+        for (int i = 0; i < 600; i++) {
+            simulation.step(1.0 / 60);
+        }
+
+        long occupied = Arrays.stream(Direction.values())
+            .filter(d -> simulation.getReceptor(3).getSlot(d).isOccupied())
+            .count()
+            + Arrays.stream(Direction.values())
+            .filter(d -> simulation.getReceptor(2).getSlot(d).isOccupied())
+            .count();
+        assertThat(occupied).isPositive();
+        assertThat(simulation.getTime()).isCloseTo(10.0, offset(1e-6));
+    }
+
+    @Test
+    public void rotateLocksReceptor() {
+        Receptor receptor = simulation.getReceptor(0);
+        assertThat(simulation.rotate(0, 1)).isTrue();
+        assertThat(receptor.getRotation()).isEqualTo(1);
+        assertThat(receptor.isLocked()).isTrue();
+        assertThat(simulation.rotate(0, 1)).isFalse();
+
+        simulation.step(Simulation.ROTATION_TIME);
+        assertThat(receptor.isLocked()).isFalse();
+    }
+
+    @Test
+    public void releaseEmptySlot() {
+        assertThat(simulation.release(0, Direction.RIGHT.ordinal())).isFalse();
+    }
+
+    @Test
+    public void releaseMovesMarble() {
+        Receptor source = simulation.getReceptor(0);
+        final Receptor target = simulation.getReceptor(1);
+        source.accept(Direction.RIGHT, new Marble(MarbleType.BLUE));
+
+        assertThat(simulation.release(0, Direction.RIGHT.ordinal())).isTrue();
+        assertThat(source.getSlot(Direction.RIGHT).isOccupied()).isFalse();
+
+        // Three tracks lie between the receptors
+        simulation.step(3 * Simulation.CROSSING_TIME + 0.01);
+        assertThat(target.getSlot(Direction.LEFT).isOccupied()).isTrue();
+    }
+
+    @Test
+    public void finishesWhenTimerExpires() {
+        assertThat(simulation.isFinished()).isFalse();
+        simulation.step(1000);
+        assertThat(simulation.isFinished()).isTrue();
+    }
+}
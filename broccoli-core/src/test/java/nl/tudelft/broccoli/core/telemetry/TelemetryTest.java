@@ -0,0 +1,180 @@
+package nl.tudelft.broccoli.core.telemetry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.agent.GreedyAgent;
+import nl.tudelft.broccoli.core.agent.Observation;
+import nl.tudelft.broccoli.core.agent.Tournament;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.simulation.Simulation;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Test class for testing the {@link TelemetryRecorder}, {@link TelemetryWriter} and
+ * {@link TelemetryReader} classes.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class TelemetryTest {
+    /**
+     * The folder to write the telemetry files to.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * The level to play.
+     */
+    private Level level;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+        level = Tournament.levels().get(0);
+    }
+
+    /**
+     * Play a game on the level and record it.
+     *
+     * @param seed The seed to record.
+     * @param limit The time limit of the game.
+     * @return The finished recording.
+     */
+    private TelemetryRecorder play(int seed, double limit) {
+        Simulation simulation = new Simulation(level.create(config));
+        TelemetryRecorder recorder = new TelemetryRecorder(simulation, seed);
+        Observation observation = new Observation(simulation.getSession());
+        GreedyAgent agent = new GreedyAgent();
+
+        double decision = 0;
+        while (!simulation.isFinished() && simulation.getTime() < limit) {
+            if (simulation.getTime() >= decision) {
+                observation.update();
+                agent.act(observation, recorder);
+                decision += 0.25;
+            }
+            simulation.step(1.0 / 30);
+        }
+        recorder.finish();
+        return recorder;
+    }
+
+    @Test
+    public void recorderCapturesTimeline() {
+        TelemetryRecorder recorder = play(3, 60);
+
+        assertThat(recorder.isFinished()).isTrue();
+        assertThat(recorder.getSeed()).isEqualTo(3);
+        assertThat(recorder.getDuration()).isBetween(1, 60100);
+        assertThat(recorder.getEventCount()).isGreaterThan(0);
+
+        int last = 0;
+        int score = 0;
+        for (int i = 0; i < recorder.getEventCount(); i++) {
+            assertThat(recorder.getEventTime(i)).isGreaterThanOrEqualTo(last);
+            last = recorder.getEventTime(i);
+
+            byte type = recorder.getEventType(i);
+            if (type == TelemetryRecorder.SCORE) {
+                score = recorder.getEventValue(i);
+            } else {
+                assertThat(recorder.getEventReceptor(i)).isBetween(0, 3);
+            }
+        }
+        assertThat(score).isEqualTo(recorder.getScore());
+    }
+
+    @Test
+    public void rejectsUnfinishedRecording() throws IOException {
+        Simulation simulation = new Simulation(level.create(config));
+        TelemetryRecorder recorder = new TelemetryRecorder(simulation, 0);
+
+        try (TelemetryWriter writer = new TelemetryWriter(folder.newFile().toPath())) {
+            assertThatThrownBy(() -> writer.append(recorder))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void rejectsForeignFile() throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        assertThatThrownBy(() -> new TelemetryReader(path)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void roundTripFromManyThreads() throws IOException {
+        Path path = folder.newFile().toPath();
+        Map<Integer, TelemetryRecorder> recorded = new ConcurrentHashMap<>();
+
+        try (TelemetryWriter writer = new TelemetryWriter(path, 8)) {
+            IntStream.range(0, 40).parallel().forEach(seed -> {
+                TelemetryRecorder recorder = play(seed, 10);
+                recorded.put(seed, recorder);
+                writer.append(recorder);
+            });
+            assertThat(writer.getSessionCount()).isEqualTo(40);
+        }
+
+        int sessions = 0;
+        try (TelemetryReader reader = new TelemetryReader(path)) {
+            TelemetryBlock block;
+            while ((block = reader.next()) != null) {
+                for (int i = 0; i < block.getSessionCount(); i++, sessions++) {
+                    TelemetryRecorder expected = recorded.remove(block.getSeed(i));
+                    assertThat(expected).isNotNull();
+                    assertThat(block.getFactory(i)).isEqualTo("EasyLevelFactory");
+                    assertThat(block.getLevel(i)).isEqualTo(level.getIndex());
+                    assertThat(block.getDuration(i)).isEqualTo(expected.getDuration());
+                    assertThat(block.getScore(i)).isEqualTo(expected.getScore());
+                    assertThat(block.isWon(i)).isEqualTo(expected.isWon());
+                    assertThat(block.getEventCount(i)).isEqualTo(expected.getEventCount());
+
+                    int first = block.getFirstEvent(i);
+                    for (int j = 0; j < expected.getEventCount(); j++) {
+                        assertThat(block.getEventType(first + j))
+                            .isEqualTo(expected.getEventType(j));
+                        assertThat(block.getEventTime(first + j))
+                            .isEqualTo(expected.getEventTime(j));
+                        assertThat(block.getEventReceptor(first + j))
+                            .isEqualTo(expected.getEventReceptor(j));
+                        assertThat(block.getEventValue(first + j))
+                            .isEqualTo(expected.getEventValue(j));
+                    }
+                }
+            }
+        }
+        assertThat(sessions).isEqualTo(40);
+        assertThat(recorded).isEmpty();
+    }
+}
@@ -30,9 +30,11 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import nl.tudelft.broccoli.core.config.*;
 import nl.tudelft.broccoli.libgdx.scene.GameStage;
+import nl.tudelft.broccoli.libgdx.scene.util.PerformanceMonitor;
 
 /**
  * A {@link Game} implementation which provides a 2d game view over the game logic defined in
@@ -59,6 +61,24 @@ public class Broccoli extends Game {
     public static final Property<String> WINDOW_TITLE =
         new StringProperty("window.title", "Broccoli");
 
+    /**
+     * The length of a single simulation step in seconds.
+     */
+    public static final Property<Double> LOOP_STEP =
+        new BoundedProperty<>(new DoubleProperty("loop.step", 1.0 / 60.0), 0.001, 1.0);
+
+    /**
+     * The maximum amount of simulation steps to catch up with in a single frame.
+     */
+    public static final Property<Integer> LOOP_CATCHUP =
+        new BoundedProperty<>(new IntegerProperty("loop.catchup", 5), 1, Integer.MAX_VALUE);
+
+    /**
+     * The time multiplier of the simulation, where zero means the simulation runs unlimited.
+     */
+    public static final Property<Double> LOOP_SPEED =
+        new BoundedProperty<>(new DoubleProperty("loop.speed", 1.0), 0.0, Double.MAX_VALUE);
+
     /**
      * The game {@link Configuration} to use.
      */
@@ -67,7 +87,12 @@ public class Broccoli extends Game {
     /**
      * A {@link Stage} for the scene we want to render.
      */
-    private Stage stage;
+    private GameStage stage;
+
+    /**
+     * The fixed timestep with which the stage is simulated.
+     */
+    private FixedTimestep timestep;
 
     /**
      * Construct a {@link Broccoli} instance.
@@ -84,6 +109,11 @@ public class Broccoli extends Game {
     @Override
     public void create() {
         stage = new GameStage(new ScreenViewport(), config);
+        timestep = new FixedTimestep(
+            config.get(LOOP_STEP).floatValue(),
+            config.get(LOOP_CATCHUP),
+            config.get(LOOP_SPEED).floatValue()
+        );
         Gdx.input.setInputProcessor(stage);
     }
 
@@ -105,8 +135,40 @@ public class Broccoli extends Game {
     public void render() {
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        stage.act(Gdx.graphics.getDeltaTime());
+        float step = timestep.getStep();
+        int steps = timestep.advance(Gdx.graphics.getDeltaTime());
+        PerformanceMonitor monitor = stage.getMonitor();
+
+        monitor.beginAct();
+
+        if (timestep.isUnlimited()) {
+            // Simulate as many steps as fit in the time budget of a single step, so the game
+            // still renders at a steady rate.
+            long deadline = TimeUtils.nanoTime() + (long) (step * 1e9);
+            do {
+                stage.act(step);
+            } while (TimeUtils.nanoTime() < deadline);
+        } else {
+            for (int i = 0; i < steps; i++) {
+                stage.act(step);
+            }
+        }
+        monitor.endAct();
+
+        stage.setInterpolation(timestep.getAlpha());
+        monitor.beginDraw();
         stage.draw();
+        monitor.endDraw();
+    }
+
+    /**
+     * Return the {@link FixedTimestep} with which the game is simulated, for instance to change
+     * the time multiplier during replays.
+     *
+     * @return The fixed timestep of the game.
+     */
+    public FixedTimestep getTimestep() {
+        return timestep;
     }
 
     /**
@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx;
+
+/**
+ * A fixed-timestep accumulator which converts the variable time between two frames into a whole
+ * number of simulation steps of constant length.
+ *
+ * <p>Frame time that does not fill a complete step is carried over to the next frame and exposed
+ * as interpolation factor via {@link #getAlpha()}, so renderers can blend between the last two
+ * simulated states. In order to prevent a slow frame from causing an ever growing backlog, the
+ * amount of steps that is simulated in a single frame is bounded.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class FixedTimestep {
+    /**
+     * The length of a single simulation step in seconds.
+     */
+    private final float step;
+
+    /**
+     * The maximum amount of steps to simulate in a single frame.
+     */
+    private final int maxSteps;
+
+    /**
+     * The time multiplier, where a non-positive value means the simulation runs unlimited.
+     */
+    private float speed;
+
+    /**
+     * The simulation time that has not been consumed by a step yet.
+     */
+    private float accumulator;
+
+    /**
+     * Construct a {@link FixedTimestep} instance.
+     *
+     * @param step The length of a single simulation step in seconds.
+     * @param maxSteps The maximum amount of steps to catch up with in a single frame.
+     * @param speed The time multiplier, where a non-positive value means unlimited.
+     * @throws IllegalArgumentException if the step length or the maximum amount of steps is not
+     *                                  positive.
+     */
+    public FixedTimestep(float step, int maxSteps, float speed) {
+        if (step <= 0 || maxSteps <= 0) {
+            throw new IllegalArgumentException("The step length and step bound must be positive");
+        }
+
+        this.step = step;
+        this.maxSteps = maxSteps;
+        this.speed = speed;
+    }
+
+    /**
+     * Advance the accumulator by the given frame time and return the amount of steps that should
+     * be simulated for this frame.
+     *
+     * <p>The bound on the amount of steps scales with the time multiplier, so a simulation that
+     * runs at eight times the normal speed may simulate eight times as many steps per frame. In
+     * case the simulation runs unlimited, this method returns a single step, since the wall time
+     * of a frame does not determine the amount of steps anymore.</p>
+     *
+     * @param delta The real time that has passed since the last frame in seconds.
+     * @return The amount of steps to simulate for this frame.
+     */
+    public int advance(float delta) {
+        if (isUnlimited()) {
+            accumulator = 0.f;
+            return 1;
+        }
+
+        // Drop the backlog that cannot be caught up with in a single frame, so a long frame does
+        // not cause the frames after it to be slow as well.
+        float bound = maxSteps * step * Math.max(speed, 1.f);
+        accumulator = Math.min(accumulator + delta * speed, bound);
+
+        int steps = (int) (accumulator / step);
+        accumulator -= steps * step;
+        return steps;
+    }
+
+    /**
+     * Return the interpolation factor between the previous and the current simulation step,
+     * which is the fraction of a step that remains in the accumulator.
+     *
+     * @return A value in <code>[0, 1)</code> to interpolate the rendered state with.
+     */
+    public float getAlpha() {
+        return Math.min(accumulator / step, 1.f);
+    }
+
+    /**
+     * Return the length of a single simulation step in seconds.
+     *
+     * @return The step length in seconds.
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * Return the maximum amount of steps that is simulated in a single frame at normal speed.
+     *
+     * @return The maximum amount of steps per frame.
+     */
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Return the time multiplier of the simulation.
+     *
+     * @return The time multiplier, where a non-positive value means unlimited.
+     */
+    public float getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Set the time multiplier of the simulation, for instance to fast-forward replays.
+     *
+     * @param speed The time multiplier, where a non-positive value means unlimited.
+     */
+    public void setSpeed(float speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Determine whether the simulation is not bound to the wall time.
+     *
+     * @return <code>true</code> if the simulation runs as fast as possible, <code>false</code>
+     *         otherwise.
+     */
+    public boolean isUnlimited() {
+        return speed <= 0;
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.IntegerProperty;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Direction;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.grid.Tileable;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.track.Track;
+import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.GameStage;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleActor;
+import nl.tudelft.broccoli.libgdx.scene.ui.screen.GameScreen;
+import nl.tudelft.broccoli.libgdx.scene.util.PerformanceMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@link RenderBenchmark} renders levels on a {@link GameStage} for a fixed amount of frames
+ * and measures the {@link RenderFootprint} of the scene graph, which is checked against the
+ * configured budgets.
+ *
+ * <p>The benchmark does not depend on a particular backend, so it runs on machines without a
+ * GPU when libgdx is started with its headless backend and {@link HeadlessGl}. Waves of marbles
+ * are injected into every track of the grid during the measurement, of which every fifth marble
+ * is a joker, in order to put the actors of the grid under load.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class RenderBenchmark {
+    /**
+     * The maximum mean time in microseconds a frame may take, where zero disables the budget.
+     */
+    public static final Property<Integer> FRAME_BUDGET =
+        new IntegerProperty("benchmark.frame.time", 0);
+
+    /**
+     * The maximum amount of bytes a frame may allocate on average, where zero disables the
+     * budget.
+     */
+    public static final Property<Integer> FRAME_ALLOCATION_BUDGET =
+        new IntegerProperty("benchmark.frame.allocation", 4096);
+
+    /**
+     * The size of the viewport in pixels.
+     */
+    private static final int VIEWPORT = 1280;
+
+    /**
+     * The amount of frames that are rendered before the measurement starts.
+     */
+    private static final int WARMUP = 120;
+
+    /**
+     * The amount of waves of marbles that are injected into the grid.
+     */
+    private static final int WAVES = 3;
+
+    /**
+     * The ratio of injected marbles that are jokers.
+     */
+    private static final int JOKERS = 5;
+
+    /**
+     * The maximum amount of nanoseconds to wait for the assets to load.
+     */
+    private static final long LOAD_TIMEOUT = 60_000_000_000L;
+
+    /**
+     * The amount of nanoseconds in a microsecond.
+     */
+    private static final double MICROS = 1e3;
+
+    /**
+     * The colors of the regular marbles.
+     */
+    private static final MarbleType[] COLORS = {
+        MarbleType.PINK, MarbleType.GREEN, MarbleType.BLUE, MarbleType.YELLOW
+    };
+
+    /**
+     * The configuration to create the stage and the sessions with.
+     */
+    private final Configuration config;
+
+    /**
+     * The amount of frames to measure per level.
+     */
+    private final int frames;
+
+    /**
+     * The length of a simulation step in seconds.
+     */
+    private final float step;
+
+    /**
+     * The amount of marbles that have been injected.
+     */
+    private int injected;
+
+    /**
+     * A flag to indicate the rendering code has been warmed up.
+     */
+    private boolean warm;
+
+    /**
+     * Construct a {@link RenderBenchmark} instance.
+     *
+     * @param config The configuration to create the stage with and to read the budgets from.
+     * @param frames The amount of frames to measure per level.
+     * @param step The length of a simulation step in seconds.
+     */
+    public RenderBenchmark(Configuration config, int frames, float step) {
+        if (frames < WAVES || !(step > 0)) {
+            throw new IllegalArgumentException("The frames and the step must be positive");
+        }
+
+        this.config = config;
+        this.frames = frames;
+        this.step = step;
+    }
+
+    /**
+     * Construct a {@link RenderBenchmark} instance that measures ten seconds per level.
+     *
+     * @param config The configuration to create the stage with and to read the budgets from.
+     */
+    public RenderBenchmark(Configuration config) {
+        this(config, 600, 1.f / 60);
+    }
+
+    /**
+     * Measure the footprint of rendering a session of the given level. The first measurement
+     * renders the level once beforehand, so the rendering code has been compiled and the
+     * one-time allocations of loading classes are not measured.
+     *
+     * @param level The level to measure.
+     * @return The footprint of the rendered frames.
+     * @throws IllegalStateException if the assets of the stage could not be loaded.
+     */
+    public RenderFootprint measure(Level level) {
+        if (!warm) {
+            render(level);
+            warm = true;
+        }
+        return render(level);
+    }
+
+    /**
+     * Measure the footprints of rendering sessions of the given levels.
+     *
+     * @param levels The levels to measure.
+     * @return The footprints in order of the levels.
+     */
+    public List<RenderFootprint> measure(List<Level> levels) {
+        List<RenderFootprint> footprints = new ArrayList<>(levels.size());
+        for (Level level : levels) {
+            footprints.add(measure(level));
+        }
+        return footprints;
+    }
+
+    /**
+     * Render a session of the given level and measure its footprint.
+     *
+     * @param level The level to render.
+     * @return The footprint of the rendered frames.
+     * @throws IllegalStateException if the assets of the stage could not be loaded.
+     */
+    private RenderFootprint render(Level level) {
+        GameStage stage = new GameStage(new ScreenViewport(), config);
+        try {
+            stage.getViewport().update(VIEWPORT, VIEWPORT, true);
+            ActorContext context = load(stage);
+            GameSession session = level.create(config);
+            stage.replace(new GameScreen(context, session));
+
+            PerformanceMonitor monitor = stage.getMonitor();
+            for (int i = 0; i < WARMUP; i++) {
+                frame(stage, monitor);
+            }
+
+            monitor.setEnabled(true);
+            final int interval = frames / WAVES;
+            final long before = monitor.getAllocatedBytes();
+            int actors = 0;
+            int marbles = 0;
+            for (int i = 0; i < frames; i++) {
+                if (i % interval == 0 && i / interval < WAVES) {
+                    inject(context, session.getGrid());
+                }
+
+                frame(stage, monitor);
+                actors = Math.max(actors, (int) monitor.getRegistry().getGauges()
+                    .get("scene.actors").getValue());
+                marbles = Math.max(marbles, countMarbles(stage.getRoot()));
+            }
+
+            long after = monitor.getAllocatedBytes();
+            monitor.setEnabled(false);
+            return new RenderFootprint(level, frames, monitor.getRegistry(), actors, marbles,
+                before < 0 ? -1 : after - before);
+        } finally {
+            stage.dispose();
+        }
+    }
+
+    /**
+     * Return the violations of the configured budgets by the given footprint.
+     *
+     * @param footprint The footprint to check.
+     * @return A list of human-readable violations, which is empty if the budgets are met.
+     */
+    public List<String> violations(RenderFootprint footprint) {
+        List<String> violations = new ArrayList<>();
+        String name = footprint.getLevel().getFactory().getClass().getSimpleName() + " level "
+            + footprint.getLevel().getIndex();
+
+        int time = config.get(FRAME_BUDGET);
+        if (time > 0 && footprint.getFrameTime() / MICROS > time) {
+            violations.add(String.format(Locale.ROOT,
+                "%s takes %.0f microseconds per frame (budget %d)", name,
+                footprint.getFrameTime() / MICROS, time));
+        }
+
+        int allocation = config.get(FRAME_ALLOCATION_BUDGET);
+        if (allocation > 0 && footprint.getAllocationRate() > allocation) {
+            violations.add(String.format(Locale.ROOT,
+                "%s allocates %.0f bytes per frame (budget %d)", name,
+                footprint.getAllocationRate(), allocation));
+        }
+        return violations;
+    }
+
+    /**
+     * Measure the given levels and verify their footprints meet the configured budgets.
+     *
+     * @param levels The levels to measure.
+     * @return The footprints in order of the levels.
+     * @throws IllegalStateException if a footprint exceeds a budget.
+     */
+    public List<RenderFootprint> enforce(List<Level> levels) {
+        List<RenderFootprint> footprints = measure(levels);
+        List<String> violations = new ArrayList<>();
+        for (RenderFootprint footprint : footprints) {
+            violations.addAll(violations(footprint));
+        }
+
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Render budget exceeded: "
+                + String.join("; ", violations));
+        }
+        return footprints;
+    }
+
+    /**
+     * Simulate the stage until its assets have been loaded.
+     *
+     * @param stage The stage to load.
+     * @return The actor context of the stage.
+     * @throws IllegalStateException if the assets could not be loaded in time.
+     */
+    private ActorContext load(GameStage stage) {
+        long deadline = TimeUtils.nanoTime() + LOAD_TIMEOUT;
+        while (stage.getContext() == null) {
+            if (TimeUtils.nanoTime() > deadline) {
+                throw new IllegalStateException("The assets could not be loaded in time");
+            }
+            stage.act(step);
+        }
+        return stage.getContext();
+    }
+
+    /**
+     * Render a single frame of the given stage in the same way as the game does.
+     *
+     * @param stage The stage to render.
+     * @param monitor The monitor which records the frame.
+     */
+    private void frame(GameStage stage, PerformanceMonitor monitor) {
+        monitor.beginAct();
+        stage.act(step);
+        monitor.endAct();
+
+        monitor.beginDraw();
+        stage.draw();
+        monitor.endDraw();
+    }
+
+    /**
+     * Inject a marble into every track of the given grid.
+     *
+     * @param context The actor context of the grid.
+     * @param grid The grid to inject the marbles into.
+     */
+    private void inject(ActorContext context, Grid grid) {
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                Tileable tileable = grid.get(x, y).getTileable();
+                if (!(tileable instanceof Track)) {
+                    continue;
+                }
+
+                Marble marble = new Marble(injected % JOKERS == 0 ? MarbleType.JOKER
+                    : COLORS[injected % COLORS.length]);
+                Direction direction = tileable.accepts(Direction.LEFT, marble)
+                    ? Direction.LEFT : Direction.TOP;
+                if (tileable.accepts(direction, marble)) {
+                    MarbleActor.get(marble, context);
+                    tileable.accept(direction, marble);
+                    injected++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Count the marbles in the tree rooted at the given actor.
+     *
+     * @param actor The root of the tree to count.
+     * @return The amount of marbles in the tree.
+     */
+    private static int countMarbles(Actor actor) {
+        if (actor instanceof MarbleActor) {
+            return 1;
+        } else if (!(actor instanceof Group)) {
+            return 0;
+        }
+
+        int count = 0;
+        SnapshotArray<Actor> children = ((Group) actor).getChildren();
+        for (int i = 0; i < children.size; i++) {
+            count += countMarbles(children.get(i));
+        }
+        return count;
+    }
+}
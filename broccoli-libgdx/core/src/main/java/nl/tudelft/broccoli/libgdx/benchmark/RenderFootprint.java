@@ -0,0 +1,234 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.metrics.Histogram;
+import nl.tudelft.broccoli.core.metrics.MetricRegistry;
+
+import java.util.Locale;
+
+/**
+ * The cost of rendering a {@link Level} as measured by a {@link RenderBenchmark}.
+ *
+ * <p>The timings are recorded per frame in nanoseconds of CPU time on the render thread, split
+ * into the simulation (<code>stage.act</code>) and the drawing (<code>stage.draw</code>) of the
+ * scene graph.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class RenderFootprint {
+    /**
+     * The amount of nanoseconds in a millisecond.
+     */
+    private static final double MILLIS = 1e6;
+
+    /**
+     * The level that has been measured.
+     */
+    private final Level level;
+
+    /**
+     * The amount of frames that have been measured.
+     */
+    private final int frames;
+
+    /**
+     * The time spent in <code>stage.act</code> per frame in nanoseconds.
+     */
+    private final Histogram act;
+
+    /**
+     * The time spent in <code>stage.draw</code> per frame in nanoseconds.
+     */
+    private final Histogram draw;
+
+    /**
+     * The amount of render calls per frame.
+     */
+    private final Histogram renderCalls;
+
+    /**
+     * The amount of texture switches per frame.
+     */
+    private final Histogram textureSwitches;
+
+    /**
+     * The largest amount of actors on the stage.
+     */
+    private final int actors;
+
+    /**
+     * The largest amount of marbles on the stage.
+     */
+    private final int marbles;
+
+    /**
+     * The amount of bytes allocated during the measured frames.
+     */
+    private final long allocated;
+
+    /**
+     * Construct a {@link RenderFootprint} instance.
+     *
+     * @param level The level that has been measured.
+     * @param frames The amount of frames that have been measured.
+     * @param registry The registry of the performance monitor that recorded the frames.
+     * @param actors The largest amount of actors on the stage.
+     * @param marbles The largest amount of marbles on the stage.
+     * @param allocated The amount of bytes allocated during the measured frames or
+     *                  <code>-1</code> if allocations cannot be measured.
+     */
+    public RenderFootprint(Level level, int frames, MetricRegistry registry, int actors,
+                           int marbles, long allocated) {
+        this.level = level;
+        this.frames = frames;
+        this.act = registry.histogram("frame.act");
+        this.draw = registry.histogram("frame.draw");
+        this.renderCalls = registry.histogram("frame.render.calls");
+        this.textureSwitches = registry.histogram("frame.texture.switches");
+        this.actors = actors;
+        this.marbles = marbles;
+        this.allocated = allocated;
+    }
+
+    /**
+     * Return the level that has been measured.
+     *
+     * @return The level that has been rendered.
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Return the amount of frames that have been measured.
+     *
+     * @return The amount of measured frames.
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Return the time spent in <code>stage.act</code> per frame.
+     *
+     * @return A histogram of the act times in nanoseconds.
+     */
+    public Histogram getAct() {
+        return act;
+    }
+
+    /**
+     * Return the time spent in <code>stage.draw</code> per frame.
+     *
+     * @return A histogram of the draw times in nanoseconds.
+     */
+    public Histogram getDraw() {
+        return draw;
+    }
+
+    /**
+     * Return the amount of render calls of the sprite batch per frame.
+     *
+     * @return A histogram of the render calls per frame.
+     */
+    public Histogram getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Return the amount of texture switches per frame.
+     *
+     * @return A histogram of the texture switches per frame.
+     */
+    public Histogram getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /**
+     * Return the largest amount of actors that were on the stage during the measured frames.
+     *
+     * @return The peak amount of actors.
+     */
+    public int getActors() {
+        return actors;
+    }
+
+    /**
+     * Return the largest amount of marbles that were on the stage during the measured frames.
+     *
+     * @return The peak amount of marbles.
+     */
+    public int getMarbles() {
+        return marbles;
+    }
+
+    /**
+     * Return the mean time spent on a frame.
+     *
+     * @return The mean time of the act and the draw of a frame in nanoseconds.
+     */
+    public double getFrameTime() {
+        return act.getMean() + draw.getMean();
+    }
+
+    /**
+     * Return the amount of bytes allocated during the measured frames.
+     *
+     * @return The allocated bytes or <code>-1</code> if allocations cannot be measured.
+     */
+    public long getAllocated() {
+        return allocated;
+    }
+
+    /**
+     * Return the amount of bytes allocated per frame.
+     *
+     * @return The mean amount of bytes allocated per frame or <code>-1</code> if allocations
+     *         cannot be measured.
+     */
+    public double getAllocationRate() {
+        return allocated < 0 ? -1 : (double) allocated / frames;
+    }
+
+    /**
+     * Return a human-readable summary of this footprint.
+     *
+     * @return A summary of the timings and allocations of the measured frames.
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "%d frames, %d actors, %d marbles: act p50 %.3f p99 %.3f ms, draw p50 %.3f p99 %.3f "
+                + "ms, %d render calls, %d texture switches (p99), %.0f bytes per frame",
+            frames, actors, marbles,
+            act.getValueAtPercentile(50) / MILLIS, act.getValueAtPercentile(99) / MILLIS,
+            draw.getValueAtPercentile(50) / MILLIS, draw.getValueAtPercentile(99) / MILLIS,
+            renderCalls.getValueAtPercentile(99), textureSwitches.getValueAtPercentile(99),
+            getAllocationRate());
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.level.AbstractGameSession;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.Level;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.track.HorizontalTrack;
+import nl.tudelft.broccoli.core.track.VerticalTrack;
+
+/**
+ * A synthetic {@link Level} which fills its grid with a lattice of receptors that are connected
+ * by horizontal and vertical tracks.
+ *
+ * <p>Every other receptor starts out marked. The first receptor is locked, so the level cannot
+ * be won and the game screen stays on the stage however long it is played.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class StressLevel implements Level {
+    /**
+     * The factory that created this level.
+     */
+    private final StressLevelFactory factory;
+
+    /**
+     * The index of this level.
+     */
+    private final int index;
+
+    /**
+     * The width of the grid.
+     */
+    private final int width;
+
+    /**
+     * The height of the grid.
+     */
+    private final int height;
+
+    /**
+     * Construct a {@link StressLevel} instance.
+     *
+     * @param factory The factory that created this level.
+     * @param index The index of this level.
+     * @param width The width of the grid.
+     * @param height The height of the grid.
+     */
+    StressLevel(StressLevelFactory factory, int index, int width, int height) {
+        this.factory = factory;
+        this.index = index;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Create a new {@link GameSession} with this {@link Level}'s configuration.
+     *
+     * @param config The game configuration to use.
+     * @return A {@link GameSession} for this {@link Level}.
+     */
+    @Override
+    public GameSession create(Configuration config) {
+        return new StressGame(config);
+    }
+
+    /**
+     * Return the {@link StressLevelFactory} of this level.
+     *
+     * @return The factory that this level was created by.
+     */
+    @Override
+    public StressLevelFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * Return the index of this level.
+     *
+     * @return The index of this level.
+     */
+    @Override
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * A {@link GameSession} that places the lattice of this level on its grid.
+     */
+    private class StressGame extends AbstractGameSession {
+        /**
+         * Construct a {@link StressGame} instance.
+         *
+         * @param config The game configuration to use.
+         */
+        StressGame(Configuration config) {
+            super(config, width, height);
+
+            Grid grid = getGrid();
+            int receptors = 0;
+            for (int y = 0; y < height - 1; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (x % 2 == 0 && y % 2 == 0) {
+                        Receptor receptor = new Receptor();
+                        receptor.setMarked(receptors % 2 == 1);
+                        if (receptors++ == 0) {
+                            receptor.lock();
+                        }
+                        grid.place(x, y, receptor);
+                    } else if (y % 2 == 0) {
+                        grid.place(x, y, new HorizontalTrack());
+                    } else if (x % 2 == 0) {
+                        grid.place(x, y, new VerticalTrack());
+                    }
+                }
+            }
+
+            initNexus();
+            initInfo();
+        }
+
+        /**
+         * Return the {@link Level} this game represents.
+         *
+         * @return The level of this game.
+         */
+        @Override
+        public Level getLevel() {
+            return StressLevel.this;
+        }
+    }
+}
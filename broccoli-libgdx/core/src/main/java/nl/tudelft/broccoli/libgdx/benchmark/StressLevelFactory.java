@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import nl.tudelft.broccoli.core.level.LevelFactory;
+
+/**
+ * A {@link LevelFactory} that creates synthetic {@link StressLevel}s, which put as many
+ * receptors and tracks as possible on a large grid in order to stress the scene graph.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class StressLevelFactory extends LevelFactory {
+    /**
+     * The width of the grids of the levels.
+     */
+    private final int width;
+
+    /**
+     * The height of the grids of the levels.
+     */
+    private final int height;
+
+    /**
+     * Construct a {@link StressLevelFactory} instance.
+     *
+     * @param width The width of the grids of the levels.
+     * @param height The height of the grids of the levels.
+     * @throws IllegalArgumentException if the grid is smaller than three by four tiles.
+     */
+    public StressLevelFactory(int width, int height) {
+        if (width < 3 || height < 4) {
+            throw new IllegalArgumentException("The grid must be at least three by four tiles");
+        }
+
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Construct a {@link StressLevelFactory} instance that creates levels of sixteen by sixteen
+     * tiles.
+     */
+    public StressLevelFactory() {
+        this(16, 16);
+    }
+
+    /**
+     * Create a {@link StressLevel} for the given index.
+     *
+     * @param level The index of the level to create.
+     * @return The {@link StressLevel} that is created or <code>null</code> if the index is
+     *         invalid.
+     */
+    @Override
+    public StressLevel create(int level) {
+        return level < 1 ? null : new StressLevel(this, level, width, height);
+    }
+}
@@ -25,12 +25,23 @@
 
 package nl.tudelft.broccoli.libgdx.scene;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Disposable;
 import nl.tudelft.broccoli.core.Entity;
 import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.save.SaveGameStore;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleActorPool;
+import nl.tudelft.broccoli.libgdx.scene.util.AudioService;
 
+import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -38,7 +49,7 @@ import java.util.Map;
  *
  * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
  */
-public class ActorContext {
+public class ActorContext implements Disposable {
     /**
      * The game configuration.
      */
@@ -50,9 +61,42 @@ public class ActorContext {
     private final TextureAtlas atlas;
 
     /**
-     * The actor registry which maps entities to their respective actor in the scene.
+     * The manager of the preloaded assets or <code>null</code> if the assets are loaded when they
+     * are first used.
      */
-    private final Map<Entity, Actor> registry = new HashMap<>();
+    private final AssetManager assets;
+
+    /**
+     * The sounds that have been loaded when they were first used, mapped by their file name.
+     */
+    private final Map<String, Sound> sounds = new HashMap<>();
+
+    /**
+     * The actor registry which maps entities to their respective actor in the scene. Entities are
+     * compared by identity, since two distinct entities always have distinct actors.
+     */
+    private final Map<Entity, Actor> registry = new IdentityHashMap<>();
+
+    /**
+     * The largest amount of entities that has been registered at the same time.
+     */
+    private int peak;
+
+    /**
+     * The store of the saved game or <code>null</code> if saving is disabled.
+     */
+    private final SaveGameStore saves;
+
+    /**
+     * The pool of marble actors, which is created when it is first used.
+     */
+    private MarbleActorPool marbles;
+
+    /**
+     * The service through which the sound effects are played, which is created when it is first
+     * used.
+     */
+    private AudioService audio;
 
     /**
      * Construct an {@link ActorContext} instance.
@@ -61,8 +105,34 @@ public class ActorContext {
      * @param atlas The texture atlas to use.
      */
     public ActorContext(Configuration configuration, TextureAtlas atlas) {
+        this(configuration, atlas, null);
+    }
+
+    /**
+     * Construct an {@link ActorContext} instance with the assets that have been loaded by the
+     * given {@link AssetManager}.
+     *
+     * @param configuration The game configuration.
+     * @param assets The manager that has loaded the {@link GameAssets}.
+     */
+    public ActorContext(Configuration configuration, AssetManager assets) {
+        this(configuration, assets.get(GameAssets.ATLAS), assets);
+    }
+
+    /**
+     * Construct an {@link ActorContext} instance.
+     *
+     * @param configuration The game configuration.
+     * @param atlas The texture atlas to use.
+     * @param assets The manager of the preloaded assets or <code>null</code>.
+     */
+    private ActorContext(Configuration configuration, TextureAtlas atlas, AssetManager assets) {
         this.configuration = configuration;
         this.atlas = atlas;
+        this.assets = assets;
+
+        String path = configuration.get(SaveGameStore.PATH);
+        this.saves = path.isEmpty() ? null : new SaveGameStore(Paths.get(path));
     }
 
     /**
@@ -84,6 +154,101 @@ public class ActorContext {
      */
     public void register(Entity entity, Actor actor) {
         registry.put(entity, actor);
+        peak = Math.max(peak, registry.size());
+    }
+
+    /**
+     * Remove the {@link Actor} of the given {@link Entity} from the registry.
+     *
+     * @param entity The entity to unregister.
+     */
+    public void unregister(Entity entity) {
+        registry.remove(entity);
+    }
+
+    /**
+     * Remove all entities from the registry whose actor is the given {@link Actor} or one of its
+     * descendants. This method is used to release the entities of a screen that is torn down.
+     *
+     * @param root The root of the actor tree to release.
+     * @return The amount of entities that have been removed from the registry.
+     */
+    public int release(Actor root) {
+        int released = 0;
+        Iterator<Actor> iterator = registry.values().iterator();
+        while (iterator.hasNext()) {
+            if (root.isAscendantOf(iterator.next())) {
+                iterator.remove();
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Return the amount of entities that are currently registered in this context.
+     *
+     * @return The size of the registry.
+     */
+    public int size() {
+        return registry.size();
+    }
+
+    /**
+     * Return the largest amount of entities that has been registered at the same time in this
+     * context.
+     *
+     * @return The peak size of the registry.
+     */
+    public int getPeakSize() {
+        return peak;
+    }
+
+    /**
+     * Return the pool which recycles the marble actors of this context.
+     *
+     * @return The marble actor pool of this context.
+     */
+    public MarbleActorPool getMarblePool() {
+        if (marbles == null) {
+            marbles = new MarbleActorPool(this);
+        }
+        return marbles;
+    }
+
+    /**
+     * Return the given {@link Sound}, which is either preloaded or loaded when it is first used.
+     *
+     * @param descriptor The descriptor of the sound.
+     * @return The sound of the given descriptor.
+     */
+    public Sound getSound(AssetDescriptor<Sound> descriptor) {
+        if (assets != null && assets.isLoaded(descriptor.fileName, Sound.class)) {
+            return assets.get(descriptor);
+        }
+        return sounds.computeIfAbsent(descriptor.fileName,
+            name -> Gdx.audio.newSound(Gdx.files.classpath(name)));
+    }
+
+    /**
+     * Return the service through which the sound effects of this context are played.
+     *
+     * @return The audio service of this context.
+     */
+    public AudioService getAudio() {
+        if (audio == null) {
+            audio = new AudioService(configuration);
+        }
+        return audio;
+    }
+
+    /**
+     * Return the store in which the game in progress is saved.
+     *
+     * @return The store of the saved game or <code>null</code> if saving is disabled.
+     */
+    public SaveGameStore getSaveGameStore() {
+        return saves;
     }
 
     /**
@@ -103,4 +268,16 @@ public class ActorContext {
     public TextureAtlas getTextureAtlas() {
         return atlas;
     }
+
+    /**
+     * Dispose the sounds that have been loaded by this context. The preloaded assets are owned by
+     * their {@link AssetManager}.
+     */
+    @Override
+    public void dispose() {
+        for (Sound sound : sounds.values()) {
+            sound.dispose();
+        }
+        sounds.clear();
+    }
 }
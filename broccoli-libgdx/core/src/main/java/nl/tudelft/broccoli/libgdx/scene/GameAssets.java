@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.ClasspathFileHandleResolver;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * The assets of the game, which are loaded in the background by an {@link AssetManager} before
+ * the game is shown.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class GameAssets {
+    /**
+     * The texture atlas containing the sprites of the game.
+     */
+    public static final AssetDescriptor<TextureAtlas> ATLAS =
+        new AssetDescriptor<>("atlas/sprites.atlas", TextureAtlas.class);
+
+    /**
+     * The sound of a marble bouncing back.
+     */
+    public static final AssetDescriptor<Sound> BOUNCE =
+        new AssetDescriptor<>("sound/sfx/bounce.wav", Sound.class);
+
+    /**
+     * The sound of a receptor rotating.
+     */
+    public static final AssetDescriptor<Sound> ROTATE =
+        new AssetDescriptor<>("sound/sfx/rotate.wav", Sound.class);
+
+    /**
+     * The sound of a marble docking into a receptor.
+     */
+    public static final AssetDescriptor<Sound> DOCK =
+        new AssetDescriptor<>("sound/sfx/dock.wav", Sound.class);
+
+    /**
+     * The sound of a receptor being marked or assigned a power-up.
+     */
+    public static final AssetDescriptor<Sound> EXPLODE =
+        new AssetDescriptor<>("sound/sfx/explode.wav", Sound.class);
+
+    /**
+     * The sound of a marble that cannot leave a receptor.
+     */
+    public static final AssetDescriptor<Sound> CLANK =
+        new AssetDescriptor<>("sound/sfx/clank.wav", Sound.class);
+
+    /**
+     * The sounds of the game, which are all preloaded.
+     */
+    private static final AssetDescriptor<?>[] SOUNDS = {BOUNCE, ROTATE, DOCK, EXPLODE, CLANK};
+
+    /**
+     * Disallow instantiation of the {@link GameAssets} class.
+     */
+    private GameAssets() {}
+
+    /**
+     * Create an {@link AssetManager} that loads the assets from the classpath and queue all
+     * assets of the game for loading.
+     *
+     * @return The asset manager that loads the assets of the game.
+     */
+    public static AssetManager load() {
+        AssetManager assets = new AssetManager(new ClasspathFileHandleResolver());
+        assets.load(ATLAS);
+
+        for (AssetDescriptor<?> sound : SOUNDS) {
+            assets.load(sound);
+        }
+        return assets;
+    }
+}
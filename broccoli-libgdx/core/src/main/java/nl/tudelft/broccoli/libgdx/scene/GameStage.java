@@ -1,31 +1,87 @@
 package nl.tudelft.broccoli.libgdx.scene;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import nl.tudelft.broccoli.core.config.BooleanProperty;
 import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.config.StringProperty;
+import nl.tudelft.broccoli.libgdx.scene.ui.screen.LoadingScreen;
 import nl.tudelft.broccoli.libgdx.scene.ui.screen.StartScreen;
 import nl.tudelft.broccoli.libgdx.scene.util.MusicActor;
+import nl.tudelft.broccoli.libgdx.scene.util.PerformanceMonitor;
+import nl.tudelft.broccoli.libgdx.scene.util.PerformanceOverlay;
+
+import java.io.IOException;
 
 /**
  * The scene graph of the Broccoli game. This {@link Stage} sets up the root actors of the game,
  * which includes the actor that handles the screens and the actor that handles the music theme
  * of the game.
  *
+ * <p>The stage also owns a {@link PerformanceMonitor}: <code>F3</code> toggles an overlay with
+ * the frame timings and <code>F4</code> appends the recorded metrics as JSON to the file given
+ * by {@link #PERF_PATH}.
+ *
  * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
  */
 public class GameStage extends StackableStage {
     /**
-     * The actor context shared between actors.
+     * A flag to indicate the performance overlay is shown when the game starts.
+     */
+    public static final Property<Boolean> PERF_OVERLAY = new BooleanProperty("perf.overlay", false);
+
+    /**
+     * The file to which the performance metrics are appended as JSON.
      */
-    private final ActorContext context;
+    public static final Property<String> PERF_PATH =
+        new StringProperty("perf.path", "broccoli-perf.json");
+
+    /**
+     * The manager that loads the assets of the game.
+     */
+    private final AssetManager assets;
+
+    /**
+     * The actor context shared between actors or <code>null</code> if the assets are still being
+     * loaded.
+     */
+    private ActorContext context;
 
     /**
      * The actor which manages the music.
      */
     private final MusicActor music;
 
+    /**
+     * The monitor which records the frame timings of this stage.
+     */
+    private final PerformanceMonitor monitor;
+
+    /**
+     * The overlay which shows the metrics of the monitor.
+     */
+    private final PerformanceOverlay overlay;
+
+    /**
+     * The file to which the performance metrics are appended.
+     */
+    private final String perfPath;
+
+    /**
+     * The amount of simulation steps this stage has performed.
+     */
+    private long steps;
+
+    /**
+     * The interpolation factor between the previous and the current simulation step.
+     */
+    private float interpolation;
+
     /**
      * Construct a {@link GameStage} instance.
      *
@@ -34,13 +90,130 @@ public class GameStage extends StackableStage {
      */
     public GameStage(Viewport viewport, Configuration configuration) {
         super(viewport);
-        this.context = new ActorContext(configuration, new TextureAtlas(
-            Gdx.files.classpath("atlas/sprites.atlas")));
+        this.assets = GameAssets.load();
 
         this.music = initMusic();
         this.addActor(music);
 
-        this.getScreenStack().replace(new StartScreen(context));
+        // The assets are loaded in the background while the loading screen is shown
+        this.getScreenStack().replace(new LoadingScreen(assets, () -> {
+            context = new ActorContext(configuration, assets);
+            return new StartScreen(context);
+        }));
+
+        // The overlay is added last, so it is drawn on top of the screens
+        this.monitor = new PerformanceMonitor(this, () -> context);
+        this.overlay = new PerformanceOverlay(monitor);
+        this.perfPath = configuration.get(PERF_PATH);
+        this.addActor(overlay);
+        setOverlayVisible(configuration.get(PERF_OVERLAY));
+    }
+
+    /**
+     * Perform a single simulation step of the given length on this stage.
+     *
+     * @param delta The length of the step in seconds.
+     */
+    @Override
+    public void act(float delta) {
+        steps++;
+        super.act(delta);
+    }
+
+    /**
+     * Handle the keys that control the performance overlay before passing the event to the
+     * actors.
+     *
+     * @param keyCode The code of the pressed key.
+     * @return <code>true</code> if the event was handled, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean keyDown(int keyCode) {
+        switch (keyCode) {
+            case Input.Keys.F3:
+                setOverlayVisible(!overlay.isVisible());
+                return true;
+            case Input.Keys.F4:
+                dumpMetrics();
+                return true;
+            default:
+                return super.keyDown(keyCode);
+        }
+    }
+
+    /**
+     * Show or hide the performance overlay. The monitor only records frames while the overlay is
+     * shown.
+     *
+     * @param visible <code>true</code> to show the overlay, <code>false</code> to hide it.
+     */
+    public void setOverlayVisible(boolean visible) {
+        overlay.setVisible(visible);
+        monitor.setEnabled(visible);
+    }
+
+    /**
+     * Append the metrics recorded by the performance monitor as a single line of JSON to the
+     * file given by {@link #PERF_PATH}. A failure to write the file is logged, so it does not
+     * interrupt the game.
+     */
+    public void dumpMetrics() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            monitor.dump(builder);
+            Gdx.files.local(perfPath).writeString(builder.append('\n').toString(), true);
+            Gdx.app.log("GameStage", "Performance metrics written to " + perfPath);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("GameStage", "Failed to write performance metrics", e);
+        }
+    }
+
+    /**
+     * Return the {@link PerformanceMonitor} which records the frame timings of this stage.
+     *
+     * @return The performance monitor of this stage.
+     */
+    public PerformanceMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Return the {@link ActorContext} shared between the actors of this stage.
+     *
+     * @return The actor context or <code>null</code> if the assets are still being loaded.
+     */
+    public ActorContext getContext() {
+        return context;
+    }
+
+    /**
+     * Return the amount of simulation steps this stage has performed.
+     *
+     * @return The amount of steps performed.
+     */
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Return the interpolation factor between the previous and the current simulation step that
+     * should be used for rendering.
+     *
+     * @return A value in <code>[0, 1)</code> to interpolate the rendered state with.
+     */
+    public float getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Set the interpolation factor between the previous and the current simulation step that
+     * should be used for rendering.
+     *
+     * @param interpolation A value in <code>[0, 1)</code> to interpolate the rendered state
+     *                      with.
+     */
+    public void setInterpolation(float interpolation) {
+        this.interpolation = interpolation;
     }
 
     /**
@@ -50,11 +223,18 @@ public class GameStage extends StackableStage {
     public void dispose() {
         super.dispose();
 
-        // Dispose the texture atlas
-        context.getTextureAtlas().dispose();
+        // Dispose the texture atlas and the sounds
+        if (context != null) {
+            context.dispose();
+        }
+        assets.dispose();
 
         // Dispose the music theme
         music.dispose();
+
+        // Dispose the overlay and stop profiling
+        monitor.setEnabled(false);
+        overlay.dispose();
     }
 
     /**
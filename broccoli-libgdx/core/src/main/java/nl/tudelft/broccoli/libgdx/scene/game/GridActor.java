@@ -26,8 +26,11 @@
 package nl.tudelft.broccoli.libgdx.scene.game;
 
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Disposable;
 import nl.tudelft.broccoli.core.Announcer;
 import nl.tudelft.broccoli.core.Empty;
 import nl.tudelft.broccoli.core.Teleporter;
@@ -46,11 +49,22 @@ import nl.tudelft.broccoli.libgdx.scene.game.receptor.ReceptorActor;
  *
  * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
  */
-public class GridActor extends Stack {
+public class GridActor extends Stack implements Disposable {
     /**
-     * The {@link Table} we use to draw the grid.
+     * The {@link Table} we use to draw the grid, which caches the rendered tiles.
      */
-    private final Table tiles;
+    private final TileLayer tiles;
+
+    /**
+     * The {@link Group} in which the marbles that travel over the tiles are drawn.
+     */
+    private final Group marbles;
+
+    /**
+     * The {@link Table} we use to draw the modifiers of the tileables, which caches the rendered
+     * modifiers.
+     */
+    private final TileLayer modifiers;
 
     /**
      * The {@link Table} we use to draw the tileables.
@@ -67,10 +81,19 @@ public class GridActor extends Stack {
         this.setUserObject(grid);
         context.register(grid, this);
 
-        this.tiles = new Table();
+        this.tiles = new TileLayer();
         this.tiles.setFillParent(true);
         this.add(tiles);
 
+        // The marbles are drawn above the tiles, but beneath the modifiers of the tileables
+        this.marbles = new Group();
+        this.marbles.setTouchable(Touchable.disabled);
+        this.add(marbles);
+
+        this.modifiers = new TileLayer();
+        this.modifiers.setFillParent(true);
+        this.add(modifiers);
+
         this.tileables = new Table();
         this.tileables.setFillParent(true);
         this.add(tileables);
@@ -81,11 +104,23 @@ public class GridActor extends Stack {
                 TileableActor<?> tileableActor = createTileable(tile, context);
                 TileActor tileActor = new TileActor(tile, context);
                 tiles.add(tileActor).fill();
+                if (tileableActor instanceof TransportingActor) {
+                    TransportingActor<?> transportingActor = (TransportingActor<?>) tileableActor;
+                    transportingActor.setMarbleLayer(marbles);
+                    modifiers.add(new ModifierActor(transportingActor))
+                        .width(tileActor.getWidth())
+                        .height(tileActor.getHeight());
+                } else {
+                    modifiers.add()
+                        .width(tileActor.getWidth())
+                        .height(tileActor.getHeight());
+                }
                 tileables.add(tileableActor)
                     .width(tileActor.getWidth())
                     .height(tileActor.getHeight());
             }
             tiles.row();
+            modifiers.row();
             tileables.row();
         }
     }
@@ -120,4 +155,13 @@ public class GridActor extends Stack {
 
         return result;
     }
+
+    /**
+     * Release the cached tile and modifier layers of this grid.
+     */
+    @Override
+    public void dispose() {
+        tiles.dispose();
+        modifiers.dispose();
+    }
 }
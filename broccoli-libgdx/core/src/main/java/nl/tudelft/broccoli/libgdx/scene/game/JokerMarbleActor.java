@@ -25,19 +25,19 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game;
 
-import com.badlogic.gdx.scenes.scene2d.Action;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
-import com.badlogic.gdx.scenes.scene2d.actions.AlphaAction;
 import com.badlogic.gdx.utils.Align;
 import nl.tudelft.broccoli.core.Marble;
 import nl.tudelft.broccoli.core.MarbleType;
 import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 
-
 /**
- * An {@link Actor} that represents an in-game joker marble.
+ * An {@link Actor} that represents an in-game joker marble, which cross-fades between the colors
+ * of the regular marbles.
  *
  * @author Christian Slothouber (f.c.slothouber@student.tudelft.nl)
  */
@@ -47,10 +47,52 @@ public class JokerMarbleActor extends MarbleActor {
      */
     private static final float ANIMATION_DURATION = 0.5f;
 
+    /**
+     * The colors the joker cycles through.
+     */
+    private static final MarbleType[] COLORS = {
+        MarbleType.BLUE, MarbleType.GREEN, MarbleType.PINK, MarbleType.YELLOW
+    };
+
+    /**
+     * The context of the actor.
+     */
+    private final ActorContext context;
+
+    /**
+     * The horizontal animation frames of each color, which are shared with other actors.
+     */
+    private final TextureRegion[][] horizontal = new TextureRegion[COLORS.length][];
+
+    /**
+     * The vertical animation frames of each color, which are shared with other actors.
+     */
+    private final TextureRegion[][] vertical = new TextureRegion[COLORS.length][];
+
     /**
      * The marble of this actor.
      */
-    private final Marble marble;
+    private Marble marble;
+
+    /**
+     * The animation time of the frames, which only advances while the marble is moving.
+     */
+    private float animationTime = 0.f;
+
+    /**
+     * The time of the cross-fade between the colors.
+     */
+    private float fadeTime = 0.f;
+
+    /**
+     * The direction the marble is going.
+     */
+    private Direction direction = Direction.LEFT;
+
+    /**
+     * A flag to indicate the marble is moving.
+     */
+    private boolean moving = true;
 
     /**
      * Construct a {@link JokerMarbleActor} instance.
@@ -59,92 +101,109 @@ public class JokerMarbleActor extends MarbleActor {
      * @param context The context of the actor.
      */
     public JokerMarbleActor(Marble marble, ActorContext context) {
+        this(context);
+        init(marble);
+    }
+
+    /**
+     * Construct a {@link JokerMarbleActor} instance without a marble, which is pooled until it
+     * is initialised.
+     *
+     * @param context The context of the actor.
+     */
+    JokerMarbleActor(ActorContext context) {
+        this.context = context;
+
+        MarbleActorPool pool = context.getMarblePool();
+        for (int i = 0; i < COLORS.length; i++) {
+            horizontal[i] = pool.getHorizontalFrames(COLORS[i]);
+            vertical[i] = pool.getVerticalFrames(COLORS[i]);
+        }
+
+        TextureRegion region = horizontal[0][0];
+        this.setSize(region.getRegionWidth(), region.getRegionHeight());
+        this.setOrigin(Align.center);
+    }
+
+    /**
+     * Initialise this actor for the given marble and register it in the context.
+     *
+     * @param marble The marble to represent.
+     */
+    void init(Marble marble) {
         this.marble = marble;
         context.register(marble, this);
-
-        MarbleActor blue = new RegularMarbleActor(new Marble(MarbleType.BLUE), context);
-        this.addActor(blue);
-
-        MarbleActor green = new RegularMarbleActor(new Marble(MarbleType.GREEN), context);
-        green.addAction(Actions.alpha(0));
-        this.addActor(green);
-
-        MarbleActor pink = new RegularMarbleActor(new Marble(MarbleType.PINK), context);
-        pink.addAction(Actions.alpha(0));
-        this.addActor(pink);
-
-
-        MarbleActor yellow = new RegularMarbleActor(new Marble(MarbleType.YELLOW), context);
-        yellow.addAction(Actions.alpha(0));
-        this.addActor(yellow);
-
-        float duration = ANIMATION_DURATION;
-        this.addAction(Actions.forever(Actions.sequence(
-            Actions.parallel(
-                fadeOut(duration, blue),
-                fadeIn(duration, green)
-            ),
-            Actions.parallel(
-                fadeOut(duration, green),
-                fadeIn(duration, pink)
-            ),
-            Actions.parallel(
-                fadeOut(duration, pink),
-                fadeIn(duration, yellow)
-            ),
-            Actions.parallel(
-                fadeOut(duration, yellow),
-                fadeIn(duration, blue)
-            )
-        )));
-
-        this.setSize(blue.getWidth(), blue.getHeight());
         this.setUserObject(marble);
-        this.setOrigin(Align.center);
         this.setDirection(Direction.LEFT);
     }
 
     /**
-     * Generate a fading out action with the given duration for the given marble actor.
+     * Reset the state of this actor so that it can be reused for another marble.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        marble = null;
+        setUserObject(null);
+        animationTime = 0.f;
+        fadeTime = 0.f;
+        moving = true;
+        setDirection(Direction.LEFT);
+    }
+
+    /**
+     * Act on the scene updates.
      *
-     * @param duration The duration of the fade out.
-     * @param marble The marble to fade.
-     * @return The fading action.
+     * @param deltaTime The time delta.
      */
-    private static Action fadeOut(float duration, Actor marble) {
-        return alpha(0, duration, marble);
+    @Override
+    public void act(float deltaTime) {
+        super.act(deltaTime);
+
+        fadeTime = (fadeTime + deltaTime) % (ANIMATION_DURATION * COLORS.length);
+
+        if (moving) {
+            animationTime += deltaTime;
+        }
     }
 
     /**
-     * Generate a fading in action with the given duration for the given marble actor.
+     * Draw the marble onto the screen, which blends the frame of the color that fades out with
+     * the frame of the color that fades in.
      *
-     * @param duration The duration of the fade in.
-     * @param marble The marble to fade.
-     * @return The fading action.
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
      */
-    private static Action fadeIn(float duration, Actor marble) {
-        return alpha(1, duration, marble);
+    @Override
+    protected void drawMarble(Batch batch, float parentAlpha) {
+        float phase = fadeTime / ANIMATION_DURATION;
+        int current = (int) phase % COLORS.length;
+        int next = (current + 1) % COLORS.length;
+        float progress = phase - (int) phase;
+
+        drawColor(batch, current, (1 - progress) * parentAlpha);
+        drawColor(batch, next, progress * parentAlpha);
+        super.drawMarble(batch, parentAlpha);
     }
 
     /**
-     * Generate an alpha fading animation action with the given alpha value target, a duration
-     * and the target actor.
+     * Draw the current frame of the color with the given index.
      *
-     * @param alpha The alpha to animate to.
-     * @param duration The duration of the animation.
-     * @return The alpha animation action.
-     */
-    private static Action alpha(float alpha, float duration, Actor marble) {
-        return new AlphaAction() {
-            @Override
-            protected void begin() {
-                this.setTarget(marble);
-                this.setAlpha(alpha);
-                this.setDuration(duration);
-
-                super.begin();
-            }
-        };
+     * @param batch The batch to use.
+     * @param index The index of the color to draw.
+     * @param alpha The opacity to draw the frame with.
+     */
+    private void drawColor(Batch batch, int index, float alpha) {
+        Color color = getColor();
+        if (color.a * alpha <= 0) {
+            return;
+        }
+
+        TextureRegion region = RegularMarbleActor.getKeyFrame(horizontal[index], vertical[index],
+            direction, animationTime);
+        batch.setColor(color.r, color.g, color.b, color.a * alpha);
+        batch.draw(region, getX(), getY(), getOriginX(), getOriginY(), getWidth(),
+            getHeight(), getScaleX(), getScaleY(), getRotation());
     }
 
     /**
@@ -164,11 +223,7 @@ public class JokerMarbleActor extends MarbleActor {
      */
     @Override
     public void setDirection(Direction direction) {
-        for (Actor actor : getChildren()) {
-            if (actor instanceof MarbleActor) {
-                ((MarbleActor) actor).setDirection(direction);
-            }
-        }
+        this.direction = direction;
     }
 
     /**
@@ -178,10 +233,6 @@ public class JokerMarbleActor extends MarbleActor {
      */
     @Override
     public void setMoving(boolean moving) {
-        for (Actor actor : getChildren()) {
-            if (actor instanceof MarbleActor) {
-                ((MarbleActor) actor).setMoving(moving);
-            }
-        }
+        this.moving = moving;
     }
 }
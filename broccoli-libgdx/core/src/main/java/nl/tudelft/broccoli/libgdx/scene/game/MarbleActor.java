@@ -25,20 +25,50 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game;
 
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Pool;
 import nl.tudelft.broccoli.core.Marble;
-import nl.tudelft.broccoli.core.MarbleType;
 import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.GameStage;
 
 /**
- * An {@link Actor} that represents an in-game marble.
+ * An {@link Actor} that represents an in-game marble. Marble actors are recycled through the
+ * {@link MarbleActorPool} of their context once their marble leaves the game.
  *
  * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
  * @author Christian Slothouber (f.c.slothouber@student.tudelft.nl)
  */
-public abstract class MarbleActor extends Group {
+public abstract class MarbleActor extends Group implements Pool.Poolable {
+    /**
+     * The x-coordinate of this actor before the last simulation step.
+     */
+    private float previousX;
+
+    /**
+     * The y-coordinate of this actor before the last simulation step.
+     */
+    private float previousY;
+
+    /**
+     * The parent of this actor before the last simulation step.
+     */
+    private Group previousParent;
+
+    /**
+     * The simulation step of the stage in which this actor acted for the last time.
+     */
+    private long step = -1;
+
+    /**
+     * The motion of this actor along the path segments of the tiles.
+     */
+    private final MarbleMotion motion = new MarbleMotion(this);
+
     /**
      * Get the {@link MarbleActor} for the given {@link Marble} given the {@link ActorContext}.
      *
@@ -50,16 +80,29 @@ public abstract class MarbleActor extends Group {
         MarbleActor registry = (MarbleActor) context.actor(marble);
 
         if (registry == null) {
-            if (MarbleType.JOKER.equals(marble.getType())) {
-                registry = new JokerMarbleActor(marble, context);
-            } else {
-                registry = new RegularMarbleActor(marble, context);
-
-            }
+            registry = context.getMarblePool().obtain(marble);
         }
         return registry;
     }
 
+    /**
+     * Reset the state of this actor so that it can be reused for another marble, which removes
+     * the actor from the scene and discards its actions and listeners.
+     */
+    @Override
+    public void reset() {
+        remove();
+        clearActions();
+        clearListeners();
+        setPosition(0, 0);
+        setRotation(0);
+        setScale(1);
+        getColor().set(Color.WHITE);
+        previousParent = null;
+        step = -1;
+        motion.stop();
+    }
+
     /**
      * Return the {@link Marble} of this actor.
      *
@@ -80,4 +123,70 @@ public abstract class MarbleActor extends Group {
      * @param moving A flag indicate the moving of the marble.
      */
     public abstract void setMoving(boolean moving);
+
+    /**
+     * Return the motion of this actor along the path segments of the tiles.
+     *
+     * @return The motion of this marble actor.
+     */
+    MarbleMotion getMotion() {
+        return motion;
+    }
+
+    /**
+     * Perform a simulation step on this actor.
+     *
+     * @param delta The length of the step in seconds.
+     */
+    @Override
+    public void act(float delta) {
+        previousX = getX();
+        previousY = getY();
+        previousParent = getParent();
+
+        Stage stage = getStage();
+        if (stage instanceof GameStage) {
+            step = ((GameStage) stage).getSteps();
+        }
+
+        motion.update(delta);
+        super.act(delta);
+    }
+
+    /**
+     * Draw the marble onto the screen at the position interpolated between the previous and the
+     * current simulation step.
+     *
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        Stage stage = getStage();
+
+        // Only interpolate if the marble moved within the same parent during the last step, since
+        // the coordinates are otherwise not comparable.
+        if (!(stage instanceof GameStage) || previousParent != getParent()
+            || ((GameStage) stage).getSteps() != step) {
+            drawMarble(batch, parentAlpha);
+            return;
+        }
+
+        float alpha = ((GameStage) stage).getInterpolation();
+        float x = getX();
+        float y = getY();
+        setPosition(previousX + (x - previousX) * alpha, previousY + (y - previousY) * alpha);
+        drawMarble(batch, parentAlpha);
+        setPosition(x, y);
+    }
+
+    /**
+     * Draw the marble onto the screen at its current position.
+     *
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
+     */
+    protected void drawMarble(Batch batch, float parentAlpha) {
+        super.draw(batch, parentAlpha);
+    }
 }
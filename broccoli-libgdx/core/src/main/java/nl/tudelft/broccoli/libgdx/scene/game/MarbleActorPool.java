@@ -0,0 +1,193 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.game;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Pool;
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+
+import java.util.Locale;
+
+/**
+ * A {@link MarbleActorPool} recycles the {@link MarbleActor}s of the marbles that have left the
+ * game and shares the animation frames of each {@link MarbleType} between the actors, so that a
+ * continuous stream of spawned marbles does not continuously allocate actors, animations and
+ * sprite lookups.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class MarbleActorPool {
+    /**
+     * The maximum amount of free actors of each kind that is retained.
+     */
+    private static final int CAPACITY = 64;
+
+    /**
+     * The types of marbles.
+     */
+    private static final MarbleType[] TYPES = MarbleType.values();
+
+    /**
+     * The context of the pooled actors.
+     */
+    private final ActorContext context;
+
+    /**
+     * The horizontal animation frames of each marble type, indexed by the ordinal of the type.
+     */
+    private final TextureRegion[][] horizontal = new TextureRegion[TYPES.length][];
+
+    /**
+     * The vertical animation frames of each marble type, indexed by the ordinal of the type.
+     */
+    private final TextureRegion[][] vertical = new TextureRegion[TYPES.length][];
+
+    /**
+     * The pool of regular marble actors.
+     */
+    private final Pool<RegularMarbleActor> regular;
+
+    /**
+     * The pool of joker marble actors.
+     */
+    private final Pool<JokerMarbleActor> jokers;
+
+    /**
+     * Construct a {@link MarbleActorPool} instance.
+     *
+     * @param context The context of the pooled actors.
+     */
+    public MarbleActorPool(ActorContext context) {
+        this.context = context;
+        this.regular = new Pool<RegularMarbleActor>(16, CAPACITY) {
+            @Override
+            protected RegularMarbleActor newObject() {
+                return new RegularMarbleActor(context);
+            }
+        };
+        this.jokers = new Pool<JokerMarbleActor>(4, CAPACITY) {
+            @Override
+            protected JokerMarbleActor newObject() {
+                return new JokerMarbleActor(context);
+            }
+        };
+    }
+
+    /**
+     * Obtain an actor for the given marble, which is taken from the pool if possible, and
+     * register it in the context.
+     *
+     * @param marble The marble to obtain an actor for.
+     * @return The actor of the marble.
+     */
+    public MarbleActor obtain(Marble marble) {
+        if (MarbleType.JOKER.equals(marble.getType())) {
+            JokerMarbleActor actor = jokers.obtain();
+            actor.init(marble);
+            return actor;
+        }
+
+        RegularMarbleActor actor = regular.obtain();
+        actor.init(marble);
+        return actor;
+    }
+
+    /**
+     * Return the given actor to the pool after its marble has left the game. The actor is
+     * removed from the scene and the context, and its state is reset.
+     *
+     * @param actor The actor to free.
+     */
+    public void free(MarbleActor actor) {
+        Marble marble = actor.getMarble();
+        if (marble != null && context.actor(marble) == actor) {
+            context.unregister(marble);
+        }
+
+        if (actor instanceof JokerMarbleActor) {
+            jokers.free((JokerMarbleActor) actor);
+        } else if (actor instanceof RegularMarbleActor) {
+            regular.free((RegularMarbleActor) actor);
+        } else {
+            actor.reset();
+        }
+    }
+
+    /**
+     * Return the amount of free actors in the pool.
+     *
+     * @return The amount of actors that can be obtained without allocating.
+     */
+    public int getFree() {
+        return regular.getFree() + jokers.getFree();
+    }
+
+    /**
+     * Return the horizontal animation frames of the given marble type, which are shared between
+     * all actors and must not be modified.
+     *
+     * @param type The type of marble.
+     * @return The horizontal animation frames of the marble.
+     */
+    TextureRegion[] getHorizontalFrames(MarbleType type) {
+        int index = type.ordinal();
+        if (horizontal[index] == null) {
+            horizontal[index] = find(type, "horizontal");
+        }
+        return horizontal[index];
+    }
+
+    /**
+     * Return the vertical animation frames of the given marble type, which are shared between
+     * all actors and must not be modified.
+     *
+     * @param type The type of marble.
+     * @return The vertical animation frames of the marble.
+     */
+    TextureRegion[] getVerticalFrames(MarbleType type) {
+        int index = type.ordinal();
+        if (vertical[index] == null) {
+            vertical[index] = find(type, "vertical");
+        }
+        return vertical[index];
+    }
+
+    /**
+     * Look up the animation frames of the given marble type in the texture atlas.
+     *
+     * @param type The type of marble.
+     * @param orientation The orientation of the animation.
+     * @return The animation frames.
+     */
+    private TextureRegion[] find(MarbleType type, String orientation) {
+        TextureAtlas atlas = context.getTextureAtlas();
+        String name = "marbles/" + type.name().toLowerCase(Locale.ROOT) + "/" + orientation;
+        return atlas.findRegions(name).toArray(TextureRegion.class);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.game;
+
+import com.badlogic.gdx.math.Vector2;
+import nl.tudelft.broccoli.core.grid.Direction;
+
+/**
+ * The motion of a {@link MarbleActor} along a straight path segment of a tile, which moves the
+ * marble every simulation step without allocating actions.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+final class MarbleMotion {
+    /**
+     * The points of a tile a path segment can lead to.
+     */
+    enum Waypoint {
+        /**
+         * The center of the tile.
+         */
+        CENTER,
+
+        /**
+         * The edge of the tile from which the marble leaves the tile.
+         */
+        EXIT
+    }
+
+    /**
+     * The marble actor that is moved.
+     */
+    private final MarbleActor actor;
+
+    /**
+     * The actor of the tile the marble is moving over or <code>null</code> if the marble is not
+     * moving along a path.
+     */
+    private TransportingActor<?> owner;
+
+    /**
+     * The direction in which the marble leaves the tile.
+     */
+    private Direction out;
+
+    /**
+     * The point the path segment leads to.
+     */
+    private Waypoint waypoint;
+
+    /**
+     * The x-coordinate of the start of the segment in the coordinates of the tile.
+     */
+    private float fromX;
+
+    /**
+     * The y-coordinate of the start of the segment in the coordinates of the tile.
+     */
+    private float fromY;
+
+    /**
+     * The x-coordinate of the end of the segment in the coordinates of the tile.
+     */
+    private float toX;
+
+    /**
+     * The y-coordinate of the end of the segment in the coordinates of the tile.
+     */
+    private float toY;
+
+    /**
+     * The time it takes to travel the segment.
+     */
+    private float duration;
+
+    /**
+     * The time that has been spent on the segment.
+     */
+    private float elapsed;
+
+    /**
+     * Construct a {@link MarbleMotion} instance.
+     *
+     * @param actor The marble actor to move.
+     */
+    MarbleMotion(MarbleActor actor) {
+        this.actor = actor;
+    }
+
+    /**
+     * Start moving the marble along a segment of the given tile, replacing the current segment.
+     *
+     * @param owner The actor of the tile to move over.
+     * @param out The direction in which the marble leaves the tile.
+     * @param waypoint The point the segment leads to.
+     * @param fromX The x-coordinate of the start of the segment.
+     * @param fromY The y-coordinate of the start of the segment.
+     * @param toX The x-coordinate of the end of the segment.
+     * @param toY The y-coordinate of the end of the segment.
+     */
+    void move(TransportingActor<?> owner, Direction out, Waypoint waypoint, float fromX,
+              float fromY, float toX, float toY) {
+        this.owner = owner;
+        this.out = out;
+        this.waypoint = waypoint;
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = toX;
+        this.toY = toY;
+        this.duration = Vector2.dst(fromX, fromY, toX, toY) * TransportingActor.TRAVEL_TIME;
+        this.elapsed = 0.f;
+        owner.place(actor, fromX, fromY);
+    }
+
+    /**
+     * Stop moving the marble.
+     */
+    void stop() {
+        owner = null;
+    }
+
+    /**
+     * Advance the marble along its segment and notify the tile once the marble reaches the end of
+     * the segment.
+     *
+     * @param delta The time that has passed.
+     */
+    void update(float delta) {
+        if (owner == null) {
+            return;
+        }
+
+        elapsed = Math.min(elapsed + delta, duration);
+        float progress = duration > 0 ? elapsed / duration : 1.f;
+        owner.place(actor, fromX + (toX - fromX) * progress, fromY + (toY - fromY) * progress);
+
+        if (elapsed >= duration) {
+            // The tile may start a new segment when the marble arrives, so clear the segment first
+            TransportingActor<?> arrived = owner;
+            owner = null;
+            arrived.arrived(actor, out, waypoint);
+        }
+    }
+}
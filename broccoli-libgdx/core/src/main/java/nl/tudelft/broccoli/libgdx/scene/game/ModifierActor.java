@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.game;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+
+/**
+ * An {@link Actor} that draws the static modifier of a {@link TransportingActor}, such as the
+ * filter, one-way direction or teleporter overlay, so that it can be cached in a
+ * {@link TileLayer} above the marbles instead of being drawn by the tileable every frame.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+class ModifierActor extends Actor {
+    /**
+     * The modifier image to draw or <code>null</code> if the tileable has no modifier.
+     */
+    private final Image image;
+
+    /**
+     * Construct a {@link ModifierActor} instance, which takes over drawing the modifier from the
+     * given {@link TransportingActor}.
+     *
+     * @param actor The actor of which the modifier should be drawn.
+     */
+    ModifierActor(TransportingActor<?> actor) {
+        this.image = actor.modifier;
+        this.setSize(actor.getWidth(), actor.getHeight());
+
+        if (image != null) {
+            image.remove();
+        }
+    }
+
+    /**
+     * Draw the modifier onto the screen at its position within the tile.
+     *
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        Drawable drawable = image != null ? image.getDrawable() : null;
+        if (drawable == null) {
+            return;
+        }
+
+        image.validate();
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+        drawable.draw(batch, getX() + image.getX() + image.getImageX(),
+            getY() + image.getY() + image.getImageY(), image.getImageWidth(),
+            image.getImageHeight());
+    }
+
+    /**
+     * Return the texture of the modifier.
+     *
+     * @return The texture to draw for the modifier or <code>null</code> if the tileable has no
+     *         modifier texture.
+     */
+    public TextureRegion getTileTexture() {
+        Drawable drawable = image != null ? image.getDrawable() : null;
+        if (drawable instanceof TextureRegionDrawable) {
+            return ((TextureRegionDrawable) drawable).getRegion();
+        }
+        return null;
+    }
+}
@@ -26,13 +26,8 @@
 package nl.tudelft.broccoli.libgdx.scene.game;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
-import com.badlogic.gdx.scenes.scene2d.actions.SequenceAction;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
 import nl.tudelft.broccoli.core.Marble;
 import nl.tudelft.broccoli.core.grid.Direction;
@@ -41,6 +36,7 @@ import nl.tudelft.broccoli.core.grid.TileableListener;
 import nl.tudelft.broccoli.core.nexus.Nexus;
 import nl.tudelft.broccoli.core.nexus.SpawningNexus;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleMotion.Waypoint;
 
 /**
  * An {@link Actor} for a (spawning) nexus on the grid.
@@ -108,67 +104,57 @@ public class NexusActor extends TransportingActor<Nexus> implements TileableList
      */
     @Override
     public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
+        if (direction != Direction.LEFT && direction != Direction.RIGHT) {
+            // Nexus is a horizontal track, so it will never accept a ball from any other
+            // direction than those above.
+            throw new IllegalArgumentException();
+        }
+
         // Get the actor for the marble or create a new one if one does not exist yet.
         MarbleActor actor = MarbleActor.get(marble, getContext());
-        addActor(actor);
+        enterAtEdge(actor, direction, direction.inverse(), Waypoint.CENTER);
+    }
 
+    /**
+     * This method is invoked when a {@link Marble} reaches the center of the nexus, which drops
+     * the marble if the tile beneath the nexus accepts it.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     */
+    @Override
+    void passCenter(MarbleActor actor, Direction out) {
         Nexus nexus = getTileable();
-        Vector2 origin = getOrigin(direction);
-        Vector2 center = getCenter();
-        Vector2 target = getTarget(direction);
-        actor.setPosition(origin.x, origin.y, Align.center);
-        actor.setDirection(direction.inverse());
-
-        Action moveCenter = Actions.moveToAligned(center.x, center.y, Align.center,
-            origin.dst(center) * TRAVEL_TIME);
-        Action moveTarget = Actions.moveToAligned(target.x, target.y, Align.center,
-            target.dst(center) * TRAVEL_TIME);
-
-        SequenceAction animation = new SequenceAction();
-        animation.addAction(moveCenter);
-        animation.addAction(Actions.run(() -> {
-            Direction out = Direction.BOTTOM;
-            if (nexus.isReleasable(out, marble)) {
-                actor.removeAction(animation);
-                actor.setDirection(out);
-                nexus.release(out, marble);
-                nexus.getContext().setOccupied(false);
-            }
-        }));
-        animation.addAction(moveTarget);
-        animation.addAction(Actions.run(() -> {
-            Direction inverse = direction.inverse();
-            if (!nexus.isReleasable(inverse, marble)) {
-                ballAccepted(tileable, inverse, marble);
-                return;
-            }
-            nexus.release(inverse, marble);
-        }));
-        actor.addAction(animation);
+        Marble marble = actor.getMarble();
+        Direction drop = Direction.BOTTOM;
+
+        if (nexus.isReleasable(drop, marble)) {
+            actor.setDirection(drop);
+            nexus.release(drop, marble);
+            nexus.getContext().setOccupied(false);
+            return;
+        }
+
+        super.passCenter(actor, out);
     }
 
     /**
-     * Return the origin position for a mable.
+     * This method is invoked when a {@link Marble} reaches the edge of the nexus, which releases
+     * the marble or silently sends it back if it cannot be released.
      *
-     * @param direction The direction the ball is coming from.
-     * @return The origin position for a marble.
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} leaves the tile.
      */
-    private Vector2 getOrigin(Direction direction) {
-        Vector2 result;
-        switch (direction) {
-            case LEFT:
-                result = new Vector2(0.f, getHeight() / 2.f);
-                break;
-            case RIGHT:
-                result = new Vector2(getWidth(), getHeight() / 2.f);
-                break;
-            default:
-                // Nexus is a horizontal track, so it will never accept a ball from any other
-                // direction than those above.
-                throw new IllegalArgumentException();
-        }
+    @Override
+    void leave(MarbleActor actor, Direction out) {
+        Nexus nexus = getTileable();
+        Marble marble = actor.getMarble();
 
-        return result;
+        if (!nexus.isReleasable(out, marble)) {
+            ballAccepted(nexus, out, marble);
+            return;
+        }
+        nexus.release(out, marble);
     }
 
     /**
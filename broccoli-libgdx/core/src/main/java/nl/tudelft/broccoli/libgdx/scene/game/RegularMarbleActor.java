@@ -26,12 +26,12 @@
 package nl.tudelft.broccoli.libgdx.scene.game;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.utils.Align;
 import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
 import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 
@@ -46,20 +46,25 @@ public class RegularMarbleActor extends MarbleActor {
      */
     private static final float FRAME_DURATION = 0.08f;
 
+    /**
+     * The context of the actor.
+     */
+    private final ActorContext context;
+
     /**
      * The marble of this actor.
      */
     private Marble marble;
 
     /**
-     * The horizontal animation for this marble.
+     * The horizontal animation frames for this marble, which are shared with other actors.
      */
-    private Animation<TextureRegion> horizontal;
+    private TextureRegion[] horizontal;
 
     /**
-     * The vertical animation for this marble.
+     * The vertical animation frames for this marble, which are shared with other actors.
      */
-    private Animation<TextureRegion> vertical;
+    private TextureRegion[] vertical;
 
     /**
      * The animation time.
@@ -83,38 +88,75 @@ public class RegularMarbleActor extends MarbleActor {
      * @param context The context of the actor.
      */
     public RegularMarbleActor(Marble marble, ActorContext context) {
+        this(context);
+        init(marble);
+    }
+
+    /**
+     * Construct a {@link RegularMarbleActor} instance without a marble, which is pooled until it
+     * is initialised.
+     *
+     * @param context The context of the actor.
+     */
+    RegularMarbleActor(ActorContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Initialise this actor for the given marble and register it in the context.
+     *
+     * @param marble The marble to represent.
+     */
+    void init(Marble marble) {
         this.marble = marble;
         context.register(marble, this);
-        this.horizontal = new Animation<>(FRAME_DURATION,
-                context.getTextureAtlas().findRegions("marbles/"
-                        + marble.getType().name().toLowerCase() + "/horizontal"),
-                Animation.PlayMode.LOOP);
-        this.vertical = new Animation<>(FRAME_DURATION,
-                context.getTextureAtlas().findRegions("marbles/"
-                        + marble.getType().name().toLowerCase() + "/vertical"),
-                Animation.PlayMode.LOOP);
-
-        TextureRegion region = horizontal.getKeyFrame(0);
         this.setUserObject(marble);
+        show(marble.getType());
+    }
+
+    /**
+     * Show the animation of the given marble type.
+     *
+     * @param type The type of marble to show.
+     */
+    private void show(MarbleType type) {
+        MarbleActorPool pool = context.getMarblePool();
+        this.horizontal = pool.getHorizontalFrames(type);
+        this.vertical = pool.getVerticalFrames(type);
+
+        TextureRegion region = horizontal[0];
         this.setSize(region.getRegionWidth(), region.getRegionHeight());
         this.setOrigin(Align.center);
         this.setDirection(Direction.LEFT);
     }
 
     /**
-     * Draw the tile onto the screen.
+     * Reset the state of this actor so that it can be reused for another marble.
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        marble = null;
+        setUserObject(null);
+        animationTime = 0.f;
+        moving = true;
+        setDirection(Direction.LEFT);
+    }
+
+    /**
+     * Draw the marble onto the screen.
      *
      * @param batch The batch to use.
      * @param parentAlpha The alpha of the parent.
      */
     @Override
-    public void draw(Batch batch, float parentAlpha) {
+    protected void drawMarble(Batch batch, float parentAlpha) {
         Color color = getColor();
-        TextureRegion region = getAnimation().getKeyFrame(animationTime);
+        TextureRegion region = getKeyFrame();
         batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
         batch.draw(region, getX(), getY(), getOriginX(), getOriginY(), getWidth(),
                 getHeight(), getScaleX(), getScaleY(), getRotation());
-        super.draw(batch, parentAlpha);
+        super.drawMarble(batch, parentAlpha);
     }
 
     /**
@@ -133,21 +175,34 @@ public class RegularMarbleActor extends MarbleActor {
     }
 
     /**
-     * Return the {@link Animation} to use for the drawing.
+     * Return the animation frame to draw.
      *
-     * @return The animation to use.
-     */
-    private Animation<TextureRegion> getAnimation() {
-        switch (direction) {
-            case LEFT:
-            case RIGHT:
-                return horizontal;
-            case TOP:
-            case BOTTOM:
-                return vertical;
-            default:
-                return horizontal;
+     * @return The frame to draw.
+     */
+    private TextureRegion getKeyFrame() {
+        return getKeyFrame(horizontal, vertical, direction, animationTime);
+    }
+
+    /**
+     * Return the animation frame of a marble at the given time, which loops through the frames of
+     * the direction the marble is traveling in, backwards for marbles going left or down.
+     *
+     * @param horizontal The horizontal animation frames of the marble.
+     * @param vertical The vertical animation frames of the marble.
+     * @param direction The direction the marble is traveling in.
+     * @param time The animation time.
+     * @return The frame to draw.
+     */
+    static TextureRegion getKeyFrame(TextureRegion[] horizontal, TextureRegion[] vertical,
+                                     Direction direction, float time) {
+        boolean vertically = direction == Direction.TOP || direction == Direction.BOTTOM;
+        TextureRegion[] frames = vertically ? vertical : horizontal;
+        int index = (int) (time / FRAME_DURATION) % frames.length;
+
+        if (direction == Direction.LEFT || direction == Direction.BOTTOM) {
+            return frames[frames.length - 1 - index];
         }
+        return frames[index];
     }
 
     /**
@@ -168,19 +223,6 @@ public class RegularMarbleActor extends MarbleActor {
     @Override
     public void setDirection(Direction direction) {
         this.direction = direction;
-
-        Animation<TextureRegion> animation = getAnimation();
-        switch (direction) {
-            case LEFT:
-            case BOTTOM:
-                animation.setPlayMode(Animation.PlayMode.LOOP_REVERSED);
-                break;
-            case RIGHT:
-            case TOP:
-                animation.setPlayMode(Animation.PlayMode.LOOP);
-                break;
-            default:
-        }
     }
 
     /**
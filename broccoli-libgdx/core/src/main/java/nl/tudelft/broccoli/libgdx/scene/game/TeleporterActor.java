@@ -25,9 +25,7 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game;
 
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.utils.Align;
 import nl.tudelft.broccoli.core.Marble;
@@ -36,8 +34,8 @@ import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.core.grid.Tileable;
 import nl.tudelft.broccoli.core.grid.TileableListener;
 import nl.tudelft.broccoli.core.track.HorizontalTrack;
-import nl.tudelft.broccoli.core.track.Track;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleMotion.Waypoint;
 
 /**
  * An {@link Actor} for a track on the grid.
@@ -82,70 +80,31 @@ public class TeleporterActor extends TransportingActor<Teleporter> implements Ti
     @Override
     public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
         MarbleActor actor = (MarbleActor) getContext().actor(marble);
-
-        // This objects needs to be unaltered for the animation. Therefore it is stored here and not
-        // retrieved from the actor.
-        Vector2 origin = stageToLocalCoordinates(actor.localToStageCoordinates(
-                new Vector2(actor.getWidth() / 2.f, actor.getHeight() / 2.f)));
-
-        prepareActor(actor, direction, origin);
-        travelToMidAnimation(actor, direction, origin);
-        addActorBefore(modifier, actor);
-    }
-
-    /**
-     * This method will start the animation of an allowed {@link Marble} traveling over a
-     * {@link Track}.
-     *
-     * @param actor     The {@link MarbleActor} of the traveling {@link Marble}.
-     * @param direction The {@link Direction} in which the {@link Marble} is traveling.
-     * @param origin    The place at which the marble started.
-     */
-    private void travelToMidAnimation(MarbleActor actor, Direction direction, Vector2 origin) {
-        Vector2 target = getCenter();
-        actor.addAction(Actions.sequence(
-                Actions.moveToAligned(target.x, target.y, Align.center, origin.dst(target)
-                        * TRAVEL_TIME),
-                Actions.run(() -> teleport(actor, direction))
-        ));
+        enter(actor, direction, direction.inverse(), Waypoint.CENTER);
     }
 
     /**
-     * This method is called when a marble is teleported to this teleporter.
+     * This method is called when a marble is teleported to this teleporter, which moves it from
+     * the center of this teleporter to the edge it leaves from.
      *
      * @param actor the marble actor.
      * @param direction The direction the ball is moving before and after the teleportation.
      */
     public void acceptTeleportation(MarbleActor actor, Direction direction) {
-        Vector2 target = getTarget(direction);
-        actor.setPosition(getCenter().x, getCenter().y, Align.center);
-        actor.addAction(Actions.sequence(
-                Actions.moveToAligned(target.x, target.y, Align.center, getCenter().dst(target)
-                        * TRAVEL_TIME),
-                Actions.run(() -> {
-                    Direction inverse = direction.inverse();
-                    if (!getTileable().isReleasable(inverse, actor.getMarble())) {
-                        BOUNCE.play();
-                        ballAccepted(getTileable(), inverse, actor.getMarble());
-                        return;
-                    }
-
-                    getTileable().release(inverse, actor.getMarble());
-                })
-        ));
-        addActorBefore(modifier, actor);
+        super.passCenter(actor, direction.inverse());
     }
 
     /**
-     * A method called to teleport the marble from this teleporter to another.
+     * This method is invoked when a {@link Marble} reaches the center of this teleporter, which
+     * teleports the marble to the destination of this teleporter.
      *
-     * @param actor The actor of the marble
-     * @param direction The direction the ball is moving before and after the teleportation.
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
      */
-    private void teleport(MarbleActor actor, Direction direction) {
+    @Override
+    void passCenter(MarbleActor actor, Direction out) {
         TeleporterActor target = (TeleporterActor) getContext().actor(
             getTileable().getDestination());
-        target.acceptTeleportation(actor, direction);
-        removeActor(actor);
+        target.acceptTeleportation(actor, out.inverse());
     }
 }
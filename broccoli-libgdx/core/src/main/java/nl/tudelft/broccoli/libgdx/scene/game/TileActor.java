@@ -66,8 +66,17 @@ public class TileActor extends Actor {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        TextureRegion region = tileableActor.getTileTexture();
+        TextureRegion region = getTileTexture();
         batch.draw(region, getX(), getY(), getOriginX(), getOriginY(), getWidth(),
             getHeight(), getScaleX(), getScaleY(), getRotation());
     }
+
+    /**
+     * Return the texture of the tile, which depends on the state of its tileable.
+     *
+     * @return The texture to draw for this tile.
+     */
+    public TextureRegion getTileTexture() {
+        return tileableActor.getTileTexture();
+    }
 }
@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * A {@link Table} of {@link TileActor}s or {@link ModifierActor}s that renders its tiles once into
+ * an offscreen buffer and draws that buffer every frame, until the texture of one of its tiles
+ * changes.
+ *
+ * <p>The layer falls back to drawing the tiles directly if offscreen buffers are not supported,
+ * for example when running without a GPU.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+class TileLayer extends Table implements Disposable {
+    /**
+     * The identity matrix, which is used as transform while rendering into the buffer.
+     */
+    private static final Matrix4 IDENTITY = new Matrix4();
+
+    /**
+     * The offscreen buffer that contains the rendered tiles or <code>null</code> if it has not
+     * been created yet.
+     */
+    private FrameBuffer buffer;
+
+    /**
+     * The region of the offscreen buffer to draw.
+     */
+    private TextureRegion region;
+
+    /**
+     * The textures of the tiles at the time the buffer was rendered.
+     */
+    private TextureRegion[] textures = new TextureRegion[0];
+
+    /**
+     * A flag to indicate that offscreen buffers are not supported.
+     */
+    private boolean unsupported;
+
+    /**
+     * The projection matrix that is used to render into the buffer.
+     */
+    private final Matrix4 projection = new Matrix4();
+
+    /**
+     * The matrix that stores the projection matrix of the batch while rendering into the buffer.
+     */
+    private final Matrix4 previousProjection = new Matrix4();
+
+    /**
+     * The matrix that stores the transform matrix of the batch while rendering into the buffer.
+     */
+    private final Matrix4 previousTransform = new Matrix4();
+
+    /**
+     * Draw the tiles onto the screen, which renders them into the buffer again if they have
+     * changed.
+     *
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+
+        if (!prepare()) {
+            super.draw(batch, parentAlpha);
+            return;
+        }
+
+        if (isDirty()) {
+            render(batch);
+        }
+
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+        batch.draw(region, getX(), getY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Make sure the offscreen buffer matches the size of this layer.
+     *
+     * @return <code>true</code> if the buffer can be used, <code>false</code> otherwise.
+     */
+    private boolean prepare() {
+        int width = MathUtils.ceil(getWidth());
+        int height = MathUtils.ceil(getHeight());
+
+        if (unsupported || width <= 0 || height <= 0) {
+            return false;
+        } else if (buffer != null && buffer.getWidth() == width
+            && buffer.getHeight() == height) {
+            return true;
+        }
+
+        dispose();
+
+        try {
+            buffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+        } catch (IllegalStateException e) {
+            Gdx.app.log("TileLayer", "Offscreen buffers are not supported: " + e.getMessage());
+            unsupported = true;
+            return false;
+        }
+
+        region = new TextureRegion(buffer.getColorBufferTexture());
+        region.flip(false, true);
+        projection.setToOrtho2D(0, 0, width, height);
+        textures = new TextureRegion[0];
+        return true;
+    }
+
+    /**
+     * Determine whether the texture of a tile has changed since the buffer was rendered.
+     *
+     * @return <code>true</code> if the buffer needs to be rendered again, <code>false</code>
+     *         otherwise.
+     */
+    private boolean isDirty() {
+        SnapshotArray<Actor> children = getChildren();
+        if (children.size != textures.length) {
+            return true;
+        }
+
+        for (int i = 0; i < children.size; i++) {
+            if (getTexture(children.get(i)) != textures[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the texture the given child of this layer currently draws.
+     *
+     * @param child The child to get the texture of.
+     * @return The texture of the child or <code>null</code> if it is not a tile or modifier.
+     */
+    private static TextureRegion getTexture(Actor child) {
+        if (child instanceof TileActor) {
+            return ((TileActor) child).getTileTexture();
+        } else if (child instanceof ModifierActor) {
+            return ((ModifierActor) child).getTileTexture();
+        }
+        return null;
+    }
+
+    /**
+     * Render the tiles into the offscreen buffer in the local coordinates of this layer.
+     *
+     * @param batch The batch to use, which is drawing when this method is invoked.
+     */
+    private void render(Batch batch) {
+        SnapshotArray<Actor> children = getChildren();
+        textures = new TextureRegion[children.size];
+
+        batch.end();
+        previousProjection.set(batch.getProjectionMatrix());
+        previousTransform.set(batch.getTransformMatrix());
+
+        buffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        batch.setProjectionMatrix(projection);
+        batch.setTransformMatrix(IDENTITY);
+
+        // The tiles and modifiers do not overlap, so they can be copied into the buffer without
+        // blending
+        batch.disableBlending();
+        batch.setColor(Color.WHITE);
+        batch.begin();
+        for (int i = 0; i < children.size; i++) {
+            Actor child = children.get(i);
+            textures[i] = getTexture(child);
+            child.draw(batch, 1);
+        }
+        batch.end();
+        batch.enableBlending();
+        buffer.end();
+
+        Stage stage = getStage();
+        if (stage != null) {
+            stage.getViewport().apply();
+        }
+
+        batch.setProjectionMatrix(previousProjection);
+        batch.setTransformMatrix(previousTransform);
+        batch.begin();
+    }
+
+    /**
+     * Release the offscreen buffer of this layer.
+     */
+    @Override
+    public void dispose() {
+        if (buffer != null) {
+            buffer.dispose();
+            buffer = null;
+            region = null;
+        }
+    }
+}
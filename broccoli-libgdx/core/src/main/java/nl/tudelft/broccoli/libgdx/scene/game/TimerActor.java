@@ -29,7 +29,6 @@ import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.replace;
 
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.utils.Array;
 import nl.tudelft.broccoli.core.TimerTile;
 import nl.tudelft.broccoli.core.grid.Tileable;
@@ -48,9 +47,14 @@ public class TimerActor extends TileableActor<TimerTile> {
     private final Array<? extends TextureRegion> textures;
 
     /**
-     * The index of the sprite currently shown.
+     * The actor context to use.
      */
-    private int currentTextureId;
+    private final ActorContext context;
+
+    /**
+     * A flag to indicate the finish screen has been shown.
+     */
+    private boolean finished;
 
     /**
      * Construct a {@link TileableActor} instance.
@@ -60,16 +64,7 @@ public class TimerActor extends TileableActor<TimerTile> {
      */
     public TimerActor(TimerTile tileable, ActorContext context) {
         super(tileable, context);
-
-        float delay = getTileable().getMaxTime() / 5.f;
-        addAction(Actions.sequence(
-            Actions.repeat(4, Actions.sequence(
-                Actions.delay(delay),
-                Actions.run(() -> currentTextureId++)
-            )),
-            replace(new FinishScreen(context, getTileable().getTile().getGrid().getSession()))
-        ));
-
+        this.context = context;
         textures = context.getTextureAtlas().findRegions("counter");
     }
 
@@ -80,7 +75,27 @@ public class TimerActor extends TileableActor<TimerTile> {
      */
     @Override
     public TextureRegion getTileTexture() {
-        int index = textures.size - currentTextureId - 1;
+        TimerTile timer = getTileable();
+        int max = timer.getMaxTime();
+        double elapsed = max - timer.getRemainingTime();
+        int current = max > 0 ? (int) (elapsed * textures.size / max) : textures.size;
+        int index = textures.size - current - 1;
         return textures.get(Math.max(0, index));
     }
+
+    /**
+     * Act on the scene updates by showing the finish screen when the time has run out.
+     *
+     * @param delta The time delta.
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (!finished && getTileable().isExpired()) {
+            finished = true;
+            addAction(replace(
+                new FinishScreen(context, getTileable().getTile().getGrid().getSession())));
+        }
+    }
 }
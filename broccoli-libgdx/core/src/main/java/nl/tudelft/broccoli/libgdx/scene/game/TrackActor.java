@@ -25,7 +25,6 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game;
 
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.utils.Align;
@@ -37,6 +36,7 @@ import nl.tudelft.broccoli.core.track.FilterTrack;
 import nl.tudelft.broccoli.core.track.OneWayTrack;
 import nl.tudelft.broccoli.core.track.Track;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleMotion.Waypoint;
 
 /**
  * An {@link Actor} for a track on the grid.
@@ -101,19 +101,23 @@ public class TrackActor extends TransportingActor<Track> implements TileableList
     public void ballAccepted(Tileable tileable, Direction direction, Marble marble) {
         MarbleActor actor = (MarbleActor) getContext().actor(marble);
 
-        // This objects needs to be unaltered for the animation. Therefore it is stored here and not
-        // retrieved from the actor.
-        Vector2 origin = stageToLocalCoordinates(actor.localToStageCoordinates(
-                new Vector2(actor.getWidth() / 2.f, actor.getHeight() / 2.f)));
-
-        prepareActor(actor, direction, origin);
-
         if (getTileable().passesMidpoint(direction, marble)) {
-            travelAnimation(actor, direction, origin);
+            enter(actor, direction, direction.inverse(), Waypoint.EXIT);
         } else {
-            bounceTravelAnimation(actor, direction, origin);
+            // The marble bounces at the midpoint and leaves the track the way it came from
+            enter(actor, direction, direction, Waypoint.CENTER);
         }
+    }
 
-        addActorBefore(modifier, actor);
+    /**
+     * This method is invoked when a bouncing {@link Marble} reaches the center of this track.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     */
+    @Override
+    void passCenter(MarbleActor actor, Direction out) {
+        bounce.play();
+        super.passCenter(actor, out);
     }
 }
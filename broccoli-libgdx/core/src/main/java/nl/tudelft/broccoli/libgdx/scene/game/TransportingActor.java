@@ -25,21 +25,21 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.utils.Align;
 import nl.tudelft.broccoli.core.Marble;
 import nl.tudelft.broccoli.core.grid.Direction;
-import nl.tudelft.broccoli.core.grid.Tile;
 import nl.tudelft.broccoli.core.grid.Tileable;
 import nl.tudelft.broccoli.core.grid.TileableListener;
 import nl.tudelft.broccoli.core.track.Track;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.GameAssets;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleMotion.Waypoint;
+import nl.tudelft.broccoli.libgdx.scene.util.AudioService.Effect;
 
 /**
  * An {@link Actor} for a track on the grid.
@@ -51,21 +51,52 @@ import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 public abstract class TransportingActor<T extends Tileable> extends TileableActor<T>
         implements TileableListener {
     /**
-     * The bounce sound in case a ball is denied.
+     * The travel time multiplier for travel speed over this track.
      */
-    static final Sound BOUNCE =
-            Gdx.audio.newSound(Gdx.files.classpath("sound/sfx/bounce.wav"));
+    static final float TRAVEL_TIME = 0.008f;
 
     /**
-     * The travel time multiplier for travel speed over this track.
+     * The point that is used to convert coordinates without allocating, which is only used on
+     * the render thread.
      */
-    static final float TRAVEL_TIME = 0.008f;
+    private static final Vector2 POINT = new Vector2();
 
     /**
      * A possible overlay image for a special {@link Track}s if necessary.
      */
     Image modifier;
 
+    /**
+     * The bounce sound in case a ball is denied.
+     */
+    final Effect bounce;
+
+    /**
+     * The x-coordinates of the edges of this tile, indexed by the ordinal of their direction.
+     */
+    private final float[] edgeX = new float[Direction.values().length];
+
+    /**
+     * The y-coordinates of the edges of this tile, indexed by the ordinal of their direction.
+     */
+    private final float[] edgeY = new float[Direction.values().length];
+
+    /**
+     * The x-coordinate of the center of this tile.
+     */
+    private float centerX;
+
+    /**
+     * The y-coordinate of the center of this tile.
+     */
+    private float centerY;
+
+    /**
+     * The layer in which the marbles traveling over this tile are drawn or <code>null</code> to
+     * draw them in this actor.
+     */
+    private Group marbles;
+
     /**
      * The texture for this track.
      */
@@ -80,6 +111,7 @@ public abstract class TransportingActor<T extends Tileable> extends TileableActo
     public TransportingActor(T tileable, ActorContext context) {
         super(tileable, context);
         tileable.addListener(this);
+        this.bounce = context.getAudio().effect(context.getSound(GameAssets.BOUNCE), 2, 0, 0.3f);
         this.texture = context.getTextureAtlas().findRegion("tile", getTileIndex());
         this.setSize(texture.getRegionWidth(), texture.getRegionHeight());
         this.modifier = getModifier();
@@ -106,118 +138,192 @@ public abstract class TransportingActor<T extends Tileable> extends TileableActo
     }
 
     /**
-     * This method will start the animation of an allowed {@link Marble} traveling over a
-     * {@link Track}.
+     * Let the given {@link MarbleActor} enter this tile from the given direction and start moving
+     * it towards the given waypoint.
      *
      * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
-     * @param direction The {@link Direction} in which the {@link Marble} is traveling.
-     * @param origin The place at which the marble started.
+     * @param direction The {@link Direction} from which the {@link Marble} enters the tile.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     * @param waypoint The point of the tile the marble moves to first.
      */
-    void travelAnimation(MarbleActor actor, Direction direction, Vector2 origin) {
-        Vector2 target = getTarget(direction);
-        Marble marble = actor.getMarble();
+    void enter(MarbleActor actor, Direction direction, Direction out, Waypoint waypoint) {
+        // The marble starts where it currently is, aligned with the axis it travels along
+        POINT.set(actor.getWidth() / 2.f, actor.getHeight() / 2.f);
+        stageToLocalCoordinates(actor.localToStageCoordinates(POINT));
+        float x = POINT.x;
+        float y = POINT.y;
+        if (direction == Direction.TOP || direction == Direction.BOTTOM) {
+            x = centerX;
+        } else {
+            y = centerY;
+        }
 
-        actor.addAction(Actions.sequence(
-                Actions.moveToAligned(target.x, target.y, Align.center, origin.dst(target)
-                        * TRAVEL_TIME),
-                Actions.run(() -> {
-                    Direction inverse = direction.inverse();
-                    if (!getTileable().isReleasable(inverse, marble)) {
-                        BOUNCE.play();
-                        ballAccepted(getTileable(), inverse, marble);
-                        return;
-                    }
-
-                    getTileable().release(inverse, marble);
-                }))
-        );
+        actor.setRotation(0.f);
+        actor.setMoving(true);
+        actor.setDirection(direction.inverse());
+        start(actor, out, waypoint, x, y);
     }
 
     /**
-     * This method will start the animation of an {@link Marble} (that is not allowed to pass)
-     * traveling over a {@link Track}.
+     * Let the given {@link MarbleActor} enter this tile at the edge of the given direction and
+     * start moving it towards the given waypoint.
      *
      * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
-     * @param direction The {@link Direction} in which the {@link Marble} is traveling.
-     * @param origin The place at which the marble started.
+     * @param direction The {@link Direction} from which the {@link Marble} enters the tile.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     * @param waypoint The point of the tile the marble moves to first.
      */
-    void bounceTravelAnimation(MarbleActor actor, Direction direction, Vector2 origin) {
-        Vector2 center = getCenter();
-        Vector2 target = getTarget(direction.inverse());
-        Marble marble = actor.getMarble();
+    void enterAtEdge(MarbleActor actor, Direction direction, Direction out, Waypoint waypoint) {
+        int index = direction.ordinal();
+        actor.setDirection(direction.inverse());
+        start(actor, out, waypoint, edgeX[index], edgeY[index]);
+    }
+
+    /**
+     * Add the given {@link MarbleActor} to the marble layer if it is not drawn there yet and
+     * start moving it from the given point to a waypoint of this tile.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     * @param waypoint The point of the tile to move to.
+     * @param x The x-coordinate of the point to start from.
+     * @param y The y-coordinate of the point to start from.
+     */
+    private void start(MarbleActor actor, Direction out, Waypoint waypoint, float x, float y) {
+        Group layer = getMarbleLayer();
+        if (actor.getParent() != layer) {
+            // Marbles are drawn beneath the modifiers of the tiles
+            layer.addActorAt(0, actor);
+        }
 
-        actor.addAction(Actions.sequence(
-                Actions.moveToAligned(center.x, center.y, Align.center, origin.dst(center)
-                        * TRAVEL_TIME),
-                Actions.run(BOUNCE::play),
-                Actions.moveToAligned(target.x, target.y, Align.center, center.dst(target)
-                        * TRAVEL_TIME),
-                Actions.run(() -> {
-                    if (!getTileable().isReleasable(direction, marble)) {
-                        BOUNCE.play();
-                        ballAccepted(getTileable(), direction, marble);
-                        return;
-                    }
-
-                    getTileable().release(direction, marble);
-                }))
-        );
+        move(actor, out, waypoint, x, y);
     }
 
     /**
-     * Prepares the {@link MarbleActor} for being moved.
+     * Move the given {@link MarbleActor} from the given point to a waypoint of this tile.
      *
-     * @param actor The soon to be prepared {@link MarbleActor}.
-     * @param direction The {@link Direction} in which the {@link Marble} is traveling.
-     * @param origin The start point of the {@link Marble}.
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     * @param waypoint The point of the tile to move to.
+     * @param x The x-coordinate of the point to start from.
+     * @param y The y-coordinate of the point to start from.
      */
-    void prepareActor(MarbleActor actor, Direction direction, Vector2 origin) {
-        Vector2 center = getCenter();
-        actor.setRotation(0.f);
-        actor.setPosition(origin.x, origin.y);
-        actor.setMoving(true);
-        actor.setDirection(direction.inverse());
+    void move(MarbleActor actor, Direction out, Waypoint waypoint, float x, float y) {
+        if (waypoint == Waypoint.CENTER) {
+            actor.getMotion().move(this, out, waypoint, x, y, centerX, centerY);
+        } else {
+            int index = out.ordinal();
+            actor.getMotion().move(this, out, waypoint, x, y, edgeX[index], edgeY[index]);
+        }
+    }
+
+    /**
+     * Place the given {@link MarbleActor} centered at the given point of this tile.
+     *
+     * @param actor The {@link MarbleActor} to place.
+     * @param x The x-coordinate of the point in the coordinates of this tile.
+     * @param y The y-coordinate of the point in the coordinates of this tile.
+     */
+    void place(MarbleActor actor, float x, float y) {
+        POINT.set(x, y);
+        Group layer = getMarbleLayer();
+        if (layer != this) {
+            layer.stageToLocalCoordinates(localToStageCoordinates(POINT));
+        }
+        actor.setPosition(POINT.x, POINT.y, Align.center);
+    }
+
+    /**
+     * This method is invoked when a {@link Marble} reaches a waypoint of this tile.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     * @param waypoint The waypoint that has been reached.
+     */
+    void arrived(MarbleActor actor, Direction out, Waypoint waypoint) {
+        if (waypoint == Waypoint.CENTER) {
+            passCenter(actor, out);
+        } else {
+            leave(actor, out);
+        }
+    }
 
-        switch (direction) {
-            case TOP:
-            case BOTTOM:
-                actor.setPosition(center.x, origin.y, Align.center);
-                break;
-            case LEFT:
-            case RIGHT:
-                actor.setPosition(origin.x, center.y, Align.center);
-                break;
-            default:
+    /**
+     * This method is invoked when a {@link Marble} reaches the center of this tile, after which
+     * it continues to the edge it leaves the tile from.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} will leave the tile.
+     */
+    void passCenter(MarbleActor actor, Direction out) {
+        move(actor, out, Waypoint.EXIT, centerX, centerY);
+    }
+
+    /**
+     * This method is invoked when a {@link Marble} reaches the edge of this tile, which releases
+     * the marble or bounces it back if it cannot be released.
+     *
+     * @param actor The {@link MarbleActor} of the traveling {@link Marble}.
+     * @param out The {@link Direction} in which the {@link Marble} leaves the tile.
+     */
+    void leave(MarbleActor actor, Direction out) {
+        Marble marble = actor.getMarble();
+        if (!getTileable().isReleasable(out, marble)) {
+            bounce.play();
+            ballAccepted(getTileable(), out, marble);
+            return;
         }
+
+        getTileable().release(out, marble);
     }
 
     /**
-     * Determines the position of the center of the current {@link Tile}.
+     * Return the {@link Group} in which the marbles traveling over this tile are drawn.
      *
-     * @return The local center position within this actor.
+     * @return The marble layer of the grid or this actor if it is not part of a grid.
      */
-    Vector2 getCenter() {
-        return new Vector2(getWidth() / 2, getHeight() / 2);
+    Group getMarbleLayer() {
+        return marbles != null ? marbles : this;
     }
 
     /**
-     * Determines the target position the {@link Marble} has. It depends on you knowing if the
-     * {@link Marble} is actually allowed to reach this location.
+     * Set the {@link Group} in which the marbles traveling over this tile are drawn, which is
+     * shared by all tiles of a grid so that marbles do not change parents between tiles.
      *
-     * @param direction The {@link Direction} the {@link Marble} is coming from.
-     * @return The target position.
-     */
-    Vector2 getTarget(Direction direction) {
-        Vector2 center = getCenter();
-        switch (direction) {
-            case TOP:
-                return new Vector2(center.x, 0);
-            case BOTTOM:
-                return new Vector2(center.x, getHeight());
-            case LEFT:
-                return new Vector2(getWidth(), center.y);
-            default:
-                return new Vector2(0, center.y);
+     * @param marbles The marble layer of the grid.
+     */
+    void setMarbleLayer(Group marbles) {
+        this.marbles = marbles;
+    }
+
+    /**
+     * Compute the waypoints of the paths over this tile when its size changes.
+     */
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+
+        centerX = getWidth() / 2;
+        centerY = getHeight() / 2;
+        for (Direction direction : Direction.values()) {
+            int index = direction.ordinal();
+            switch (direction) {
+                case TOP:
+                    edgeX[index] = centerX;
+                    edgeY[index] = getHeight();
+                    break;
+                case BOTTOM:
+                    edgeX[index] = centerX;
+                    edgeY[index] = 0;
+                    break;
+                case LEFT:
+                    edgeX[index] = 0;
+                    edgeY[index] = centerY;
+                    break;
+                default:
+                    edgeX[index] = getWidth();
+                    edgeY[index] = centerY;
+            }
         }
     }
 }
@@ -25,8 +25,6 @@
 
 package nl.tudelft.broccoli.libgdx.scene.game.receptor;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
@@ -42,6 +40,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Align;
 import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.agent.Hint;
 import nl.tudelft.broccoli.core.grid.Direction;
 import nl.tudelft.broccoli.core.grid.Tileable;
 import nl.tudelft.broccoli.core.powerup.PowerUp;
@@ -49,8 +48,11 @@ import nl.tudelft.broccoli.core.powerup.bonus.BonusPowerUp;
 import nl.tudelft.broccoli.core.receptor.Receptor;
 import nl.tudelft.broccoli.core.receptor.ReceptorListener;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import nl.tudelft.broccoli.libgdx.scene.GameAssets;
 import nl.tudelft.broccoli.libgdx.scene.game.MarbleActor;
 import nl.tudelft.broccoli.libgdx.scene.game.TileableActor;
+import nl.tudelft.broccoli.libgdx.scene.util.AudioService;
+import nl.tudelft.broccoli.libgdx.scene.util.AudioService.Effect;
 
 import java.util.EnumMap;
 
@@ -70,29 +72,30 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
      */
     private static final float EXPLOSION_TIME = 0.12f;
 
+    /**
+     * The duration of a single half of the pulse that highlights a hint.
+     */
+    private static final float HINT_TIME = 0.4f;
+
     /**
      * The turn sound of a receptor.
      */
-    private static final Sound ROTATE =
-        Gdx.audio.newSound(Gdx.files.classpath("sound/sfx/rotate.wav"));
+    private final Effect rotate;
 
     /**
      * The dock sound of a receptor.
      */
-    private static final Sound DOCK =
-        Gdx.audio.newSound(Gdx.files.classpath("sound/sfx/dock.wav"));
+    private final Effect dock;
 
     /**
      * The explosion sound of a receptor.
      */
-    private static final Sound EXPLODE =
-        Gdx.audio.newSound(Gdx.files.classpath("sound/sfx/explode.wav"));
+    private final Effect explode;
 
     /**
      * The clank sound in case a ball cannot be released.
      */
-    private static final Sound CLANK =
-        Gdx.audio.newSound(Gdx.files.classpath("sound/sfx/clank.wav"));
+    private final Effect clank;
 
     /**
      * The receptor image of this receptor.
@@ -129,6 +132,16 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
      */
     private EnumMap<Direction, Vector2> positions = new EnumMap<>(Direction.class);
 
+    /**
+     * The actor that is highlighted for the current hint or <code>null</code> if there is none.
+     */
+    private Actor hinted;
+
+    /**
+     * The pulse action of the highlighted actor.
+     */
+    private Action pulse;
+
     /**
      * Construct a {@link ReceptorActor} instance.
      *
@@ -138,9 +151,18 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
     public ReceptorActor(Receptor receptor, ActorContext context) {
         super(receptor, context);
 
+        // The sounds are played through the audio service, where marking a receptor has the
+        // highest priority
+        AudioService audio = context.getAudio();
+        rotate = audio.effect(context.getSound(GameAssets.ROTATE), 2, 1, 0.25f);
+        dock = audio.effect(context.getSound(GameAssets.DOCK), 3, 1, 0.3f);
+        explode = audio.effect(context.getSound(GameAssets.EXPLODE), 2, 2, 0.8f);
+        clank = audio.effect(context.getSound(GameAssets.CLANK), 1, 1, 0.2f);
+
         // Initialise sprites of the receptor.
         TextureAtlas atlas = context.getTextureAtlas();
-        image = new Image(atlas.findRegion("receptor/unmarked"));
+        image = new Image(atlas.findRegion(receptor.isMarked() ? "receptor/marked"
+            : "receptor/unmarked"));
         addActor(image);
 
         markedTile = atlas.findRegion("receptor/tile_marked", getTileIndex());
@@ -159,7 +181,7 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
                 addAction(Actions.sequence(
                     Actions.run(receptor::lock),
                     Actions.parallel(
-                        Actions.run(ROTATE::play),
+                        Actions.run(rotate::play),
                         Actions.rotateBy(-90.f, 0.2f),
                         Actions.run(() -> receptor.rotate(1))
 
@@ -235,6 +257,38 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
         }
     }
 
+    /**
+     * Highlight the move suggested by the given hint, which is either this receptor if it should
+     * be rotated or the marble in the slot that should be released. The previous highlight is
+     * cleared.
+     *
+     * @param hint The hint to highlight or <code>null</code> to only clear the highlight.
+     */
+    public void setHint(Hint hint) {
+        if (hinted != null) {
+            hinted.removeAction(pulse);
+            hinted.setScale(1.f);
+            hinted = null;
+        }
+
+        if (hint == null) {
+            return;
+        } else if (hint.isRotation()) {
+            hinted = this;
+        } else {
+            Receptor.Slot slot = getTileable().getSlot(hint.getDirection());
+            hinted = slot.isOccupied() ? getContext().actor(slot.getMarble()) : null;
+        }
+
+        if (hinted != null) {
+            pulse = Actions.forever(Actions.sequence(
+                Actions.scaleTo(1.1f, 1.1f, HINT_TIME),
+                Actions.scaleTo(1.f, 1.f, HINT_TIME)
+            ));
+            hinted.addAction(pulse);
+        }
+    }
+
     /**
      * This method is invoked when a {@link Receptor} was marked.
      *
@@ -243,7 +297,7 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
     @Override
     public void receptorMarked(Receptor receptor) {
         animationTime = 0.f;
-        EXPLODE.play();
+        explode.play();
 
         // Draw a marked receptor
         image.setDrawable(new TextureRegionDrawable(getContext().getTextureAtlas()
@@ -265,7 +319,7 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
                 powerUpStrategy = new JokerStrategy();
             }
             animationTime = 0.f;
-            EXPLODE.play();
+            explode.play();
 
             image.addAction(powerUpStrategy.animate());
             return;
@@ -286,7 +340,9 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
     public void ballDisposed(Tileable tileable, Direction direction, Marble marble) {
         Actor actor = getContext().actor(marble);
 
-        if (actor != null) {
+        if (actor instanceof MarbleActor) {
+            getContext().getMarblePool().free((MarbleActor) actor);
+        } else if (actor != null) {
             actor.remove();
         }
     }
@@ -318,7 +374,7 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
         actor.addListener(getInputHandler(actor, direction, animation));
 
         addActor(actor);
-        DOCK.play();
+        dock.play();
     }
 
     /**
@@ -366,7 +422,7 @@ public class ReceptorActor extends TileableActor<Receptor> implements ReceptorLi
                     actor.setPosition(pos.x, pos.y, Align.center);
                     slot.release();
                 } else {
-                    CLANK.play();
+                    clank.play();
                 }
 
                 // Stop the event from propagating
@@ -25,31 +25,38 @@
 
 package nl.tudelft.broccoli.libgdx.scene.ui;
 
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
-import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.scenes.scene2d.ui.Table;
-import com.badlogic.gdx.utils.Align;
-import com.badlogic.gdx.utils.Scaling;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
 import nl.tudelft.broccoli.core.level.Progress;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 
 /**
  * This {@link Actor} represents an in-game score board.
  *
+ * <p>The score board draws the score into a fixed amount of digit slots, so a change of the
+ * score only swaps the texture regions of the slots and never triggers a layout. Jumps in the
+ * score are counted up over a short period of time.</p>
+ *
  * @author Christian Slothouber (f.c.slothouber@student.tudelft.nl)
  */
-public class ScoreBoardActor extends Table {
-
+public class ScoreBoardActor extends Widget {
     /**
      * The size of the font.
      */
     private static final float FONT_SIZE = 46f;
 
     /**
-     * The space between each numeral.
+     * The maximum amount of digits of a score.
+     */
+    private static final int SLOTS = 10;
+
+    /**
+     * The time in seconds it takes to count up to a new score.
      */
-    private static final float OFFSET = 0f;
+    private static final float COUNT_UP_TIME = 0.5f;
 
     /**
      * The progress of the session.
@@ -62,9 +69,29 @@ public class ScoreBoardActor extends Table {
     private final TextureRegion[] digits = new TextureRegion[10];
 
     /**
-     * The currently represented score on screen.
+     * The digit textures of the slots, ordered from the least significant digit.
+     */
+    private final TextureRegion[] slots = new TextureRegion[SLOTS];
+
+    /**
+     * The amount of slots that are in use.
+     */
+    private int used;
+
+    /**
+     * The score that is counted up to.
+     */
+    private int target;
+
+    /**
+     * The score that is currently shown, which lags behind while counting up.
+     */
+    private float shown;
+
+    /**
+     * The amount of points that are counted per second.
      */
-    private int score = -1;
+    private float rate;
 
     /**
      * Constructs a {@link ScoreBoardActor}.
@@ -79,46 +106,95 @@ public class ScoreBoardActor extends Table {
         for (int i = 0; i < digits.length; i++) {
             digits[i] = context.getTextureAtlas().findRegion("score/numeral", i);
         }
+
+        // A restored game should not count up from zero
+        this.target = progress.getScore();
+        this.shown = target;
+        updateSlots(target);
     }
 
     /**
-     * Return the image corresponding to the given digit.
+     * Assign the digit textures of the given score to the slots.
      *
-     * @param digit The digit to get the image of.
-     * @return The image corresponding to the given digit.
-     */
-    private Image getDigit(int digit) {
-        Image image = new Image(digits[digit]);
-        image.setScaling(Scaling.fill);
-        image.setOrigin(Align.center);
-        return image;
+     * @param score The score to show.
+     */
+    private void updateSlots(int score) {
+        int remaining = Math.max(0, score);
+        used = 0;
+        do {
+            slots[used++] = digits[remaining % 10];
+            remaining /= 10;
+        } while (remaining > 0 && used < SLOTS);
     }
 
     /**
-     * Updates the images to the new score.
+     * Act on the scene updates.
+     *
+     * @param deltaTime The time delta.
      */
-    private void updateSprites() {
-        clearChildren();
-        score = progress.getScore();
+    @Override
+    public void act(float deltaTime) {
+        super.act(deltaTime);
+
+        int score = progress.getScore();
+        if (score != target) {
+            target = score;
+            rate = (target - shown) / COUNT_UP_TIME;
+        }
 
-        for (char c : Integer.toString(score).toCharArray()) {
-            add(getDigit(Character.digit(c, 10))).size(FONT_SIZE).padRight(OFFSET);
+        if (shown == target) {
+            return;
         }
 
-        score = progress.getScore();
+        int previous = (int) shown;
+        if (rate <= 0 || shown + rate * deltaTime >= target) {
+            shown = target;
+        } else {
+            shown += rate * deltaTime;
+        }
+
+        if ((int) shown != previous) {
+            updateSlots((int) shown);
+        }
     }
 
     /**
-     * Act on the scene updates.
+     * Draw the digits of the score centered in the bounds of this actor.
      *
-     * @param deltaTime The time delta.
+     * @param batch The batch to use.
+     * @param parentAlpha The alpha of the parent.
      */
     @Override
-    public void act(float deltaTime) {
-        super.act(deltaTime);
-
-        if (score != progress.getScore()) {
-            updateSprites();
+    public void draw(Batch batch, float parentAlpha) {
+        Color color = getColor();
+        batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+
+        float x = getX() + (getWidth() - used * FONT_SIZE) / 2;
+        float y = getY() + (getHeight() - FONT_SIZE) / 2;
+        for (int i = used - 1; i >= 0; i--) {
+            batch.draw(slots[i], x, y, FONT_SIZE, FONT_SIZE);
+            x += FONT_SIZE;
         }
     }
+
+    /**
+     * Return the preferred width of the score board, which fits the largest possible score so
+     * that the width does not change with the score.
+     *
+     * @return The preferred width of this actor.
+     */
+    @Override
+    public float getPrefWidth() {
+        return SLOTS * FONT_SIZE;
+    }
+
+    /**
+     * Return the preferred height of the score board.
+     *
+     * @return The preferred height of this actor.
+     */
+    @Override
+    public float getPrefHeight() {
+        return FONT_SIZE;
+    }
 }
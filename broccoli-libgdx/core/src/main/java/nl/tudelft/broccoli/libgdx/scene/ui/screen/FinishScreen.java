@@ -28,15 +28,18 @@ package nl.tudelft.broccoli.libgdx.scene.ui.screen;
 import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.pop;
 import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.replace;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
+import com.badlogic.gdx.utils.Disposable;
 import nl.tudelft.broccoli.core.level.GameSession;
 import nl.tudelft.broccoli.core.level.Level;
 import nl.tudelft.broccoli.core.level.LevelFactory;
 import nl.tudelft.broccoli.core.level.Progress;
+import nl.tudelft.broccoli.core.save.SaveGameStore;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 
 /**
@@ -44,14 +47,22 @@ import nl.tudelft.broccoli.libgdx.scene.ActorContext;
  *
  * @author Bas Musters (m.b.musters@student.tudelft.nl)
  */
-public class FinishScreen extends MenuScreen {
+public class FinishScreen extends MenuScreen implements Disposable {
     /**
-     * Construct a {@link FinishScreen}.
+     * The prefetch of the next level or <code>null</code> if there is no next level.
+     */
+    private GameScreenPrefetch next;
+
+    /**
+     * Construct a {@link FinishScreen}, which discards the saved game since the game has ended,
+     * whether it was won or the time ran out.
      *
      * @param context The {@link ActorContext} to use.
      * @param session The session that was played.
      */
     public FinishScreen(ActorContext context, GameSession session) {
+        discard(context);
+
         Table table = getActor();
         Progress progress = session.getProgress();
         int score = progress.getScore();
@@ -76,6 +87,22 @@ public class FinishScreen extends MenuScreen {
         }
     }
 
+    /**
+     * Discard the saved game in the background if saving is enabled, where a failure to delete
+     * the save is logged.
+     *
+     * @param context The {@link ActorContext} to use.
+     */
+    private static void discard(ActorContext context) {
+        SaveGameStore saves = context.getSaveGameStore();
+        if (saves != null) {
+            saves.delete().exceptionally(e -> {
+                Gdx.app.error("FinishScreen", "Failed to discard the saved game", e);
+                return null;
+            });
+        }
+    }
+
     /**
      * Return the label of the screen.
      *
@@ -105,20 +132,47 @@ public class FinishScreen extends MenuScreen {
     }
 
     /**
-     * Return the menu button of the screen.
+     * Return the next level button of the screen and start preparing the next level.
      *
-     * @return The menu button of the screen.
+     * @param context The {@link ActorContext} to use.
+     * @param factory The factory of the level.
+     * @param index The index of the next level.
+     * @return The next level button of the screen.
      */
     private Button initNextButton(ActorContext context, LevelFactory factory, int index) {
+        next = new GameScreenPrefetch(context, factory, index);
         Button button = createButton("Next level", Color.CORAL);
         button.addListener(new ChangeListener() {
             public void changed(ChangeEvent event, Actor actor) {
-                GameSession session = factory.create(index)
-                        .create(context.getConfiguration());
-                addAction(replace(new GameScreen(context, session)));
+                addAction(replace(next.take()));
             }
         });
 
         return button;
     }
+
+    /**
+     * Act on the scene updates, which builds the screen of the next level once its session has
+     * been created in the background.
+     *
+     * @param delta The time delta.
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (next != null) {
+            next.poll();
+        }
+    }
+
+    /**
+     * Discard the prepared screen of the next level if it has not been chosen.
+     */
+    @Override
+    public void dispose() {
+        if (next != null) {
+            next.dispose();
+        }
+    }
 }
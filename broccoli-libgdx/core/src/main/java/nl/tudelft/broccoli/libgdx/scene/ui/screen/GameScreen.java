@@ -3,34 +3,38 @@ package nl.tudelft.broccoli.libgdx.scene.ui.screen;
 import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.push;
 import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.replace;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.InputListener;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
-import nl.tudelft.broccoli.core.grid.Grid;
-import nl.tudelft.broccoli.core.grid.Tileable;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import nl.tudelft.broccoli.core.agent.Hint;
+import nl.tudelft.broccoli.core.agent.HintEngine;
+import nl.tudelft.broccoli.core.jfr.GameEventRecorder;
 import nl.tudelft.broccoli.core.level.GameSession;
-import nl.tudelft.broccoli.core.powerup.PowerUp;
 import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.save.SaveGameStore;
+import nl.tudelft.broccoli.core.simulation.Simulation;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 import nl.tudelft.broccoli.libgdx.scene.game.GridActor;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleActor;
+import nl.tudelft.broccoli.libgdx.scene.game.MarbleActorPool;
+import nl.tudelft.broccoli.libgdx.scene.game.receptor.ReceptorActor;
 import nl.tudelft.broccoli.libgdx.scene.ui.ScoreBoardActor;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-
-
 /**
  * A {@link WidgetGroup} containing the screens drawn to the window. This actor is composed of the
  * actual game, in combination with the UI of the game.
  *
  * @author Bas Musters (m.b.musters@student.tudelft.nl)
  */
-public class GameScreen extends Stack {
+public class GameScreen extends Stack implements Disposable {
     /**
      * The game session that is running.
      */
@@ -41,6 +45,36 @@ public class GameScreen extends Stack {
      */
     private final ActorContext context;
 
+    /**
+     * The actor that displays the grid of the session.
+     */
+    private final GridActor grid;
+
+    /**
+     * The engine that searches for hints in the background.
+     */
+    private final HintEngine hints;
+
+    /**
+     * The receptors of the session in the order the hints refer to them.
+     */
+    private final Receptor[] receptors;
+
+    /**
+     * A flag to indicate the session has been started by this screen.
+     */
+    private boolean started;
+
+    /**
+     * The hint that is currently highlighted.
+     */
+    private Hint hint;
+
+    /**
+     * The receptor actor that highlights the current hint.
+     */
+    private ReceptorActor highlighted;
+
     /**
      * Construct a {@link GameScreen}.
      *
@@ -51,100 +85,135 @@ public class GameScreen extends Stack {
         super();
         this.session = session;
         this.context = context;
+        this.hints = new HintEngine(session);
+        this.receptors = Simulation.receptors(session.getGrid());
 
         Table table = new Table();
         table.setFillParent(true);
         ScoreBoardActor score = new ScoreBoardActor(context, session.getProgress());
         table.add(score).height(80);
         table.row();
-        GridActor grid = new GridActor(context, session.getGrid());
+        this.grid = new GridActor(context, session.getGrid());
         table.add(grid).expand();
-        session.getProgress().track(session.getGrid());
 
         this.addActor(table);
         this.addListener(new InputListener() {
             @Override
             public boolean keyDown(InputEvent event, int keycode) {
                 if (keycode == Input.Keys.ESCAPE) {
+                    save();
                     addAction(push(new PauseScreen(context)));
                     return true;
+                } else if (keycode == Input.Keys.H) {
+                    hints.request();
+                    return true;
                 }
                 return false;
             }
         });
-
-        initPowerUps();
+        this.addCaptureListener(new InputListener() {
+            @Override
+            public boolean touchDown(InputEvent event, float x, float y, int pointer, int button) {
+                // The player acts, so the hint no longer applies
+                hints.cancel();
+                return false;
+            }
+        });
     }
 
     /**
-     * Initialise the {@link PowerUp} assignment in the game.
+     * Method that is checked every tick.
+     *
+     * @param delta Time delta
      */
-    private void initPowerUps() {
-        List<Receptor> receptors = getReceptors();
-        int n = receptors.size();
-        int stdev = 10;
-        int mu = 30;
-        int duration = 20;
-
-        final Random random = new Random();
-        final Runnable assign = new Runnable() {
-            @Override
-            public void run() {
-                // Create the power-up to assign
-                PowerUp powerUp = session.getPowerUpFactory().create();
-
-                // Find receptor to assign to
-                Receptor receptor = receptors.get(random.nextInt(n));
-                receptor.setPowerUp(powerUp);
-
-                // Schedule de-assignment of power-up
-                addAction(Actions.delay(duration, Actions.run(() -> {
-                    if (receptor.getPowerUp() != null && receptor.getPowerUp().equals(powerUp)) {
-                        receptor.setPowerUp(null);
-                    }
-                })));
-
-                // Schedule next assignment of power-up
-                int next = (int) random.nextGaussian() * stdev + mu;
-                addAction(Actions.delay(next, Actions.run(this)));
-            }
-        };
+    @Override
+    public void act(float delta) {
+        // The session starts once the screen is shown, since it may have been prepared ahead
+        if (!started) {
+            started = true;
+            session.start();
+            GameEventRecorder.attach(session);
+        }
+        session.getClock().tick(delta);
+        super.act(delta);
+        highlight(hints.getHint());
+
+        if (session.getProgress().isWon()) {
+            hints.cancel();
+            addAction(replace(new FinishScreen(context, session)));
+        }
+    }
 
-        int next = (int) random.nextGaussian() * stdev + mu;
-        addAction(Actions.delay(next, Actions.run(assign)));
+    /**
+     * Save the game in the background if saving is enabled, where a failure to write the save is
+     * logged.
+     */
+    private void save() {
+        SaveGameStore saves = context.getSaveGameStore();
+        if (saves != null) {
+            saves.save(session).exceptionally(e -> {
+                Gdx.app.error("GameScreen", "Failed to save the game", e);
+                return null;
+            });
+        }
     }
 
     /**
-     * Get the receptors on the grid.
+     * Highlight the given hint if it differs from the hint that is currently highlighted.
      *
-     * @return The receptors on the grid.
+     * @param next The hint to highlight or <code>null</code> to clear the highlight.
      */
-    private List<Receptor> getReceptors() {
-        Grid grid = session.getGrid();
-        final List<Receptor> receptors = new ArrayList<>();
-        for (int i = 0; i < grid.getWidth(); i++) {
-            for (int j = 0; j < grid.getHeight(); j++) {
-                Tileable t = grid.get(i, j).getTileable();
-                if (t instanceof Receptor) {
-                    receptors.add((Receptor) t);
-                }
-            }
+    private void highlight(Hint next) {
+        if (next == hint) {
+            return;
         }
 
-        return receptors;
+        if (highlighted != null) {
+            highlighted.setHint(null);
+            highlighted = null;
+        }
+
+        hint = next;
+
+        if (hint != null) {
+            highlighted = (ReceptorActor) context.actor(receptors[hint.getReceptor()]);
+            highlighted.setHint(hint);
+        }
     }
 
     /**
-     * Method that is checked every tick.
-     *
-     * @param delta Time delta
+     * Tear down this screen, which returns its marble actors to the pool, removes the entities of
+     * its game session from the registry of the context and releases the cached tiles.
      */
     @Override
-    public void act(float delta) {
-        super.act(delta);
+    public void dispose() {
+        hints.cancel();
 
-        if (session.getProgress().isWon()) {
-            addAction(replace(new FinishScreen(context, session)));
+        Array<MarbleActor> marbles = new Array<>();
+        collect(this, marbles);
+
+        MarbleActorPool pool = context.getMarblePool();
+        for (MarbleActor marble : marbles) {
+            pool.free(marble);
+        }
+
+        context.release(this);
+        grid.dispose();
+    }
+
+    /**
+     * Collect the marble actors in the given actor tree.
+     *
+     * @param group The root of the actor tree to search.
+     * @param marbles The array to add the marble actors to.
+     */
+    private static void collect(Group group, Array<MarbleActor> marbles) {
+        for (Actor child : group.getChildren()) {
+            if (child instanceof MarbleActor) {
+                marbles.add((MarbleActor) child);
+            } else if (child instanceof Group) {
+                collect((Group) child, marbles);
+            }
         }
     }
 }
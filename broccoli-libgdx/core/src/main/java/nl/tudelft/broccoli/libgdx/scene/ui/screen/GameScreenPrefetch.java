@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.ui.screen;
+
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.LevelFactory;
+import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link GameScreenPrefetch} prepares the {@link GameScreen} of a level while another screen
+ * is shown, so that the level starts without a hitch once the player chooses it.
+ *
+ * <p>The {@link GameSession} of the level is created on a background thread. The actors of the
+ * screen are built on the render thread, since the scene graph is not thread-safe, but this
+ * happens during a frame of the screen that owns the prefetch rather than when the level is
+ * chosen.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+class GameScreenPrefetch {
+    /**
+     * The executor that creates the game sessions on a single daemon thread.
+     */
+    private static final Executor EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "broccoli-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The context to build the screen in.
+     */
+    private final ActorContext context;
+
+    /**
+     * The game session that is being created.
+     */
+    private final CompletableFuture<GameSession> session;
+
+    /**
+     * The screen that has been built or <code>null</code> if it has not been built yet.
+     */
+    private GameScreen screen;
+
+    /**
+     * A flag to indicate that the screen has been handed out by {@link #take()}.
+     */
+    private boolean taken;
+
+    /**
+     * Construct a {@link GameScreenPrefetch} instance, which starts creating the game session of
+     * the level in the background immediately.
+     *
+     * @param context The context to build the screen in.
+     * @param factory The factory of the level.
+     * @param index The index of the level.
+     */
+    GameScreenPrefetch(ActorContext context, LevelFactory factory, int index) {
+        this.context = context;
+        this.session = CompletableFuture.supplyAsync(() ->
+            factory.create(index).create(context.getConfiguration()), EXECUTOR);
+    }
+
+    /**
+     * Build the screen if its game session has been created. This method must be called on the
+     * render thread.
+     *
+     * @return <code>true</code> if the screen was built during this call, <code>false</code>
+     *         otherwise.
+     */
+    boolean poll() {
+        if (screen != null || !session.isDone() || session.isCompletedExceptionally()) {
+            return false;
+        }
+
+        screen = new GameScreen(context, session.join());
+        return true;
+    }
+
+    /**
+     * Return the screen of the level, waiting for it to be prepared if necessary. This method
+     * must be called on the render thread.
+     *
+     * @return The game screen of the level.
+     */
+    GameScreen take() {
+        if (screen == null) {
+            screen = new GameScreen(context, session.join());
+        }
+        taken = true;
+        return screen;
+    }
+
+    /**
+     * Discard the screen if it has been built but was never taken, so its entities do not stay
+     * registered in the context.
+     */
+    void dispose() {
+        if (screen != null && !taken) {
+            screen.dispose();
+            screen = null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.ui.screen;
+
+import static nl.tudelft.broccoli.libgdx.scene.actions.ScreenActions.replace;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.ui.Image;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.util.function.Supplier;
+
+/**
+ * A screen that shows the progress of loading the assets of the game and continues to the next
+ * screen once all assets have been loaded.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class LoadingScreen extends MenuScreen implements Disposable {
+    /**
+     * The width of the progress bar.
+     */
+    private static final float BAR_WIDTH = 300.f;
+
+    /**
+     * The amount of milliseconds to spend on loading assets during a single frame.
+     */
+    private static final int BUDGET = 10;
+
+    /**
+     * The manager that loads the assets.
+     */
+    private final AssetManager assets;
+
+    /**
+     * The supplier of the screen to show once the assets have been loaded.
+     */
+    private final Supplier<Actor> next;
+
+    /**
+     * The font of the progress label.
+     */
+    private final BitmapFont font = new BitmapFont();
+
+    /**
+     * The texture of the progress bar.
+     */
+    private final Texture texture;
+
+    /**
+     * The progress bar.
+     */
+    private final Image bar;
+
+    /**
+     * The label showing the progress in percents.
+     */
+    private final Label label;
+
+    /**
+     * A flag to indicate that the assets have been loaded.
+     */
+    private boolean loaded;
+
+    /**
+     * Construct a {@link LoadingScreen} instance.
+     *
+     * @param assets The manager that loads the assets.
+     * @param next The supplier of the screen to show once the assets have been loaded, which is
+     *             invoked on the render thread.
+     */
+    public LoadingScreen(AssetManager assets, Supplier<Actor> next) {
+        this.assets = assets;
+        this.next = next;
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGB888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        this.texture = new Texture(pixmap);
+        pixmap.dispose();
+
+        Table table = getActor();
+        this.label = new Label("Loading", new Label.LabelStyle(font, Color.WHITE));
+        table.add(label).padBottom(20);
+        table.row();
+
+        // The bar is scaled horizontally, so its width never has to be laid out again
+        this.bar = new Image(texture);
+        this.bar.setScaleX(0.f);
+        table.add(bar).width(BAR_WIDTH).height(10).left();
+    }
+
+    /**
+     * Continue loading the assets and show the next screen once all assets have been loaded.
+     *
+     * @param delta The time delta.
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (loaded) {
+            return;
+        }
+
+        loaded = assets.update(BUDGET);
+        float progress = assets.getProgress();
+        bar.setScaleX(progress);
+        label.setText("Loading " + (int) (progress * 100) + "%");
+
+        if (loaded) {
+            addAction(replace(next.get()));
+        }
+    }
+
+    /**
+     * Dispose the resources of the loading screen.
+     */
+    @Override
+    public void dispose() {
+        font.dispose();
+        texture.dispose();
+    }
+}
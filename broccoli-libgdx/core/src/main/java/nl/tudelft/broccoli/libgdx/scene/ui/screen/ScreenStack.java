@@ -7,6 +7,7 @@ import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
 import com.badlogic.gdx.scenes.scene2d.ui.Stack;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.SnapshotArray;
 
 /**
@@ -23,7 +24,7 @@ public class ScreenStack extends Stack {
     public void replace(Actor screen) {
         Action runnable = Actions.run(() -> {
             if (hasChildren()) {
-                getChildren().pop();
+                teardown(getChildren().pop());
             }
             add(screen);
             getStage().setKeyboardFocus(screen);
@@ -58,7 +59,11 @@ public class ScreenStack extends Stack {
 
             SnapshotArray<Actor> children = getChildren();
             int size = children.size;
-            children.removeRange(Math.max(0, size - n), size - 1);
+            int start = Math.max(0, size - n);
+            for (int i = size - 1; i >= start; i--) {
+                teardown(children.get(i));
+            }
+            children.removeRange(start, size - 1);
 
             if (size - n > 0) {
                 getStage().setKeyboardFocus(children.peek());
@@ -66,6 +71,18 @@ public class ScreenStack extends Stack {
         }));
     }
 
+    /**
+     * Tear down a screen that has been removed from the stack, so it releases the resources it
+     * holds.
+     *
+     * @param screen The screen that has been removed.
+     */
+    private void teardown(Actor screen) {
+        if (screen instanceof Disposable) {
+            ((Disposable) screen).dispose();
+        }
+    }
+
     /**
      * Act on the scene updates.
      *
@@ -34,17 +34,26 @@ import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.level.LevelFactory;
 import nl.tudelft.broccoli.core.level.easy.EasyLevelFactory;
 import nl.tudelft.broccoli.core.level.hard.HardLevelFactory;
 import nl.tudelft.broccoli.core.level.medium.MediumLevelFactory;
+import nl.tudelft.broccoli.core.save.SaveGameStore;
 import nl.tudelft.broccoli.libgdx.scene.ActorContext;
 
+import java.io.IOException;
+
 /**
  * A {@link MenuScreen} representing a start screen.
  *
  * @author Bas Musters (m.b.musters@student.tudelft.nl)
  */
 public class StartScreen extends MenuScreen {
+    /**
+     * The prefetches of the first level of each difficulty.
+     */
+    private final GameScreenPrefetch[] prefetches = new GameScreenPrefetch[3];
+
     /**
      * Construct a {@link StartScreen}.
      *
@@ -55,40 +64,38 @@ public class StartScreen extends MenuScreen {
 
         Label.LabelStyle labelStyle = new Label.LabelStyle();
         labelStyle.font = new BitmapFont();
+        SaveGameStore saves = context.getSaveGameStore();
+        if (saves != null && saves.exists()) {
+            Button resume = createButton("Continue", Color.FOREST);
+            resume.addListener(new ChangeListener() {
+                public void changed(ChangeEvent event, Actor actor) {
+                    try {
+                        GameSession session = saves.load().restore(context.getConfiguration());
+                        addAction(push(new GameScreen(context, session)));
+                    } catch (IOException | IllegalArgumentException e) {
+                        // The saved game cannot be resumed, so get rid of it
+                        saves.delete();
+                        resume.setDisabled(true);
+                    }
+                }
+            });
+            table.add(resume).width(200).height(50).padBottom(40);
+            table.row();
+        }
+
         Label selectLevel = new Label("Select a level:", labelStyle);
         table.add(selectLevel).padBottom(20);
         table.row();
 
-        Button easy = createButton("Easy", Color.CORAL);
-        easy.addListener(new ChangeListener() {
-            public void changed(ChangeEvent event, Actor actor) {
-                GameSession session = new EasyLevelFactory().create(1)
-                    .create(context.getConfiguration());
-                addAction(push(new GameScreen(context, session)));
-            }
-        });
+        Button easy = initLevelButton(context, "Easy", new EasyLevelFactory(), 0);
         table.add(easy).width(200).height(50).padBottom(20);
         table.row();
 
-        Button medium = createButton("Medium", Color.CORAL);
-        medium.addListener(new ChangeListener() {
-            public void changed(ChangeEvent event, Actor actor) {
-                GameSession session = new MediumLevelFactory().create(1)
-                    .create(context.getConfiguration());
-                addAction(push(new GameScreen(context, session)));
-            }
-        });
+        Button medium = initLevelButton(context, "Medium", new MediumLevelFactory(), 1);
         table.add(medium).width(200).height(50).padBottom(20);
         table.row();
 
-        Button hard = createButton("Hard", Color.CORAL);
-        hard.addListener(new ChangeListener() {
-            public void changed(ChangeEvent event, Actor actor) {
-                GameSession session = new HardLevelFactory().create(1)
-                    .create(context.getConfiguration());
-                addAction(push(new GameScreen(context, session)));
-            }
-        });
+        Button hard = initLevelButton(context, "Hard", new HardLevelFactory(), 2);
         table.add(hard).width(200).height(50).padBottom(60);
         table.row();
 
@@ -101,4 +108,46 @@ public class StartScreen extends MenuScreen {
         table.add(exit).width(200).height(50).padBottom(20);
 
     }
+
+    /**
+     * Return a button that starts the first level of the given factory and start preparing that
+     * level.
+     *
+     * @param context The {@link ActorContext} to use.
+     * @param text The text on the button.
+     * @param factory The factory of the levels of the difficulty.
+     * @param slot The index of the prefetch of the level.
+     * @return The button that starts the level.
+     */
+    private Button initLevelButton(ActorContext context, String text, LevelFactory factory,
+                                   int slot) {
+        prefetches[slot] = new GameScreenPrefetch(context, factory, 1);
+        Button button = createButton(text, Color.CORAL);
+        button.addListener(new ChangeListener() {
+            public void changed(ChangeEvent event, Actor actor) {
+                GameScreen screen = prefetches[slot].take();
+
+                // Prepare a fresh session for the next time the level is chosen
+                prefetches[slot] = new GameScreenPrefetch(context, factory, 1);
+                addAction(push(screen));
+            }
+        });
+        return button;
+    }
+
+    /**
+     * Act on the scene updates, which builds the screen of at most one prepared level per frame.
+     *
+     * @param delta The time delta.
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        for (GameScreenPrefetch prefetch : prefetches) {
+            if (prefetch.poll()) {
+                break;
+            }
+        }
+    }
 }
@@ -0,0 +1,381 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.util;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.TimeUtils;
+import nl.tudelft.broccoli.core.config.BoundedProperty;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.DoubleProperty;
+import nl.tudelft.broccoli.core.config.IntegerProperty;
+import nl.tudelft.broccoli.core.config.Property;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * A service through which all sound effects of the game are played, which limits the amount of
+ * voices each effect and the game as a whole may use.
+ *
+ * <p>Identical effects that are played within a short window are merged into a single voice. If
+ * an effect exceeds its own voice limit, its oldest voice is stopped. If all voices of the game
+ * are in use, the oldest voice with the lowest priority is stolen, unless it has a higher
+ * priority than the effect that is played.</p>
+ *
+ * <p>Since libGDX does not report when a sound has finished playing, each effect declares how
+ * long a voice of the effect is assumed to play.</p>
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class AudioService {
+    /**
+     * The maximum amount of sound effects that may play at the same time.
+     */
+    public static final Property<Integer> VOICES =
+        new BoundedProperty<>(new IntegerProperty("audio.voices", 12), 1, Integer.MAX_VALUE);
+
+    /**
+     * The time in seconds in which identical sound effects are merged into one.
+     */
+    public static final Property<Double> WINDOW =
+        new BoundedProperty<>(new DoubleProperty("audio.window", 0.05), 0.0, 1.0);
+
+    /**
+     * The clock that returns the current time in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The window in nanoseconds in which identical effects are merged.
+     */
+    private final long window;
+
+    /**
+     * The effects that have been registered, mapped by their sound.
+     */
+    private final Map<Sound, Effect> effects = new IdentityHashMap<>();
+
+    /**
+     * The effects of the active voices.
+     */
+    private final Effect[] owners;
+
+    /**
+     * The sound identifiers of the active voices.
+     */
+    private final long[] ids;
+
+    /**
+     * The times in nanoseconds at which the active voices started.
+     */
+    private final long[] starts;
+
+    /**
+     * The times in nanoseconds at which the active voices are assumed to end.
+     */
+    private final long[] ends;
+
+    /**
+     * The amount of active voices.
+     */
+    private int active;
+
+    /**
+     * The amount of plays that have been merged into another voice.
+     */
+    private long coalesced;
+
+    /**
+     * The amount of voices that have been stopped to make room for another voice.
+     */
+    private long stolen;
+
+    /**
+     * The amount of plays that have been dropped because no voice was available.
+     */
+    private long dropped;
+
+    /**
+     * Construct an {@link AudioService} instance.
+     *
+     * @param configuration The game configuration.
+     */
+    public AudioService(Configuration configuration) {
+        this(configuration.get(VOICES), configuration.get(WINDOW), TimeUtils::nanoTime);
+    }
+
+    /**
+     * Construct an {@link AudioService} instance.
+     *
+     * @param voices The maximum amount of effects that may play at the same time.
+     * @param window The time in seconds in which identical effects are merged into one.
+     * @param clock The clock that returns the current time in nanoseconds.
+     */
+    AudioService(int voices, double window, LongSupplier clock) {
+        if (voices < 1) {
+            throw new IllegalArgumentException("At least one voice is required");
+        }
+
+        this.clock = clock;
+        this.window = (long) (window * 1e9);
+        this.owners = new Effect[voices];
+        this.ids = new long[voices];
+        this.starts = new long[voices];
+        this.ends = new long[voices];
+    }
+
+    /**
+     * Return the {@link Effect} that plays the given {@link Sound}, which is registered with the
+     * given properties if the sound has not been registered yet.
+     *
+     * @param sound The sound to play.
+     * @param voices The maximum amount of voices of the effect.
+     * @param priority The priority of the effect, where effects with a higher priority may steal
+     *                 the voices of effects with a lower priority.
+     * @param duration The time in seconds a voice of the effect is assumed to play.
+     * @return The effect of the sound.
+     */
+    public Effect effect(Sound sound, int voices, int priority, float duration) {
+        return effects.computeIfAbsent(sound, key ->
+            new Effect(key, voices, priority, (long) (duration * 1e9)));
+    }
+
+    /**
+     * Play the given {@link Effect}.
+     *
+     * @param effect The effect to play.
+     * @return <code>true</code> if a voice started playing the effect, <code>false</code> if the
+     *         effect has been merged or dropped.
+     */
+    boolean play(Effect effect) {
+        long now = clock.getAsLong();
+        expire(now);
+
+        if (effect.count > 0 && now - effect.last < window) {
+            coalesced++;
+            return false;
+        }
+
+        if (effect.count >= effect.voices) {
+            stop(oldest(effect));
+        } else if (active == owners.length) {
+            int victim = victim();
+            if (owners[victim].priority > effect.priority) {
+                dropped++;
+                return false;
+            }
+            stop(victim);
+        }
+
+        long id = effect.sound.play();
+        if (id == -1) {
+            dropped++;
+            return false;
+        }
+
+        owners[active] = effect;
+        ids[active] = id;
+        starts[active] = now;
+        ends[active] = now + effect.duration;
+        active++;
+        effect.count++;
+        effect.last = now;
+        return true;
+    }
+
+    /**
+     * Release the voices that are assumed to have finished playing.
+     *
+     * @param now The current time in nanoseconds.
+     */
+    private void expire(long now) {
+        for (int i = active - 1; i >= 0; i--) {
+            if (ends[i] <= now) {
+                remove(i);
+            }
+        }
+    }
+
+    /**
+     * Stop the voice at the given index and release it.
+     *
+     * @param index The index of the voice to stop.
+     */
+    private void stop(int index) {
+        owners[index].sound.stop(ids[index]);
+        remove(index);
+        stolen++;
+    }
+
+    /**
+     * Release the voice at the given index by moving the last voice into its place.
+     *
+     * @param index The index of the voice to release.
+     */
+    private void remove(int index) {
+        owners[index].count--;
+        active--;
+        owners[index] = owners[active];
+        ids[index] = ids[active];
+        starts[index] = starts[active];
+        ends[index] = ends[active];
+        owners[active] = null;
+    }
+
+    /**
+     * Find the oldest active voice of the given effect.
+     *
+     * @param effect The effect to find the voice of.
+     * @return The index of the oldest voice of the effect.
+     */
+    private int oldest(Effect effect) {
+        int result = -1;
+        for (int i = 0; i < active; i++) {
+            if (owners[i] == effect && (result == -1 || starts[i] < starts[result])) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the voice to steal, which is the oldest voice with the lowest priority.
+     *
+     * @return The index of the voice to steal.
+     */
+    private int victim() {
+        int result = 0;
+        for (int i = 1; i < active; i++) {
+            int priority = owners[i].priority;
+            int lowest = owners[result].priority;
+            if (priority < lowest || priority == lowest && starts[i] < starts[result]) {
+                result = i;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return the amount of voices that are currently assumed to be playing.
+     *
+     * @return The amount of active voices.
+     */
+    public int getActiveVoices() {
+        return active;
+    }
+
+    /**
+     * Return the amount of plays that have been merged into another voice.
+     *
+     * @return The amount of coalesced plays.
+     */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Return the amount of voices that have been stopped to make room for another voice.
+     *
+     * @return The amount of stolen voices.
+     */
+    public long getStolen() {
+        return stolen;
+    }
+
+    /**
+     * Return the amount of plays that have been dropped because no voice was available.
+     *
+     * @return The amount of dropped plays.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * A sound effect that is played through an {@link AudioService}.
+     */
+    public final class Effect {
+        /**
+         * The sound of the effect.
+         */
+        private final Sound sound;
+
+        /**
+         * The maximum amount of voices of the effect.
+         */
+        private final int voices;
+
+        /**
+         * The priority of the effect.
+         */
+        private final int priority;
+
+        /**
+         * The time in nanoseconds a voice of the effect is assumed to play.
+         */
+        private final long duration;
+
+        /**
+         * The amount of active voices of the effect.
+         */
+        private int count;
+
+        /**
+         * The time in nanoseconds at which the effect started playing for the last time.
+         */
+        private long last;
+
+        /**
+         * Construct an {@link Effect} instance.
+         *
+         * @param sound The sound of the effect.
+         * @param voices The maximum amount of voices of the effect.
+         * @param priority The priority of the effect.
+         * @param duration The time in nanoseconds a voice of the effect is assumed to play.
+         */
+        private Effect(Sound sound, int voices, int priority, long duration) {
+            if (voices < 1) {
+                throw new IllegalArgumentException("At least one voice is required");
+            }
+
+            this.sound = sound;
+            this.voices = voices;
+            this.priority = priority;
+            this.duration = duration;
+        }
+
+        /**
+         * Play this effect through the audio service.
+         *
+         * @return <code>true</code> if a voice started playing the effect, <code>false</code> if
+         *         the effect has been merged or dropped.
+         */
+        public boolean play() {
+            return AudioService.this.play(this);
+        }
+    }
+}
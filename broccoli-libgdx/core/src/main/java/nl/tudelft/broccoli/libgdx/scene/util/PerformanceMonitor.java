@@ -0,0 +1,339 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.util;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.TimeUtils;
+import nl.tudelft.broccoli.core.metrics.Histogram;
+import nl.tudelft.broccoli.core.metrics.JsonMetricExporter;
+import nl.tudelft.broccoli.core.metrics.MetricRegistry;
+import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.Supplier;
+
+/**
+ * A monitor which records the frame timings and rendering statistics of a {@link Stage} into a
+ * {@link MetricRegistry}.
+ *
+ * <p>The time spent in <code>stage.act</code> and <code>stage.draw</code> is recorded per frame
+ * in nanoseconds, next to the amount of render calls of the {@link SpriteBatch} and the texture
+ * switches counted by the {@link GLProfiler}. The size of the scene graph, the registry of the
+ * {@link ActorContext} and the allocation rate of the render thread are exposed as gauges which
+ * are only computed when the metrics are read. Nothing is recorded while the monitor is
+ * disabled.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class PerformanceMonitor {
+    /**
+     * The amount of nanoseconds in a second.
+     */
+    private static final double NANOS = 1e9;
+
+    /**
+     * The registry in which the metrics are recorded.
+     */
+    private final MetricRegistry registry = new MetricRegistry();
+
+    /**
+     * The stage to monitor.
+     */
+    private final Stage stage;
+
+    /**
+     * The time spent in <code>stage.act</code> per frame in nanoseconds.
+     */
+    private final Histogram act;
+
+    /**
+     * The time spent in <code>stage.draw</code> per frame in nanoseconds.
+     */
+    private final Histogram draw;
+
+    /**
+     * The amount of render calls of the sprite batch per frame.
+     */
+    private final Histogram renderCalls;
+
+    /**
+     * The amount of texture switches per frame.
+     */
+    private final Histogram textureSwitches;
+
+    /**
+     * The identifier of the thread that renders the stage.
+     */
+    private final long thread = Thread.currentThread().getId();
+
+    /**
+     * A flag to indicate the monitor is recording.
+     */
+    private boolean enabled;
+
+    /**
+     * The time at which the current measurement was started.
+     */
+    private long start;
+
+    /**
+     * The total amount of render calls of the sprite batch at the start of the draw.
+     */
+    private int calls;
+
+    /**
+     * The amount of bytes allocated by the render thread at the last sample.
+     */
+    private long allocated;
+
+    /**
+     * The time at which the allocation rate was last sampled.
+     */
+    private long sampled;
+
+    /**
+     * Construct a {@link PerformanceMonitor} instance.
+     *
+     * @param stage The stage to monitor.
+     * @param context The supplier of the actor context of the stage, which may supply
+     *                <code>null</code> while the context is not yet available.
+     */
+    public PerformanceMonitor(Stage stage, Supplier<ActorContext> context) {
+        this.stage = stage;
+        this.act = registry.histogram("frame.act");
+        this.draw = registry.histogram("frame.draw");
+        this.renderCalls = registry.histogram("frame.render.calls");
+        this.textureSwitches = registry.histogram("frame.texture.switches");
+        this.allocated = allocated(thread);
+        this.sampled = TimeUtils.nanoTime();
+
+        registry.gauge("scene.actors", () -> countActors(stage.getRoot()));
+        registry.gauge("scene.actions", () -> countActions(stage.getRoot()));
+        registry.gauge("context.registry", () -> {
+            ActorContext current = context.get();
+            return current == null ? 0 : current.size();
+        });
+        registry.gauge("context.registry.peak", () -> {
+            ActorContext current = context.get();
+            return current == null ? 0 : current.getPeakSize();
+        });
+        registry.gauge("heap.allocation.rate", this::sampleAllocationRate);
+    }
+
+    /**
+     * Return the {@link MetricRegistry} in which the metrics of this monitor are recorded.
+     *
+     * @return The registry of this monitor.
+     */
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Determine whether the monitor is recording.
+     *
+     * @return <code>true</code> if the monitor records frames, <code>false</code> otherwise.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable or disable the recording of frames. The {@link GLProfiler} is only enabled while the
+     * monitor is recording, since it intercepts every call to OpenGL.
+     *
+     * @param enabled <code>true</code> to start recording, <code>false</code> to stop.
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+
+        this.enabled = enabled;
+        if (enabled) {
+            GLProfiler.enable();
+        } else {
+            GLProfiler.disable();
+        }
+    }
+
+    /**
+     * Mark the start of the simulation steps of a frame.
+     */
+    public void beginAct() {
+        if (enabled) {
+            start = TimeUtils.nanoTime();
+        }
+    }
+
+    /**
+     * Mark the end of the simulation steps of a frame.
+     */
+    public void endAct() {
+        if (enabled) {
+            act.record(TimeUtils.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Mark the start of the drawing of a frame.
+     */
+    public void beginDraw() {
+        if (!enabled) {
+            return;
+        }
+
+        GLProfiler.reset();
+        calls = totalRenderCalls(stage.getBatch());
+        start = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Mark the end of the drawing of a frame.
+     */
+    public void endDraw() {
+        if (!enabled) {
+            return;
+        }
+
+        draw.record(TimeUtils.nanoTime() - start);
+        renderCalls.record(totalRenderCalls(stage.getBatch()) - calls);
+        textureSwitches.record(GLProfiler.textureBindings);
+    }
+
+    /**
+     * Return the amount of bytes the render thread has allocated, which is only supported by
+     * HotSpot-based virtual machines.
+     *
+     * @return The amount of allocated bytes or <code>-1</code> if it cannot be measured.
+     */
+    public long getAllocatedBytes() {
+        return allocated(thread);
+    }
+
+    /**
+     * Export the metrics of this monitor as a single JSON object.
+     *
+     * @param out The output to write the metrics to.
+     * @throws IOException if the metrics could not be written.
+     */
+    public void dump(Appendable out) throws IOException {
+        new JsonMetricExporter().export(registry, out);
+    }
+
+    /**
+     * Count the actors in the tree rooted at the given actor, including the actor itself.
+     *
+     * @param actor The root of the tree to count.
+     * @return The amount of actors in the tree.
+     */
+    static int countActors(Actor actor) {
+        int count = 1;
+        if (actor instanceof Group) {
+            SnapshotArray<Actor> children = ((Group) actor).getChildren();
+            for (int i = 0; i < children.size; i++) {
+                count += countActors(children.get(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the actions that are attached to the actors in the tree rooted at the given actor.
+     *
+     * @param actor The root of the tree to count.
+     * @return The amount of actions in the tree.
+     */
+    static int countActions(Actor actor) {
+        int count = actor.getActions().size;
+        if (actor instanceof Group) {
+            SnapshotArray<Actor> children = ((Group) actor).getChildren();
+            for (int i = 0; i < children.size; i++) {
+                count += countActions(children.get(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sample the amount of bytes the render thread allocated per second since the previous
+     * sample.
+     *
+     * @return The allocation rate in bytes per second or <code>-1</code> if the virtual machine
+     *     does not support measuring allocations.
+     */
+    private double sampleAllocationRate() {
+        long now = TimeUtils.nanoTime();
+        long bytes = getAllocatedBytes();
+        if (bytes < 0 || now == sampled) {
+            return -1;
+        }
+
+        double rate = (bytes - allocated) * NANOS / (now - sampled);
+        allocated = bytes;
+        sampled = now;
+        return rate;
+    }
+
+    /**
+     * Return the total amount of render calls the given batch has performed.
+     *
+     * @param batch The batch to read the render calls from.
+     * @return The total amount of render calls or zero if the batch does not count them.
+     */
+    private static int totalRenderCalls(Batch batch) {
+        return batch instanceof SpriteBatch ? ((SpriteBatch) batch).totalRenderCalls : 0;
+    }
+
+    /**
+     * Return the amount of bytes the given thread has allocated, which is only supported by
+     * HotSpot-based virtual machines.
+     *
+     * @param thread The identifier of the thread.
+     * @return The amount of allocated bytes or <code>-1</code> if it cannot be measured.
+     */
+    private static long allocated(long thread) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        if (!hotspot.isThreadAllocatedMemorySupported()
+            || !hotspot.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return hotspot.getThreadAllocatedBytes(thread);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx.scene.util;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Disposable;
+import nl.tudelft.broccoli.core.metrics.Histogram;
+import nl.tudelft.broccoli.core.metrics.MetricRegistry;
+
+import java.util.Locale;
+
+/**
+ * An overlay that shows the metrics of a {@link PerformanceMonitor} in the top left corner of
+ * the stage. The text is refreshed twice per second to keep the overlay itself cheap.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class PerformanceOverlay extends Label implements Disposable {
+    /**
+     * The interval in seconds at which the text is refreshed.
+     */
+    private static final float INTERVAL = 0.5f;
+
+    /**
+     * The margin in pixels between the overlay and the edges of the stage.
+     */
+    private static final float MARGIN = 10.f;
+
+    /**
+     * The amount of nanoseconds in a millisecond.
+     */
+    private static final double MILLIS = 1e6;
+
+    /**
+     * The monitor to show the metrics of.
+     */
+    private final PerformanceMonitor monitor;
+
+    /**
+     * The time in seconds since the text was refreshed.
+     */
+    private float elapsed = INTERVAL;
+
+    /**
+     * Construct a {@link PerformanceOverlay} instance.
+     *
+     * @param monitor The monitor to show the metrics of.
+     */
+    public PerformanceOverlay(PerformanceMonitor monitor) {
+        super("", new LabelStyle(new BitmapFont(), Color.WHITE));
+        this.monitor = monitor;
+        this.setAlignment(Align.topLeft);
+        this.setTouchable(Touchable.disabled);
+        this.setVisible(false);
+    }
+
+    /**
+     * Update the overlay, which refreshes the text if the interval has passed.
+     *
+     * @param delta The time in seconds since the last call.
+     */
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+
+        if (!isVisible()) {
+            return;
+        }
+
+        elapsed += delta;
+        if (elapsed >= INTERVAL) {
+            elapsed = 0;
+            setText(format(monitor.getRegistry()));
+            pack();
+        }
+
+        if (getStage() != null) {
+            setPosition(MARGIN, getStage().getHeight() - MARGIN - getHeight());
+        }
+    }
+
+    /**
+     * Format the metrics of the given registry as the text of the overlay.
+     *
+     * @param registry The registry to format.
+     * @return The text of the overlay.
+     */
+    private static String format(MetricRegistry registry) {
+        Histogram act = registry.histogram("frame.act");
+        Histogram draw = registry.histogram("frame.draw");
+        Histogram calls = registry.histogram("frame.render.calls");
+        Histogram switches = registry.histogram("frame.texture.switches");
+        double allocation = registry.getGauges().get("heap.allocation.rate").getValue();
+
+        return String.format(Locale.ROOT,
+            "act   p50 %.2f  p99 %.2f  max %.2f ms%n"
+                + "draw  p50 %.2f  p99 %.2f  max %.2f ms%n"
+                + "render calls %d  texture switches %d (p99)%n"
+                + "actors %.0f  actions %.0f  registry %.0f%n"
+                + "allocation %.1f KB/s",
+            act.getValueAtPercentile(50) / MILLIS, act.getValueAtPercentile(99) / MILLIS,
+            act.getMax() / MILLIS,
+            draw.getValueAtPercentile(50) / MILLIS, draw.getValueAtPercentile(99) / MILLIS,
+            draw.getMax() / MILLIS,
+            calls.getValueAtPercentile(99), switches.getValueAtPercentile(99),
+            registry.getGauges().get("scene.actors").getValue(),
+            registry.getGauges().get("scene.actions").getValue(),
+            registry.getGauges().get("context.registry").getValue(),
+            allocation / 1024
+        );
+    }
+
+    /**
+     * Dispose the font of this overlay.
+     */
+    @Override
+    public void dispose() {
+        getStyle().font.dispose();
+    }
+}
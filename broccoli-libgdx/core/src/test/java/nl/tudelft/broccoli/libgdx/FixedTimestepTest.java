@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for testing the {@link FixedTimestep} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class FixedTimestepTest {
+    /**
+     * The timestep under test.
+     */
+    private FixedTimestep timestep;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        timestep = new FixedTimestep(0.1f, 5, 1.f);
+    }
+
+    /**
+     * Test whether a step is only performed after enough time has been accumulated.
+     */
+    @Test
+    public void accumulates() {
+        assertThat(timestep.advance(0.06f)).isZero();
+        assertThat(timestep.getAlpha()).isCloseTo(0.6f, offset(1e-4f));
+        assertThat(timestep.advance(0.06f)).isEqualTo(1);
+        assertThat(timestep.getAlpha()).isCloseTo(0.2f, offset(1e-4f));
+    }
+
+    /**
+     * Test whether a long frame does not cause more steps than the catch-up bound.
+     */
+    @Test
+    public void boundsCatchUp() {
+        assertThat(timestep.advance(10.f)).isEqualTo(5);
+        assertThat(timestep.advance(0.f)).isZero();
+    }
+
+    /**
+     * Test whether the time multiplier speeds up the simulation.
+     */
+    @Test
+    public void speedMultiplier() {
+        timestep.setSpeed(8.f);
+        assertThat(timestep.advance(0.1f)).isEqualTo(8);
+    }
+
+    /**
+     * Test whether the catch-up bound scales with the time multiplier.
+     */
+    @Test
+    public void speedMultiplierBound() {
+        timestep.setSpeed(2.f);
+        assertThat(timestep.advance(10.f)).isEqualTo(10);
+    }
+
+    /**
+     * Test whether an unlimited simulation always performs a step.
+     */
+    @Test
+    public void unlimited() {
+        timestep.setSpeed(0.f);
+        assertThat(timestep.isUnlimited()).isTrue();
+        assertThat(timestep.advance(0.f)).isEqualTo(1);
+        assertThat(timestep.getAlpha()).isZero();
+    }
+
+    /**
+     * Test whether a non-positive step length is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidStep() {
+        new FixedTimestep(0.f, 5, 1.f);
+    }
+
+    /**
+     * Test whether a non-positive catch-up bound is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBound() {
+        new FixedTimestep(0.1f, 0, 1.f);
+    }
+}
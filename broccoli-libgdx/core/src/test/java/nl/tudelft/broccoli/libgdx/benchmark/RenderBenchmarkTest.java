@@ -0,0 +1,123 @@
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.level.Level;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Test suite for the {@link RenderBenchmark} class, which renders the stress level with the
+ * headless backend of libgdx.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class RenderBenchmarkTest {
+    /**
+     * The application that runs.
+     */
+    private static HeadlessApplication app;
+
+    /**
+     * The configuration of the games.
+     */
+    private Configuration config;
+
+    /**
+     * Set up the test suite.
+     */
+    @BeforeClass
+    public static void setUpSuite() {
+        app = new HeadlessApplication(new ApplicationAdapter() {});
+        Gdx.gl = HeadlessGl.create();
+        Gdx.gl20 = Gdx.gl;
+    }
+
+    /**
+     * Tear down the test suite.
+     */
+    @AfterClass
+    public static void tearDownSuite() {
+        app.exit();
+
+        Gdx.gl = null;
+        Gdx.gl20 = null;
+        Gdx.gl30 = null;
+    }
+
+    /**
+     * Set up before a test.
+     */
+    @Before
+    public void setUp() {
+        config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        when(config.get(any(), any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(1, Object.class));
+    }
+
+    /**
+     * Test whether the frames of the stress level are measured.
+     */
+    @Test
+    public void measuresStressLevel() {
+        Level level = new StressLevelFactory(12, 12).create(1);
+        RenderFootprint footprint = new RenderBenchmark(config, 60, 1.f / 60).measure(level);
+
+        assertThat(footprint.getLevel()).isSameAs(level);
+        assertThat(footprint.getAct().getCount()).isEqualTo(60);
+        assertThat(footprint.getDraw().getCount()).isEqualTo(60);
+        assertThat(footprint.getMarbles()).isGreaterThan(60);
+        assertThat(footprint.getActors()).isGreaterThan(footprint.getMarbles());
+        assertThat(footprint.getRenderCalls().getMax()).isPositive();
+    }
+
+    /**
+     * Test whether the stress level meets the default budgets.
+     */
+    @Test
+    public void stressLevelMeetsBudgets() {
+        List<RenderFootprint> footprints = new RenderBenchmark(config)
+            .enforce(Collections.singletonList(new StressLevelFactory().create(1)));
+        assertThat(footprints).hasSize(1);
+    }
+
+    /**
+     * Test whether a footprint over budget fails the benchmark.
+     */
+    @Test
+    public void enforceFailsOverBudget() {
+        doReturn(1).when(config).get(RenderBenchmark.FRAME_BUDGET);
+
+        RenderBenchmark benchmark = new RenderBenchmark(config, 30, 1.f / 60);
+        assertThatThrownBy(() -> benchmark.enforce(Collections.singletonList(
+            new StressLevelFactory(6, 6).create(1)))).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("StressLevelFactory level 1");
+    }
+
+    /**
+     * Test whether the amount of frames must be positive.
+     */
+    @Test
+    public void rejectsInvalidFrames() {
+        assertThatThrownBy(() -> new RenderBenchmark(config, 0, 1.f / 60))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
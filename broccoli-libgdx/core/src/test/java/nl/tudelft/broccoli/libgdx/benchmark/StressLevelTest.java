@@ -0,0 +1,86 @@
+package nl.tudelft.broccoli.libgdx.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import nl.tudelft.broccoli.core.grid.Grid;
+import nl.tudelft.broccoli.core.level.GameSession;
+import nl.tudelft.broccoli.core.receptor.Receptor;
+import nl.tudelft.broccoli.core.track.HorizontalTrack;
+import nl.tudelft.broccoli.core.track.VerticalTrack;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the {@link StressLevel} and {@link StressLevelFactory} classes.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class StressLevelTest {
+    /**
+     * The session of the level to test.
+     */
+    private GameSession session;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.exists(any())).thenReturn(false);
+        when(config.get(any()))
+            .thenAnswer((invocation) -> invocation.getArgumentAt(0, Property.class).getDefault());
+        session = new StressLevelFactory(8, 8).create(1).create(config);
+    }
+
+    /**
+     * Test whether the grid is filled with a lattice of receptors and tracks.
+     */
+    @Test
+    public void placesLattice() {
+        Grid grid = session.getGrid();
+        assertThat(grid.get(0, 0).getTileable()).isInstanceOf(Receptor.class);
+        assertThat(grid.get(1, 0).getTileable()).isInstanceOf(HorizontalTrack.class);
+        assertThat(grid.get(0, 1).getTileable()).isInstanceOf(VerticalTrack.class);
+        assertThat(grid.get(2, 2).getTileable()).isInstanceOf(Receptor.class);
+    }
+
+    /**
+     * Test whether every other receptor is marked and the level cannot be won.
+     */
+    @Test
+    public void cannotBeWon() {
+        Receptor first = (Receptor) session.getGrid().get(0, 0).getTileable();
+        Receptor second = (Receptor) session.getGrid().get(2, 0).getTileable();
+
+        assertThat(first.isLocked()).isTrue();
+        assertThat(first.isMarked()).isFalse();
+        assertThat(second.isMarked()).isTrue();
+
+        session.start();
+        assertThat(session.getProgress().isWon()).isFalse();
+    }
+
+    /**
+     * Test whether the factory does not create levels for invalid indices.
+     */
+    @Test
+    public void invalidIndex() {
+        assertThat(new StressLevelFactory().create(0)).isNull();
+    }
+
+    /**
+     * Test whether the grid must be large enough to hold the nexus and the information tiles.
+     */
+    @Test
+    public void rejectsSmallGrid() {
+        assertThatThrownBy(() -> new StressLevelFactory(2, 2))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
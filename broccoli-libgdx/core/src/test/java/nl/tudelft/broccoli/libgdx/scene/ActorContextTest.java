@@ -0,0 +1,101 @@
+package nl.tudelft.broccoli.libgdx.scene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import nl.tudelft.broccoli.core.Entity;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.Property;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the {@link ActorContext} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class ActorContextTest {
+    /**
+     * The context to test.
+     */
+    private ActorContext context;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        Configuration config = mock(Configuration.class);
+        when(config.get(any()))
+            .thenAnswer(invocation -> invocation.getArgumentAt(0, Property.class).getDefault());
+        context = new ActorContext(config, (TextureAtlas) null);
+    }
+
+    /**
+     * Test whether a registered entity can be looked up.
+     */
+    @Test
+    public void testRegister() {
+        Entity entity = mock(Entity.class);
+        Actor actor = new Actor();
+        context.register(entity, actor);
+        assertThat(context.actor(entity)).isSameAs(actor);
+        assertThat(context.size()).isEqualTo(1);
+    }
+
+    /**
+     * Test whether an unregistered entity can no longer be looked up.
+     */
+    @Test
+    public void testUnregister() {
+        Entity entity = mock(Entity.class);
+        context.register(entity, new Actor());
+        context.unregister(entity);
+        assertThat(context.actor(entity)).isNull();
+        assertThat(context.size()).isZero();
+    }
+
+    /**
+     * Test whether releasing an actor tree only removes the entities of that tree.
+     */
+    @Test
+    public void testRelease() {
+        Group root = new Group();
+        Group child = new Group();
+        Actor leaf = new Actor();
+        root.addActor(child);
+        child.addActor(leaf);
+
+        Entity a = mock(Entity.class);
+        Entity b = mock(Entity.class);
+        Entity c = mock(Entity.class);
+        context.register(a, root);
+        context.register(b, leaf);
+        context.register(c, new Actor());
+
+        assertThat(context.release(root)).isEqualTo(2);
+        assertThat(context.actor(a)).isNull();
+        assertThat(context.actor(b)).isNull();
+        assertThat(context.actor(c)).isNotNull();
+    }
+
+    /**
+     * Test whether the peak size of the registry is kept after entities are unregistered.
+     */
+    @Test
+    public void testPeakSize() {
+        Entity a = mock(Entity.class);
+        Entity b = mock(Entity.class);
+        context.register(a, new Actor());
+        context.register(b, new Actor());
+        context.unregister(a);
+        context.unregister(b);
+        assertThat(context.size()).isZero();
+        assertThat(context.getPeakSize()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,136 @@
+package nl.tudelft.broccoli.libgdx.scene.game;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import nl.tudelft.broccoli.core.Marble;
+import nl.tudelft.broccoli.core.MarbleType;
+import nl.tudelft.broccoli.core.config.ConfigurationLoader;
+import nl.tudelft.broccoli.libgdx.scene.ActorContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test suite for the {@link MarbleActorPool} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class MarbleActorPoolTest {
+    /**
+     * The application that is used for testing.
+     */
+    private LwjglApplication app;
+
+    /**
+     * Signal used to indicate the context is initialised.
+     */
+    private CountDownLatch latch;
+
+    /**
+     * The actor context to use.
+     */
+    private ActorContext context;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() throws Exception {
+        LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
+        config.width = 100;
+        config.height = 100;
+        config.resizable = false;
+        config.forceExit = false;
+
+        latch = new CountDownLatch(1);
+
+        Game game = new Game() {
+            @Override
+            public void create() {
+                context = new ActorContext(ConfigurationLoader.STUB, new TextureAtlas(
+                    Gdx.files.classpath("atlas/sprites.atlas")));
+                latch.countDown();
+            }
+        };
+
+        app = new LwjglApplication(game, config);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Tear down the test.
+     */
+    @After
+    @SuppressFBWarnings("ST_WRITE_TO_STATIC_FROM_INSTANCE_METHOD")
+    public void tearDown() throws Exception {
+        app.stop();
+
+        Gdx.gl = null;
+        Gdx.gl20 = null;
+        Gdx.gl30 = null;
+    }
+
+    /**
+     * Test whether a freed actor is reset and reused for the next marble.
+     */
+    @Test
+    public void reusesFreedActor() {
+        final MarbleActorPool pool = context.getMarblePool();
+        Marble first = new Marble(MarbleType.BLUE);
+        MarbleActor actor = MarbleActor.get(first, context);
+        actor.addAction(Actions.rotateBy(90, 10));
+        actor.addListener(new InputListener());
+        actor.setPosition(10, 20);
+
+        pool.free(actor);
+        assertThat(context.actor(first)).isNull();
+        assertThat(actor.getActions().size).isZero();
+        assertThat(actor.getListeners().size).isZero();
+        assertThat(actor.getX()).isZero();
+        assertThat(pool.getFree()).isEqualTo(1);
+
+        Marble second = new Marble(MarbleType.GREEN);
+        assertThat(MarbleActor.get(second, context)).isSameAs(actor);
+        assertThat(actor.getMarble()).isSameAs(second);
+        assertThat(context.actor(second)).isSameAs(actor);
+    }
+
+    /**
+     * Test whether jokers and regular marbles are pooled separately.
+     */
+    @Test
+    public void poolsJokersSeparately() {
+        MarbleActorPool pool = context.getMarblePool();
+        MarbleActor joker = MarbleActor.get(new Marble(MarbleType.JOKER), context);
+        assertThat(joker).isInstanceOf(JokerMarbleActor.class);
+        pool.free(joker);
+
+        assertThat(MarbleActor.get(new Marble(MarbleType.PINK), context))
+            .isInstanceOf(RegularMarbleActor.class);
+        assertThat(MarbleActor.get(new Marble(MarbleType.JOKER), context)).isSameAs(joker);
+    }
+
+    /**
+     * Test whether the animation frames of a marble type are resolved once.
+     */
+    @Test
+    public void sharesFrames() {
+        MarbleActorPool pool = context.getMarblePool();
+        assertThat(pool.getHorizontalFrames(MarbleType.BLUE))
+            .isSameAs(pool.getHorizontalFrames(MarbleType.BLUE))
+            .isNotEmpty();
+        assertThat(pool.getVerticalFrames(MarbleType.YELLOW))
+            .isSameAs(pool.getVerticalFrames(MarbleType.YELLOW));
+    }
+}
@@ -0,0 +1,172 @@
+package nl.tudelft.broccoli.libgdx.scene.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.badlogic.gdx.audio.Sound;
+import nl.tudelft.broccoli.libgdx.scene.util.AudioService.Effect;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the {@link AudioService} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class AudioServiceTest {
+    /**
+     * The amount of nanoseconds in a millisecond.
+     */
+    private static final long MILLIS = 1000000L;
+
+    /**
+     * The current time in nanoseconds.
+     */
+    private long now;
+
+    /**
+     * The service under test, which has two voices and a window of 50 milliseconds.
+     */
+    private AudioService audio;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        now = 0;
+        audio = new AudioService(2, 0.05, () -> now);
+    }
+
+    /**
+     * Create a mock {@link Sound} that returns the given voice identifiers.
+     *
+     * @param first The identifier of the first voice.
+     * @param rest The identifiers of the subsequent voices.
+     * @return The mocked sound.
+     */
+    private static Sound sound(long first, Long... rest) {
+        Sound sound = mock(Sound.class);
+        when(sound.play()).thenReturn(first, rest);
+        return sound;
+    }
+
+    /**
+     * Test whether at least one voice is required.
+     */
+    @Test
+    public void testInvalidVoices() {
+        assertThatThrownBy(() -> new AudioService(0, 0.05, () -> now))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test whether an effect is registered only once for a sound.
+     */
+    @Test
+    public void testEffectRegisteredOnce() {
+        Sound sound = sound(1);
+        assertThat(audio.effect(sound, 1, 0, 0.1f)).isSameAs(audio.effect(sound, 2, 1, 0.2f));
+    }
+
+    /**
+     * Test whether identical effects within the window are merged.
+     */
+    @Test
+    public void testCoalesce() {
+        Sound sound = sound(1, 2L);
+        Effect effect = audio.effect(sound, 2, 0, 1.f);
+
+        assertThat(effect.play()).isTrue();
+        now += 10 * MILLIS;
+        assertThat(effect.play()).isFalse();
+        verify(sound, times(1)).play();
+        assertThat(audio.getCoalesced()).isEqualTo(1);
+
+        now += 50 * MILLIS;
+        assertThat(effect.play()).isTrue();
+        assertThat(audio.getActiveVoices()).isEqualTo(2);
+    }
+
+    /**
+     * Test whether an effect that exceeds its voice limit stops its oldest voice.
+     */
+    @Test
+    public void testEffectLimit() {
+        Sound sound = sound(1, 2L);
+        Effect effect = audio.effect(sound, 1, 0, 1.f);
+
+        effect.play();
+        now += 100 * MILLIS;
+        assertThat(effect.play()).isTrue();
+        verify(sound).stop(1);
+        assertThat(audio.getActiveVoices()).isEqualTo(1);
+        assertThat(audio.getStolen()).isEqualTo(1);
+    }
+
+    /**
+     * Test whether the oldest voice with the lowest priority is stolen if all voices are in use.
+     */
+    @Test
+    public void testStealLowestPriority() {
+        Sound low = sound(1, 2L);
+        Sound high = sound(3, 4L);
+        Effect bounce = audio.effect(low, 2, 0, 1.f);
+        Effect explode = audio.effect(high, 2, 1, 1.f);
+
+        bounce.play();
+        now += 100 * MILLIS;
+        explode.play();
+        now += 100 * MILLIS;
+        assertThat(explode.play()).isTrue();
+
+        verify(low).stop(1);
+        verify(high, never()).stop(anyLong());
+    }
+
+    /**
+     * Test whether a voice with a higher priority is not stolen.
+     */
+    @Test
+    public void testDropLowerPriority() {
+        Sound low = sound(1);
+        Sound high = sound(2, 3L);
+        final Effect bounce = audio.effect(low, 2, 0, 1.f);
+        Effect explode = audio.effect(high, 2, 1, 1.f);
+
+        explode.play();
+        now += 100 * MILLIS;
+        explode.play();
+        now += 100 * MILLIS;
+
+        assertThat(bounce.play()).isFalse();
+        verify(low, never()).play();
+        assertThat(audio.getDropped()).isEqualTo(1);
+    }
+
+    /**
+     * Test whether voices are released once they are assumed to have finished.
+     */
+    @Test
+    public void testExpire() {
+        Sound sound = sound(1, 2L);
+        Effect effect = audio.effect(sound, 1, 0, 0.1f);
+
+        effect.play();
+        now += 200 * MILLIS;
+        assertThat(effect.play()).isTrue();
+        verify(sound, never()).stop(anyLong());
+        assertThat(audio.getActiveVoices()).isEqualTo(1);
+    }
+
+    /**
+     * Test whether a voice that the backend failed to start is dropped.
+     */
+    @Test
+    public void testBackendFailure() {
+        Effect effect = audio.effect(sound(-1), 1, 0, 0.1f);
+        assertThat(effect.play()).isFalse();
+        assertThat(audio.getActiveVoices()).isZero();
+    }
+}
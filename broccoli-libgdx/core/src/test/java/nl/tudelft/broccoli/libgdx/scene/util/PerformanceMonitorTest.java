@@ -0,0 +1,54 @@
+package nl.tudelft.broccoli.libgdx.scene.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.actions.Actions;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test suite for the {@link PerformanceMonitor} class.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public class PerformanceMonitorTest {
+    /**
+     * The root of the scene graph to count.
+     */
+    private Group root;
+
+    /**
+     * Set up the test suite.
+     */
+    @Before
+    public void setUp() {
+        root = new Group();
+        Group child = new Group();
+        Actor leaf = new Actor();
+        root.addActor(child);
+        root.addActor(new Actor());
+        child.addActor(leaf);
+
+        root.addAction(Actions.delay(1.f));
+        leaf.addAction(Actions.fadeOut(1.f));
+        leaf.addAction(Actions.fadeIn(1.f));
+    }
+
+    /**
+     * Test whether all actors in the tree are counted.
+     */
+    @Test
+    public void testCountActors() {
+        assertThat(PerformanceMonitor.countActors(root)).isEqualTo(4);
+    }
+
+    /**
+     * Test whether the actions of all actors in the tree are counted.
+     */
+    @Test
+    public void testCountActions() {
+        assertThat(PerformanceMonitor.countActions(root)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2017 Fabian Mastenbroek, Christian Slothouber,
+ * Earth Grob, Matthijs Rijm, Bas Musters
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package nl.tudelft.broccoli.libgdx;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import nl.tudelft.broccoli.core.config.Configuration;
+import nl.tudelft.broccoli.core.config.ConfigurationLoader;
+import nl.tudelft.broccoli.libgdx.benchmark.HeadlessGl;
+import nl.tudelft.broccoli.libgdx.benchmark.RenderBenchmark;
+import nl.tudelft.broccoli.libgdx.benchmark.RenderFootprint;
+import nl.tudelft.broccoli.libgdx.benchmark.StressLevelFactory;
+import nl.tudelft.broccoli.lightbend.LightbendConfigurationLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+
+/**
+ * A launcher which runs the {@link RenderBenchmark} on the stress level using the headless
+ * backend of libgdx, so it can run on machines without a GPU.
+ *
+ * @author Fabian Mastenbroek (f.s.mastenbroek@student.tudelft.nl)
+ */
+public final class BenchmarkLauncher implements Runnable {
+    /**
+     * The singleton instance of this class.
+     */
+    private static final BenchmarkLauncher INSTANCE = new BenchmarkLauncher();
+
+    /**
+     * Disallow instantiation of the {@link BenchmarkLauncher} class.
+     */
+    private BenchmarkLauncher() {}
+
+    /**
+     * Return the singleton instance of the {@link BenchmarkLauncher} class.
+     *
+     * @return An {@link BenchmarkLauncher} instance.
+     */
+    public static BenchmarkLauncher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The main entry point of the program.
+     *
+     * @param args The command line arguments passed to this program.
+     */
+    public static void main(String[] args) {
+        getInstance().run();
+    }
+
+    /**
+     * Run the render benchmark and print the measured footprints.
+     *
+     * @throws IllegalStateException if the footprint exceeds the configured budgets.
+     * @throws UncheckedIOException if the configuration could not be read.
+     */
+    @Override
+    public void run() {
+        HeadlessApplication app = null;
+        try (InputStream input = BenchmarkLauncher.class.getResourceAsStream("/reference.conf")) {
+            ConfigurationLoader loader = new LightbendConfigurationLoader();
+            final Configuration configuration = loader.tryLoad(input);
+
+            app = new HeadlessApplication(new ApplicationAdapter() {});
+            Gdx.gl = HeadlessGl.create();
+            Gdx.gl20 = Gdx.gl;
+
+            RenderBenchmark benchmark = new RenderBenchmark(configuration);
+            for (RenderFootprint footprint : benchmark.enforce(
+                Collections.singletonList(new StressLevelFactory().create(1)))) {
+                System.out.println(footprint);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            if (app != null) {
+                app.exit();
+            }
+        }
+    }
+}